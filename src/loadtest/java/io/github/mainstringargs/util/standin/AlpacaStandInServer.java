@@ -0,0 +1,344 @@
+package io.github.mainstringargs.util.standin;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The Class AlpacaStandInServer. A {@link StandInWebsocketServer} that speaks the Alpaca stream protocol: the
+ * authenticate action, the listen action and synthetic {@code trade_updates} and {@code account_updates} messages for
+ * the streams listened to, one message per binary frame (as the Alpaca stream sends them) at the rates configured in a
+ * {@link StandInTrafficConfig}.
+ * <p>
+ * The client order ID of every trade update is its sequence number (unique across the sessions), and the {@link
+ * System#nanoTime()} it was sent at is kept (see {@link #getTradeUpdateSendNanos(int)}), so that the end-to-end latency
+ * of a trade update can be measured when it reaches a listener in the same JVM.
+ */
+public class AlpacaStandInServer extends StandInWebsocketServer {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(AlpacaStandInServer.class);
+
+    /** The number of trade updates the send time is kept for (a power of two). */
+    public static final int TRADE_UPDATE_SEND_NANOS_CAPACITY = 1 << 20;
+
+    /** The interval the traffic is generated at in nanoseconds. */
+    private static final long GENERATION_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** The order events of the trade updates, in turn. */
+    private static final String[] ORDER_EVENTS = {"new", "partial_fill", "fill"};
+
+    /** The order statuses of the order events. */
+    private static final String[] ORDER_STATUSES = {"new", "partially_filled", "filled"};
+
+    /** The traffic config. */
+    private final StandInTrafficConfig trafficConfig;
+
+    /** The session states by session. */
+    private final Map<StandInWebsocketSession, SessionState> sessionStates = new ConcurrentHashMap<>();
+
+    /** The trade update sequence number counter. */
+    private final AtomicInteger tradeUpdateSequenceCounter = new AtomicInteger();
+
+    /** The send times of the trade updates by sequence number modulo the capacity. */
+    private final AtomicLongArray tradeUpdateSendNanos = new AtomicLongArray(TRADE_UPDATE_SEND_NANOS_CAPACITY);
+
+    /** The number of stream messages sent. */
+    private final LongAdder sentMessageCount = new LongAdder();
+
+    /** The number of stream messages skipped because a session fell more than a second behind. */
+    private final LongAdder skippedMessageCount = new LongAdder();
+
+    /**
+     * Instantiates a new Alpaca stand-in server.
+     *
+     * @param port          the port (0 for any free port)
+     * @param trafficConfig the traffic config
+     *
+     * @throws IOException the IO exception
+     */
+    public AlpacaStandInServer(int port, StandInTrafficConfig trafficConfig) throws IOException {
+        super("AlpacaStandInServer", port);
+
+        Preconditions.checkNotNull(trafficConfig);
+
+        this.trafficConfig = trafficConfig;
+    }
+
+    /**
+     * Gets the send time of a trade update.
+     *
+     * @param sequence the sequence number (the client order ID of the order of the trade update)
+     *
+     * @return the {@link System#nanoTime()} the trade update was sent at (0 if unknown)
+     */
+    public long getTradeUpdateSendNanos(int sequence) {
+        return tradeUpdateSendNanos.get(sequence & (TRADE_UPDATE_SEND_NANOS_CAPACITY - 1));
+    }
+
+    /**
+     * Gets the number of stream messages sent.
+     *
+     * @return the sent message count
+     */
+    public long getSentMessageCount() {
+        return sentMessageCount.sum();
+    }
+
+    /**
+     * Gets the number of stream messages skipped because a session fell more than a second behind, i.e. the client
+     * didn't read them fast enough.
+     *
+     * @return the skipped message count
+     */
+    public long getSkippedMessageCount() {
+        return skippedMessageCount.sum();
+    }
+
+    /**
+     * Gets the traffic config.
+     *
+     * @return the traffic config
+     */
+    public StandInTrafficConfig getTrafficConfig() {
+        return trafficConfig;
+    }
+
+    @Override
+    protected void onOpen(StandInWebsocketSession session) {
+        sessionStates.put(session, new SessionState());
+    }
+
+    @Override
+    protected void onMessage(StandInWebsocketSession session, String message) {
+        SessionState sessionState = sessionStates.get(session);
+        if (sessionState == null) {
+            return;
+        }
+
+        // Format: {"action":"authenticate","data":{"key_id":"{KEY_ID}","secret_key":"{SECRET}"}} or
+        // {"action":"listen","data":{"streams":["trade_updates"]}}
+        String action;
+        JsonObject dataJsonObject;
+        try {
+            JsonObject actionJsonObject = new JsonParser().parse(message).getAsJsonObject();
+            action = actionJsonObject.has("action") ? actionJsonObject.get("action").getAsString() : null;
+            dataJsonObject = actionJsonObject.has("data") ? actionJsonObject.getAsJsonObject("data") :
+                    new JsonObject();
+        } catch (JsonParseException | IllegalStateException | ClassCastException e) {
+            LOGGER.throwing(e);
+            return;
+        }
+
+        if ("authenticate".equals(action)) {
+            boolean authorized = dataJsonObject.has("key_id") && dataJsonObject.has("secret_key");
+
+            JsonObject authorizationDataJsonObject = new JsonObject();
+            authorizationDataJsonObject.addProperty("status", authorized ? "authorized" : "unauthorized");
+            authorizationDataJsonObject.addProperty("action", "authenticate");
+            sendStreamMessage(session, AlpacaStreamMessageType.AUTHORIZATION, authorizationDataJsonObject.toString());
+
+            if (authorized && !sessionState.authenticated) {
+                sessionState.authenticated = true;
+                startServerThread(() -> generateTraffic(session, sessionState),
+                        "AlpacaStandInTrafficThread-" + session.getSessionId());
+            }
+        } else if ("listen".equals(action)) {
+            if (!sessionState.authenticated) {
+                JsonObject errorDataJsonObject = new JsonObject();
+                errorDataJsonObject.addProperty("error", "access key verification failed");
+                sendStreamMessage(session, AlpacaStreamMessageType.LISTENING, errorDataJsonObject.toString());
+                return;
+            }
+
+            boolean tradeUpdates = false;
+            boolean accountUpdates = false;
+            JsonArray streamsJsonArray = new JsonArray();
+            if (dataJsonObject.has("streams")) {
+                for (JsonElement streamJsonElement : dataJsonObject.getAsJsonArray("streams")) {
+                    String stream = streamJsonElement.getAsString();
+                    if (stream.equals(AlpacaStreamMessageType.TRADE_UPDATES.getAPIName())) {
+                        tradeUpdates = true;
+                    } else if (stream.equals(AlpacaStreamMessageType.ACCOUNT_UPDATES.getAPIName())) {
+                        accountUpdates = true;
+                    } else {
+                        continue;
+                    }
+                    streamsJsonArray.add(stream);
+                }
+            }
+
+            // The listen action replaces the streams listened to
+            sessionState.tradeUpdates = tradeUpdates;
+            sessionState.accountUpdates = accountUpdates;
+
+            JsonObject listeningDataJsonObject = new JsonObject();
+            listeningDataJsonObject.add("streams", streamsJsonArray);
+            sendStreamMessage(session, AlpacaStreamMessageType.LISTENING, listeningDataJsonObject.toString());
+        } else {
+            LOGGER.warn("Ignoring an unknown action: " + action);
+        }
+    }
+
+    @Override
+    protected void onClose(StandInWebsocketSession session) {
+        sessionStates.remove(session);
+    }
+
+    /**
+     * Generates the traffic of a session until it is closed.
+     *
+     * @param session      the session
+     * @param sessionState the session state
+     */
+    private void generateTraffic(StandInWebsocketSession session, SessionState sessionState) {
+        int tradeUpdatesPerSecond = trafficConfig.getTradeUpdatesPerSecond();
+        long accountUpdateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(trafficConfig.getAccountUpdateIntervalMillis());
+
+        String[] symbols = new String[trafficConfig.getSymbolCount()];
+        for (int symbolIndex = 0; symbolIndex < symbols.length; symbolIndex++) {
+            symbols[symbolIndex] = StandInTrafficConfig.getSymbol(symbolIndex);
+        }
+
+        long startNanos = System.nanoTime();
+        long nextAccountUpdateNanos = startNanos + accountUpdateIntervalNanos;
+        long sentTradeUpdateCount = 0;
+        StringBuilder data = new StringBuilder(1024);
+
+        while (session.isOpen() && !isClosed()) {
+            long nowNanos = System.nanoTime();
+
+            long dueTradeUpdateCount = getDueCount(nowNanos - startNanos, tradeUpdatesPerSecond) -
+                    sentTradeUpdateCount;
+
+            // Don't burst the traffic of the time before listening or of a client that fell behind
+            if (!sessionState.tradeUpdates || dueTradeUpdateCount > tradeUpdatesPerSecond) {
+                if (sessionState.tradeUpdates) {
+                    skippedMessageCount.add(dueTradeUpdateCount);
+                }
+                sentTradeUpdateCount += dueTradeUpdateCount;
+                dueTradeUpdateCount = 0;
+            }
+
+            for (; dueTradeUpdateCount > 0; dueTradeUpdateCount--) {
+                int sequence = tradeUpdateSequenceCounter.incrementAndGet();
+                appendTradeUpdate(data, sequence, symbols[(sequence & Integer.MAX_VALUE) % symbols.length]);
+
+                tradeUpdateSendNanos.lazySet(sequence & (TRADE_UPDATE_SEND_NANOS_CAPACITY - 1), System.nanoTime());
+                sendStreamMessage(session, AlpacaStreamMessageType.TRADE_UPDATES, data.toString());
+                data.setLength(0);
+
+                sentTradeUpdateCount++;
+            }
+
+            if (nowNanos - nextAccountUpdateNanos >= 0) {
+                if (sessionState.accountUpdates) {
+                    appendAccountUpdate(data);
+                    sendStreamMessage(session, AlpacaStreamMessageType.ACCOUNT_UPDATES, data.toString());
+                    data.setLength(0);
+                }
+                nextAccountUpdateNanos += accountUpdateIntervalNanos;
+            }
+
+            LockSupport.parkNanos(GENERATION_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * Sends a stream message as a binary frame.
+     *
+     * @param session                 the session
+     * @param alpacaStreamMessageType the alpaca stream message type
+     * @param data                    the data JSON
+     */
+    private void sendStreamMessage(StandInWebsocketSession session, AlpacaStreamMessageType alpacaStreamMessageType,
+            String data) {
+        // Format: {"stream":"trade_updates","data":{...}}
+        session.sendBinary(("{\"stream\":\"" + alpacaStreamMessageType.getAPIName() + "\",\"data\":" + data + "}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        if (alpacaStreamMessageType.isAPISubscribable()) {
+            sentMessageCount.increment();
+        }
+    }
+
+    /**
+     * Appends the data of a trade update.
+     *
+     * @param data     the data
+     * @param sequence the sequence number
+     * @param symbol   the symbol
+     */
+    private static void appendTradeUpdate(StringBuilder data, int sequence, String symbol) {
+        int eventIndex = (sequence & Integer.MAX_VALUE) % ORDER_EVENTS.length;
+        int quantity = 100;
+        int filledQuantity = quantity * eventIndex / (ORDER_EVENTS.length - 1);
+        String timestamp = ZonedDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+        String price = String.valueOf(100 + (sequence & 1023) / 100d);
+
+        data.append("{\"event\":\"").append(ORDER_EVENTS[eventIndex])
+                .append("\",\"price\":\"").append(price)
+                .append("\",\"timestamp\":\"").append(timestamp)
+                .append("\",\"position_qty\":\"").append(filledQuantity)
+                .append("\",\"qty\":\"").append(eventIndex == 0 ? 0 : quantity / (ORDER_EVENTS.length - 1))
+                .append("\",\"order\":{\"id\":\"").append(String.format("00000000-0000-0000-0000-%012d", sequence))
+                .append("\",\"client_order_id\":\"").append(sequence)
+                .append("\",\"created_at\":\"").append(timestamp)
+                .append("\",\"updated_at\":\"").append(timestamp)
+                .append("\",\"submitted_at\":\"").append(timestamp)
+                .append("\",\"symbol\":\"").append(symbol)
+                .append("\",\"asset_class\":\"us_equity\",\"qty\":\"").append(quantity)
+                .append("\",\"filled_qty\":\"").append(filledQuantity)
+                .append("\",\"type\":\"limit\",\"side\":\"buy\",\"time_in_force\":\"day\",\"limit_price\":\"")
+                .append(price)
+                .append("\",\"status\":\"").append(ORDER_STATUSES[eventIndex])
+                .append("\",\"extended_hours\":false}}");
+    }
+
+    /**
+     * Appends the data of an account update.
+     *
+     * @param data the data
+     */
+    private static void appendAccountUpdate(StringBuilder data) {
+        String timestamp = ZonedDateTime.now().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+
+        data.append("{\"id\":\"00000000-0000-0000-0000-000000000000\",\"created_at\":\"").append(timestamp)
+                .append("\",\"updated_at\":\"").append(timestamp)
+                .append("\",\"deleted_at\":null,\"status\":\"ACTIVE\",\"currency\":\"USD\",\"cash\":\"100000.00\"")
+                .append(",\"cash_withdrawable\":\"100000.00\"}");
+    }
+
+    /**
+     * The streams a session listens to.
+     */
+    private static class SessionState {
+
+        /** Whether the session is authenticated. */
+        private volatile boolean authenticated;
+
+        /** Whether the session listens to the trade updates. */
+        private volatile boolean tradeUpdates;
+
+        /** Whether the session listens to the account updates. */
+        private volatile boolean accountUpdates;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.mainstringargs.util.standin;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Class LatencyRecorder. Records latency samples into a preallocated array (so that recording doesn't allocate),
+ * from any number of threads, and computes their percentiles. The samples beyond the capacity are counted but not
+ * kept.
+ */
+public class LatencyRecorder {
+
+    /** The samples in nanoseconds. */
+    private final long[] samples;
+
+    /** The number of samples recorded (including the ones beyond the capacity). */
+    private final AtomicInteger sampleCount = new AtomicInteger();
+
+    /**
+     * Instantiates a new latency recorder.
+     *
+     * @param capacity the number of samples that are kept
+     */
+    public LatencyRecorder(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "The capacity must be positive");
+
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param latencyNanos the latency in nanoseconds
+     */
+    public void record(long latencyNanos) {
+        int sampleIndex = sampleCount.getAndIncrement();
+        if (sampleIndex >= 0 && sampleIndex < samples.length) {
+            samples[sampleIndex] = latencyNanos;
+        }
+    }
+
+    /**
+     * Discards the samples recorded so far.
+     */
+    public void reset() {
+        sampleCount.set(0);
+    }
+
+    /**
+     * Gets the number of samples recorded.
+     *
+     * @return the sample count
+     */
+    public int getSampleCount() {
+        return sampleCount.get();
+    }
+
+    /**
+     * Gets the kept samples, sorted. The samples of the recordings in progress may be missing.
+     *
+     * @return the sorted samples in nanoseconds
+     */
+    public long[] getSortedSamples() {
+        long[] sortedSamples = Arrays.copyOf(samples, Math.min(Math.max(sampleCount.get(), 0), samples.length));
+        Arrays.sort(sortedSamples);
+
+        return sortedSamples;
+    }
+
+    /**
+     * Gets a percentile of sorted samples (nearest rank).
+     *
+     * @param sortedSamples the sorted samples
+     * @param percentile    the percentile (e.g. 99.9)
+     *
+     * @return the percentile in nanoseconds (0 if there are no samples)
+     */
+    public static long getPercentile(long[] sortedSamples, double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "The percentile must be from 0 to 100");
+
+        if (sortedSamples.length == 0) {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percentile / 100 * sortedSamples.length);
+        return sortedSamples[Math.min(Math.max(rank - 1, 0), sortedSamples.length - 1)];
+    }
+}
@@ -0,0 +1,525 @@
+package io.github.mainstringargs.util.standin;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The Class PolygonStandInServer. A {@link StandInWebsocketServer} that speaks the Polygon stream protocol: the
+ * connected status on open, the auth action, the subscribe and unsubscribe actions (acknowledged per channel with a
+ * status message) and synthetic {@code T}, {@code Q}, {@code A} and {@code AM} messages for the subscribed channels,
+ * batched into JSON array frames as configured in a {@link StandInTrafficConfig}.
+ * <p>
+ * The {@code i} (trade ID) of every trade is unique across the sessions, and the {@link System#nanoTime()} its frame
+ * was sent at is kept (see {@link #getTradeSendNanos(int)}), so that the end-to-end latency of a trade can be measured
+ * when it reaches a listener in the same JVM.
+ */
+public class PolygonStandInServer extends StandInWebsocketServer {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(PolygonStandInServer.class);
+
+    /** The number of trades the send time is kept for (a power of two). */
+    public static final int TRADE_SEND_NANOS_CAPACITY = 1 << 20;
+
+    /** The interval the traffic is generated at in nanoseconds. */
+    private static final long GENERATION_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** The traffic config. */
+    private final StandInTrafficConfig trafficConfig;
+
+    /** The session states by session. */
+    private final Map<StandInWebsocketSession, SessionState> sessionStates = new ConcurrentHashMap<>();
+
+    /** The trade ID counter. */
+    private final AtomicInteger tradeIdCounter = new AtomicInteger();
+
+    /** The send times of the trades by trade ID modulo the capacity. */
+    private final AtomicLongArray tradeSendNanos = new AtomicLongArray(TRADE_SEND_NANOS_CAPACITY);
+
+    /** The number of stream messages sent. */
+    private final LongAdder sentMessageCount = new LongAdder();
+
+    /** The number of stream messages skipped because a session fell more than a second behind. */
+    private final LongAdder skippedMessageCount = new LongAdder();
+
+    /**
+     * Instantiates a new Polygon stand-in server.
+     *
+     * @param port          the port (0 for any free port)
+     * @param trafficConfig the traffic config
+     *
+     * @throws IOException the IO exception
+     */
+    public PolygonStandInServer(int port, StandInTrafficConfig trafficConfig) throws IOException {
+        super("PolygonStandInServer", port);
+
+        Preconditions.checkNotNull(trafficConfig);
+
+        this.trafficConfig = trafficConfig;
+    }
+
+    /**
+     * Gets the send time of a trade.
+     *
+     * @param tradeId the trade ID (the {@code i} of the trade message)
+     *
+     * @return the {@link System#nanoTime()} the frame of the trade was sent at (0 if unknown)
+     */
+    public long getTradeSendNanos(int tradeId) {
+        return tradeSendNanos.get(tradeId & (TRADE_SEND_NANOS_CAPACITY - 1));
+    }
+
+    /**
+     * Gets the number of stream messages sent.
+     *
+     * @return the sent message count
+     */
+    public long getSentMessageCount() {
+        return sentMessageCount.sum();
+    }
+
+    /**
+     * Gets the number of stream messages skipped because a session fell more than a second behind, i.e. the client
+     * didn't read them fast enough.
+     *
+     * @return the skipped message count
+     */
+    public long getSkippedMessageCount() {
+        return skippedMessageCount.sum();
+    }
+
+    /**
+     * Gets the traffic config.
+     *
+     * @return the traffic config
+     */
+    public StandInTrafficConfig getTrafficConfig() {
+        return trafficConfig;
+    }
+
+    @Override
+    protected void onOpen(StandInWebsocketSession session) {
+        sessionStates.put(session, new SessionState());
+
+        session.sendText("[" + createStatusMessage("connected", "Connected Successfully") + "]");
+    }
+
+    @Override
+    protected void onMessage(StandInWebsocketSession session, String message) {
+        SessionState sessionState = sessionStates.get(session);
+        if (sessionState == null) {
+            return;
+        }
+
+        // Format: {"action":"auth","params":"{API_KEY}"} or {"action":"(un)subscribe","params":"T.AAPL,Q.MSFT"}
+        String action;
+        String params;
+        try {
+            JsonObject actionJsonObject = new JsonParser().parse(message).getAsJsonObject();
+            action = getString(actionJsonObject, "action");
+            params = getString(actionJsonObject, "params");
+        } catch (JsonParseException | IllegalStateException e) {
+            LOGGER.throwing(e);
+            session.sendText("[" + createStatusMessage("error", "Invalid message") + "]");
+            return;
+        }
+
+        if ("auth".equals(action)) {
+            if (params == null || params.isEmpty()) {
+                session.sendText("[" + createStatusMessage("auth_failed", "authentication failed") + "]");
+                return;
+            }
+
+            session.sendText("[" + createStatusMessage("success", "authenticated") + "]");
+
+            if (!sessionState.authenticated) {
+                sessionState.authenticated = true;
+                startServerThread(() -> generateTraffic(session, sessionState),
+                        "PolygonStandInTrafficThread-" + session.getSessionId());
+            }
+        } else if ("subscribe".equals(action) || "unsubscribe".equals(action)) {
+            if (!sessionState.authenticated) {
+                session.sendText("[" + createStatusMessage("error", "not authorized") + "]");
+                return;
+            }
+
+            boolean subscribe = "subscribe".equals(action);
+            StringJoiner statusMessages = new StringJoiner(",", "[", "]");
+            for (String channel : params == null ? new String[0] : params.split(",")) {
+                int separatorIndex = channel.indexOf('.');
+                if (separatorIndex <= 0 || separatorIndex == channel.length() - 1) {
+                    continue;
+                }
+
+                String channelType = channel.substring(0, separatorIndex);
+                String symbol = channel.substring(separatorIndex + 1);
+                sessionState.updateSubscription(channelType, symbol, subscribe);
+
+                statusMessages.add(createStatusMessage("success",
+                        (subscribe ? "subscribed to: " : "unsubscribed to: ") + channel));
+            }
+
+            if (statusMessages.length() > 2) {
+                session.sendText(statusMessages.toString());
+            }
+        } else {
+            session.sendText("[" + createStatusMessage("error", "Unknown action: " + action) + "]");
+        }
+    }
+
+    @Override
+    protected void onClose(StandInWebsocketSession session) {
+        sessionStates.remove(session);
+    }
+
+    /**
+     * Generates the traffic of a session until it is closed.
+     *
+     * @param session      the session
+     * @param sessionState the session state
+     */
+    private void generateTraffic(StandInWebsocketSession session, SessionState sessionState) {
+        int messagesPerFrame = trafficConfig.getMessagesPerFrame();
+        int tradesPerSecond = trafficConfig.getTradesPerSecond();
+        int quotesPerSecond = trafficConfig.getQuotesPerSecond();
+        long secondAggregateIntervalNanos =
+                TimeUnit.MILLISECONDS.toNanos(trafficConfig.getSecondAggregateIntervalMillis());
+        long minuteAggregateIntervalNanos =
+                TimeUnit.MILLISECONDS.toNanos(trafficConfig.getMinuteAggregateIntervalMillis());
+
+        FrameBuilder frameBuilder = new FrameBuilder(session, messagesPerFrame);
+
+        long startNanos = System.nanoTime();
+        long nextSecondAggregateNanos = startNanos + secondAggregateIntervalNanos;
+        long nextMinuteAggregateNanos = startNanos + minuteAggregateIntervalNanos;
+        long sentTradeCount = 0;
+        long sentQuoteCount = 0;
+        int tradeSymbolIndex = 0;
+        int quoteSymbolIndex = 0;
+
+        while (session.isOpen() && !isClosed()) {
+            long nowNanos = System.nanoTime();
+            long elapsedNanos = nowNanos - startNanos;
+
+            String[] tradeSymbols = sessionState.tradeSymbols;
+            String[] quoteSymbols = sessionState.quoteSymbols;
+
+            long dueTradeCount = getDueCount(elapsedNanos, tradesPerSecond) - sentTradeCount;
+            long dueQuoteCount = getDueCount(elapsedNanos, quotesPerSecond) - sentQuoteCount;
+
+            // Don't burst the traffic of the time before a subscription or of a client that fell behind
+            if (tradeSymbols.length == 0 || dueTradeCount > tradesPerSecond) {
+                if (tradeSymbols.length != 0) {
+                    skippedMessageCount.add(dueTradeCount);
+                }
+                sentTradeCount += dueTradeCount;
+                dueTradeCount = 0;
+            }
+            if (quoteSymbols.length == 0 || dueQuoteCount > quotesPerSecond) {
+                if (quoteSymbols.length != 0) {
+                    skippedMessageCount.add(dueQuoteCount);
+                }
+                sentQuoteCount += dueQuoteCount;
+                dueQuoteCount = 0;
+            }
+
+            // Interleave the trades and the quotes
+            while (dueTradeCount > 0 || dueQuoteCount > 0) {
+                if (dueTradeCount > 0) {
+                    tradeSymbolIndex = tradeSymbolIndex + 1 < tradeSymbols.length ? tradeSymbolIndex + 1 : 0;
+                    frameBuilder.appendTrade(tradeSymbols[tradeSymbolIndex], tradeIdCounter.incrementAndGet());
+                    sentTradeCount++;
+                    dueTradeCount--;
+                }
+                if (dueQuoteCount > 0) {
+                    quoteSymbolIndex = quoteSymbolIndex + 1 < quoteSymbols.length ? quoteSymbolIndex + 1 : 0;
+                    frameBuilder.appendQuote(quoteSymbols[quoteSymbolIndex]);
+                    sentQuoteCount++;
+                    dueQuoteCount--;
+                }
+            }
+
+            if (nowNanos - nextSecondAggregateNanos >= 0) {
+                for (String symbol : sessionState.secondAggregateSymbols) {
+                    frameBuilder.appendAggregate(PolygonStreamMessageType.AGGREGATE_PER_SECOND.getAPIName(), symbol,
+                            secondAggregateIntervalNanos);
+                }
+                nextSecondAggregateNanos += secondAggregateIntervalNanos;
+            }
+
+            if (nowNanos - nextMinuteAggregateNanos >= 0) {
+                for (String symbol : sessionState.minuteAggregateSymbols) {
+                    frameBuilder.appendAggregate(PolygonStreamMessageType.AGGREGATE_PER_MINUTE.getAPIName(), symbol,
+                            minuteAggregateIntervalNanos);
+                }
+                nextMinuteAggregateNanos += minuteAggregateIntervalNanos;
+            }
+
+            frameBuilder.flush();
+
+            LockSupport.parkNanos(GENERATION_INTERVAL_NANOS);
+        }
+    }
+
+    /**
+     * Creates a status message.
+     *
+     * @param status  the status
+     * @param message the message
+     *
+     * @return the status message JSON
+     */
+    private static String createStatusMessage(String status, String message) {
+        JsonObject statusJsonObject = new JsonObject();
+        statusJsonObject.addProperty("ev", PolygonStreamMessageType.STATUS.getAPIName());
+        statusJsonObject.addProperty("status", status);
+        statusJsonObject.addProperty("message", message);
+
+        return statusJsonObject.toString();
+    }
+
+    /**
+     * Gets a string member of a JSON object.
+     *
+     * @param jsonObject the JSON object
+     * @param name       the member name
+     *
+     * @return the string (null if there is no such primitive member)
+     */
+    private static String getString(JsonObject jsonObject, String name) {
+        JsonElement jsonElement = jsonObject.get(name);
+
+        return jsonElement instanceof JsonPrimitive ? jsonElement.getAsString() : null;
+    }
+
+    /**
+     * The subscriptions of a session.
+     */
+    private static class SessionState {
+
+        /** Whether the session is authenticated. */
+        private volatile boolean authenticated;
+
+        /** The symbols subscribed to by channel type (guarded by this state). */
+        private final Map<String, Set<String>> symbolsByChannelType = new ConcurrentHashMap<>();
+
+        /** The symbols of the trade channels. */
+        private volatile String[] tradeSymbols = new String[0];
+
+        /** The symbols of the quote channels. */
+        private volatile String[] quoteSymbols = new String[0];
+
+        /** The symbols of the per second aggregate channels. */
+        private volatile String[] secondAggregateSymbols = new String[0];
+
+        /** The symbols of the per minute aggregate channels. */
+        private volatile String[] minuteAggregateSymbols = new String[0];
+
+        /**
+         * Subscribes to or unsubscribes from a channel.
+         *
+         * @param channelType the channel type (e.g. "T")
+         * @param symbol      the symbol
+         * @param subscribe   true to subscribe, false to unsubscribe
+         */
+        private synchronized void updateSubscription(String channelType, String symbol, boolean subscribe) {
+            Set<String> symbols = symbolsByChannelType.computeIfAbsent(channelType,
+                    key -> ConcurrentHashMap.newKeySet());
+            if (subscribe) {
+                symbols.add(symbol);
+            } else {
+                symbols.remove(symbol);
+            }
+
+            String[] symbolArray = symbols.toArray(new String[0]);
+            if (channelType.equals(PolygonStreamMessageType.TRADE.getAPIName())) {
+                tradeSymbols = symbolArray;
+            } else if (channelType.equals(PolygonStreamMessageType.QUOTE.getAPIName())) {
+                quoteSymbols = symbolArray;
+            } else if (channelType.equals(PolygonStreamMessageType.AGGREGATE_PER_SECOND.getAPIName())) {
+                secondAggregateSymbols = symbolArray;
+            } else if (channelType.equals(PolygonStreamMessageType.AGGREGATE_PER_MINUTE.getAPIName())) {
+                minuteAggregateSymbols = symbolArray;
+            }
+        }
+    }
+
+    /**
+     * Batches the stream messages of a session into JSON array frames.
+     */
+    private class FrameBuilder {
+
+        /** The session. */
+        private final StandInWebsocketSession session;
+
+        /** The max number of messages in a frame. */
+        private final int messagesPerFrame;
+
+        /** The frame. */
+        private final StringBuilder frame = new StringBuilder(4096);
+
+        /** The trade IDs of the frame. */
+        private final int[] tradeIds;
+
+        /** The number of trades in the frame. */
+        private int tradeCount;
+
+        /** The number of messages in the frame. */
+        private int messageCount;
+
+        /**
+         * Instantiates a new frame builder.
+         *
+         * @param session          the session
+         * @param messagesPerFrame the messages per frame
+         */
+        private FrameBuilder(StandInWebsocketSession session, int messagesPerFrame) {
+            this.session = session;
+            this.messagesPerFrame = messagesPerFrame;
+            this.tradeIds = new int[messagesPerFrame];
+        }
+
+        /**
+         * Appends a trade.
+         *
+         * @param symbol  the symbol
+         * @param tradeId the trade ID
+         */
+        private void appendTrade(String symbol, int tradeId) {
+            // Format: {"ev":"T","sym":"MSFT","x":4,"i":12345,"z":3,"p":114.125,"s":100,"c":[0,12],"t":1536036818784}
+            startMessage();
+            frame.append("{\"ev\":\"T\",\"sym\":\"").append(symbol)
+                    .append("\",\"x\":").append(1 + (tradeId & 15))
+                    .append(",\"i\":").append(tradeId)
+                    .append(",\"z\":3,\"p\":").append(getPrice(tradeId))
+                    .append(",\"s\":").append(100 * (1 + (tradeId & 7)))
+                    .append(",\"c\":[0,12],\"t\":").append(System.currentTimeMillis())
+                    .append('}');
+
+            tradeIds[tradeCount++] = tradeId;
+            endMessage();
+        }
+
+        /**
+         * Appends a quote.
+         *
+         * @param symbol the symbol
+         */
+        private void appendQuote(String symbol) {
+            // Format: {"ev":"Q","sym":"MSFT","bx":4,"bp":114.125,"bs":100,"ax":7,"ap":114.128,"as":160,"c":0,
+            // "t":1536036818784}
+            int seed = (int) System.nanoTime();
+            double bidPrice = getPrice(seed);
+
+            startMessage();
+            frame.append("{\"ev\":\"Q\",\"sym\":\"").append(symbol)
+                    .append("\",\"bx\":").append(1 + (seed & 15))
+                    .append(",\"bp\":").append(bidPrice)
+                    .append(",\"bs\":").append(1 + (seed & 31))
+                    .append(",\"ax\":").append(1 + ((seed >>> 4) & 15))
+                    .append(",\"ap\":").append(bidPrice + 0.01)
+                    .append(",\"as\":").append(1 + ((seed >>> 5) & 31))
+                    .append(",\"c\":0,\"t\":").append(System.currentTimeMillis())
+                    .append('}');
+            endMessage();
+        }
+
+        /**
+         * Appends an aggregate.
+         *
+         * @param channelType    the channel type ("A" or "AM")
+         * @param symbol         the symbol
+         * @param intervalNanos  the interval of the aggregate
+         */
+        private void appendAggregate(String channelType, String symbol, long intervalNanos) {
+            // Format: {"ev":"AM","sym":"MSFT","v":10204,"av":200304,"op":114.04,"vw":114.4040,"o":114.11,
+            // "c":114.14,"h":114.19,"l":114.09,"a":114.1314,"s":1536036818784,"e":1536036818784}
+            long endMillis = System.currentTimeMillis();
+            int seed = (int) endMillis;
+
+            startMessage();
+            frame.append("{\"ev\":\"").append(channelType).append("\",\"sym\":\"").append(symbol)
+                    .append("\",\"v\":").append(1000 + (seed & 1023))
+                    .append(",\"av\":").append(100_000 + (seed & 65535))
+                    .append(",\"op\":").append(getPrice(0))
+                    .append(",\"vw\":").append(getPrice(seed))
+                    .append(",\"o\":").append(getPrice(seed + 1))
+                    .append(",\"c\":").append(getPrice(seed + 2))
+                    .append(",\"h\":").append(getPrice(seed) + 0.5)
+                    .append(",\"l\":").append(getPrice(seed) - 0.5)
+                    .append(",\"a\":").append(getPrice(seed + 3))
+                    .append(",\"s\":").append(endMillis - TimeUnit.NANOSECONDS.toMillis(intervalNanos))
+                    .append(",\"e\":").append(endMillis)
+                    .append('}');
+            endMessage();
+        }
+
+        /**
+         * Sends the frame (if it has any messages).
+         */
+        private void flush() {
+            if (messageCount == 0) {
+                return;
+            }
+
+            frame.append(']');
+
+            long sendNanos = System.nanoTime();
+            for (int index = 0; index < tradeCount; index++) {
+                tradeSendNanos.lazySet(tradeIds[index] & (TRADE_SEND_NANOS_CAPACITY - 1), sendNanos);
+            }
+
+            session.sendText(frame.toString());
+            sentMessageCount.add(messageCount);
+
+            frame.setLength(0);
+            tradeCount = 0;
+            messageCount = 0;
+        }
+
+        /**
+         * Starts a message.
+         */
+        private void startMessage() {
+            frame.append(messageCount == 0 ? '[' : ',');
+        }
+
+        /**
+         * Ends a message (and sends the frame once it is full).
+         */
+        private void endMessage() {
+            if (++messageCount == messagesPerFrame) {
+                flush();
+            }
+        }
+
+        /**
+         * Gets a synthetic price.
+         *
+         * @param seed the seed
+         *
+         * @return the price (from 100 to 110.23)
+         */
+        private double getPrice(int seed) {
+            return 100 + (seed & 1023) / 100d;
+        }
+    }
+}
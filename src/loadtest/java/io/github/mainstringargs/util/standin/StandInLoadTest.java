@@ -0,0 +1,346 @@
+package io.github.mainstringargs.util.standin;
+
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
+import io.github.mainstringargs.alpaca.websocket.client.AlpacaWebsocketClient;
+import io.github.mainstringargs.alpaca.websocket.listener.AlpacaStreamListenerAdapter;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.websocket.AlpacaStreamMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.client.PolygonWebsocketClient;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListenerAdapter;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * The Class StandInLoadTest. Runs the real {@link PolygonWebsocketClient} or {@link AlpacaWebsocketClient} against a
+ * {@link PolygonStandInServer} or {@link AlpacaStandInServer} in the same JVM and reports the throughput (messages per
+ * second delivered to the listeners), the end-to-end latency percentiles of the trades or trade updates (from the send
+ * of their frame by the server to their listener) and the allocation rate of the client.
+ * <p>
+ * The Polygon client dispatches as configured in the polygon properties. The allocation rate is the one of all of the
+ * threads of the JVM except the ones of the stand-in server and the main thread, and of the threads that live through
+ * the measurement, so it is the one of the client stack (plus the listener of this test, which doesn't allocate).
+ * <p>
+ * Usage: {@code StandInLoadTest polygon|alpaca [duration seconds] [symbol count] [messages per second]}, where the
+ * messages per second are the trades plus the quotes (one fifth are trades) for Polygon and the trade updates for
+ * Alpaca. It lives in the {@code loadtest} source set, outside of the library jar, and the {@code loadTest} Gradle task
+ * runs it, e.g. {@code gradle loadTest -Pargs="polygon 60"}.
+ */
+public class StandInLoadTest {
+
+    /** The default duration of the measurement in seconds. */
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+
+    /** The duration of the warm up before the measurement in seconds. */
+    private static final int WARM_UP_SECONDS = 5;
+
+    /** The number of latency samples that are kept. */
+    private static final int LATENCY_SAMPLE_CAPACITY = 1 << 24;
+
+    /** The percentiles that are reported. */
+    private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9, 99.99, 100};
+
+    /** The latency recorder. */
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder(LATENCY_SAMPLE_CAPACITY);
+
+    /** The number of stream messages delivered to the listener. */
+    private final LongAdder receivedMessageCount = new LongAdder();
+
+    /** Whether the latencies are being measured (after the warm up). */
+    private volatile boolean measuring;
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     *
+     * @throws Exception the exception
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || !(args[0].equals("polygon") || args[0].equals("alpaca"))) {
+            System.out.println("Usage: StandInLoadTest polygon|alpaca [duration seconds] [symbol count] " +
+                    "[messages per second]");
+            return;
+        }
+
+        boolean polygon = args[0].equals("polygon");
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DURATION_SECONDS;
+
+        StandInTrafficConfig trafficConfig = new StandInTrafficConfig();
+        if (args.length > 2) {
+            trafficConfig.setSymbolCount(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            int messagesPerSecond = Integer.parseInt(args[3]);
+            if (polygon) {
+                trafficConfig.setTradesPerSecond(messagesPerSecond / 5);
+                trafficConfig.setQuotesPerSecond(messagesPerSecond - messagesPerSecond / 5);
+            } else {
+                trafficConfig.setTradeUpdatesPerSecond(messagesPerSecond);
+            }
+        }
+
+        StandInLoadTest standInLoadTest = new StandInLoadTest();
+        if (polygon) {
+            standInLoadTest.runPolygon(trafficConfig, durationSeconds);
+        } else {
+            standInLoadTest.runAlpaca(trafficConfig, durationSeconds);
+        }
+
+        // The websocket container threads aren't daemon threads
+        System.exit(0);
+    }
+
+    /**
+     * Runs the Polygon client against a Polygon stand-in server.
+     *
+     * @param trafficConfig   the traffic config
+     * @param durationSeconds the duration seconds
+     *
+     * @throws Exception the exception
+     */
+    public void runPolygon(StandInTrafficConfig trafficConfig, int durationSeconds) throws Exception {
+        try (PolygonStandInServer polygonStandInServer = new PolygonStandInServer(0, trafficConfig)) {
+            polygonStandInServer.start();
+
+            WebsocketDispatchConfig websocketDispatchConfig =
+                    PolygonWebsocketClient.createDefaultWebsocketDispatchConfig();
+            PolygonWebsocketClient polygonWebsocketClient = new PolygonWebsocketClient("stand-in",
+                    polygonStandInServer.getURL(), websocketDispatchConfig);
+
+            Set<String> symbols = new HashSet<>();
+            for (int symbolIndex = 0; symbolIndex < trafficConfig.getSymbolCount(); symbolIndex++) {
+                symbols.add(StandInTrafficConfig.getSymbol(symbolIndex));
+            }
+
+            IntToLongFunction tradeSendNanosFunction = polygonStandInServer::getTradeSendNanos;
+            PolygonStreamListenerAdapter polygonStreamListener = new PolygonStreamListenerAdapter(symbols,
+                    PolygonStreamMessageType.TRADE, PolygonStreamMessageType.QUOTE,
+                    PolygonStreamMessageType.AGGREGATE_PER_SECOND, PolygonStreamMessageType.AGGREGATE_PER_MINUTE) {
+                @Override
+                public void onStreamUpdate(PolygonStreamMessageType streamMessageType,
+                        PolygonStreamMessage streamMessage) {
+                    if (streamMessageType == PolygonStreamMessageType.STATUS) {
+                        return;
+                    }
+
+                    receivedMessageCount.increment();
+
+                    if (streamMessageType == PolygonStreamMessageType.TRADE) {
+                        recordLatency(((TradeMessage) streamMessage).getI(), tradeSendNanosFunction);
+                    }
+                }
+            };
+
+            System.out.println("Polygon client: " + websocketDispatchConfig);
+            System.out.println("Traffic: " + trafficConfig);
+
+            polygonWebsocketClient.addListener(polygonStreamListener);
+
+            measure(polygonStandInServer, polygonStandInServer::getSentMessageCount,
+                    polygonStandInServer::getSkippedMessageCount, durationSeconds);
+
+            polygonWebsocketClient.removeListener(polygonStreamListener);
+        }
+    }
+
+    /**
+     * Runs the Alpaca client against an Alpaca stand-in server.
+     *
+     * @param trafficConfig   the traffic config
+     * @param durationSeconds the duration seconds
+     *
+     * @throws Exception the exception
+     */
+    public void runAlpaca(StandInTrafficConfig trafficConfig, int durationSeconds) throws Exception {
+        try (AlpacaStandInServer alpacaStandInServer = new AlpacaStandInServer(0, trafficConfig)) {
+            alpacaStandInServer.start();
+
+            AlpacaWebsocketClient alpacaWebsocketClient = new AlpacaWebsocketClient("stand-in", "stand-in",
+                    alpacaStandInServer.getURL());
+
+            IntToLongFunction tradeUpdateSendNanosFunction = alpacaStandInServer::getTradeUpdateSendNanos;
+            AlpacaStreamListenerAdapter alpacaStreamListener = new AlpacaStreamListenerAdapter(
+                    AlpacaStreamMessageType.TRADE_UPDATES, AlpacaStreamMessageType.ACCOUNT_UPDATES) {
+                @Override
+                public void onStreamUpdate(AlpacaStreamMessageType streamMessageType,
+                        AlpacaStreamMessage streamMessage) {
+                    if (!streamMessageType.isAPISubscribable()) {
+                        return;
+                    }
+
+                    receivedMessageCount.increment();
+
+                    if (streamMessageType == AlpacaStreamMessageType.TRADE_UPDATES) {
+                        recordLatency(Integer.parseInt(((TradeUpdateMessage) streamMessage).getData().getOrder()
+                                .getClientOrderId()), tradeUpdateSendNanosFunction);
+                    }
+                }
+            };
+
+            System.out.println("Traffic: " + trafficConfig);
+
+            alpacaWebsocketClient.addListener(alpacaStreamListener);
+
+            measure(alpacaStandInServer, alpacaStandInServer::getSentMessageCount,
+                    alpacaStandInServer::getSkippedMessageCount, durationSeconds);
+
+            alpacaWebsocketClient.removeListener(alpacaStreamListener);
+        }
+    }
+
+    /**
+     * Records the latency of a message (while measuring).
+     *
+     * @param sequence          the sequence number of the message
+     * @param sendNanosFunction the function of the send time of a sequence number
+     */
+    private void recordLatency(int sequence, IntToLongFunction sendNanosFunction) {
+        if (!measuring) {
+            return;
+        }
+
+        long sendNanos = sendNanosFunction.applyAsLong(sequence);
+        if (sendNanos != 0) {
+            latencyRecorder.record(System.nanoTime() - sendNanos);
+        }
+    }
+
+    /**
+     * Warms up, measures and prints the report.
+     *
+     * @param standInWebsocketServer      the stand-in websocket server
+     * @param sentMessageCountSupplier    the supplier of the number of messages the server sent
+     * @param skippedMessageCountSupplier the supplier of the number of messages the server skipped
+     * @param durationSeconds             the duration seconds
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private void measure(StandInWebsocketServer standInWebsocketServer, LongSupplier sentMessageCountSupplier,
+            LongSupplier skippedMessageCountSupplier, int durationSeconds) throws InterruptedException {
+        System.out.println("Warming up for " + WARM_UP_SECONDS + " s...");
+        Thread.sleep(TimeUnit.SECONDS.toMillis(WARM_UP_SECONDS));
+
+        latencyRecorder.reset();
+        measuring = true;
+
+        long startNanos = System.nanoTime();
+        long startReceivedMessageCount = receivedMessageCount.sum();
+        long startSentMessageCount = sentMessageCountSupplier.getAsLong();
+        long startSkippedMessageCount = skippedMessageCountSupplier.getAsLong();
+        long startAllocatedBytes = getClientAllocatedBytes(standInWebsocketServer);
+        long startCollectionCount = getCollectionCount();
+        long startCollectionMillis = getCollectionMillis();
+
+        System.out.println("Measuring for " + durationSeconds + " s...");
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+
+        measuring = false;
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        long receivedMessages = receivedMessageCount.sum() - startReceivedMessageCount;
+        long sentMessages = sentMessageCountSupplier.getAsLong() - startSentMessageCount;
+        long skippedMessages = skippedMessageCountSupplier.getAsLong() - startSkippedMessageCount;
+        long allocatedBytes = getClientAllocatedBytes(standInWebsocketServer) - startAllocatedBytes;
+        long collectionCount = getCollectionCount() - startCollectionCount;
+        long collectionMillis = getCollectionMillis() - startCollectionMillis;
+
+        long[] sortedLatencies = latencyRecorder.getSortedSamples();
+
+        System.out.println(String.format("Sent:       %,d messages (%,.0f/s), %,d skipped", sentMessages,
+                sentMessages / elapsedSeconds, skippedMessages));
+        System.out.println(String.format("Received:   %,d messages (%,.0f/s)", receivedMessages,
+                receivedMessages / elapsedSeconds));
+
+        StringBuilder latencies = new StringBuilder(String.format("Latency:    %,d samples", sortedLatencies.length));
+        for (double percentile : REPORTED_PERCENTILES) {
+            latencies.append(String.format(", p%s %,.1f us", percentile == 100 ? "max" :
+                            String.valueOf(percentile).replaceAll("\\.0$", ""),
+                    LatencyRecorder.getPercentile(sortedLatencies, percentile) / 1e3));
+        }
+        System.out.println(latencies);
+
+        if (allocatedBytes >= 0) {
+            System.out.println(String.format("Allocation: %,.1f MB/s, %,.0f bytes/message",
+                    allocatedBytes / elapsedSeconds / (1 << 20),
+                    receivedMessages == 0 ? 0d : (double) allocatedBytes / receivedMessages));
+        } else {
+            System.out.println("Allocation: not supported by this JVM");
+        }
+        System.out.println(String.format("GC:         %d collections, %d ms", collectionCount, collectionMillis));
+    }
+
+    /**
+     * Gets the bytes allocated by the live threads that aren't threads of the stand-in server or the current thread.
+     *
+     * @param standInWebsocketServer the stand-in websocket server
+     *
+     * @return the allocated bytes (-1 if the JVM doesn't measure them)
+     */
+    private static long getClientAllocatedBytes(StandInWebsocketServer standInWebsocketServer) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean allocationThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationThreadMXBean.isThreadAllocatedMemorySupported() ||
+                !allocationThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        long currentThreadId = Thread.currentThread().getId();
+        long allocatedBytes = 0;
+        for (long threadId : allocationThreadMXBean.getAllThreadIds()) {
+            if (threadId == currentThreadId || standInWebsocketServer.isServerThread(threadId)) {
+                continue;
+            }
+
+            long threadAllocatedBytes = allocationThreadMXBean.getThreadAllocatedBytes(threadId);
+            if (threadAllocatedBytes > 0) {
+                allocatedBytes += threadAllocatedBytes;
+            }
+        }
+
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the number of garbage collections.
+     *
+     * @return the collection count
+     */
+    private static long getCollectionCount() {
+        long collectionCount = 0;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectionCount += Math.max(garbageCollectorMXBean.getCollectionCount(), 0);
+        }
+
+        return collectionCount;
+    }
+
+    /**
+     * Gets the accumulated time of the garbage collections.
+     *
+     * @return the collection time in milliseconds
+     */
+    private static long getCollectionMillis() {
+        long collectionMillis = 0;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectionMillis += Math.max(garbageCollectorMXBean.getCollectionTime(), 0);
+        }
+
+        return collectionMillis;
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.mainstringargs.util.standin;
+
+import com.google.common.base.Preconditions;
+
+import java.util.StringJoiner;
+
+/**
+ * The Class StandInTrafficConfig. The synthetic traffic a stand-in server generates on every session: the rates of the
+ * trades, quotes and trade updates, the intervals of the aggregates and account updates and how many messages are
+ * batched in a frame. The rates are spread over the subscribed symbols round-robin.
+ */
+public class StandInTrafficConfig {
+
+    /** The default number of trades per second. */
+    public static final int DEFAULT_TRADES_PER_SECOND = 10_000;
+
+    /** The default number of quotes per second. */
+    public static final int DEFAULT_QUOTES_PER_SECOND = 40_000;
+
+    /** The default interval of the per second aggregates of every symbol in milliseconds. */
+    public static final long DEFAULT_SECOND_AGGREGATE_INTERVAL_MILLIS = 1000;
+
+    /** The default interval of the per minute aggregates of every symbol in milliseconds. */
+    public static final long DEFAULT_MINUTE_AGGREGATE_INTERVAL_MILLIS = 60_000;
+
+    /** The default number of trade updates per second. */
+    public static final int DEFAULT_TRADE_UPDATES_PER_SECOND = 1000;
+
+    /** The default interval of the account updates in milliseconds. */
+    public static final long DEFAULT_ACCOUNT_UPDATE_INTERVAL_MILLIS = 1000;
+
+    /** The default max number of messages in a frame. */
+    public static final int DEFAULT_MESSAGES_PER_FRAME = 20;
+
+    /** The default number of symbols of the trade updates. */
+    public static final int DEFAULT_SYMBOL_COUNT = 100;
+
+    /** The number of trades per second. */
+    private int tradesPerSecond = DEFAULT_TRADES_PER_SECOND;
+
+    /** The number of quotes per second. */
+    private int quotesPerSecond = DEFAULT_QUOTES_PER_SECOND;
+
+    /** The interval of the per second aggregates of every symbol in milliseconds. */
+    private long secondAggregateIntervalMillis = DEFAULT_SECOND_AGGREGATE_INTERVAL_MILLIS;
+
+    /** The interval of the per minute aggregates of every symbol in milliseconds. */
+    private long minuteAggregateIntervalMillis = DEFAULT_MINUTE_AGGREGATE_INTERVAL_MILLIS;
+
+    /** The number of trade updates per second. */
+    private int tradeUpdatesPerSecond = DEFAULT_TRADE_UPDATES_PER_SECOND;
+
+    /** The interval of the account updates in milliseconds. */
+    private long accountUpdateIntervalMillis = DEFAULT_ACCOUNT_UPDATE_INTERVAL_MILLIS;
+
+    /** The max number of messages in a frame. */
+    private int messagesPerFrame = DEFAULT_MESSAGES_PER_FRAME;
+
+    /** The number of symbols of the trade updates (the Polygon symbols are the subscribed ones). */
+    private int symbolCount = DEFAULT_SYMBOL_COUNT;
+
+    /**
+     * Gets the number of trades per second.
+     *
+     * @return the trades per second
+     */
+    public int getTradesPerSecond() {
+        return tradesPerSecond;
+    }
+
+    /**
+     * Sets the number of trades per second.
+     *
+     * @param tradesPerSecond the trades per second (0 for none)
+     */
+    public void setTradesPerSecond(int tradesPerSecond) {
+        Preconditions.checkArgument(tradesPerSecond >= 0, "The trades per second must not be negative");
+
+        this.tradesPerSecond = tradesPerSecond;
+    }
+
+    /**
+     * Gets the number of quotes per second.
+     *
+     * @return the quotes per second
+     */
+    public int getQuotesPerSecond() {
+        return quotesPerSecond;
+    }
+
+    /**
+     * Sets the number of quotes per second.
+     *
+     * @param quotesPerSecond the quotes per second (0 for none)
+     */
+    public void setQuotesPerSecond(int quotesPerSecond) {
+        Preconditions.checkArgument(quotesPerSecond >= 0, "The quotes per second must not be negative");
+
+        this.quotesPerSecond = quotesPerSecond;
+    }
+
+    /**
+     * Gets the interval of the per second aggregates of every symbol.
+     *
+     * @return the second aggregate interval in milliseconds
+     */
+    public long getSecondAggregateIntervalMillis() {
+        return secondAggregateIntervalMillis;
+    }
+
+    /**
+     * Sets the interval of the per second aggregates of every symbol.
+     *
+     * @param secondAggregateIntervalMillis the second aggregate interval in milliseconds
+     */
+    public void setSecondAggregateIntervalMillis(long secondAggregateIntervalMillis) {
+        Preconditions.checkArgument(secondAggregateIntervalMillis > 0, "The interval must be positive");
+
+        this.secondAggregateIntervalMillis = secondAggregateIntervalMillis;
+    }
+
+    /**
+     * Gets the interval of the per minute aggregates of every symbol.
+     *
+     * @return the minute aggregate interval in milliseconds
+     */
+    public long getMinuteAggregateIntervalMillis() {
+        return minuteAggregateIntervalMillis;
+    }
+
+    /**
+     * Sets the interval of the per minute aggregates of every symbol.
+     *
+     * @param minuteAggregateIntervalMillis the minute aggregate interval in milliseconds
+     */
+    public void setMinuteAggregateIntervalMillis(long minuteAggregateIntervalMillis) {
+        Preconditions.checkArgument(minuteAggregateIntervalMillis > 0, "The interval must be positive");
+
+        this.minuteAggregateIntervalMillis = minuteAggregateIntervalMillis;
+    }
+
+    /**
+     * Gets the number of trade updates per second.
+     *
+     * @return the trade updates per second
+     */
+    public int getTradeUpdatesPerSecond() {
+        return tradeUpdatesPerSecond;
+    }
+
+    /**
+     * Sets the number of trade updates per second.
+     *
+     * @param tradeUpdatesPerSecond the trade updates per second (0 for none)
+     */
+    public void setTradeUpdatesPerSecond(int tradeUpdatesPerSecond) {
+        Preconditions.checkArgument(tradeUpdatesPerSecond >= 0, "The trade updates per second must not be negative");
+
+        this.tradeUpdatesPerSecond = tradeUpdatesPerSecond;
+    }
+
+    /**
+     * Gets the interval of the account updates.
+     *
+     * @return the account update interval in milliseconds
+     */
+    public long getAccountUpdateIntervalMillis() {
+        return accountUpdateIntervalMillis;
+    }
+
+    /**
+     * Sets the interval of the account updates.
+     *
+     * @param accountUpdateIntervalMillis the account update interval in milliseconds
+     */
+    public void setAccountUpdateIntervalMillis(long accountUpdateIntervalMillis) {
+        Preconditions.checkArgument(accountUpdateIntervalMillis > 0, "The interval must be positive");
+
+        this.accountUpdateIntervalMillis = accountUpdateIntervalMillis;
+    }
+
+    /**
+     * Gets the max number of messages in a frame.
+     *
+     * @return the messages per frame
+     */
+    public int getMessagesPerFrame() {
+        return messagesPerFrame;
+    }
+
+    /**
+     * Sets the max number of messages in a frame. The Alpaca stream has one message per frame, so it ignores it.
+     *
+     * @param messagesPerFrame the messages per frame
+     */
+    public void setMessagesPerFrame(int messagesPerFrame) {
+        Preconditions.checkArgument(messagesPerFrame > 0, "The messages per frame must be positive");
+
+        this.messagesPerFrame = messagesPerFrame;
+    }
+
+    /**
+     * Gets the number of symbols of the trade updates.
+     *
+     * @return the symbol count
+     */
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    /**
+     * Sets the number of symbols of the trade updates.
+     *
+     * @param symbolCount the symbol count
+     */
+    public void setSymbolCount(int symbolCount) {
+        Preconditions.checkArgument(symbolCount > 0, "The symbol count must be positive");
+
+        this.symbolCount = symbolCount;
+    }
+
+    /**
+     * Gets a synthetic symbol.
+     *
+     * @param symbolIndex the symbol index
+     *
+     * @return the symbol (e.g. "SYM0042")
+     */
+    public static String getSymbol(int symbolIndex) {
+        return String.format("SYM%04d", symbolIndex);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StandInTrafficConfig.class.getSimpleName() + "[", "]")
+                .add("tradesPerSecond=" + tradesPerSecond)
+                .add("quotesPerSecond=" + quotesPerSecond)
+                .add("secondAggregateIntervalMillis=" + secondAggregateIntervalMillis)
+                .add("minuteAggregateIntervalMillis=" + minuteAggregateIntervalMillis)
+                .add("tradeUpdatesPerSecond=" + tradeUpdatesPerSecond)
+                .add("accountUpdateIntervalMillis=" + accountUpdateIntervalMillis)
+                .add("messagesPerFrame=" + messagesPerFrame)
+                .add("symbolCount=" + symbolCount)
+                .toString();
+    }
+}
@@ -0,0 +1,323 @@
+package io.github.mainstringargs.util.standin;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Class StandInWebsocketServer. A minimal in-process websocket server (RFC 6455, text and binary messages, no
+ * extensions) that stands in for the Polygon and Alpaca streaming servers, so that the websocket clients can be run
+ * and load-tested locally without an account or market hours. Subclasses implement the protocol of the stream.
+ * <p>
+ * Every session is read on its own thread. The threads of the server are tracked (see {@link #isServerThread(long)}),
+ * so that a harness can tell the allocations of the server apart from the ones of the client.
+ */
+public abstract class StandInWebsocketServer implements Closeable {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(StandInWebsocketServer.class);
+
+    /** The GUID that is appended to the key of the handshake (RFC 6455). */
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    /** The name of the server (its threads are named after it). */
+    private final String name;
+
+    /** The server socket. */
+    private final ServerSocket serverSocket;
+
+    /** The open sessions. */
+    private final List<StandInWebsocketSession> sessions = new CopyOnWriteArrayList<>();
+
+    /** The ids of the threads of the server. */
+    private final Set<Long> serverThreadIds = ConcurrentHashMap.newKeySet();
+
+    /** The session id counter. */
+    private final AtomicInteger sessionIdCounter = new AtomicInteger();
+
+    /** Whether the server is closed. */
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new stand-in websocket server on the loopback address.
+     *
+     * @param name the name of the server
+     * @param port the port (0 for any free port)
+     *
+     * @throws IOException the IO exception
+     */
+    public StandInWebsocketServer(String name, int port) throws IOException {
+        this.name = name;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Starts accepting connections.
+     */
+    public void start() {
+        startServerThread(this::acceptConnections, name + "AcceptThread");
+
+        LOGGER.info(name + " listening on " + getURL());
+    }
+
+    /**
+     * Gets the websocket url of the server.
+     *
+     * @return the url (e.g. "ws://127.0.0.1:12345")
+     */
+    public String getURL() {
+        return "ws://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the port.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the open sessions.
+     *
+     * @return the sessions
+     */
+    public List<StandInWebsocketSession> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Checks whether a thread is one of the threads of the server.
+     *
+     * @param threadId the thread id
+     *
+     * @return true if it is a thread of the server
+     */
+    public boolean isServerThread(long threadId) {
+        return serverThreadIds.contains(threadId);
+    }
+
+    /**
+     * Closes the server and its sessions.
+     */
+    @Override
+    public void close() {
+        closed = true;
+
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+        }
+
+        for (StandInWebsocketSession session : sessions) {
+            session.close();
+        }
+    }
+
+    /**
+     * Called when a session opened (on its read thread).
+     *
+     * @param session the session
+     */
+    protected abstract void onOpen(StandInWebsocketSession session);
+
+    /**
+     * Called for every message of a session (on its read thread).
+     *
+     * @param session the session
+     * @param message the message
+     */
+    protected abstract void onMessage(StandInWebsocketSession session, String message);
+
+    /**
+     * Called when a session closed (on its read thread).
+     *
+     * @param session the session
+     */
+    protected abstract void onClose(StandInWebsocketSession session);
+
+    /**
+     * Starts a daemon thread of the server.
+     *
+     * @param runnable   the runnable
+     * @param threadName the thread name
+     *
+     * @return the thread
+     */
+    protected Thread startServerThread(Runnable runnable, String threadName) {
+        Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        serverThreadIds.add(thread.getId());
+        thread.start();
+
+        return thread;
+    }
+
+    /**
+     * Is closed boolean.
+     *
+     * @return the boolean
+     */
+    protected boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Gets the number of events due after some time at a rate.
+     *
+     * @param elapsedNanos the elapsed nanoseconds
+     * @param perSecond    the number of events per second
+     *
+     * @return the due count
+     */
+    protected static long getDueCount(long elapsedNanos, int perSecond) {
+        return (long) (elapsedNanos * (perSecond / 1e9));
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     */
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+
+                int sessionId = sessionIdCounter.incrementAndGet();
+                startServerThread(() -> handleConnection(sessionId, socket), name + "SessionThread-" + sessionId);
+            } catch (SocketException e) {
+                if (!closed) {
+                    LOGGER.throwing(e);
+                }
+            } catch (IOException e) {
+                LOGGER.throwing(e);
+            }
+        }
+    }
+
+    /**
+     * Performs the handshake of a connection and reads its messages until it is closed.
+     *
+     * @param sessionId the session id
+     * @param socket    the socket
+     */
+    private void handleConnection(int sessionId, Socket socket) {
+        StandInWebsocketSession session = null;
+
+        try {
+            BufferedInputStream inputStream = new BufferedInputStream(socket.getInputStream(), 65536);
+            BufferedOutputStream outputStream = new BufferedOutputStream(socket.getOutputStream(), 65536);
+
+            String key = null;
+            String line;
+            while ((line = readLine(inputStream)) != null && !line.isEmpty()) {
+                int separatorIndex = line.indexOf(':');
+                if (separatorIndex > 0 && line.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT)
+                        .equals("sec-websocket-key")) {
+                    key = line.substring(separatorIndex + 1).trim();
+                }
+            }
+
+            if (key == null) {
+                outputStream.write("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                outputStream.flush();
+                socket.close();
+                return;
+            }
+
+            outputStream.write(("HTTP/1.1 101 Switching Protocols\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Accept: " + getAcceptKey(key) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+
+            session = new StandInWebsocketSession(sessionId, socket, inputStream, outputStream);
+            sessions.add(session);
+
+            onOpen(session);
+
+            String message;
+            while ((message = session.readMessage()) != null) {
+                onMessage(session, message);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Session closed: " + e);
+        } finally {
+            if (session != null) {
+                session.abort();
+                sessions.remove(session);
+
+                onClose(session);
+            } else {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    LOGGER.throwing(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a line of the handshake.
+     *
+     * @param inputStream the input stream
+     *
+     * @return the line (null at the end of the stream)
+     *
+     * @throws IOException the IO exception
+     */
+    private static String readLine(BufferedInputStream inputStream) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+
+        int value;
+        while ((value = inputStream.read()) >= 0) {
+            if (value == '\n') {
+                String string = new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+                return string.endsWith("\r") ? string.substring(0, string.length() - 1) : string;
+            }
+            line.write(value);
+        }
+
+        return line.size() == 0 ? null : new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets the accept key of the handshake response.
+     *
+     * @param key the key of the handshake request
+     *
+     * @return the accept key
+     */
+    private static String getAcceptKey(String key) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            return Base64.getEncoder().encodeToString(
+                    sha1.digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
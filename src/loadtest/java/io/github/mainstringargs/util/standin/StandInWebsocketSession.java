@@ -0,0 +1,302 @@
+package io.github.mainstringargs.util.standin;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The Class StandInWebsocketSession. A websocket connection accepted by a {@link StandInWebsocketServer}: reads the
+ * (masked) frames of the client and writes (unmasked) frames to it, as specified by RFC 6455. Sending is thread-safe.
+ */
+public class StandInWebsocketSession {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(StandInWebsocketSession.class);
+
+    /** The continuation frame opcode. */
+    static final int CONTINUATION_OPCODE = 0x0;
+
+    /** The text frame opcode. */
+    static final int TEXT_OPCODE = 0x1;
+
+    /** The binary frame opcode. */
+    static final int BINARY_OPCODE = 0x2;
+
+    /** The close frame opcode. */
+    static final int CLOSE_OPCODE = 0x8;
+
+    /** The ping frame opcode. */
+    static final int PING_OPCODE = 0x9;
+
+    /** The pong frame opcode. */
+    static final int PONG_OPCODE = 0xA;
+
+    /** The session id. */
+    private final int sessionId;
+
+    /** The socket. */
+    private final Socket socket;
+
+    /** The input stream. */
+    private final InputStream inputStream;
+
+    /** The output stream (guarded by this session). */
+    private final OutputStream outputStream;
+
+    /** Whether the session is open. */
+    private volatile boolean open = true;
+
+    /** The number of frames sent. */
+    private volatile long sentFrameCount;
+
+    /**
+     * Instantiates a new stand-in websocket session (after the handshake).
+     *
+     * @param sessionId    the session id
+     * @param socket       the socket
+     * @param inputStream  the buffered input stream of the socket
+     * @param outputStream the buffered output stream of the socket
+     */
+    StandInWebsocketSession(int sessionId, Socket socket, BufferedInputStream inputStream,
+            BufferedOutputStream outputStream) {
+        this.sessionId = sessionId;
+        this.socket = socket;
+        this.inputStream = inputStream;
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Sends a text message.
+     *
+     * @param message the message
+     */
+    public void sendText(String message) {
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+        sendFrame(TEXT_OPCODE, payload, payload.length);
+    }
+
+    /**
+     * Sends a binary message.
+     *
+     * @param payload the payload
+     */
+    public void sendBinary(byte[] payload) {
+        sendFrame(BINARY_OPCODE, payload, payload.length);
+    }
+
+    /**
+     * Closes the session (with a normal closure close frame if it is still open).
+     */
+    public void close() {
+        if (open) {
+            // Status code 1000 (normal closure)
+            sendFrame(CLOSE_OPCODE, new byte[]{0x03, (byte) 0xE8}, 2);
+        }
+        closeSocket();
+    }
+
+    /**
+     * Closes the socket without a close frame, i.e. as if the connection were lost.
+     */
+    public void abort() {
+        closeSocket();
+    }
+
+    /**
+     * Is open boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Gets the session id.
+     *
+     * @return the session id
+     */
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the number of frames sent.
+     *
+     * @return the sent frame count
+     */
+    public long getSentFrameCount() {
+        return sentFrameCount;
+    }
+
+    /**
+     * Reads the next text or binary message of the client, answering its pings and close frame.
+     *
+     * @return the message (a binary message is decoded as UTF-8), or null once the session is closed
+     *
+     * @throws IOException the IO exception
+     */
+    String readMessage() throws IOException {
+        ByteArrayOutputStream message = null;
+
+        while (open) {
+            int firstByte = inputStream.read();
+            if (firstByte < 0) {
+                closeSocket();
+                return null;
+            }
+
+            boolean finalFragment = (firstByte & 0x80) != 0;
+            int opcode = firstByte & 0x0F;
+
+            int secondByte = readByte();
+            boolean masked = (secondByte & 0x80) != 0;
+            long payloadLength = secondByte & 0x7F;
+            if (payloadLength == 126) {
+                payloadLength = (readByte() << 8) | readByte();
+            } else if (payloadLength == 127) {
+                payloadLength = 0;
+                for (int index = 0; index < 8; index++) {
+                    payloadLength = (payloadLength << 8) | readByte();
+                }
+            }
+
+            if (payloadLength > Integer.MAX_VALUE) {
+                throw new IOException("Frame too large: " + payloadLength);
+            }
+
+            byte[] mask = new byte[4];
+            if (masked) {
+                readFully(mask, 4);
+            }
+
+            byte[] payload = new byte[(int) payloadLength];
+            readFully(payload, payload.length);
+            if (masked) {
+                for (int index = 0; index < payload.length; index++) {
+                    payload[index] ^= mask[index & 3];
+                }
+            }
+
+            switch (opcode) {
+                case TEXT_OPCODE:
+                case BINARY_OPCODE:
+                case CONTINUATION_OPCODE:
+                    if (message == null) {
+                        message = new ByteArrayOutputStream(payload.length);
+                    }
+                    message.write(payload, 0, payload.length);
+
+                    if (finalFragment) {
+                        return new String(message.toByteArray(), StandardCharsets.UTF_8);
+                    }
+                    break;
+                case PING_OPCODE:
+                    sendFrame(PONG_OPCODE, payload, payload.length);
+                    break;
+                case PONG_OPCODE:
+                    break;
+                case CLOSE_OPCODE:
+                    sendFrame(CLOSE_OPCODE, payload, payload.length);
+                    closeSocket();
+                    return null;
+                default:
+                    LOGGER.warn("Ignoring a frame with opcode " + opcode);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends a frame (dropped if the session is closed).
+     *
+     * @param opcode  the opcode
+     * @param payload the payload
+     * @param length  the payload length
+     */
+    synchronized void sendFrame(int opcode, byte[] payload, int length) {
+        if (!open) {
+            return;
+        }
+
+        try {
+            outputStream.write(0x80 | opcode);
+            if (length < 126) {
+                outputStream.write(length);
+            } else if (length < 65536) {
+                outputStream.write(126);
+                outputStream.write(length >>> 8);
+                outputStream.write(length);
+            } else {
+                outputStream.write(127);
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    outputStream.write((int) ((long) length >>> shift));
+                }
+            }
+            outputStream.write(payload, 0, length);
+            outputStream.flush();
+
+            sentFrameCount++;
+        } catch (IOException e) {
+            LOGGER.debug("Closing session " + sessionId + " after a failed send: " + e);
+            closeSocket();
+        }
+    }
+
+    /**
+     * Closes the socket.
+     */
+    private void closeSocket() {
+        open = false;
+
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+        }
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @return the byte
+     *
+     * @throws IOException the IO exception
+     */
+    private int readByte() throws IOException {
+        int value = inputStream.read();
+        if (value < 0) {
+            throw new EOFException();
+        }
+        return value;
+    }
+
+    /**
+     * Reads bytes fully.
+     *
+     * @param bytes  the bytes
+     * @param length the length
+     *
+     * @throws IOException the IO exception
+     */
+    private void readFully(byte[] bytes, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = inputStream.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package io.github.mainstringargs.abstracts.rest;
 
+import com.google.common.base.Preconditions;
 import com.google.gson.JsonElement;
 import com.google.gson.stream.JsonReader;
 import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import com.mashape.unirest.request.GetRequest;
-import com.mashape.unirest.request.HttpRequestWithBody;
+import io.github.mainstringargs.abstracts.rest.exception.AbstractAPIRequestException;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RateLimiter;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RequestPriority;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransportRequest;
+import io.github.mainstringargs.abstracts.rest.transport.StreamingHttpResponse;
 import io.github.mainstringargs.util.gson.GsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,6 +19,8 @@ import java.io.InputStreamReader;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * The type Abstract request.
@@ -25,9 +30,66 @@ public abstract class AbstractRequest {
     /** The logger. */
     private static final Logger LOGGER = LogManager.getLogger(AbstractRequest.class);
 
+    /** The http transport. */
+    private final HttpTransport httpTransport;
+
     /** The headers. */
     protected final Map<String, String> headers = new HashMap<>();
 
+    /** The rate limiter (null if requests are not throttled). */
+    private RateLimiter rateLimiter;
+
+    /**
+     * Instantiates a new abstract request.
+     *
+     * @param httpTransport the http transport that executes the requests
+     */
+    public AbstractRequest(HttpTransport httpTransport) {
+        Preconditions.checkNotNull(httpTransport);
+
+        this.httpTransport = httpTransport;
+    }
+
+    /**
+     * Gets the http transport.
+     *
+     * @return the http transport
+     */
+    public HttpTransport getHttpTransport() {
+        return httpTransport;
+    }
+
+    /**
+     * Gets the rate limiter.
+     *
+     * @return the rate limiter (null if requests are not throttled)
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Sets the rate limiter that throttles the requests.
+     *
+     * @param rateLimiter the rate limiter (null to not throttle requests)
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Gets the priority of a request when it is throttled by the {@link RateLimiter}. Defaults to
+     * {@link RequestPriority#MARKET_DATA}.
+     *
+     * @param method                 the http method
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the request priority
+     */
+    protected RequestPriority getRequestPriority(String method, AbstractRequestBuilder abstractRequestBuilder) {
+        return RequestPriority.MARKET_DATA;
+    }
+
     /**
      * Invoke get.
      *
@@ -37,21 +99,9 @@ public abstract class AbstractRequest {
      */
     public HttpResponse<InputStream> invokeGet(AbstractRequestBuilder abstractRequestBuilder) {
         try {
-            String url = abstractRequestBuilder.getURL();
-
-            LOGGER.debug("GET URL " + url);
-
-            GetRequest request = Unirest.get(url);
-
-            if (!headers.isEmpty()) {
-                request.headers(headers);
-
-                LOGGER.debug("GET Headers: " + headers);
-            }
-
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
+            return invokeGetAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("GET request failed", e.getCause());
         }
 
         return null;
@@ -66,21 +116,9 @@ public abstract class AbstractRequest {
      */
     public HttpResponse<InputStream> invokeHead(AbstractRequestBuilder abstractRequestBuilder) {
         try {
-            String url = abstractRequestBuilder.getURL();
-
-            LOGGER.debug("HEAD URL " + url);
-
-            GetRequest request = Unirest.head(url);
-
-            if (!headers.isEmpty()) {
-                request.headers(headers);
-
-                LOGGER.debug("HEAD Headers: " + headers);
-            }
-
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
+            return invokeHeadAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("HEAD request failed", e.getCause());
         }
 
         return null;
@@ -95,28 +133,9 @@ public abstract class AbstractRequest {
      */
     public HttpResponse<InputStream> invokePost(AbstractRequestBuilder abstractRequestBuilder) {
         try {
-            String url = abstractRequestBuilder.getURL();
-
-            LOGGER.debug("POST URL: " + url);
-
-            HttpRequestWithBody request = Unirest.post(url);
-
-            if (!headers.isEmpty()) {
-                request.headers(headers);
-
-                LOGGER.debug("POST Headers: " + headers);
-            }
-
-            String body = abstractRequestBuilder.getBody();
-            if (body != null) {
-                request.body(body);
-
-                LOGGER.debug("POST Body: " + body);
-            }
-
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
+            return invokePostAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("POST request failed", e.getCause());
         }
 
         return null;
@@ -131,28 +150,9 @@ public abstract class AbstractRequest {
      */
     public HttpResponse<InputStream> invokePatch(AbstractRequestBuilder abstractRequestBuilder) {
         try {
-            String url = abstractRequestBuilder.getURL();
-
-            LOGGER.debug("PATCH URL " + url);
-
-            HttpRequestWithBody request = Unirest.patch(url);
-
-            if (!headers.isEmpty()) {
-                request.headers(headers);
-
-                LOGGER.debug("PATCH Headers: " + headers);
-            }
-
-            String body = abstractRequestBuilder.getBody();
-            if (body != null) {
-                request.body(body);
-
-                LOGGER.debug("PATCH Body: " + body);
-            }
-
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
+            return invokePatchAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("PATCH request failed", e.getCause());
         }
 
         return null;
@@ -167,28 +167,9 @@ public abstract class AbstractRequest {
      */
     public HttpResponse<InputStream> invokePut(AbstractRequestBuilder abstractRequestBuilder) {
         try {
-            String url = abstractRequestBuilder.getURL();
-
-            LOGGER.debug("PUT URL " + url);
-
-            HttpRequestWithBody request = Unirest.put(url);
-
-            if (!headers.isEmpty()) {
-                request.headers(headers);
-
-                LOGGER.debug("PUT Headers: " + headers);
-            }
-
-            String body = abstractRequestBuilder.getBody();
-            if (body != null) {
-                request.body(body);
-
-                LOGGER.debug("PUT Body: " + body);
-            }
-
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
+            return invokePutAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("PUT request failed", e.getCause());
         }
 
         return null;
@@ -203,67 +184,205 @@ public abstract class AbstractRequest {
      */
     public HttpResponse<InputStream> invokeDelete(AbstractRequestBuilder abstractRequestBuilder) {
         try {
-            String url = abstractRequestBuilder.getURL();
+            return invokeDeleteAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("DELETE request failed", e.getCause());
+        }
+
+        return null;
+    }
 
-            LOGGER.debug("DELETE URL " + url);
+    /**
+     * Invoke options.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response
+     */
+    public HttpResponse<InputStream> invokeOptions(AbstractRequestBuilder abstractRequestBuilder) {
+        try {
+            return invokeOptionsAsync(abstractRequestBuilder).join();
+        } catch (CompletionException e) {
+            LOGGER.error("OPTIONS request failed", e.getCause());
+        }
 
-            HttpRequestWithBody request = Unirest.delete(url);
+        return null;
+    }
 
-            if (!headers.isEmpty()) {
-                request.headers(headers);
+    /**
+     * Invoke get asynchronously.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response future
+     */
+    public CompletableFuture<HttpResponse<InputStream>> invokeGetAsync(AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("GET", abstractRequestBuilder, false);
+    }
 
-                LOGGER.debug("DELETE Headers: " + headers);
-            }
+    /**
+     * Invoke head asynchronously.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response future
+     */
+    public CompletableFuture<HttpResponse<InputStream>> invokeHeadAsync(AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("HEAD", abstractRequestBuilder, false);
+    }
 
-            String body = abstractRequestBuilder.getBody();
-            if (body != null) {
-                request.body(body);
+    /**
+     * Invoke post asynchronously.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response future
+     */
+    public CompletableFuture<HttpResponse<InputStream>> invokePostAsync(AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("POST", abstractRequestBuilder, true);
+    }
 
-                LOGGER.debug("DELETE Body: " + body);
-            }
+    /**
+     * Invoke patch asynchronously.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response future
+     */
+    public CompletableFuture<HttpResponse<InputStream>> invokePatchAsync(
+            AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("PATCH", abstractRequestBuilder, true);
+    }
 
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
-        }
+    /**
+     * Invoke put asynchronously.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response future
+     */
+    public CompletableFuture<HttpResponse<InputStream>> invokePutAsync(AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("PUT", abstractRequestBuilder, true);
+    }
 
-        return null;
+    /**
+     * Invoke delete asynchronously.
+     *
+     * @param abstractRequestBuilder the abstract request builder
+     *
+     * @return the http response future
+     */
+    public CompletableFuture<HttpResponse<InputStream>> invokeDeleteAsync(
+            AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("DELETE", abstractRequestBuilder, true);
     }
 
     /**
-     * Invoke options.
+     * Invoke options asynchronously.
      *
      * @param abstractRequestBuilder the abstract request builder
      *
-     * @return the http response
+     * @return the http response future
      */
-    public HttpResponse<InputStream> invokeOptions(AbstractRequestBuilder abstractRequestBuilder) {
-        try {
-            String url = abstractRequestBuilder.getURL();
+    public CompletableFuture<HttpResponse<InputStream>> invokeOptionsAsync(
+            AbstractRequestBuilder abstractRequestBuilder) {
+        return invokeAsync("OPTIONS", abstractRequestBuilder, true);
+    }
 
-            LOGGER.debug("OPTIONS URL " + url);
+    /**
+     * Invokes a request on the {@link HttpTransport}, once the {@link RateLimiter} (if any) lets it through.
+     *
+     * @param method                 the http method
+     * @param abstractRequestBuilder the abstract request builder
+     * @param withBody               whether the request body should be sent
+     *
+     * @return the http response future
+     */
+    private CompletableFuture<HttpResponse<InputStream>> invokeAsync(String method,
+            AbstractRequestBuilder abstractRequestBuilder, boolean withBody) {
+        String url = abstractRequestBuilder.getURL();
 
-            HttpRequestWithBody request = Unirest.options(url);
+        LOGGER.debug(method + " URL " + url);
 
-            if (!headers.isEmpty()) {
-                request.headers(headers);
+        if (!headers.isEmpty()) {
+            LOGGER.debug(method + " Headers: " + headers);
+        }
 
-                LOGGER.debug("OPTIONS Headers: " + headers);
+        String body = null;
+        if (withBody) {
+            body = abstractRequestBuilder.getBody();
+            if (body != null) {
+                LOGGER.debug(method + " Body: " + body);
             }
+        }
 
-            String body = abstractRequestBuilder.getBody();
-            if (body != null) {
-                request.body(body);
+        HttpTransportRequest httpTransportRequest = new HttpTransportRequest(method, url, headers, body,
+                abstractRequestBuilder.isStreamingResponse());
 
-                LOGGER.debug("OPTIONS Body: " + body);
+        if (rateLimiter == null) {
+            return httpTransport.execute(httpTransportRequest);
+        }
+
+        RateLimiter requestRateLimiter = rateLimiter;
+        return requestRateLimiter.acquire(getRequestPriority(method, abstractRequestBuilder))
+                .thenCompose(acquired -> httpTransport.execute(httpTransportRequest))
+                .whenComplete((response, throwable) -> {
+                    if (response != null) {
+                        requestRateLimiter.updateFromResponse(response);
+                    }
+                });
+    }
+
+    /**
+     * Applies a response handler to a response future. Checked API request exceptions thrown by the handler complete
+     * the returned future exceptionally. A {@link StreamingHttpResponse} is closed once the handler returns.
+     *
+     * @param <T>            the response object type
+     * @param responseFuture the response future
+     * @param handler        the response handler
+     *
+     * @return the response object future
+     */
+    public <T> CompletableFuture<T> handleResponse(CompletableFuture<HttpResponse<InputStream>> responseFuture,
+            ResponseHandler<T> handler) {
+        return responseFuture.thenApply(response -> {
+            try {
+                return handler.handle(response);
+            } catch (AbstractAPIRequestException e) {
+                throw new CompletionException(e);
+            } finally {
+                if (response instanceof StreamingHttpResponse) {
+                    ((StreamingHttpResponse) response).close();
+                }
             }
+        });
+    }
 
-            return request.asBinary();
-        } catch (UnirestException e) {
-            LOGGER.error("UnirestException", e);
-        }
+    /**
+     * Waits for a response future to complete and rethrows the API request exception it may have completed with.
+     *
+     * @param <T>            the response object type
+     * @param <E>            the API request exception type
+     * @param responseFuture the response future
+     * @param exceptionType  the API request exception type
+     *
+     * @return the response object
+     *
+     * @throws E the API request exception
+     */
+    protected <T, E extends AbstractAPIRequestException> T awaitResponse(CompletableFuture<T> responseFuture,
+            Class<E> exceptionType) throws E {
+        try {
+            return responseFuture.join();
+        } catch (CompletionException e) {
+            if (exceptionType.isInstance(e.getCause())) {
+                throw exceptionType.cast(e.getCause());
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
 
-        return null;
+            throw e;
+        }
     }
 
     /**
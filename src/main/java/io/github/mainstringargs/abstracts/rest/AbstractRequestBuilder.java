@@ -4,6 +4,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,9 @@ public abstract class AbstractRequestBuilder {
     /** The custom body. */
     private String customBody;
 
+    /** Whether the response body should be streamed rather than buffered. */
+    private boolean streamingResponse;
+
     /**
      * Instantiates a new abstract request builder.
      *
@@ -139,4 +143,32 @@ public abstract class AbstractRequestBuilder {
     public void setCustomBody(String customBody) {
         this.customBody = customBody;
     }
+
+    /**
+     * Gets the appended endpoints.
+     *
+     * @return the appended endpoints
+     */
+    public List<String> getAppendedEndpoints() {
+        return Collections.unmodifiableList(appendedEndpoints);
+    }
+
+    /**
+     * Is streaming response.
+     *
+     * @return true if the response body should be streamed rather than buffered
+     */
+    public boolean isStreamingResponse() {
+        return streamingResponse;
+    }
+
+    /**
+     * Sets whether the response body should be streamed rather than buffered. A streamed body is parsed as it is
+     * received, so large responses never have to be held in memory as a whole.
+     *
+     * @param streamingResponse true to stream the response body
+     */
+    public void setStreamingResponse(boolean streamingResponse) {
+        this.streamingResponse = streamingResponse;
+    }
 }
@@ -0,0 +1,26 @@
+package io.github.mainstringargs.abstracts.rest;
+
+import com.mashape.unirest.http.HttpResponse;
+import io.github.mainstringargs.abstracts.rest.exception.AbstractAPIRequestException;
+
+import java.io.InputStream;
+
+/**
+ * The type Response handler which converts an HTTP response into a response object.
+ *
+ * @param <T> the response object type parameter
+ */
+@FunctionalInterface
+public interface ResponseHandler<T> {
+
+    /**
+     * Handle the response.
+     *
+     * @param httpResponse the http response
+     *
+     * @return the response object
+     *
+     * @throws AbstractAPIRequestException the API request exception
+     */
+    T handle(HttpResponse<InputStream> httpResponse) throws AbstractAPIRequestException;
+}
@@ -3,6 +3,7 @@ package io.github.mainstringargs.abstracts.rest.exception;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mashape.unirest.http.HttpResponse;
+import io.github.mainstringargs.abstracts.rest.transport.StreamingHttpResponse;
 import io.github.mainstringargs.util.gson.GsonUtil;
 
 import java.io.InputStream;
@@ -52,6 +53,11 @@ public abstract class AbstractAPIRequestException extends Exception {
         this.apiName = apiName;
         this.httpResponse = httpResponse;
 
+        // The body is parsed lazily, so it has to outlive the streaming response
+        if (httpResponse instanceof StreamingHttpResponse) {
+            ((StreamingHttpResponse) httpResponse).bufferBody();
+        }
+
         this.requestStatusCode = httpResponse.getStatus();
         this.requestStatusText = httpResponse.getStatusText();
     }
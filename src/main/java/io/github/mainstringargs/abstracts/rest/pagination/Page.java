@@ -0,0 +1,56 @@
+package io.github.mainstringargs.abstracts.rest.pagination;
+
+import java.util.List;
+
+/**
+ * The Class Page. One page of a paginated endpoint along with the cursor of the page that follows it.
+ *
+ * @param <C> the cursor type
+ * @param <T> the item type
+ */
+public class Page<C, T> {
+
+    /** The items. */
+    private final List<T> items;
+
+    /** The next cursor (null if this is the last page). */
+    private final C nextCursor;
+
+    /**
+     * Instantiates a new page.
+     *
+     * @param items      the items
+     * @param nextCursor the cursor of the next page (null if this is the last page)
+     */
+    public Page(List<T> items, C nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the items.
+     *
+     * @return the items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the next cursor.
+     *
+     * @return the next cursor (null if this is the last page)
+     */
+    public C getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Is last page.
+     *
+     * @return true if this is the last page
+     */
+    public boolean isLastPage() {
+        return nextCursor == null;
+    }
+}
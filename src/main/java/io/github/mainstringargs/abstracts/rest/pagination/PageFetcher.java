@@ -0,0 +1,22 @@
+package io.github.mainstringargs.abstracts.rest.pagination;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Interface PageFetcher.
+ *
+ * @param <C> the cursor type
+ * @param <T> the item type
+ */
+@FunctionalInterface
+public interface PageFetcher<C, T> {
+
+    /**
+     * Fetches the page at the given cursor.
+     *
+     * @param cursor the cursor
+     *
+     * @return the page future
+     */
+    CompletableFuture<Page<C, T>> fetchPage(C cursor);
+}
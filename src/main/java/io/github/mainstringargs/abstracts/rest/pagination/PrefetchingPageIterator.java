@@ -0,0 +1,177 @@
+package io.github.mainstringargs.abstracts.rest.pagination;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The Class PrefetchingPageIterator. Lazily iterates over the items of a paginated endpoint, following the page cursor
+ * and keeping up to <code>prefetchDepth</code> pages requested ahead of the page being consumed so that the next
+ * page is usually already there when it is needed.
+ * <p>
+ * If the cursor of a page is only known from the previous page (e.g. a page token or timestamp), the prefetched pages
+ * are requested one after the other as soon as their predecessor arrives. If it can be predicted (e.g. a page number),
+ * the prefetched pages are requested concurrently.
+ * <p>
+ * A failed page request surfaces as a {@link java.util.concurrent.CompletionException} (whose cause is the API
+ * request exception) from {@link #hasNext()} or {@link #next()}.
+ *
+ * @param <C> the cursor type
+ * @param <T> the item type
+ */
+public class PrefetchingPageIterator<C, T> implements Iterator<T>, AutoCloseable {
+
+    /** The Constant DEFAULT_PREFETCH_DEPTH. */
+    public static final int DEFAULT_PREFETCH_DEPTH = 2;
+
+    /** The page fetcher. */
+    private final PageFetcher<C, T> pageFetcher;
+
+    /** The cursor predictor (null if cursors are only known from the previous page). */
+    private final UnaryOperator<C> cursorPredictor;
+
+    /** The prefetch depth. */
+    private final int prefetchDepth;
+
+    /** The requested pages that have not been consumed, in page order. */
+    private final Deque<CompletableFuture<Page<C, T>>> requestedPages = new ArrayDeque<>();
+
+    /** The last requested page. */
+    private CompletableFuture<Page<C, T>> lastRequestedPage;
+
+    /** The next predicted cursor. */
+    private C nextPredictedCursor;
+
+    /** The items of the page being consumed. */
+    private Iterator<T> currentItems = Collections.emptyIterator();
+
+    /** Whether the last page has been reached (or the iterator was closed). */
+    private boolean lastPageReached;
+
+    /**
+     * Instantiates a new prefetching page iterator whose page cursors are only known from the previous page.
+     *
+     * @param firstCursor   the cursor of the first page
+     * @param pageFetcher   the page fetcher
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     */
+    public PrefetchingPageIterator(C firstCursor, PageFetcher<C, T> pageFetcher, int prefetchDepth) {
+        this(firstCursor, pageFetcher, null, prefetchDepth);
+    }
+
+    /**
+     * Instantiates a new prefetching page iterator.
+     *
+     * @param firstCursor     the cursor of the first page
+     * @param pageFetcher     the page fetcher
+     * @param cursorPredictor the function that predicts the cursor of the page following a cursor (null if cursors are
+     *                        only known from the previous page)
+     * @param prefetchDepth   the number of pages to request ahead of the page being consumed
+     */
+    public PrefetchingPageIterator(C firstCursor, PageFetcher<C, T> pageFetcher, UnaryOperator<C> cursorPredictor,
+            int prefetchDepth) {
+        Preconditions.checkNotNull(pageFetcher);
+        Preconditions.checkArgument(prefetchDepth >= 0, "prefetchDepth must not be negative");
+
+        this.pageFetcher = pageFetcher;
+        this.cursorPredictor = cursorPredictor;
+        this.prefetchDepth = prefetchDepth;
+
+        lastRequestedPage = pageFetcher.fetchPage(firstCursor);
+        requestedPages.add(lastRequestedPage);
+
+        if (cursorPredictor != null) {
+            nextPredictedCursor = cursorPredictor.apply(firstCursor);
+        }
+
+        requestAhead();
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        while (!currentItems.hasNext()) {
+            if (requestedPages.isEmpty()) {
+                return false;
+            }
+
+            Page<C, T> page = requestedPages.poll().join();
+
+            if (page.isLastPage()) {
+                cancelRequestedPages();
+                lastPageReached = true;
+            }
+
+            currentItems = page.getItems() == null ? Collections.emptyIterator() : page.getItems().iterator();
+
+            requestAhead();
+        }
+
+        return true;
+    }
+
+    @Override
+    public synchronized T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return currentItems.next();
+    }
+
+    /**
+     * Requests pages until <code>prefetchDepth</code> pages are requested ahead of the page being consumed.
+     */
+    private void requestAhead() {
+        while (!lastPageReached && requestedPages.size() < prefetchDepth + (currentItems.hasNext() ? 0 : 1)) {
+            if (cursorPredictor != null) {
+                lastRequestedPage = pageFetcher.fetchPage(nextPredictedCursor);
+                nextPredictedCursor = cursorPredictor.apply(nextPredictedCursor);
+            } else {
+                lastRequestedPage = lastRequestedPage.thenCompose(previousPage -> previousPage.isLastPage() ?
+                        CompletableFuture.completedFuture(new Page<>(Collections.emptyList(), null)) :
+                        pageFetcher.fetchPage(previousPage.getNextCursor()));
+            }
+
+            requestedPages.add(lastRequestedPage);
+        }
+    }
+
+    /**
+     * Cancels the requested pages that have not been consumed.
+     */
+    private void cancelRequestedPages() {
+        requestedPages.forEach(requestedPage -> requestedPage.cancel(false));
+        requestedPages.clear();
+    }
+
+    /**
+     * Returns a sequential stream over the remaining items. Closing the stream closes this iterator.
+     *
+     * @return the stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Stops prefetching and cancels the requested pages that have not been consumed.
+     */
+    @Override
+    public synchronized void close() {
+        lastPageReached = true;
+        cancelRequestedPages();
+        currentItems = Collections.emptyIterator();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.mainstringargs.abstracts.rest.pagination;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The Class TimestampCursor. A cursor for endpoints that are paginated by passing the timestamp of the last item
+ * received. Because several items can share that timestamp and the endpoint may return it again, the cursor also keeps
+ * the IDs of the items already received at that timestamp so that they can be skipped.
+ *
+ * @param <K> the timestamp type
+ */
+public class TimestampCursor<K> {
+
+    /** The timestamp. */
+    private final K timestamp;
+
+    /** The IDs of the items already received at the timestamp. */
+    private final Set<String> receivedIDs;
+
+    /**
+     * Instantiates a new timestamp cursor.
+     *
+     * @param timestamp   the timestamp (null for the start)
+     * @param receivedIDs the IDs of the items already received at the timestamp
+     */
+    public TimestampCursor(K timestamp, Set<String> receivedIDs) {
+        this.timestamp = timestamp;
+        this.receivedIDs = Collections.unmodifiableSet(receivedIDs);
+    }
+
+    /**
+     * Instantiates a new timestamp cursor with no received items.
+     *
+     * @param timestamp the timestamp (null for the start)
+     */
+    public TimestampCursor(K timestamp) {
+        this(timestamp, Collections.emptySet());
+    }
+
+    /**
+     * Gets the timestamp.
+     *
+     * @return the timestamp
+     */
+    public K getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Checks whether an item was already received with this cursor's timestamp.
+     *
+     * @param itemTimestamp the item timestamp
+     * @param itemID        the item ID
+     *
+     * @return true if it was
+     */
+    public boolean wasReceived(K itemTimestamp, String itemID) {
+        return Objects.equals(timestamp, itemTimestamp) && receivedIDs.contains(itemID);
+    }
+
+    /**
+     * Creates the cursor that follows a full page of items.
+     * <p>
+     * A full page without new items means that more items than the page limit share the timestamp of this cursor, so
+     * the endpoint can't be paged past them without skipping some. Rather than end the iteration with those items
+     * silently missing, this fails: use a larger page limit.
+     *
+     * @param <T>               the item type
+     * @param items             the new items of the page (already filtered with {@link #wasReceived(Object, String)})
+     * @param timestampFunction the function that gets the timestamp of an item
+     * @param idFunction        the function that gets the ID of an item
+     *
+     * @return the next cursor
+     *
+     * @throws IllegalStateException if the page had no new items and so the cursor cannot advance
+     */
+    public <T> TimestampCursor<K> next(List<T> items, Function<T, K> timestampFunction,
+            Function<T, String> idFunction) {
+        if (items.isEmpty()) {
+            throw new IllegalStateException("A full page had no new items: more items than the page limit share " +
+                    "the timestamp " + timestamp + ", so the pagination can't advance past them without skipping " +
+                    "some. Use a larger page limit.");
+        }
+
+        K lastTimestamp = timestampFunction.apply(items.get(items.size() - 1));
+
+        Set<String> lastTimestampIDs = new HashSet<>();
+        if (Objects.equals(lastTimestamp, timestamp)) {
+            lastTimestampIDs.addAll(receivedIDs);
+        }
+
+        for (int index = items.size() - 1; index >= 0; index--) {
+            T item = items.get(index);
+            if (!Objects.equals(timestampFunction.apply(item), lastTimestamp)) {
+                break;
+            }
+            lastTimestampIDs.add(idFunction.apply(item));
+        }
+
+        return new TimestampCursor<>(lastTimestamp, lastTimestampIDs);
+    }
+}
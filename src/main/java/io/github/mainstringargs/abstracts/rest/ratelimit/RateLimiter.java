@@ -0,0 +1,481 @@
+package io.github.mainstringargs.abstracts.rest.ratelimit;
+
+import com.google.common.base.Preconditions;
+import com.mashape.unirest.http.HttpResponse;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Class RateLimiter. A token bucket that throttles the requests made with one API key. Requests that can't get a
+ * token right away are queued and released by {@link RequestPriority} (and in arrival order within a priority) as
+ * tokens are refilled. A share of the bucket is reserved so that lower priority requests can't drain it completely
+ * and starve order entry.
+ * <p>
+ * The bucket also adapts to the rate limit the server reports: {@link #updateFromResponse(HttpResponse)} reads the
+ * <code>X-RateLimit-Remaining</code> and <code>X-RateLimit-Reset</code> headers, so requests made with the same key
+ * from elsewhere are accounted for.
+ */
+public class RateLimiter {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(RateLimiter.class);
+
+    /** The Constant RATE_LIMIT_REMAINING_HEADER. */
+    public static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    /** The Constant RATE_LIMIT_RESET_HEADER. The value is the epoch second at which the limit resets. */
+    public static final String RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
+
+    /** The Constant TOO_MANY_REQUESTS_STATUS. */
+    private static final int TOO_MANY_REQUESTS_STATUS = 429;
+
+    /** The Constant RESERVED_TOKENS_FRACTION. The fraction of the bucket reserved for {@link RequestPriority#ORDER}. */
+    private static final double RESERVED_TOKENS_FRACTION = 0.05;
+
+    /** The rate limiters by key. */
+    private static final Map<String, RateLimiter> RATE_LIMITERS_BY_KEY = new ConcurrentHashMap<>();
+
+    /** The scheduler that releases queued requests for all rate limiters. */
+    private static final ScheduledExecutorService SCHEDULER = ExecutorTracer.newScheduledThreadPool(1, runnable -> {
+        Thread thread = new Thread(runnable, "RateLimiterThread");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The requests per minute. */
+    private final int requestsPerMinute;
+
+    /** The token capacity. */
+    private final double capacity;
+
+    /** The tokens reserved for higher priority requests. */
+    private final double reservedTokens;
+
+    /** The tokens refilled per nanosecond. */
+    private final double tokensPerNano;
+
+    /** The queued requests. */
+    private final PriorityQueue<QueuedRequest> queuedRequests = new PriorityQueue<>();
+
+    /** The available tokens. */
+    private double tokens;
+
+    /** The nano time of the last refill. */
+    private long lastRefillNanos;
+
+    /** The epoch millis until which the server reported no remaining requests. */
+    private long serverBlockedUntilMillis;
+
+    /** The sequence number of the next queued request. */
+    private long nextSequence;
+
+    /** The scheduled release of queued requests (null if none is scheduled). */
+    private ScheduledFuture<?> scheduledRelease;
+
+    /** The nano time the scheduled release is due at. */
+    private long scheduledReleaseNanos;
+
+    /** The acquired count. */
+    private long acquiredCount;
+
+    /** The throttled count (requests that had to be queued). */
+    private long throttledCount;
+
+    /** The total queue wait nanos. */
+    private long totalQueueWaitNanos;
+
+    /** The max queue wait nanos. */
+    private long maxQueueWaitNanos;
+
+    /** The throttled counts by priority. */
+    private final long[] throttledCountsByPriority = new long[RequestPriority.values().length];
+
+    /**
+     * Instantiates a new rate limiter.
+     *
+     * @param requestsPerMinute the requests per minute
+     */
+    public RateLimiter(int requestsPerMinute) {
+        Preconditions.checkArgument(requestsPerMinute > 0, "requestsPerMinute must be positive");
+
+        this.requestsPerMinute = requestsPerMinute;
+        this.capacity = requestsPerMinute;
+        this.reservedTokens = Math.floor(capacity * RESERVED_TOKENS_FRACTION);
+        this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the rate limiter shared by everything using the given key, creating it if needed.
+     *
+     * @param key               the API key
+     * @param requestsPerMinute the requests per minute (only used if the rate limiter is created)
+     *
+     * @return the rate limiter
+     */
+    public static RateLimiter forKey(String key, int requestsPerMinute) {
+        Preconditions.checkNotNull(key);
+
+        return RATE_LIMITERS_BY_KEY.computeIfAbsent(key, k -> new RateLimiter(requestsPerMinute));
+    }
+
+    /**
+     * Acquires a token. The returned future completes as soon as the request may be sent, which is immediately if a
+     * token is available and no request of the same or higher priority is queued.
+     *
+     * @param requestPriority the request priority
+     *
+     * @return the future that completes when the request may be sent
+     */
+    public CompletableFuture<Void> acquire(RequestPriority requestPriority) {
+        Preconditions.checkNotNull(requestPriority);
+
+        synchronized (this) {
+            refill();
+
+            boolean queuedAhead = !queuedRequests.isEmpty() &&
+                    queuedRequests.peek().requestPriority.compareTo(requestPriority) <= 0;
+
+            if (!queuedAhead && canAcquire(requestPriority)) {
+                tokens--;
+                acquiredCount++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            QueuedRequest queuedRequest = new QueuedRequest(requestPriority, nextSequence++, System.nanoTime());
+            queuedRequests.add(queuedRequest);
+            throttledCount++;
+            throttledCountsByPriority[requestPriority.ordinal()]++;
+
+            LOGGER.debug("Throttled " + requestPriority + " request, " + queuedRequests.size() + " queued");
+
+            scheduleRelease();
+
+            return queuedRequest.future;
+        }
+    }
+
+    /**
+     * Updates the bucket from the rate limit headers of a response. A 429 response without headers blocks the bucket
+     * until the next token would have been refilled.
+     *
+     * @param httpResponse the http response
+     */
+    public void updateFromResponse(HttpResponse<?> httpResponse) {
+        String remainingValue = getHeaderValue(httpResponse, RATE_LIMIT_REMAINING_HEADER);
+        String resetValue = getHeaderValue(httpResponse, RATE_LIMIT_RESET_HEADER);
+
+        Integer remaining = null;
+        Long resetEpochSecond = null;
+        try {
+            if (remainingValue != null) {
+                remaining = Integer.parseInt(remainingValue.trim());
+            }
+            if (resetValue != null) {
+                resetEpochSecond = Long.parseLong(resetValue.trim());
+            }
+        } catch (NumberFormatException exception) {
+            LOGGER.warn("Could not parse rate limit headers: " + remainingValue + ", " + resetValue);
+        }
+
+        if (remaining == null && httpResponse.getStatus() == TOO_MANY_REQUESTS_STATUS) {
+            remaining = 0;
+        }
+
+        if (remaining != null) {
+            update(remaining, resetEpochSecond);
+        }
+    }
+
+    /**
+     * Updates the bucket with the rate limit reported by the server.
+     *
+     * @param remaining        the remaining requests in the current window
+     * @param resetEpochSecond the epoch second at which the window resets (null if unknown)
+     */
+    public void update(int remaining, Long resetEpochSecond) {
+        synchronized (this) {
+            refill();
+
+            // Only ever lower the tokens: responses complete out of order, so the remaining count of one can be stale
+            // by the requests sent since, and raising the tokens to it could let a burst through that the server
+            // rejects. The bucket refills by itself anyway.
+            tokens = Math.min(tokens, remaining);
+
+            if (remaining <= 0) {
+                tokens = Math.min(tokens, 0);
+
+                if (resetEpochSecond != null) {
+                    serverBlockedUntilMillis = Math.max(serverBlockedUntilMillis,
+                            TimeUnit.SECONDS.toMillis(resetEpochSecond));
+                }
+
+                LOGGER.warn("Server reported no remaining requests, throttling until " +
+                        (resetEpochSecond == null ? "tokens are refilled" : "epoch second " + resetEpochSecond));
+            }
+
+            if (!queuedRequests.isEmpty()) {
+                scheduleRelease();
+            }
+        }
+    }
+
+    /**
+     * Releases the queued requests that can get a token and schedules the next release if any remain.
+     */
+    private void releaseQueuedRequests() {
+        List<QueuedRequest> releasedRequests = new ArrayList<>();
+
+        synchronized (this) {
+            scheduledRelease = null;
+            refill();
+
+            long nowNanos = System.nanoTime();
+            while (!queuedRequests.isEmpty() && canAcquire(queuedRequests.peek().requestPriority)) {
+                QueuedRequest queuedRequest = queuedRequests.poll();
+                tokens--;
+                acquiredCount++;
+
+                long queueWaitNanos = nowNanos - queuedRequest.queuedNanos;
+                totalQueueWaitNanos += queueWaitNanos;
+                maxQueueWaitNanos = Math.max(maxQueueWaitNanos, queueWaitNanos);
+
+                releasedRequests.add(queuedRequest);
+            }
+
+            if (!queuedRequests.isEmpty()) {
+                scheduleRelease();
+            }
+        }
+
+        // Complete outside of the lock since completion runs the dependent request stages
+        releasedRequests.forEach(queuedRequest -> queuedRequest.future.complete(null));
+    }
+
+    /**
+     * Schedules a release of the queued requests for when the head of the queue could get a token. If a release is
+     * already scheduled later than that (because it was scheduled for a head that needs more tokens, e.g. a {@link
+     * RequestPriority#MARKET_DATA} request queued before an {@link RequestPriority#ORDER} request), it is rescheduled
+     * earlier. Must be called while holding the lock.
+     */
+    private void scheduleRelease() {
+        double requiredTokens = getRequiredTokens(queuedRequests.peek().requestPriority);
+        long delayNanos = (long) Math.ceil(Math.max(0, requiredTokens - tokens) / tokensPerNano);
+
+        long serverBlockedNanos = TimeUnit.MILLISECONDS.toNanos(serverBlockedUntilMillis - System.currentTimeMillis());
+        delayNanos = Math.max(Math.max(delayNanos, serverBlockedNanos), 0);
+
+        long releaseNanos = System.nanoTime() + delayNanos;
+        if (scheduledRelease != null) {
+            if (scheduledReleaseNanos - releaseNanos <= 0) {
+                return;
+            }
+
+            scheduledRelease.cancel(false);
+        }
+
+        scheduledReleaseNanos = releaseNanos;
+        scheduledRelease = SCHEDULER.schedule(this::releaseQueuedRequests, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Refills the bucket. Must be called while holding the lock.
+     */
+    private void refill() {
+        long nowNanos = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * Checks whether a request of the given priority can get a token right now. Must be called while holding the lock.
+     *
+     * @param requestPriority the request priority
+     *
+     * @return true if it can
+     */
+    private boolean canAcquire(RequestPriority requestPriority) {
+        return System.currentTimeMillis() >= serverBlockedUntilMillis &&
+                tokens >= getRequiredTokens(requestPriority);
+    }
+
+    /**
+     * Gets the tokens that must be in the bucket for a request of the given priority to take one. Lower priorities
+     * have to leave the reserved tokens in the bucket.
+     *
+     * @param requestPriority the request priority
+     *
+     * @return the required tokens
+     */
+    private double getRequiredTokens(RequestPriority requestPriority) {
+        switch (requestPriority) {
+            case ORDER:
+                return 1;
+            case ACCOUNT:
+                return 1 + Math.floor(reservedTokens / 2);
+            default:
+                return 1 + reservedTokens;
+        }
+    }
+
+    /**
+     * Gets the value of a header, ignoring the case of its name.
+     *
+     * @param httpResponse the http response
+     * @param headerName   the header name
+     *
+     * @return the header value or null
+     */
+    private static String getHeaderValue(HttpResponse<?> httpResponse, String headerName) {
+        if (httpResponse.getHeaders() == null) {
+            return null;
+        }
+
+        for (Map.Entry<String, List<String>> header : httpResponse.getHeaders().entrySet()) {
+            if (headerName.equalsIgnoreCase(header.getKey()) && header.getValue() != null &&
+                    !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the requests per minute.
+     *
+     * @return the requests per minute
+     */
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    /**
+     * Gets the available tokens.
+     *
+     * @return the available tokens
+     */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    /**
+     * Gets the number of requests currently queued.
+     *
+     * @return the queue size
+     */
+    public synchronized int getQueueSize() {
+        return queuedRequests.size();
+    }
+
+    /**
+     * Gets the number of requests that were allowed to be sent.
+     *
+     * @return the acquired count
+     */
+    public synchronized long getAcquiredCount() {
+        return acquiredCount;
+    }
+
+    /**
+     * Gets the number of requests that had to be queued.
+     *
+     * @return the throttled count
+     */
+    public synchronized long getThrottledCount() {
+        return throttledCount;
+    }
+
+    /**
+     * Gets the number of requests of the given priority that had to be queued.
+     *
+     * @param requestPriority the request priority
+     *
+     * @return the throttled count
+     */
+    public synchronized long getThrottledCount(RequestPriority requestPriority) {
+        return throttledCountsByPriority[requestPriority.ordinal()];
+    }
+
+    /**
+     * Gets the average time a throttled request spent queued.
+     *
+     * @return the average queue wait millis
+     */
+    public synchronized double getAverageQueueWaitMillis() {
+        long releasedThrottledCount = throttledCount - queuedRequests.size();
+        return releasedThrottledCount == 0 ? 0 :
+                totalQueueWaitNanos / (double) releasedThrottledCount / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the longest time a throttled request spent queued.
+     *
+     * @return the max queue wait millis
+     */
+    public synchronized double getMaxQueueWaitMillis() {
+        return maxQueueWaitNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringJoiner(", ", RateLimiter.class.getSimpleName() + "[", "]")
+                .add("requestsPerMinute=" + requestsPerMinute)
+                .add("tokens=" + tokens)
+                .add("queueSize=" + queuedRequests.size())
+                .add("acquiredCount=" + acquiredCount)
+                .add("throttledCount=" + throttledCount)
+                .toString();
+    }
+
+    /**
+     * The Class QueuedRequest.
+     */
+    private static class QueuedRequest implements Comparable<QueuedRequest> {
+
+        /** The request priority. */
+        private final RequestPriority requestPriority;
+
+        /** The sequence. */
+        private final long sequence;
+
+        /** The nano time the request was queued at. */
+        private final long queuedNanos;
+
+        /** The future completed when the request is released. */
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        /**
+         * Instantiates a new queued request.
+         *
+         * @param requestPriority the request priority
+         * @param sequence        the sequence
+         * @param queuedNanos     the queued nanos
+         */
+        private QueuedRequest(RequestPriority requestPriority, long sequence, long queuedNanos) {
+            this.requestPriority = requestPriority;
+            this.sequence = sequence;
+            this.queuedNanos = queuedNanos;
+        }
+
+        @Override
+        public int compareTo(QueuedRequest other) {
+            int priorityComparison = requestPriority.compareTo(other.requestPriority);
+            return priorityComparison != 0 ? priorityComparison : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.mainstringargs.abstracts.rest.ratelimit;
+
+/**
+ * The Enum RequestPriority. When requests are throttled by a {@link RateLimiter}, queued requests are released in the
+ * declaration order of these priorities.
+ */
+public enum RequestPriority {
+
+    /** Order entry, replacement and cancellation. */
+    ORDER,
+
+    /** Account, order status and position queries. */
+    ACCOUNT,
+
+    /** Market data and reference data. */
+    MARKET_DATA
+}
@@ -0,0 +1,267 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import com.google.common.base.Preconditions;
+import com.mashape.unirest.http.HttpResponse;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Class ApacheHttpTransport. This is the default {@link HttpTransport}. It executes requests on a non-blocking
+ * Apache HttpAsyncClient with its own connection pool, so no thread is parked while a request is in flight and every
+ * instance can be sized independently. Streaming responses are read through a {@link StreamingResponseConsumer}.
+ * The response futures are completed on a bounded response thread pool rather than on an I/O dispatcher thread, so a
+ * slow stage chained to one response can't delay the other requests in flight. Only while its queue is full does an
+ * I/O dispatcher thread complete a response itself, which throttles the reading of the responses.
+ */
+public class ApacheHttpTransport implements HttpTransport {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(ApacheHttpTransport.class);
+
+    /** The Constant THREAD_COUNT. Used to name the I/O dispatcher threads of all instances. */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /** The http transport config. */
+    private final HttpTransportConfig httpTransportConfig;
+
+    /** The async http client. */
+    private final CloseableHttpAsyncClient asyncHttpClient;
+
+    /**
+     * The executor the response futures are completed on, so that the parsing of the responses and the stages chained
+     * to the futures never run on (and stall) an I/O dispatcher thread.
+     */
+    private final ExecutorService responseExecutor;
+
+    /**
+     * Instantiates a new apache http transport with the default {@link HttpTransportConfig}.
+     */
+    public ApacheHttpTransport() {
+        this(new HttpTransportConfig());
+    }
+
+    /**
+     * Instantiates a new apache http transport.
+     *
+     * @param httpTransportConfig the http transport config
+     */
+    public ApacheHttpTransport(HttpTransportConfig httpTransportConfig) {
+        Preconditions.checkNotNull(httpTransportConfig);
+
+        this.httpTransportConfig = httpTransportConfig;
+
+        HttpAsyncClientBuilder clientBuilder = HttpAsyncClients.custom()
+                .setDefaultIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(httpTransportConfig.getIoThreadCount())
+                        .setConnectTimeout(httpTransportConfig.getConnectTimeoutMillis())
+                        .setSoTimeout(httpTransportConfig.getSocketTimeoutMillis())
+                        .setSoKeepAlive(httpTransportConfig.isKeepAlive())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(httpTransportConfig.getConnectTimeoutMillis())
+                        .setSocketTimeout(httpTransportConfig.getSocketTimeoutMillis())
+                        .setConnectionRequestTimeout(httpTransportConfig.getConnectionRequestTimeoutMillis())
+                        .build())
+                .setMaxConnPerRoute(httpTransportConfig.getMaxConnectionsPerRoute())
+                .setMaxConnTotal(httpTransportConfig.getMaxConnectionsTotal())
+                .setThreadFactory(runnable -> {
+                    Thread thread = new Thread(runnable, "HttpTransportThread-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        if (httpTransportConfig.isKeepAlive()) {
+            clientBuilder.setKeepAliveStrategy((response, context) -> {
+                long serverKeepAliveMillis = DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context);
+                return serverKeepAliveMillis > 0 ? serverKeepAliveMillis : httpTransportConfig.getKeepAliveMillis();
+            });
+        } else {
+            clientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        }
+
+        asyncHttpClient = clientBuilder.build();
+        asyncHttpClient.start();
+
+        responseExecutor = ExecutorTracer.newCallerRunsThreadPool(httpTransportConfig.getResponseThreadCount(),
+                httpTransportConfig.getResponseQueueCapacity(), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "HttpTransportResponseThread-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        LOGGER.debug(this.toString());
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<InputStream>> execute(HttpTransportRequest httpTransportRequest) {
+        CompletableFuture<HttpResponse<InputStream>> responseFuture = new CompletableFuture<>();
+
+        RequestBuilder requestBuilder;
+        try {
+            requestBuilder = RequestBuilder.create(httpTransportRequest.getMethod())
+                    .setUri(toURI(httpTransportRequest.getURL()));
+        } catch (Exception exception) {
+            responseFuture.completeExceptionally(exception);
+            return responseFuture;
+        }
+
+        httpTransportRequest.getHeaders().forEach(requestBuilder::addHeader);
+
+        if (httpTransportRequest.getBody() != null) {
+            requestBuilder.setEntity(new StringEntity(httpTransportRequest.getBody(), StandardCharsets.UTF_8));
+        }
+
+        if (httpTransportRequest.isStreamingResponse()) {
+            executeStreaming(httpTransportRequest, requestBuilder.build(), responseFuture);
+        } else {
+            executeBuffered(httpTransportRequest, requestBuilder.build(), responseFuture);
+        }
+
+        return responseFuture;
+    }
+
+    /**
+     * Executes a request whose response is buffered completely before the response future is completed.
+     *
+     * @param httpTransportRequest the http transport request
+     * @param httpUriRequest       the http uri request
+     * @param responseFuture       the response future
+     */
+    private void executeBuffered(HttpTransportRequest httpTransportRequest, HttpUriRequest httpUriRequest,
+            CompletableFuture<HttpResponse<InputStream>> responseFuture) {
+        asyncHttpClient.execute(httpUriRequest, new FutureCallback<org.apache.http.HttpResponse>() {
+            @Override
+            public void completed(org.apache.http.HttpResponse result) {
+                completeOnResponseExecutor(responseFuture, () -> {
+                    try {
+                        responseFuture.complete(new HttpResponse<>(result, InputStream.class));
+                    } catch (Exception exception) {
+                        responseFuture.completeExceptionally(exception);
+                    }
+                });
+            }
+
+            @Override
+            public void failed(Exception exception) {
+                LOGGER.error("Request failed: " + httpTransportRequest, exception);
+                completeOnResponseExecutor(responseFuture, () -> responseFuture.completeExceptionally(exception));
+            }
+
+            @Override
+            public void cancelled() {
+                completeOnResponseExecutor(responseFuture, () -> responseFuture.cancel(false));
+            }
+        });
+    }
+
+    /**
+     * Executes a request whose response future is completed with a {@link StreamingHttpResponse} as soon as the
+     * response headers are received.
+     *
+     * @param httpTransportRequest the http transport request
+     * @param httpUriRequest       the http uri request
+     * @param responseFuture       the response future
+     */
+    private void executeStreaming(HttpTransportRequest httpTransportRequest, HttpUriRequest httpUriRequest,
+            CompletableFuture<HttpResponse<InputStream>> responseFuture) {
+        StreamingResponseConsumer streamingResponseConsumer = new StreamingResponseConsumer(responseFuture,
+                responseExecutor, httpTransportConfig.getMaxBufferedResponseBytes());
+
+        asyncHttpClient.execute(HttpAsyncMethods.create(httpUriRequest), streamingResponseConsumer,
+                new FutureCallback<Void>() {
+                    @Override
+                    public void completed(Void result) {
+                        // The response future was already completed when the headers were received
+                    }
+
+                    @Override
+                    public void failed(Exception exception) {
+                        LOGGER.error("Request failed: " + httpTransportRequest, exception);
+                        completeOnResponseExecutor(responseFuture,
+                                () -> responseFuture.completeExceptionally(exception));
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        completeOnResponseExecutor(responseFuture, () -> responseFuture.cancel(false));
+                    }
+                });
+    }
+
+    /**
+     * Completes a response future on the response executor, or fails it if the transport was closed.
+     *
+     * @param responseFuture the response future
+     * @param completion     the completion
+     */
+    private void completeOnResponseExecutor(CompletableFuture<HttpResponse<InputStream>> responseFuture,
+            Runnable completion) {
+        try {
+            responseExecutor.execute(completion);
+        } catch (RejectedExecutionException exception) {
+            responseFuture.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * Converts a URL string to a URI, quoting any characters that are not legal in a URI (e.g. spaces in a query
+     * parameter value).
+     *
+     * @param url the url
+     *
+     * @return the uri
+     *
+     * @throws Exception if the url is malformed
+     */
+    private URI toURI(String url) throws Exception {
+        URL parsedURL = new URL(url);
+
+        return new URI(parsedURL.getProtocol(), parsedURL.getUserInfo(), parsedURL.getHost(), parsedURL.getPort(),
+                parsedURL.getPath(), parsedURL.getQuery(), parsedURL.getRef());
+    }
+
+    /**
+     * Gets the http transport config.
+     *
+     * @return the http transport config
+     */
+    public HttpTransportConfig getHttpTransportConfig() {
+        return httpTransportConfig;
+    }
+
+    @Override
+    public void close() throws IOException {
+        asyncHttpClient.close();
+        responseExecutor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return ApacheHttpTransport.class.getSimpleName() + "[" + httpTransportConfig + "]";
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import com.mashape.unirest.http.HttpResponse;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Interface HttpTransport. An HTTP transport executes the requests built by an
+ * {@link io.github.mainstringargs.abstracts.rest.AbstractRequest}, which lets each API instance use its own connection
+ * pool, timeouts and client implementation.
+ *
+ * @see ApacheHttpTransport
+ * @see InMemoryHttpTransport
+ */
+public interface HttpTransport extends Closeable {
+
+    /**
+     * Executes the request. The returned future completes once the response has been received or completes
+     * exceptionally if the request could not be executed. If the request asks for a
+     * {@link HttpTransportRequest#isStreamingResponse() streaming response}, a transport that supports it completes the
+     * future with a {@link StreamingHttpResponse} once the headers have been received.
+     *
+     * @param httpTransportRequest the http transport request
+     *
+     * @return the http response future
+     */
+    CompletableFuture<HttpResponse<InputStream>> execute(HttpTransportRequest httpTransportRequest);
+}
@@ -0,0 +1,291 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import java.util.StringJoiner;
+
+/**
+ * The Class HttpTransportConfig. Holds the connection pool, keep-alive and timeout settings of an
+ * {@link ApacheHttpTransport}.
+ */
+public class HttpTransportConfig {
+
+    /** The Constant DEFAULT_IO_THREAD_COUNT. */
+    public static final int DEFAULT_IO_THREAD_COUNT = 2;
+
+    /** The Constant DEFAULT_MAX_CONNECTIONS_PER_ROUTE. */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+
+    /** The Constant DEFAULT_MAX_CONNECTIONS_TOTAL. */
+    public static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 30;
+
+    /** The Constant DEFAULT_KEEP_ALIVE_MILLIS. */
+    public static final long DEFAULT_KEEP_ALIVE_MILLIS = 30_000;
+
+    /** The Constant DEFAULT_CONNECT_TIMEOUT_MILLIS. */
+    public static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /** The Constant DEFAULT_SOCKET_TIMEOUT_MILLIS. */
+    public static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 60_000;
+
+    /** The Constant DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS. */
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    /** The Constant DEFAULT_MAX_BUFFERED_RESPONSE_BYTES. */
+    public static final int DEFAULT_MAX_BUFFERED_RESPONSE_BYTES = 64 * 1024;
+
+    /** The Constant DEFAULT_RESPONSE_THREAD_COUNT. */
+    public static final int DEFAULT_RESPONSE_THREAD_COUNT = 4;
+
+    /** The Constant DEFAULT_RESPONSE_QUEUE_CAPACITY. */
+    public static final int DEFAULT_RESPONSE_QUEUE_CAPACITY = 1024;
+
+    /** The number of non-blocking I/O dispatcher threads. */
+    private int ioThreadCount = DEFAULT_IO_THREAD_COUNT;
+
+    /** The max connections per route (i.e. per host). */
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    /** The max connections over all routes. */
+    private int maxConnectionsTotal = DEFAULT_MAX_CONNECTIONS_TOTAL;
+
+    /** Whether connections are kept alive and reused between requests. */
+    private boolean keepAlive = true;
+
+    /** The keep alive duration used when the server does not send a Keep-Alive timeout. */
+    private long keepAliveMillis = DEFAULT_KEEP_ALIVE_MILLIS;
+
+    /** The connect timeout. */
+    private int connectTimeoutMillis = DEFAULT_CONNECT_TIMEOUT_MILLIS;
+
+    /** The socket (read) timeout. */
+    private int socketTimeoutMillis = DEFAULT_SOCKET_TIMEOUT_MILLIS;
+
+    /** The timeout for leasing a connection from the pool. */
+    private int connectionRequestTimeoutMillis = DEFAULT_CONNECTION_REQUEST_TIMEOUT_MILLIS;
+
+    /** The bytes of a streaming response body that are buffered before input from the connection is suspended. */
+    private int maxBufferedResponseBytes = DEFAULT_MAX_BUFFERED_RESPONSE_BYTES;
+
+    /** The number of threads the response futures are completed on. */
+    private int responseThreadCount = DEFAULT_RESPONSE_THREAD_COUNT;
+
+    /**
+     * The number of responses queued for the response threads before the I/O dispatcher threads complete them
+     * themselves (which stops them from reading the other responses meanwhile).
+     */
+    private int responseQueueCapacity = DEFAULT_RESPONSE_QUEUE_CAPACITY;
+
+    /**
+     * Gets the io thread count.
+     *
+     * @return the io thread count
+     */
+    public int getIoThreadCount() {
+        return ioThreadCount;
+    }
+
+    /**
+     * Sets the io thread count.
+     *
+     * @param ioThreadCount the io thread count
+     */
+    public void setIoThreadCount(int ioThreadCount) {
+        this.ioThreadCount = ioThreadCount;
+    }
+
+    /**
+     * Gets the max connections per route.
+     *
+     * @return the max connections per route
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the max connections per route.
+     *
+     * @param maxConnectionsPerRoute the max connections per route
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the max connections total.
+     *
+     * @return the max connections total
+     */
+    public int getMaxConnectionsTotal() {
+        return maxConnectionsTotal;
+    }
+
+    /**
+     * Sets the max connections total.
+     *
+     * @param maxConnectionsTotal the max connections total
+     */
+    public void setMaxConnectionsTotal(int maxConnectionsTotal) {
+        this.maxConnectionsTotal = maxConnectionsTotal;
+    }
+
+    /**
+     * Is keep alive.
+     *
+     * @return the boolean
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Sets keep alive.
+     *
+     * @param keepAlive the keep alive
+     */
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Gets the keep alive millis.
+     *
+     * @return the keep alive millis
+     */
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    /**
+     * Sets the keep alive millis.
+     *
+     * @param keepAliveMillis the keep alive millis
+     */
+    public void setKeepAliveMillis(long keepAliveMillis) {
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    /**
+     * Gets the connect timeout millis.
+     *
+     * @return the connect timeout millis
+     */
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    /**
+     * Sets the connect timeout millis.
+     *
+     * @param connectTimeoutMillis the connect timeout millis
+     */
+    public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    /**
+     * Gets the socket timeout millis.
+     *
+     * @return the socket timeout millis
+     */
+    public int getSocketTimeoutMillis() {
+        return socketTimeoutMillis;
+    }
+
+    /**
+     * Sets the socket timeout millis.
+     *
+     * @param socketTimeoutMillis the socket timeout millis
+     */
+    public void setSocketTimeoutMillis(int socketTimeoutMillis) {
+        this.socketTimeoutMillis = socketTimeoutMillis;
+    }
+
+    /**
+     * Gets the connection request timeout millis.
+     *
+     * @return the connection request timeout millis
+     */
+    public int getConnectionRequestTimeoutMillis() {
+        return connectionRequestTimeoutMillis;
+    }
+
+    /**
+     * Sets the connection request timeout millis.
+     *
+     * @param connectionRequestTimeoutMillis the connection request timeout millis
+     */
+    public void setConnectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+        this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+    }
+
+    /**
+     * Gets the max buffered response bytes.
+     *
+     * @return the max buffered response bytes
+     */
+    public int getMaxBufferedResponseBytes() {
+        return maxBufferedResponseBytes;
+    }
+
+    /**
+     * Sets the max buffered response bytes.
+     *
+     * @param maxBufferedResponseBytes the max buffered response bytes
+     */
+    public void setMaxBufferedResponseBytes(int maxBufferedResponseBytes) {
+        this.maxBufferedResponseBytes = maxBufferedResponseBytes;
+    }
+
+    /**
+     * Gets the response thread count.
+     *
+     * @return the response thread count
+     */
+    public int getResponseThreadCount() {
+        return responseThreadCount;
+    }
+
+    /**
+     * Sets the response thread count.
+     *
+     * @param responseThreadCount the response thread count
+     */
+    public void setResponseThreadCount(int responseThreadCount) {
+        this.responseThreadCount = responseThreadCount;
+    }
+
+    /**
+     * Gets the response queue capacity.
+     *
+     * @return the response queue capacity
+     */
+    public int getResponseQueueCapacity() {
+        return responseQueueCapacity;
+    }
+
+    /**
+     * Sets the response queue capacity.
+     *
+     * @param responseQueueCapacity the response queue capacity
+     */
+    public void setResponseQueueCapacity(int responseQueueCapacity) {
+        this.responseQueueCapacity = responseQueueCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", HttpTransportConfig.class.getSimpleName() + "[", "]")
+                .add("ioThreadCount=" + ioThreadCount)
+                .add("maxConnectionsPerRoute=" + maxConnectionsPerRoute)
+                .add("maxConnectionsTotal=" + maxConnectionsTotal)
+                .add("keepAlive=" + keepAlive)
+                .add("keepAliveMillis=" + keepAliveMillis)
+                .add("connectTimeoutMillis=" + connectTimeoutMillis)
+                .add("socketTimeoutMillis=" + socketTimeoutMillis)
+                .add("connectionRequestTimeoutMillis=" + connectionRequestTimeoutMillis)
+                .add("maxBufferedResponseBytes=" + maxBufferedResponseBytes)
+                .add("responseThreadCount=" + responseThreadCount)
+                .add("responseQueueCapacity=" + responseQueueCapacity)
+                .toString();
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The Class HttpTransportRequest.
+ */
+public class HttpTransportRequest {
+
+    /** The method. */
+    private final String method;
+
+    /** The url. */
+    private final String url;
+
+    /** The headers. */
+    private final Map<String, String> headers;
+
+    /** The body. */
+    private final String body;
+
+    /** Whether the response body should be streamed rather than buffered. */
+    private final boolean streamingResponse;
+
+    /**
+     * Instantiates a new http transport request.
+     *
+     * @param method  the http method (e.g. GET)
+     * @param url     the url
+     * @param headers the headers
+     * @param body    the body (null for no body)
+     */
+    public HttpTransportRequest(String method, String url, Map<String, String> headers, String body) {
+        this(method, url, headers, body, false);
+    }
+
+    /**
+     * Instantiates a new http transport request.
+     *
+     * @param method            the http method (e.g. GET)
+     * @param url               the url
+     * @param headers           the headers
+     * @param body              the body (null for no body)
+     * @param streamingResponse whether the response body should be streamed rather than buffered (see
+     *                          {@link StreamingHttpResponse})
+     */
+    public HttpTransportRequest(String method, String url, Map<String, String> headers, String body,
+            boolean streamingResponse) {
+        this.method = method;
+        this.url = url;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+        this.streamingResponse = streamingResponse;
+    }
+
+    /**
+     * Gets the method.
+     *
+     * @return the method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Gets the url.
+     *
+     * @return the url
+     */
+    public String getURL() {
+        return url;
+    }
+
+    /**
+     * Gets the headers.
+     *
+     * @return the headers
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the body.
+     *
+     * @return the body
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Is streaming response.
+     *
+     * @return true if the response body should be streamed rather than buffered
+     */
+    public boolean isStreamingResponse() {
+        return streamingResponse;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", HttpTransportRequest.class.getSimpleName() + "[", "]")
+                .add("method='" + method + "'")
+                .add("url='" + url + "'")
+                .add("body='" + body + "'")
+                .add("streamingResponse=" + streamingResponse)
+                .toString();
+    }
+}
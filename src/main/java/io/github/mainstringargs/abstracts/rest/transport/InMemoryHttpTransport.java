@@ -0,0 +1,172 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import com.google.common.base.Preconditions;
+import com.mashape.unirest.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.message.BasicHttpResponse;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * The Class InMemoryHttpTransport. An {@link HttpTransport} that never touches the network: responses are produced by
+ * responders registered per HTTP method and URL path. It is meant for tests and benchmarks. Requests to a route with no
+ * responder get a 404 response.
+ */
+public class InMemoryHttpTransport implements HttpTransport {
+
+    /** The Constant NOT_FOUND_STATUS. */
+    private static final int NOT_FOUND_STATUS = 404;
+
+    /** The responders by route (see {@link #getRoute(String, String)}). */
+    private final Map<String, Function<HttpTransportRequest, HttpResponse<InputStream>>> respondersByRoute =
+            new ConcurrentHashMap<>();
+
+    /** The executed requests. */
+    private final List<HttpTransportRequest> executedRequests = new CopyOnWriteArrayList<>();
+
+    /**
+     * Sets a fixed response for a route.
+     *
+     * @param method     the http method (e.g. GET)
+     * @param path       the URL path (e.g. /v2/account)
+     * @param statusCode the status code
+     * @param body       the body
+     */
+    public void setResponse(String method, String path, int statusCode, String body) {
+        setResponder(method, path, request -> createResponse(statusCode, Collections.emptyMap(), body));
+    }
+
+    /**
+     * Sets the responder for a route. The responder is called on the thread executing the request.
+     *
+     * @param method    the http method (e.g. GET)
+     * @param path      the URL path (e.g. /v2/account)
+     * @param responder the responder
+     */
+    public void setResponder(String method, String path,
+            Function<HttpTransportRequest, HttpResponse<InputStream>> responder) {
+        Preconditions.checkNotNull(method);
+        Preconditions.checkNotNull(path);
+        Preconditions.checkNotNull(responder);
+
+        respondersByRoute.put(getRoute(method, path), responder);
+    }
+
+    /**
+     * Removes the responder for a route.
+     *
+     * @param method the http method
+     * @param path   the URL path
+     */
+    public void removeResponder(String method, String path) {
+        respondersByRoute.remove(getRoute(method, path));
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<InputStream>> execute(HttpTransportRequest httpTransportRequest) {
+        executedRequests.add(httpTransportRequest);
+
+        Function<HttpTransportRequest, HttpResponse<InputStream>> responder = respondersByRoute.get(
+                getRoute(httpTransportRequest.getMethod(), getPath(httpTransportRequest.getURL())));
+
+        try {
+            if (responder == null) {
+                return CompletableFuture.completedFuture(createResponse(NOT_FOUND_STATUS, Collections.emptyMap(),
+                        "{\"message\":\"No in-memory responder for " + httpTransportRequest.getMethod() + " " +
+                                httpTransportRequest.getURL() + "\"}"));
+            }
+
+            return CompletableFuture.completedFuture(responder.apply(httpTransportRequest));
+        } catch (Exception exception) {
+            CompletableFuture<HttpResponse<InputStream>> failedFuture = new CompletableFuture<>();
+            failedFuture.completeExceptionally(exception);
+            return failedFuture;
+        }
+    }
+
+    /**
+     * Gets the executed requests in the order they were executed.
+     *
+     * @return the executed requests
+     */
+    public List<HttpTransportRequest> getExecutedRequests() {
+        return new ArrayList<>(executedRequests);
+    }
+
+    /**
+     * Clears the executed requests.
+     */
+    public void clearExecutedRequests() {
+        executedRequests.clear();
+    }
+
+    @Override
+    public void close() {
+        respondersByRoute.clear();
+    }
+
+    /**
+     * Creates a response.
+     *
+     * @param statusCode the status code
+     * @param headers    the headers
+     * @param body       the body
+     *
+     * @return the http response
+     */
+    public static HttpResponse<InputStream> createResponse(int statusCode, Map<String, String> headers, String body) {
+        BasicHttpResponse basicHttpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode,
+                EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.US));
+        headers.forEach(basicHttpResponse::addHeader);
+
+        if (body != null) {
+            basicHttpResponse.setEntity(new ByteArrayEntity(body.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        return new HttpResponse<>(basicHttpResponse, InputStream.class);
+    }
+
+    /**
+     * Gets the route key.
+     *
+     * @param method the method
+     * @param path   the path
+     *
+     * @return the route
+     */
+    private static String getRoute(String method, String path) {
+        return method.toUpperCase() + " " + path;
+    }
+
+    /**
+     * Gets the path of a URL (the part after the host and before the query).
+     *
+     * @param url the url
+     *
+     * @return the path
+     */
+    private static String getPath(String url) {
+        int pathStart = url.indexOf("://");
+        pathStart = url.indexOf('/', pathStart < 0 ? 0 : pathStart + 3);
+
+        if (pathStart < 0) {
+            return "/";
+        }
+
+        int queryStart = url.indexOf('?', pathStart);
+
+        return queryStart < 0 ? url.substring(pathStart) : url.substring(pathStart, queryStart);
+    }
+}
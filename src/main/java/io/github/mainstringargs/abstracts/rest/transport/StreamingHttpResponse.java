@@ -0,0 +1,96 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import com.mashape.unirest.http.HttpResponse;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The Class StreamingHttpResponse. An {@link HttpResponse} whose body is not buffered: {@link #getRawBody()} returns
+ * a stream that yields the bytes as they arrive from the socket. The body can only be read once and the response
+ * should be {@link #close() closed} when it is no longer needed so that the connection can be reused.
+ */
+public class StreamingHttpResponse extends HttpResponse<InputStream> implements Closeable {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(StreamingHttpResponse.class);
+
+    /** The Constant BUFFER_SIZE. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The body stream. */
+    private InputStream bodyStream;
+
+    /**
+     * Instantiates a new streaming http response.
+     *
+     * @param httpResponse the http response (only its status line and headers are used)
+     * @param bodyStream   the body stream
+     */
+    public StreamingHttpResponse(org.apache.http.HttpResponse httpResponse, InputStream bodyStream) {
+        super(withoutEntity(httpResponse), InputStream.class);
+
+        this.bodyStream = bodyStream;
+    }
+
+    @Override
+    public synchronized InputStream getRawBody() {
+        return bodyStream;
+    }
+
+    @Override
+    public synchronized InputStream getBody() {
+        return bodyStream;
+    }
+
+    /**
+     * Reads the rest of the body into memory so that it can still be read after the response is closed. This is meant
+     * for small bodies, such as the body of an error response that is kept by an exception.
+     */
+    public synchronized void bufferBody() {
+        if (bodyStream instanceof ByteArrayInputStream) {
+            return;
+        }
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+        try (InputStream streamToBuffer = bodyStream) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int readCount;
+            while ((readCount = streamToBuffer.read(buffer)) != -1) {
+                bodyBytes.write(buffer, 0, readCount);
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Could not buffer response body", exception);
+        }
+
+        bodyStream = new ByteArrayInputStream(bodyBytes.toByteArray());
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            bodyStream.close();
+        } catch (IOException exception) {
+            LOGGER.error("Could not close response body stream", exception);
+        }
+    }
+
+    /**
+     * Copies the status line and headers of a response, leaving out the entity so that it isn't buffered.
+     *
+     * @param httpResponse the http response
+     *
+     * @return the http response without entity
+     */
+    private static org.apache.http.HttpResponse withoutEntity(org.apache.http.HttpResponse httpResponse) {
+        BasicHttpResponse responseWithoutEntity = new BasicHttpResponse(httpResponse.getStatusLine());
+        responseWithoutEntity.setHeaders(httpResponse.getAllHeaders());
+        return responseWithoutEntity;
+    }
+}
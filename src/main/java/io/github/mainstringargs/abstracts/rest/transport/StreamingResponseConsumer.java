@@ -0,0 +1,243 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import com.mashape.unirest.http.HttpResponse;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.AsyncByteConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The Class StreamingResponseConsumer. Consumes a response on the I/O dispatcher thread and hands its body to a
+ * {@link StreamingHttpResponse} as it arrives. The response future is completed as soon as the headers are received,
+ * on the given executor, so that the body can be parsed on that thread while the rest of it is still being received.
+ * <p>
+ * At most about <code>maxBufferedBytes</code> are held in memory: input from the connection is suspended when the
+ * reader falls behind and requested again once it catches up.
+ */
+class StreamingResponseConsumer extends AsyncByteConsumer<Void> {
+
+    /** The response future. */
+    private final CompletableFuture<HttpResponse<InputStream>> responseFuture;
+
+    /** The executor the response future is completed on. */
+    private final Executor responseExecutor;
+
+    /** The body stream. */
+    private final ResponseBodyInputStream bodyStream;
+
+    /**
+     * Instantiates a new streaming response consumer.
+     *
+     * @param responseFuture   the response future
+     * @param responseExecutor the executor the response future is completed on
+     * @param maxBufferedBytes the max buffered bytes
+     */
+    StreamingResponseConsumer(CompletableFuture<HttpResponse<InputStream>> responseFuture, Executor responseExecutor,
+            int maxBufferedBytes) {
+        this.responseFuture = responseFuture;
+        this.responseExecutor = responseExecutor;
+        this.bodyStream = new ResponseBodyInputStream(maxBufferedBytes);
+    }
+
+    @Override
+    protected void onResponseReceived(org.apache.http.HttpResponse response) {
+        StreamingHttpResponse streamingHttpResponse = new StreamingHttpResponse(response, bodyStream);
+
+        responseExecutor.execute(() -> responseFuture.complete(streamingHttpResponse));
+    }
+
+    @Override
+    protected void onByteReceived(ByteBuffer byteBuffer, IOControl ioControl) {
+        bodyStream.write(byteBuffer, ioControl);
+    }
+
+    @Override
+    protected Void buildResult(HttpContext httpContext) {
+        bodyStream.end(null);
+        return null;
+    }
+
+    @Override
+    protected void releaseResources() {
+        super.releaseResources();
+
+        // Ends the stream if the exchange failed or was cancelled, a no-op if it was already ended
+        bodyStream.end(getException() == null ? new IOException("Response was cancelled") :
+                new IOException("Response failed", getException()));
+    }
+
+    /**
+     * The Class ResponseBodyInputStream.
+     */
+    private static class ResponseBodyInputStream extends InputStream {
+
+        /** The max buffered bytes. */
+        private final int maxBufferedBytes;
+
+        /** The received chunks that have not been read yet. */
+        private final Deque<byte[]> chunks = new ArrayDeque<>();
+
+        /** The read offset into the first chunk. */
+        private int chunkOffset;
+
+        /** The buffered bytes. */
+        private int bufferedBytes;
+
+        /** The io control of the connection. */
+        private IOControl ioControl;
+
+        /** Whether input from the connection is suspended. */
+        private boolean inputSuspended;
+
+        /** Whether the whole body has been received (or the exchange failed). */
+        private boolean ended;
+
+        /** The failure, if the exchange failed. */
+        private IOException failure;
+
+        /** Whether the stream was closed by the reader. */
+        private boolean closed;
+
+        /**
+         * Instantiates a new response body input stream.
+         *
+         * @param maxBufferedBytes the max buffered bytes
+         */
+        private ResponseBodyInputStream(int maxBufferedBytes) {
+            this.maxBufferedBytes = maxBufferedBytes;
+        }
+
+        /**
+         * Writes received bytes. Called on the I/O dispatcher thread.
+         *
+         * @param byteBuffer the byte buffer
+         * @param ioControl  the io control
+         */
+        private synchronized void write(ByteBuffer byteBuffer, IOControl ioControl) {
+            this.ioControl = ioControl;
+
+            if (closed) { // Discard the rest of the body so that the connection can be reused
+                byteBuffer.position(byteBuffer.limit());
+                return;
+            }
+
+            byte[] chunk = new byte[byteBuffer.remaining()];
+            byteBuffer.get(chunk);
+            chunks.addLast(chunk);
+            bufferedBytes += chunk.length;
+
+            if (bufferedBytes >= maxBufferedBytes && !inputSuspended) {
+                ioControl.suspendInput();
+                inputSuspended = true;
+            }
+
+            notifyAll();
+        }
+
+        /**
+         * Ends the stream. Only the first call has an effect.
+         *
+         * @param failure the failure (null if the body was received completely)
+         */
+        private synchronized void end(IOException failure) {
+            if (ended) {
+                return;
+            }
+
+            this.ended = true;
+            this.failure = failure;
+
+            notifyAll();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] singleByte = new byte[1];
+            int readCount = read(singleByte, 0, 1);
+            return readCount == -1 ? -1 : singleByte[0] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            while (chunks.isEmpty() && !ended && !closed) {
+                try {
+                    wait();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for response body");
+                }
+            }
+
+            if (closed) {
+                throw new IOException("Stream closed");
+            } else if (chunks.isEmpty()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return -1;
+            }
+
+            int readCount = 0;
+            while (readCount < length && !chunks.isEmpty()) {
+                byte[] chunk = chunks.peekFirst();
+                int copyCount = Math.min(length - readCount, chunk.length - chunkOffset);
+
+                System.arraycopy(chunk, chunkOffset, bytes, offset + readCount, copyCount);
+                readCount += copyCount;
+                chunkOffset += copyCount;
+
+                if (chunkOffset == chunk.length) {
+                    chunks.removeFirst();
+                    chunkOffset = 0;
+                }
+            }
+
+            bufferedBytes -= readCount;
+            resumeInputIfDrained();
+
+            return readCount;
+        }
+
+        @Override
+        public synchronized int available() {
+            return bufferedBytes;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            chunks.clear();
+            bufferedBytes = 0;
+            resumeInputIfDrained();
+
+            notifyAll();
+        }
+
+        /**
+         * Requests input from the connection again once the reader has drained half of the buffer. Must be called
+         * while holding the lock.
+         */
+        private void resumeInputIfDrained() {
+            if (inputSuspended && bufferedBytes <= maxBufferedBytes / 2) {
+                inputSuspended = false;
+                ioControl.requestInput();
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.mainstringargs.abstracts.websocket.client;
 
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
+import io.github.mainstringargs.abstracts.websocket.journal.WebsocketFrameJournal;
 import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import io.github.mainstringargs.util.concurrency.SingleProducerRingBuffer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -12,6 +15,7 @@ import javax.websocket.WebSocketContainer;
 import java.io.IOException;
 import java.net.URI;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * The type Abstract websocket client endpoint. You must annotate subclasses with {@link javax.websocket.ClientEndpoint}
@@ -30,14 +34,20 @@ public abstract class AbstractWebsocketClientEndpoint<T> {
     /** The Endpoint uri. */
     private final URI endpointURI;
 
-    /** The Executor service. */
+    /** The Executor service (null if the frames are queued in the frame ring buffer). */
     private final ExecutorService executorService;
 
+    /** The frame ring buffer (null if the frames are queued in the executor service). */
+    private final SingleProducerRingBuffer<String> frameRingBuffer;
+
     /** The User session. */
-    private Session userSession;
+    private volatile Session userSession;
+
+    /** The journal the received frames are recorded in (null if they aren't recorded). */
+    private volatile WebsocketFrameJournal frameJournal;
 
-    /** The Retry attempts. */
-    private int retryAttempts = 0;
+    /** The source ID of the frames of this endpoint in the frame journal. */
+    private volatile int frameJournalSourceId;
 
     /**
      * Instantiates a new Abstract websocket client endpoint.
@@ -48,9 +58,33 @@ public abstract class AbstractWebsocketClientEndpoint<T> {
      */
     public AbstractWebsocketClientEndpoint(WebsocketClient websocketClient, URI endpointURI,
             String messageThreadName) {
+        this(websocketClient, endpointURI, messageThreadName, new WebsocketDispatchConfig());
+    }
+
+    /**
+     * Instantiates a new Abstract websocket client endpoint.
+     *
+     * @param websocketClient         the websocket client
+     * @param endpointURI             the endpoint uri
+     * @param messageThreadName       the message thread name
+     * @param websocketDispatchConfig the websocket dispatch config (which says how the frames are queued for the
+     *                                message thread)
+     */
+    public AbstractWebsocketClientEndpoint(WebsocketClient websocketClient, URI endpointURI,
+            String messageThreadName, WebsocketDispatchConfig websocketDispatchConfig) {
         this.websocketClient = websocketClient;
         this.endpointURI = endpointURI;
-        this.executorService = ExecutorTracer.newSingleThreadExecutor(r -> new Thread(r, messageThreadName));
+
+        if (websocketDispatchConfig.getFrameRingBufferSize() > 0) {
+            this.executorService = null;
+            this.frameRingBuffer = new SingleProducerRingBuffer<>(websocketDispatchConfig.getFrameRingBufferSize(),
+                    websocketDispatchConfig.getFrameRingBufferWaitStrategy(), messageThreadName,
+                    websocketClient::handleWebsocketMessage);
+        } else {
+            this.executorService = ExecutorTracer.newBoundedSingleThreadExecutor(
+                    websocketDispatchConfig.getDispatchQueueCapacity(), r -> new Thread(r, messageThreadName));
+            this.frameRingBuffer = null;
+        }
     }
 
     /**
@@ -94,13 +128,29 @@ public abstract class AbstractWebsocketClientEndpoint<T> {
     }
 
     /**
-     * Disconnect.
+     * Disconnect. The frames already received are still handled.
      *
      * @throws IOException the io exception
      */
     public void disconnect() throws IOException {
+        Session userSession = this.userSession;
+
         if (userSession != null) {
             userSession.close();
+        } else if (frameRingBuffer != null) { // Otherwise shut down when the session closes
+            frameRingBuffer.shutdown();
+        }
+    }
+
+    /**
+     * Shuts down the message thread once it has handled the frames already received, e.g. when the endpoint won't be
+     * connected again. The frames received afterwards are dropped.
+     */
+    public void shutdown() {
+        if (frameRingBuffer != null) {
+            frameRingBuffer.shutdown();
+        } else {
+            executorService.shutdown();
         }
     }
 
@@ -120,7 +170,8 @@ public abstract class AbstractWebsocketClientEndpoint<T> {
     }
 
     /**
-     * On close.
+     * On close. An unexpected close is handed to the websocket client (which reconnects on its own thread, so the
+     * container thread isn't blocked).
      *
      * @param userSession the user session
      * @param reason      the reason
@@ -131,30 +182,16 @@ public abstract class AbstractWebsocketClientEndpoint<T> {
         LOGGER.debug("onClose " + userSession);
 
         if (!reason.getCloseCode().equals(CloseReason.CloseCodes.NORMAL_CLOSURE)) {
-            if (retryAttempts > 5) {
-                LOGGER.error("More than 5 attempts to reconnect were made.");
-                return;
-            }
-
-            LOGGER.info("Attempting a reconnect in 3 seconds.");
-            retryAttempts++;
-
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e1) {
-                e1.printStackTrace();
-            }
-
-            LOGGER.info("Reconnecting due to closure " +
+            LOGGER.info("Websocket closed due to " +
                     CloseReason.CloseCodes.getCloseCode(reason.getCloseCode().getCode()));
 
-            try {
-                connect();
-            } catch (Exception e) {
-                LOGGER.catching(e);
-            }
+            websocketClient.handleConnectionLost(reason);
         } else {
             LOGGER.info("Websocket closed");
+
+            if (frameRingBuffer != null) {
+                frameRingBuffer.shutdown();
+            }
         }
     }
 
@@ -164,20 +201,69 @@ public abstract class AbstractWebsocketClientEndpoint<T> {
      * @param message the message
      */
     public void onMessage(String message) {
-        executorService.execute(() -> websocketClient.handleWebsocketMessage(message));
+        // Recorded on the I/O thread, so the receive timestamps don't include the queueing delay
+        WebsocketFrameJournal frameJournal = this.frameJournal;
+        if (frameJournal != null) {
+            frameJournal.append(frameJournalSourceId, message);
+        }
+
+        if (frameRingBuffer != null) {
+            frameRingBuffer.publish(message);
+        } else {
+            try {
+                executorService.execute(() -> websocketClient.handleWebsocketMessage(message));
+            } catch (RejectedExecutionException exception) {
+                LOGGER.debug("Dropping a frame received after the endpoint was shut down");
+            }
+        }
     }
 
     /**
-     * Send a message.
+     * Send a message. It is dropped if the session is closed.
      *
      * @param message the message
      */
     public void sendMessage(String message) {
         LOGGER.debug("sendMessage " + message);
 
+        Session userSession = this.userSession;
+        if (userSession == null) { // E.g. while reconnecting
+            LOGGER.warn("Cannot send a message without an open session: " + message);
+            return;
+        }
+
         userSession.getAsyncRemote().sendText(message);
     }
 
+    /**
+     * Gets the frame ring buffer, e.g. to read its queue depth and producer stall metrics.
+     *
+     * @return the frame ring buffer (null if the frames are queued in an executor)
+     */
+    public SingleProducerRingBuffer<String> getFrameRingBuffer() {
+        return frameRingBuffer;
+    }
+
+    /**
+     * Sets the journal the received frames are recorded in.
+     *
+     * @param frameJournal the frame journal (null to stop recording)
+     * @param sourceId     the source ID of the frames of this endpoint (e.g. the connection index)
+     */
+    public void setFrameJournal(WebsocketFrameJournal frameJournal, int sourceId) {
+        this.frameJournalSourceId = sourceId;
+        this.frameJournal = frameJournal;
+    }
+
+    /**
+     * Gets the journal the received frames are recorded in.
+     *
+     * @return the frame journal (null if they aren't recorded)
+     */
+    public WebsocketFrameJournal getFrameJournal() {
+        return frameJournal;
+    }
+
     /**
      * Gets user session.
      *
@@ -0,0 +1,25 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+/**
+ * The interface Reconnectable websocket. The operations a {@link WebsocketReconnector} performs on the connection of a
+ * websocket client.
+ */
+public interface ReconnectableWebsocket {
+
+    /**
+     * Opens a new connection. The authentication message is sent once it is open.
+     *
+     * @throws Exception the exception if the connection couldn't be opened
+     */
+    void openConnection() throws Exception;
+
+    /**
+     * Closes the current connection without disconnecting the client, e.g. when its authentication timed out.
+     */
+    void closeConnection();
+
+    /**
+     * Sends all of the active subscriptions again on the current (authenticated) connection.
+     */
+    void resubscribe();
+}
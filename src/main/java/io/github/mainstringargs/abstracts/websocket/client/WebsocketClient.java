@@ -4,6 +4,8 @@ import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
 import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
 import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
 
+import javax.websocket.CloseReason;
+
 /**
  * The type Websocket client.
  */
@@ -38,6 +40,14 @@ public interface WebsocketClient {
      */
     void sendAuthenticationMessage();
 
+    /**
+     * Handle an unexpected close of the connection (e.g. by reconnecting). Called on the websocket I/O thread, so it
+     * must not block.
+     *
+     * @param closeReason the close reason
+     */
+    void handleConnectionLost(CloseReason closeReason);
+
     /**
      * Handle websocket message.
      *
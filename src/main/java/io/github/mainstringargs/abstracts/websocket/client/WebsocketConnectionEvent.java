@@ -0,0 +1,108 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+import java.util.StringJoiner;
+
+/**
+ * The Class WebsocketConnectionEvent. A change of the {@link WebsocketConnectionState} of a websocket client.
+ */
+public class WebsocketConnectionEvent {
+
+    /** The name of the connection (a client may have several). */
+    private final String connectionName;
+
+    /** The state. */
+    private final WebsocketConnectionState state;
+
+    /** The previous state. */
+    private final WebsocketConnectionState previousState;
+
+    /** The reconnect attempt (0 if not reconnecting). */
+    private final int attempt;
+
+    /** The milliseconds since the connection was lost (0 if it wasn't lost). */
+    private final long gapMillis;
+
+    /**
+     * Instantiates a new websocket connection event.
+     *
+     * @param connectionName the name of the connection
+     * @param state          the state
+     * @param previousState  the previous state (null for the first event)
+     * @param attempt        the reconnect attempt (0 if not reconnecting)
+     * @param gapMillis      the milliseconds since the connection was lost (0 if it wasn't lost)
+     */
+    public WebsocketConnectionEvent(String connectionName, WebsocketConnectionState state,
+            WebsocketConnectionState previousState, int attempt, long gapMillis) {
+        this.connectionName = connectionName;
+        this.state = state;
+        this.previousState = previousState;
+        this.attempt = attempt;
+        this.gapMillis = gapMillis;
+    }
+
+    /**
+     * Gets the name of the connection.
+     *
+     * @return the connection name
+     */
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * Gets the state.
+     *
+     * @return the state
+     */
+    public WebsocketConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the previous state.
+     *
+     * @return the previous state (null for the first event)
+     */
+    public WebsocketConnectionState getPreviousState() {
+        return previousState;
+    }
+
+    /**
+     * Gets the reconnect attempt.
+     *
+     * @return the reconnect attempt (0 if not reconnecting)
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Gets the milliseconds since the connection was lost. For a {@link WebsocketConnectionState#CONNECTED} event that
+     * ends a reconnect, this is the length of the gap in which stream messages may have been missed.
+     *
+     * @return the gap millis (0 if the connection wasn't lost)
+     */
+    public long getGapMillis() {
+        return gapMillis;
+    }
+
+    /**
+     * Is this the end of a gap, i.e. the connection is back after having been lost.
+     *
+     * @return the boolean
+     */
+    public boolean isReconnected() {
+        return state == WebsocketConnectionState.CONNECTED && previousState == WebsocketConnectionState.RESUBSCRIBING;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", WebsocketConnectionEvent.class.getSimpleName() + "[", "]")
+                .add("connectionName = " + connectionName)
+                .add("state = " + state)
+                .add("previousState = " + previousState)
+                .add("attempt = " + attempt)
+                .add("gapMillis = " + gapMillis)
+                .toString();
+    }
+}
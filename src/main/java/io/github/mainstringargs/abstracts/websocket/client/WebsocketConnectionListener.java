@@ -0,0 +1,15 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+/**
+ * The interface Websocket connection listener.
+ */
+@FunctionalInterface
+public interface WebsocketConnectionListener {
+
+    /**
+     * On connection event. Called on the reconnect thread, so it should return quickly.
+     *
+     * @param websocketConnectionEvent the websocket connection event
+     */
+    void onConnectionEvent(WebsocketConnectionEvent websocketConnectionEvent);
+}
@@ -0,0 +1,28 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+/**
+ * The enum Websocket connection state.
+ */
+public enum WebsocketConnectionState {
+
+    /** The connection is open and waiting for the authentication to succeed. */
+    AUTHENTICATING,
+
+    /** The connection is open, authenticated and subscribed. */
+    CONNECTED,
+
+    /** The connection was closed unexpectedly. Stream messages may have been missed from this point on. */
+    CONNECTION_LOST,
+
+    /** A reconnect attempt is scheduled (after its backoff delay). */
+    RECONNECTING,
+
+    /** The connection was reopened and authenticated, and the active subscriptions are being sent again. */
+    RESUBSCRIBING,
+
+    /** The reconnect attempts were exhausted. The connection stays closed. */
+    RECONNECT_FAILED,
+
+    /** The connection was closed on request. */
+    DISCONNECTED
+}
@@ -0,0 +1,182 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+import com.google.common.base.Preconditions;
+
+import java.util.StringJoiner;
+
+/**
+ * The Class WebsocketReconnectConfig. Holds the settings of how a {@link WebsocketReconnector} reconnects a websocket
+ * client whose connection was lost. The delay before attempt n is the initial backoff multiplied n - 1 times by the
+ * backoff multiplier, capped at the max backoff, and then randomly moved up or down by up to the jitter ratio of it (so
+ * that many clients don't reconnect in lockstep).
+ */
+public class WebsocketReconnectConfig {
+
+    /** The Constant DEFAULT_INITIAL_BACKOFF_MILLIS. */
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 500;
+
+    /** The Constant DEFAULT_MAX_BACKOFF_MILLIS. */
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 30_000;
+
+    /** The Constant DEFAULT_BACKOFF_MULTIPLIER. */
+    public static final double DEFAULT_BACKOFF_MULTIPLIER = 2;
+
+    /** The Constant DEFAULT_JITTER_RATIO. */
+    public static final double DEFAULT_JITTER_RATIO = 0.2;
+
+    /** The Constant DEFAULT_AUTHENTICATION_TIMEOUT_MILLIS. */
+    public static final long DEFAULT_AUTHENTICATION_TIMEOUT_MILLIS = 10_000;
+
+    /** The Constant UNLIMITED_ATTEMPTS. */
+    public static final int UNLIMITED_ATTEMPTS = 0;
+
+    /** The delay before the first attempt. */
+    private volatile long initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLIS;
+
+    /** The max delay before an attempt. */
+    private volatile long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLIS;
+
+    /** The factor the delay grows by after each failed attempt. */
+    private volatile double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+
+    /** The ratio of the delay it is randomly moved up or down by. */
+    private volatile double jitterRatio = DEFAULT_JITTER_RATIO;
+
+    /** The max number of attempts after a connection is lost ({@link #UNLIMITED_ATTEMPTS} for no limit). */
+    private volatile int maxAttempts = UNLIMITED_ATTEMPTS;
+
+    /** How long to wait for the authentication of a reopened connection before making the next attempt. */
+    private volatile long authenticationTimeoutMillis = DEFAULT_AUTHENTICATION_TIMEOUT_MILLIS;
+
+    /**
+     * Gets the initial backoff millis.
+     *
+     * @return the initial backoff millis
+     */
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    /**
+     * Sets the initial backoff millis.
+     *
+     * @param initialBackoffMillis the initial backoff millis
+     */
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        Preconditions.checkArgument(initialBackoffMillis >= 0, "The initial backoff can't be negative");
+
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Gets the max backoff millis.
+     *
+     * @return the max backoff millis
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * Sets the max backoff millis.
+     *
+     * @param maxBackoffMillis the max backoff millis
+     */
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        Preconditions.checkArgument(maxBackoffMillis >= 0, "The max backoff can't be negative");
+
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Gets the backoff multiplier.
+     *
+     * @return the backoff multiplier
+     */
+    public double getBackoffMultiplier() {
+        return backoffMultiplier;
+    }
+
+    /**
+     * Sets the backoff multiplier.
+     *
+     * @param backoffMultiplier the backoff multiplier (at least 1)
+     */
+    public void setBackoffMultiplier(double backoffMultiplier) {
+        Preconditions.checkArgument(backoffMultiplier >= 1, "The backoff multiplier must be at least 1");
+
+        this.backoffMultiplier = backoffMultiplier;
+    }
+
+    /**
+     * Gets the jitter ratio.
+     *
+     * @return the jitter ratio
+     */
+    public double getJitterRatio() {
+        return jitterRatio;
+    }
+
+    /**
+     * Sets the jitter ratio.
+     *
+     * @param jitterRatio the jitter ratio (from 0 for no jitter to 1)
+     */
+    public void setJitterRatio(double jitterRatio) {
+        Preconditions.checkArgument(jitterRatio >= 0 && jitterRatio <= 1, "The jitter ratio must be from 0 to 1");
+
+        this.jitterRatio = jitterRatio;
+    }
+
+    /**
+     * Gets the max attempts.
+     *
+     * @return the max attempts ({@link #UNLIMITED_ATTEMPTS} for no limit)
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the max attempts.
+     *
+     * @param maxAttempts the max attempts ({@link #UNLIMITED_ATTEMPTS} for no limit)
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        Preconditions.checkArgument(maxAttempts >= 0, "The max attempts can't be negative");
+
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Gets the authentication timeout millis.
+     *
+     * @return the authentication timeout millis
+     */
+    public long getAuthenticationTimeoutMillis() {
+        return authenticationTimeoutMillis;
+    }
+
+    /**
+     * Sets the authentication timeout millis.
+     *
+     * @param authenticationTimeoutMillis the authentication timeout millis
+     */
+    public void setAuthenticationTimeoutMillis(long authenticationTimeoutMillis) {
+        Preconditions.checkArgument(authenticationTimeoutMillis > 0, "The authentication timeout must be positive");
+
+        this.authenticationTimeoutMillis = authenticationTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", WebsocketReconnectConfig.class.getSimpleName() + "[", "]")
+                .add("initialBackoffMillis = " + initialBackoffMillis)
+                .add("maxBackoffMillis = " + maxBackoffMillis)
+                .add("backoffMultiplier = " + backoffMultiplier)
+                .add("jitterRatio = " + jitterRatio)
+                .add("maxAttempts = " + maxAttempts)
+                .add("authenticationTimeoutMillis = " + authenticationTimeoutMillis)
+                .toString();
+    }
+}
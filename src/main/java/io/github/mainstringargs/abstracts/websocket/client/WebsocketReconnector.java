@@ -0,0 +1,399 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Class WebsocketReconnector. The state machine that reconnects a websocket client whose connection was lost.
+ * <p>
+ * It runs on its own thread, so the websocket I/O thread that reports the lost connection is never blocked. After a
+ * backoff delay (see {@link WebsocketReconnectConfig}), it reopens the connection, waits for the authentication to
+ * succeed (reopening again if it times out), and then has all of the active subscriptions sent again. Every state
+ * change is reported to the {@link WebsocketConnectionListener}s, so that consumers know when stream messages may have
+ * been missed.
+ */
+public class WebsocketReconnector {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(WebsocketReconnector.class);
+
+    /** The connection name. */
+    private final String connectionName;
+
+    /** The websocket reconnect config. */
+    private final WebsocketReconnectConfig websocketReconnectConfig;
+
+    /** The reconnectable websocket. */
+    private final ReconnectableWebsocket reconnectableWebsocket;
+
+    /** The executor service the state machine runs on. */
+    private final ScheduledExecutorService reconnectExecutorService;
+
+    /** The connection listeners. */
+    private final List<WebsocketConnectionListener> connectionListeners = new CopyOnWriteArrayList<>();
+
+    /** Whether the client wants to be connected (i.e. it connected and didn't disconnect since). */
+    private volatile boolean enabled;
+
+    /** Whether a task was ever run on the reconnect thread (which is only started then). */
+    private volatile boolean started;
+
+    /** The state. */
+    private volatile WebsocketConnectionState state;
+
+    /** The number of completed reconnects. */
+    private volatile long reconnectCount;
+
+    /** The current reconnect attempt (0 if not reconnecting). Only accessed on the reconnect thread. */
+    private int attempt;
+
+    /**
+     * The System.nanoTime() the connection was lost at (0 if it wasn't lost). Only accessed on the reconnect thread.
+     */
+    private long connectionLostNanos;
+
+    /** The authentication timeout of the current attempt. Only accessed on the reconnect thread. */
+    private ScheduledFuture<?> authenticationTimeoutFuture;
+
+    /**
+     * Instantiates a new websocket reconnector.
+     *
+     * @param connectionName           the name of the connection (the reconnect thread is named after it)
+     * @param websocketReconnectConfig the websocket reconnect config
+     * @param reconnectableWebsocket   the reconnectable websocket
+     */
+    public WebsocketReconnector(String connectionName, WebsocketReconnectConfig websocketReconnectConfig,
+            ReconnectableWebsocket reconnectableWebsocket) {
+        Preconditions.checkNotNull(connectionName);
+        Preconditions.checkNotNull(websocketReconnectConfig);
+        Preconditions.checkNotNull(reconnectableWebsocket);
+
+        this.connectionName = connectionName;
+        this.websocketReconnectConfig = websocketReconnectConfig;
+        this.reconnectableWebsocket = reconnectableWebsocket;
+
+        reconnectExecutorService = ExecutorTracer.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, connectionName + "ReconnectThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Called when the client opened its connection (on request). The authentication is expected next.
+     */
+    public void onConnected() {
+        enabled = true;
+
+        execute(() -> {
+            cancelAuthenticationTimeout();
+            attempt = 0;
+            connectionLostNanos = 0;
+
+            setState(WebsocketConnectionState.AUTHENTICATING);
+        });
+    }
+
+    /**
+     * Called when the client closed its connection on request. No reconnect is attempted until it connects again.
+     */
+    public void onDisconnected() {
+        enabled = false;
+
+        execute(() -> {
+            cancelAuthenticationTimeout();
+            attempt = 0;
+            connectionLostNanos = 0;
+
+            if (state != null && state != WebsocketConnectionState.DISCONNECTED) {
+                setState(WebsocketConnectionState.DISCONNECTED);
+            }
+        });
+    }
+
+    /**
+     * Called when the connection was closed unexpectedly. May be called on the websocket I/O thread.
+     *
+     * @param reason the reason
+     */
+    public void onConnectionLost(String reason) {
+        execute(() -> {
+            // Closes during a reconnect (e.g. of a connection whose authentication timed out) are already handled
+            if (!enabled || (state != WebsocketConnectionState.AUTHENTICATING &&
+                    state != WebsocketConnectionState.CONNECTED &&
+                    state != WebsocketConnectionState.RESUBSCRIBING)) {
+                return;
+            }
+
+            LOGGER.warn(connectionName + " connection lost: " + reason);
+
+            cancelAuthenticationTimeout();
+            if (attempt == 0) {
+                connectionLostNanos = System.nanoTime();
+            }
+
+            setState(WebsocketConnectionState.CONNECTION_LOST);
+            scheduleAttempt();
+        });
+    }
+
+    /**
+     * Called when the connection was authenticated.
+     */
+    public void onAuthenticated() {
+        execute(() -> {
+            if (state != WebsocketConnectionState.AUTHENTICATING) {
+                return;
+            }
+
+            cancelAuthenticationTimeout();
+
+            if (attempt > 0) {
+                setState(WebsocketConnectionState.RESUBSCRIBING);
+
+                try {
+                    reconnectableWebsocket.resubscribe();
+                } catch (Exception exception) {
+                    LOGGER.throwing(exception);
+                }
+
+                reconnectCount++;
+            }
+
+            setState(WebsocketConnectionState.CONNECTED);
+
+            attempt = 0;
+            connectionLostNanos = 0;
+        });
+    }
+
+    /**
+     * Shuts down the reconnect thread once the state changes requested before (e.g. by a disconnect) are reported, and
+     * drops the scheduled reconnect attempts and authentication timeouts. The reconnector can't be used once it's shut
+     * down.
+     */
+    public void shutdown() {
+        enabled = false;
+
+        if (!started) {
+            reconnectExecutorService.shutdownNow();
+            return;
+        }
+
+        try {
+            reconnectExecutorService.execute(reconnectExecutorService::shutdownNow);
+        } catch (RejectedExecutionException exception) {
+            LOGGER.debug(connectionName + " reconnector already shut down");
+        }
+    }
+
+    /**
+     * Adds a connection listener.
+     *
+     * @param connectionListener the connection listener
+     */
+    public void addConnectionListener(WebsocketConnectionListener connectionListener) {
+        Preconditions.checkNotNull(connectionListener);
+
+        connectionListeners.add(connectionListener);
+    }
+
+    /**
+     * Removes a connection listener.
+     *
+     * @param connectionListener the connection listener
+     */
+    public void removeConnectionListener(WebsocketConnectionListener connectionListener) {
+        connectionListeners.remove(connectionListener);
+    }
+
+    /**
+     * Gets the connection name.
+     *
+     * @return the connection name
+     */
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    /**
+     * Gets the state.
+     *
+     * @return the state (null if the client never connected)
+     */
+    public WebsocketConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * Gets the number of completed reconnects.
+     *
+     * @return the reconnect count
+     */
+    public long getReconnectCount() {
+        return reconnectCount;
+    }
+
+    /**
+     * Gets the websocket reconnect config. Changes to it apply from the next attempt.
+     *
+     * @return the websocket reconnect config
+     */
+    public WebsocketReconnectConfig getWebsocketReconnectConfig() {
+        return websocketReconnectConfig;
+    }
+
+    /**
+     * Gets the backoff delay before an attempt, including the jitter.
+     *
+     * @param attempt the attempt (from 1)
+     *
+     * @return the backoff millis
+     */
+    public long getBackoffMillis(int attempt) {
+        double backoffMillis = websocketReconnectConfig.getInitialBackoffMillis() *
+                Math.pow(websocketReconnectConfig.getBackoffMultiplier(), attempt - 1);
+        backoffMillis = Math.min(backoffMillis, websocketReconnectConfig.getMaxBackoffMillis());
+
+        double jitterRatio = websocketReconnectConfig.getJitterRatio();
+        if (jitterRatio > 0) {
+            backoffMillis *= 1 + jitterRatio * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        }
+
+        return Math.max(0, Math.round(backoffMillis));
+    }
+
+    /**
+     * Schedules the next attempt, unless the attempts are exhausted.
+     */
+    private void scheduleAttempt() {
+        if (!enabled) {
+            return;
+        }
+
+        int maxAttempts = websocketReconnectConfig.getMaxAttempts();
+        if (maxAttempts != WebsocketReconnectConfig.UNLIMITED_ATTEMPTS && attempt >= maxAttempts) {
+            LOGGER.error("Giving up reconnecting after " + attempt + " attempts");
+
+            setState(WebsocketConnectionState.RECONNECT_FAILED);
+            return;
+        }
+
+        attempt++;
+        int scheduledAttempt = attempt;
+        long backoffMillis = getBackoffMillis(scheduledAttempt);
+
+        LOGGER.info("Reconnect attempt " + scheduledAttempt + " in " + backoffMillis + " ms");
+
+        setState(WebsocketConnectionState.RECONNECTING);
+        reconnectExecutorService.schedule(() -> run(() -> attemptReconnect(scheduledAttempt)), backoffMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reopens the connection and waits for its authentication.
+     *
+     * @param scheduledAttempt the attempt this was scheduled for
+     */
+    private void attemptReconnect(int scheduledAttempt) {
+        if (!enabled || scheduledAttempt != attempt || state != WebsocketConnectionState.RECONNECTING) {
+            return;
+        }
+
+        LOGGER.info("Reconnecting (attempt " + scheduledAttempt + ")...");
+
+        try {
+            reconnectableWebsocket.openConnection();
+        } catch (Exception exception) {
+            LOGGER.warn("Reconnect attempt " + scheduledAttempt + " failed: " + exception);
+
+            scheduleAttempt();
+            return;
+        }
+
+        setState(WebsocketConnectionState.AUTHENTICATING);
+
+        authenticationTimeoutFuture = reconnectExecutorService.schedule(() -> run(() -> {
+            if (state == WebsocketConnectionState.AUTHENTICATING && scheduledAttempt == attempt) {
+                LOGGER.warn("The authentication of reconnect attempt " + scheduledAttempt + " timed out");
+
+                reconnectableWebsocket.closeConnection();
+                scheduleAttempt();
+            }
+        }), websocketReconnectConfig.getAuthenticationTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancels the authentication timeout of the current attempt, if any.
+     */
+    private void cancelAuthenticationTimeout() {
+        if (authenticationTimeoutFuture != null) {
+            authenticationTimeoutFuture.cancel(false);
+            authenticationTimeoutFuture = null;
+        }
+    }
+
+    /**
+     * Sets the state and notifies the connection listeners.
+     *
+     * @param newState the new state
+     */
+    private void setState(WebsocketConnectionState newState) {
+        WebsocketConnectionState previousState = state;
+        state = newState;
+
+        long gapMillis = connectionLostNanos == 0 ? 0 :
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectionLostNanos);
+        WebsocketConnectionEvent websocketConnectionEvent =
+                new WebsocketConnectionEvent(connectionName, newState, previousState, attempt, gapMillis);
+
+        LOGGER.debug(websocketConnectionEvent);
+
+        for (WebsocketConnectionListener connectionListener : connectionListeners) {
+            try {
+                connectionListener.onConnectionEvent(websocketConnectionEvent);
+            } catch (Exception exception) {
+                LOGGER.throwing(exception);
+            }
+        }
+    }
+
+    /**
+     * Runs a task on the reconnect thread.
+     *
+     * @param task the task
+     */
+    private void execute(Runnable task) {
+        started = true;
+
+        try {
+            reconnectExecutorService.execute(() -> run(task));
+        } catch (RejectedExecutionException exception) {
+            // E.g. the connection was lost after the reconnector was shut down
+            LOGGER.debug(connectionName + " reconnector shut down, ignoring a state change");
+        }
+    }
+
+    /**
+     * Runs a task, logging its exception (so that it doesn't stop the state machine).
+     *
+     * @param task the task
+     */
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception exception) {
+            LOGGER.throwing(exception);
+        }
+    }
+}
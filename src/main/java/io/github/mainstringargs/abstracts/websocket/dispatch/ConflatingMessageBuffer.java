@@ -0,0 +1,293 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The Class ConflatingMessageBuffer. Holds the latest stream message of each symbol and message type in a slot, which
+ * newer messages of the same symbol and message type overwrite while it is pending. A consumer that only cares about
+ * the latest values (e.g. a UI, risk or P&amp;L consumer) {@link #drainTo(StreamListener) drains} the buffer at its own
+ * pace and only sees the newest message of each key, in the order the keys were first updated since the last drain.
+ * <p>
+ * Offering a message is lock-free and allocates nothing once the slots of its symbol exist, so the buffer can be fed
+ * from the dispatch thread: the pending slots are linked through the slots themselves (each slot is pending at most
+ * once) in an intrusive multi-producer queue. Messages without a symbol (e.g. status messages) are never conflated,
+ * get a slot of their own and are drained in order. One thread drains at a time.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+public class ConflatingMessageBuffer<T extends Enum<T> & StreamMessageType, M extends StreamMessage> {
+
+    /** The message type class. */
+    private final Class<T> streamMessageTypeClass;
+
+    /** The function that gets the symbol of a message. */
+    private final ShardKeyFunction<T, M> symbolFunction;
+
+    /** The slots of each symbol, indexed by message type ordinal. */
+    private final ConcurrentHashMap<String, Slot<T, M>[]> slotsBySymbol = new ConcurrentHashMap<>();
+
+    /**
+     * The stub slot of the pending slot queue, which is linked in while the queue would otherwise be empty, so that the
+     * head and tail never have to be updated together.
+     */
+    private final Slot<T, M> stubSlot = new Slot<>(null);
+
+    /** The last pending slot, where the producers link in the slots that get a pending message. */
+    private final AtomicReference<Slot<T, M>> pendingSlotTail = new AtomicReference<>(stubSlot);
+
+    /** The first pending slot, where the draining thread unlinks them (only accessed while draining). */
+    private Slot<T, M> pendingSlotHead = stubSlot;
+
+    /** The number of slots that have a pending message. */
+    private final AtomicInteger pendingSlotCount = new AtomicInteger();
+
+    /** The pending messages without a symbol, which aren't conflated. */
+    private final ConcurrentLinkedQueue<Slot<T, M>> pendingUnconflatedMessages = new ConcurrentLinkedQueue<>();
+
+    /** The number of pending messages without a symbol. */
+    private final AtomicInteger pendingUnconflatedCount = new AtomicInteger();
+
+    /** The offered count. */
+    private final AtomicLong offeredCount = new AtomicLong();
+
+    /** The number of pending messages that were overwritten by a newer one. */
+    private final AtomicLong conflatedCount = new AtomicLong();
+
+    /**
+     * Instantiates a new conflating message buffer.
+     *
+     * @param streamMessageTypeClass the stream message type class
+     * @param symbolFunction         the function that gets the symbol of a message (null if it has none)
+     */
+    public ConflatingMessageBuffer(Class<T> streamMessageTypeClass, ShardKeyFunction<T, M> symbolFunction) {
+        Preconditions.checkNotNull(streamMessageTypeClass);
+        Preconditions.checkNotNull(symbolFunction);
+
+        this.streamMessageTypeClass = streamMessageTypeClass;
+        this.symbolFunction = symbolFunction;
+    }
+
+    /**
+     * Offers a stream message, overwriting the pending message of the same symbol and message type (if any).
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    public void offer(T streamMessageType, M streamMessage) {
+        Preconditions.checkNotNull(streamMessageType);
+        Preconditions.checkNotNull(streamMessage);
+
+        offeredCount.incrementAndGet();
+
+        String symbol = symbolFunction.getShardKey(streamMessageType, streamMessage);
+
+        if (symbol == null) {
+            Slot<T, M> unconflatedMessage = new Slot<>(streamMessageType);
+            unconflatedMessage.latestMessage.set(streamMessage);
+
+            pendingUnconflatedCount.incrementAndGet();
+            pendingUnconflatedMessages.add(unconflatedMessage);
+            return;
+        }
+
+        Slot<T, M>[] symbolSlots = slotsBySymbol.get(symbol);
+        if (symbolSlots == null) {
+            symbolSlots = slotsBySymbol.computeIfAbsent(symbol, key -> createSlots());
+        }
+
+        Slot<T, M> slot = symbolSlots[streamMessageType.ordinal()];
+
+        if (slot.latestMessage.getAndSet(streamMessage) == null) {
+            // Counted first, so that the count never misses a slot that can be drained
+            pendingSlotCount.incrementAndGet();
+            linkPendingSlot(slot);
+        } else {
+            conflatedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drains the pending messages to a consumer on the calling thread. The messages offered while draining may or
+     * may not be drained by this call.
+     *
+     * @param consumer the consumer
+     *
+     * @return the number of drained messages
+     */
+    public synchronized int drainTo(StreamListener<T, M> consumer) {
+        Preconditions.checkNotNull(consumer);
+
+        int drainedCount = 0;
+
+        Slot<T, M> unconflatedMessage;
+        while ((unconflatedMessage = pendingUnconflatedMessages.poll()) != null) {
+            pendingUnconflatedCount.decrementAndGet();
+            consumer.onStreamUpdate(unconflatedMessage.streamMessageType, unconflatedMessage.latestMessage.get());
+            drainedCount++;
+        }
+
+        // Only drain the slots that were pending when the drain started, so a fast producer can't keep it going
+        int pendingSlotCount = this.pendingSlotCount.get();
+        for (int index = 0; index < pendingSlotCount; index++) {
+            Slot<T, M> slot = unlinkPendingSlot();
+            if (slot == null) { // Still being linked in by its producer
+                break;
+            }
+
+            // A message offered after this makes the slot pending again
+            M latestMessage = slot.latestMessage.getAndSet(null);
+            this.pendingSlotCount.decrementAndGet();
+
+            consumer.onStreamUpdate(slot.streamMessageType, latestMessage);
+            drainedCount++;
+        }
+
+        return drainedCount;
+    }
+
+    /**
+     * Gets the latest pending message of a symbol and message type without draining it.
+     *
+     * @param symbol            the symbol
+     * @param streamMessageType the stream message type
+     *
+     * @return the pending message (null if there is none)
+     */
+    public M peek(String symbol, T streamMessageType) {
+        Slot<T, M>[] symbolSlots = slotsBySymbol.get(symbol);
+        return symbolSlots == null ? null : symbolSlots[streamMessageType.ordinal()].latestMessage.get();
+    }
+
+    /**
+     * Gets the number of pending messages.
+     *
+     * @return the pending count
+     */
+    public int getPendingCount() {
+        return pendingSlotCount.get() + pendingUnconflatedCount.get();
+    }
+
+    /**
+     * Gets the number of offered messages.
+     *
+     * @return the offered count
+     */
+    public long getOfferedCount() {
+        return offeredCount.get();
+    }
+
+    /**
+     * Gets the number of pending messages that were overwritten by a newer one, i.e. that the consumer never saw.
+     *
+     * @return the conflated count
+     */
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    /**
+     * Links a slot that got a pending message in after the last pending slot. May be called by several producers.
+     *
+     * @param slot the slot
+     */
+    private void linkPendingSlot(Slot<T, M> slot) {
+        slot.next = null;
+        Slot<T, M> previousTail = pendingSlotTail.getAndSet(slot);
+        // Until this, the draining thread sees the previous tail as the last slot
+        previousTail.next = slot;
+    }
+
+    /**
+     * Unlinks the first pending slot. Only called by the draining thread.
+     *
+     * @return the slot (null if there is none, or if the first one is still being linked in)
+     */
+    private Slot<T, M> unlinkPendingSlot() {
+        Slot<T, M> head = pendingSlotHead;
+        Slot<T, M> next = head.next;
+
+        if (head == stubSlot) {
+            if (next == null) {
+                return null;
+            }
+
+            pendingSlotHead = next;
+            head = next;
+            next = next.next;
+        }
+
+        if (next != null) {
+            pendingSlotHead = next;
+            return head;
+        }
+
+        if (head != pendingSlotTail.get()) {
+            return null;
+        }
+
+        // The head is the last slot, so the stub is linked in behind it to keep the queue non-empty
+        linkPendingSlot(stubSlot);
+
+        next = head.next;
+        if (next != null) {
+            pendingSlotHead = next;
+            return head;
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates the slots of a symbol.
+     *
+     * @return the slots
+     */
+    @SuppressWarnings("unchecked")
+    private Slot<T, M>[] createSlots() {
+        T[] streamMessageTypes = streamMessageTypeClass.getEnumConstants();
+        Slot<T, M>[] slots = (Slot<T, M>[]) new Slot<?, ?>[streamMessageTypes.length];
+
+        for (T streamMessageType : streamMessageTypes) {
+            slots[streamMessageType.ordinal()] = new Slot<>(streamMessageType);
+        }
+
+        return slots;
+    }
+
+    /**
+     * The slot of the latest message of a symbol and message type.
+     *
+     * @param <T> the stream message type type
+     * @param <M> the stream message type
+     */
+    private static class Slot<T, M> {
+
+        /** The stream message type. */
+        private final T streamMessageType;
+
+        /** The latest message (null if none is pending). */
+        private final AtomicReference<M> latestMessage = new AtomicReference<>();
+
+        /** The next pending slot (null if this is the last one). */
+        private volatile Slot<T, M> next;
+
+        /**
+         * Instantiates a new slot.
+         *
+         * @param streamMessageType the stream message type
+         */
+        private Slot(T streamMessageType) {
+            this.streamMessageType = streamMessageType;
+        }
+    }
+}
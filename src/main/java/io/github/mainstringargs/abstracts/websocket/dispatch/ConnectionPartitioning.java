@@ -0,0 +1,19 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+/**
+ * The enum Connection partitioning. How the subscriptions of a websocket client are spread across its connections.
+ */
+public enum ConnectionPartitioning {
+
+    /** The subscriptions of a symbol are on the connection its symbol hashes to (so a symbol stays in order). */
+    BY_SYMBOL,
+
+    /** The subscriptions of a message type (e.g. all of the quotes) are on the connection of that type. */
+    BY_MESSAGE_TYPE,
+
+    /**
+     * Every connection is subscribed to all of the subscriptions (hot-hot), and the first copy of each stream message
+     * to arrive is delivered while the later copies are dropped.
+     */
+    REDUNDANT
+}
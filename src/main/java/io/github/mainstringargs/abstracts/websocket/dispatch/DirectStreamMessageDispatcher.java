@@ -0,0 +1,38 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+
+/**
+ * The Class DirectStreamMessageDispatcher. Handles the stream messages on the dispatching thread, i.e. on the message
+ * thread of the websocket client endpoint.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+public class DirectStreamMessageDispatcher<T extends StreamMessageType, M extends StreamMessage>
+        implements StreamMessageDispatcher<T, M> {
+
+    /** The stream message handler. */
+    private final StreamMessageHandler<T, M> streamMessageHandler;
+
+    /**
+     * Instantiates a new direct stream message dispatcher.
+     *
+     * @param streamMessageHandler the stream message handler
+     */
+    public DirectStreamMessageDispatcher(StreamMessageHandler<T, M> streamMessageHandler) {
+        Preconditions.checkNotNull(streamMessageHandler);
+
+        this.streamMessageHandler = streamMessageHandler;
+    }
+
+    @Override
+    public void dispatch(T streamMessageType, M streamMessage) {
+        streamMessageHandler.handleStreamMessage(streamMessageType, streamMessage);
+    }
+
+    @Override
+    public void shutdown() {}
+}
@@ -0,0 +1,549 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The Class ListenerDispatchQueue. A bounded queue of the stream messages of one listener, which the listener consumes
+ * on its own thread, so a slow listener only delays itself. What happens when the queue is full is decided by its
+ * {@link ListenerOverflowPolicy}. The queue keeps track of the lag, drops and max depth of its listener.
+ * <p>
+ * A demand-driven queue only delivers as many messages as its listener {@link #request(long) requested} (like a
+ * Reactive Streams subscription), so the messages of a listener without demand queue up and overflow by the policy.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+public class ListenerDispatchQueue<T extends StreamMessageType, M extends StreamMessage>
+        implements StreamListener<T, M> {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(ListenerDispatchQueue.class);
+
+    /** The stream listener. */
+    private final StreamListener<T, M> streamListener;
+
+    /** The capacity. */
+    private final int capacity;
+
+    /** The overflow policy. */
+    private final ListenerOverflowPolicy overflowPolicy;
+
+    /** The function that gets the symbol of a message (for the {@link ListenerOverflowPolicy#CONFLATE} policy). */
+    private final ShardKeyFunction<T, M> symbolFunction;
+
+    /** The lock of the queue. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** The condition signaled when a message is queued. */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** The condition signaled when a message is taken. */
+    private final Condition notFull = lock.newCondition();
+
+    /** The queued messages. */
+    private final ArrayDeque<QueuedMessage<T, M>> queuedMessages;
+
+    /** The queued messages by conflation key (only used by the {@link ListenerOverflowPolicy#CONFLATE} policy). */
+    private final HashMap<ConflationKey<T>, QueuedMessage<T, M>> conflatableMessagesByKey;
+
+    /** The listener thread. */
+    private final Thread listenerThread;
+
+    /** The delivered count. */
+    private final AtomicLong deliveredCount = new AtomicLong();
+
+    /** The dropped count. */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** The conflated count. */
+    private final AtomicLong conflatedCount = new AtomicLong();
+
+    /** The max queue depth (guarded by the lock). */
+    private int maxQueueDepth;
+
+    /** The time the last delivered message spent in the queue. */
+    private volatile long lastLagNanos;
+
+    /** The max time a delivered message spent in the queue. */
+    private volatile long maxLagNanos;
+
+    /** Whether this queue is running (guarded by the lock). */
+    private boolean running = true;
+
+    /** The number of messages the listener can be delivered (Long.MAX_VALUE if unbounded, guarded by the lock). */
+    private long demand;
+
+    /**
+     * Instantiates a new listener dispatch queue and starts its listener thread.
+     *
+     * @param listenerThreadName the listener thread name
+     * @param streamListener     the stream listener
+     * @param capacity           the capacity
+     * @param overflowPolicy     the overflow policy
+     * @param symbolFunction     the function that gets the symbol of a message (null if it has none)
+     */
+    public ListenerDispatchQueue(String listenerThreadName, StreamListener<T, M> streamListener, int capacity,
+            ListenerOverflowPolicy overflowPolicy, ShardKeyFunction<T, M> symbolFunction) {
+        this(listenerThreadName, streamListener, capacity, overflowPolicy, symbolFunction, false);
+    }
+
+    /**
+     * Instantiates a new listener dispatch queue and starts its listener thread.
+     *
+     * @param listenerThreadName the listener thread name
+     * @param streamListener     the stream listener
+     * @param capacity           the capacity
+     * @param overflowPolicy     the overflow policy
+     * @param symbolFunction     the function that gets the symbol of a message (null if it has none)
+     * @param demandDriven       true to only deliver the messages {@link #request(long) requested} by the listener
+     */
+    public ListenerDispatchQueue(String listenerThreadName, StreamListener<T, M> streamListener, int capacity,
+            ListenerOverflowPolicy overflowPolicy, ShardKeyFunction<T, M> symbolFunction, boolean demandDriven) {
+        Preconditions.checkNotNull(listenerThreadName);
+        Preconditions.checkNotNull(streamListener);
+        Preconditions.checkArgument(capacity > 0, "The capacity must be positive");
+        Preconditions.checkNotNull(overflowPolicy);
+        Preconditions.checkNotNull(symbolFunction);
+
+        this.streamListener = streamListener;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.symbolFunction = symbolFunction;
+
+        queuedMessages = new ArrayDeque<>(Math.min(capacity, 1024));
+        conflatableMessagesByKey = overflowPolicy == ListenerOverflowPolicy.CONFLATE ? new HashMap<>() : null;
+        demand = demandDriven ? 0 : Long.MAX_VALUE;
+
+        listenerThread = new Thread(this::deliverMessages, listenerThreadName);
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    /**
+     * Queues a stream message for the listener, applying the overflow policy if the queue is full.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    public void offer(T streamMessageType, M streamMessage) {
+        ConflationKey<T> conflationKey = null;
+        if (conflatableMessagesByKey != null) {
+            String symbol = symbolFunction.getShardKey(streamMessageType, streamMessage);
+            if (symbol != null) {
+                conflationKey = new ConflationKey<>(symbol, streamMessageType);
+            }
+        }
+
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+
+            if (conflationKey != null) {
+                QueuedMessage<T, M> conflatableMessage = conflatableMessagesByKey.get(conflationKey);
+
+                if (conflatableMessage != null) {
+                    // Keep the position and queue time of the replaced message, so the lag shows how stale it is
+                    conflatableMessage.streamMessage = streamMessage;
+                    conflatedCount.incrementAndGet();
+                    return;
+                }
+            }
+
+            if (queuedMessages.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case BLOCK:
+                        while (queuedMessages.size() >= capacity && running) {
+                            notFull.awaitUninterruptibly();
+                        }
+
+                        if (!running) {
+                            return;
+                        }
+                        break;
+                    case DROP_NEWEST:
+                        droppedCount.incrementAndGet();
+                        return;
+                    case DROP_OLDEST:
+                    case CONFLATE:
+                        removeConflatableMessage(queuedMessages.poll());
+                        droppedCount.incrementAndGet();
+                        break;
+                    default:
+                        throw new UnsupportedOperationException("Unknown overflow policy: " + overflowPolicy);
+                }
+            }
+
+            QueuedMessage<T, M> queuedMessage = new QueuedMessage<>(streamMessageType, streamMessage, conflationKey,
+                    System.nanoTime());
+            queuedMessages.add(queuedMessage);
+
+            if (conflationKey != null) {
+                conflatableMessagesByKey.put(conflationKey, queuedMessage);
+            }
+
+            maxQueueDepth = Math.max(maxQueueDepth, queuedMessages.size());
+
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a stream message for the listener, like {@link #offer(StreamMessageType, StreamMessage)}. This lets the
+     * queue stand in for its listener wherever the listener would be called directly.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    @Override
+    public void onStreamUpdate(T streamMessageType, M streamMessage) {
+        offer(streamMessageType, streamMessage);
+    }
+
+    /**
+     * Adds to the number of messages the listener can be delivered. Once it reaches {@link Long#MAX_VALUE}, the demand
+     * is unbounded.
+     *
+     * @param count the number of messages (must be positive)
+     */
+    public void request(long count) {
+        Preconditions.checkArgument(count > 0, "The requested count must be positive");
+
+        lock.lock();
+        try {
+            demand = demand > Long.MAX_VALUE - count ? Long.MAX_VALUE : demand + count;
+
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of messages the listener can be delivered.
+     *
+     * @return the demand ({@link Long#MAX_VALUE} if unbounded)
+     */
+    public long getDemand() {
+        lock.lock();
+        try {
+            return demand;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Shuts down this queue. The queued messages are discarded and the listener thread stops after its current
+     * delivery.
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+
+            queuedMessages.clear();
+            if (conflatableMessagesByKey != null) {
+                conflatableMessagesByKey.clear();
+            }
+
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the stream listener.
+     *
+     * @return the stream listener
+     */
+    public StreamListener<T, M> getStreamListener() {
+        return streamListener;
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public ListenerOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Gets the number of queued messages.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queuedMessages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the max number of queued messages so far.
+     *
+     * @return the max queue depth
+     */
+    public int getMaxQueueDepth() {
+        lock.lock();
+        try {
+            return maxQueueDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets how far behind the listener is, i.e. how long the oldest queued message has been waiting.
+     *
+     * @return the lag in milliseconds (0 if no message is queued)
+     */
+    public long getLagMillis() {
+        lock.lock();
+        try {
+            QueuedMessage<T, M> oldestQueuedMessage = queuedMessages.peek();
+            return oldestQueuedMessage == null ? 0 :
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestQueuedMessage.queueTimeNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets how long the last delivered message was queued.
+     *
+     * @return the last lag in milliseconds
+     */
+    public long getLastLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastLagNanos);
+    }
+
+    /**
+     * Gets the longest a delivered message was queued.
+     *
+     * @return the max lag in milliseconds
+     */
+    public long getMaxLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLagNanos);
+    }
+
+    /**
+     * Gets the number of messages delivered to the listener.
+     *
+     * @return the delivered count
+     */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /**
+     * Gets the number of messages dropped because the queue was full.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the number of messages that replaced a queued message with the {@link ListenerOverflowPolicy#CONFLATE}
+     * policy.
+     *
+     * @return the conflated count
+     */
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    /**
+     * The listener thread loop.
+     */
+    private void deliverMessages() {
+        while (true) {
+            T streamMessageType;
+            M streamMessage;
+            long queueTimeNanos;
+
+            lock.lock();
+            try {
+                while ((queuedMessages.isEmpty() || demand == 0) && running) {
+                    notEmpty.awaitUninterruptibly();
+                }
+
+                if (!running) {
+                    return;
+                }
+
+                QueuedMessage<T, M> queuedMessage = queuedMessages.poll();
+                removeConflatableMessage(queuedMessage);
+
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+
+                streamMessageType = queuedMessage.streamMessageType;
+                streamMessage = queuedMessage.streamMessage;
+                queueTimeNanos = queuedMessage.queueTimeNanos;
+
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            long lagNanos = System.nanoTime() - queueTimeNanos;
+            lastLagNanos = lagNanos;
+            if (lagNanos > maxLagNanos) {
+                maxLagNanos = lagNanos;
+            }
+
+            try {
+                streamListener.onStreamUpdate(streamMessageType, streamMessage);
+            } catch (RuntimeException exception) {
+                LOGGER.catching(exception);
+            }
+
+            deliveredCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes a message that left the queue from the conflatable messages. Must be called with the lock held.
+     *
+     * @param queuedMessage the queued message
+     */
+    private void removeConflatableMessage(QueuedMessage<T, M> queuedMessage) {
+        if (queuedMessage.conflationKey != null) {
+            conflatableMessagesByKey.remove(queuedMessage.conflationKey);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", ListenerDispatchQueue.class.getSimpleName() + "[", "]")
+                .add("streamListener=" + streamListener)
+                .add("capacity=" + capacity)
+                .add("overflowPolicy=" + overflowPolicy)
+                .add("demand=" + getDemand())
+                .add("queueDepth=" + getQueueDepth())
+                .add("maxQueueDepth=" + getMaxQueueDepth())
+                .add("lagMillis=" + getLagMillis())
+                .add("maxLagMillis=" + getMaxLagMillis())
+                .add("deliveredCount=" + deliveredCount)
+                .add("droppedCount=" + droppedCount)
+                .add("conflatedCount=" + conflatedCount)
+                .toString();
+    }
+
+    /**
+     * A queued message.
+     *
+     * @param <T> the stream message type type
+     * @param <M> the stream message type
+     */
+    private static class QueuedMessage<T, M> {
+
+        /** The stream message type. */
+        private final T streamMessageType;
+
+        /** The stream message (replaced when a newer message is conflated into this one). */
+        private M streamMessage;
+
+        /** The conflation key (null if the message can't be conflated). */
+        private final ConflationKey<T> conflationKey;
+
+        /** The time the message was queued. */
+        private final long queueTimeNanos;
+
+        /**
+         * Instantiates a new queued message.
+         *
+         * @param streamMessageType the stream message type
+         * @param streamMessage     the stream message
+         * @param conflationKey     the conflation key
+         * @param queueTimeNanos    the queue time nanos
+         */
+        private QueuedMessage(T streamMessageType, M streamMessage, ConflationKey<T> conflationKey,
+                long queueTimeNanos) {
+            this.streamMessageType = streamMessageType;
+            this.streamMessage = streamMessage;
+            this.conflationKey = conflationKey;
+            this.queueTimeNanos = queueTimeNanos;
+        }
+    }
+
+    /**
+     * The key of the messages that conflate into each other.
+     *
+     * @param <T> the stream message type type
+     */
+    private static class ConflationKey<T> {
+
+        /** The symbol. */
+        private final String symbol;
+
+        /** The stream message type. */
+        private final T streamMessageType;
+
+        /**
+         * Instantiates a new conflation key.
+         *
+         * @param symbol            the symbol
+         * @param streamMessageType the stream message type
+         */
+        private ConflationKey(String symbol, T streamMessageType) {
+            this.symbol = symbol;
+            this.streamMessageType = streamMessageType;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof ConflationKey)) {
+                return false;
+            }
+
+            ConflationKey<?> conflationKey = (ConflationKey<?>) object;
+            return symbol.equals(conflationKey.symbol) && streamMessageType == conflationKey.streamMessageType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, streamMessageType);
+        }
+    }
+}
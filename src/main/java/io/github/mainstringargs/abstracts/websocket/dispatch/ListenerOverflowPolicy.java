@@ -0,0 +1,28 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+/**
+ * The enum Listener overflow policy. It is what a {@link ListenerDispatchQueue} does with a new stream message when it
+ * is full, i.e. when its listener can't keep up.
+ */
+public enum ListenerOverflowPolicy {
+
+    /**
+     * Blocks the dispatching thread until the listener takes a message. This backs up the websocket reader, so it
+     * slows down the delivery to all the other listeners too.
+     */
+    BLOCK,
+
+    /** Drops the oldest queued message to make room for the new one. */
+    DROP_OLDEST,
+
+    /** Drops the new message. */
+    DROP_NEWEST,
+
+    /**
+     * Replaces the queued message of the same symbol and message type (if any) with the new one, so the listener only
+     * gets the latest message of each symbol and message type. The queue is never full while messages can be
+     * conflated, and when it is full with messages of other symbols, the oldest one is dropped. Messages without a
+     * symbol (e.g. status messages) are never conflated.
+     */
+    CONFLATE
+}
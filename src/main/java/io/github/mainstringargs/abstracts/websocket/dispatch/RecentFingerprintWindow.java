@@ -0,0 +1,189 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * The Class RecentFingerprintWindow. Remembers the last N 64-bit fingerprints (e.g. of stream messages) it was offered,
+ * so that repeats within the window can be recognized, in bounded memory: once the window is full, offering a new
+ * fingerprint forgets the oldest one.
+ * <p>
+ * The fingerprints are kept in a ring (in offer order) and in an open-addressing hash table with linear probing, so
+ * offering a fingerprint is O(1) and allocates nothing. It isn't thread-safe.
+ */
+public class RecentFingerprintWindow {
+
+    /** The value of the empty slots of the table (a fingerprint of 0 is stored as {@link #ZERO_FINGERPRINT}). */
+    private static final long EMPTY = 0;
+
+    /** The fingerprint a fingerprint of 0 is stored as. */
+    private static final long ZERO_FINGERPRINT = 0x9E3779B97F4A7C15L;
+
+    /** The fingerprints in offer order. */
+    private final long[] ring;
+
+    /** The hash table of the fingerprints in the ring (at most half full). */
+    private final long[] table;
+
+    /** The mask of the table indexes. */
+    private final int tableMask;
+
+    /** The index of the ring the next fingerprint is written to. */
+    private int ringIndex;
+
+    /** The number of fingerprints in the window. */
+    private int size;
+
+    /**
+     * Instantiates a new recent fingerprint window.
+     *
+     * @param capacity the number of fingerprints the window remembers
+     */
+    public RecentFingerprintWindow(int capacity) {
+        Preconditions.checkArgument(capacity > 0, "The capacity must be positive");
+        Preconditions.checkArgument(capacity <= 1 << 28, "The capacity is too large");
+
+        ring = new long[capacity];
+        table = new long[Integer.highestOneBit(capacity) << 2];
+        tableMask = table.length - 1;
+    }
+
+    /**
+     * Adds a fingerprint to the window unless it is already in it.
+     *
+     * @param fingerprint the fingerprint
+     *
+     * @return true if the fingerprint wasn't in the window (i.e. it is the first time it is offered within the window)
+     */
+    public boolean addIfAbsent(long fingerprint) {
+        if (fingerprint == EMPTY) {
+            fingerprint = ZERO_FINGERPRINT;
+        }
+
+        int index = getTableIndex(fingerprint);
+        while (table[index] != EMPTY) {
+            if (table[index] == fingerprint) {
+                return false;
+            }
+            index = (index + 1) & tableMask;
+        }
+
+        if (size == ring.length) {
+            remove(ring[ringIndex]);
+        } else {
+            size++;
+        }
+
+        // The removal may have shifted the probe sequence, so find the empty slot again
+        index = getTableIndex(fingerprint);
+        while (table[index] != EMPTY) {
+            index = (index + 1) & tableMask;
+        }
+        table[index] = fingerprint;
+
+        ring[ringIndex] = fingerprint;
+        ringIndex = ringIndex + 1 == ring.length ? 0 : ringIndex + 1;
+
+        return true;
+    }
+
+    /**
+     * Checks whether a fingerprint is in the window.
+     *
+     * @param fingerprint the fingerprint
+     *
+     * @return true if it is in the window
+     */
+    public boolean contains(long fingerprint) {
+        if (fingerprint == EMPTY) {
+            fingerprint = ZERO_FINGERPRINT;
+        }
+
+        int index = getTableIndex(fingerprint);
+        while (table[index] != EMPTY) {
+            if (table[index] == fingerprint) {
+                return true;
+            }
+            index = (index + 1) & tableMask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Forgets all of the fingerprints.
+     */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        ringIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the number of fingerprints in the window.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of fingerprints the window remembers.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Removes a fingerprint from the table, shifting the entries of its probe sequence back so that they stay
+     * reachable.
+     *
+     * @param fingerprint the fingerprint (which must be in the table)
+     */
+    private void remove(long fingerprint) {
+        int index = getTableIndex(fingerprint);
+        while (table[index] != fingerprint) {
+            index = (index + 1) & tableMask;
+        }
+
+        int emptyIndex = index;
+        index = (index + 1) & tableMask;
+        while (table[index] != EMPTY) {
+            int homeIndex = getTableIndex(table[index]);
+
+            // Moves the entry to the empty slot if the empty slot is between its home slot and its slot (cyclically)
+            if (((index - homeIndex) & tableMask) >= ((index - emptyIndex) & tableMask)) {
+                table[emptyIndex] = table[index];
+                emptyIndex = index;
+            }
+            index = (index + 1) & tableMask;
+        }
+
+        table[emptyIndex] = EMPTY;
+    }
+
+    /**
+     * Gets the home index of a fingerprint in the table.
+     *
+     * @param fingerprint the fingerprint
+     *
+     * @return the table index
+     */
+    private int getTableIndex(long fingerprint) {
+        long mixed = fingerprint * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & tableMask;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RecentFingerprintWindow.class.getSimpleName() + "[", "]")
+                .add("size=" + size)
+                .add("capacity=" + ring.length)
+                .toString();
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+
+/**
+ * The function that gets the key (e.g. the symbol) that a {@link ShardedStreamMessageDispatcher} uses to pick the
+ * thread of a stream message. Messages with the same key are handled in order on the same thread.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+@FunctionalInterface
+public interface ShardKeyFunction<T extends StreamMessageType, M extends StreamMessage> {
+
+    /**
+     * Gets the shard key of a stream message.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     *
+     * @return the shard key, or null for the control messages (e.g. status and authorization messages), which are
+     * handled in order on the control thread
+     */
+    String getShardKey(T streamMessageType, M streamMessage);
+}
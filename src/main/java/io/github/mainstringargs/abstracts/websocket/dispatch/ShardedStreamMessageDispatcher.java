@@ -0,0 +1,113 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The Class ShardedStreamMessageDispatcher. Hashes the stream messages by their shard key (e.g. the symbol) onto a fixed
+ * number of single-threaded shards, so the messages of different symbols are handled concurrently while the messages
+ * of a symbol are handled in order. The control messages (the ones without a shard key) are handled in order on a
+ * separate control thread.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+public class ShardedStreamMessageDispatcher<T extends StreamMessageType, M extends StreamMessage>
+        implements StreamMessageDispatcher<T, M> {
+
+    /** The stream message handler. */
+    private final StreamMessageHandler<T, M> streamMessageHandler;
+
+    /** The shard key function. */
+    private final ShardKeyFunction<T, M> shardKeyFunction;
+
+    /** The single-threaded executors of the shards. */
+    private final ExecutorService[] shardExecutorServices;
+
+    /** The single-threaded executor of the control messages. */
+    private final ExecutorService controlExecutorService;
+
+    /**
+     * Instantiates a new sharded stream message dispatcher.
+     *
+     * @param threadNamePrefix     the prefix of the names of the shard and control threads
+     * @param shardCount           the shard count
+     * @param queueCapacity        the capacity of the queue of each shard (dispatching blocks while it is full)
+     * @param streamMessageHandler the stream message handler
+     * @param shardKeyFunction     the shard key function
+     */
+    public ShardedStreamMessageDispatcher(String threadNamePrefix, int shardCount, int queueCapacity,
+            StreamMessageHandler<T, M> streamMessageHandler, ShardKeyFunction<T, M> shardKeyFunction) {
+        Preconditions.checkNotNull(threadNamePrefix);
+        Preconditions.checkArgument(shardCount > 0, "The shard count must be positive");
+        Preconditions.checkNotNull(streamMessageHandler);
+        Preconditions.checkNotNull(shardKeyFunction);
+
+        this.streamMessageHandler = streamMessageHandler;
+        this.shardKeyFunction = shardKeyFunction;
+
+        shardExecutorServices = new ExecutorService[shardCount];
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            shardExecutorServices[shardIndex] = ExecutorTracer.newBoundedSingleThreadExecutor(queueCapacity,
+                    newDaemonThreadFactory(threadNamePrefix + "Shard-" + shardIndex));
+        }
+
+        controlExecutorService = ExecutorTracer.newBoundedSingleThreadExecutor(queueCapacity,
+                newDaemonThreadFactory(threadNamePrefix + "Control"));
+    }
+
+    @Override
+    public void dispatch(T streamMessageType, M streamMessage) {
+        String shardKey = shardKeyFunction.getShardKey(streamMessageType, streamMessage);
+
+        ExecutorService executorService = shardKey == null ? controlExecutorService :
+                shardExecutorServices[getShardIndex(shardKey, shardExecutorServices.length)];
+
+        executorService.execute(() -> streamMessageHandler.handleStreamMessage(streamMessageType, streamMessage));
+    }
+
+    @Override
+    public void shutdown() {
+        for (ExecutorService shardExecutorService : shardExecutorServices) {
+            shardExecutorService.shutdown();
+        }
+        controlExecutorService.shutdown();
+    }
+
+    /**
+     * Gets the index of the shard of a shard key.
+     *
+     * @param shardKey   the shard key
+     * @param shardCount the shard count
+     *
+     * @return the shard index
+     */
+    public static int getShardIndex(String shardKey, int shardCount) {
+        int hash = shardKey.hashCode();
+
+        // Spread the high bits like HashMap does, since symbols often only differ in their last characters
+        hash ^= (hash >>> 16);
+
+        return (hash & Integer.MAX_VALUE) % shardCount;
+    }
+
+    /**
+     * Creates a factory of daemon threads with the given name.
+     *
+     * @param threadName the thread name
+     *
+     * @return the thread factory
+     */
+    private static ThreadFactory newDaemonThreadFactory(String threadName) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+
+/**
+ * The dispatcher of the decoded stream messages of a websocket client to its {@link StreamMessageHandler}. It decides
+ * on which thread each message is handled.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ *
+ * @see WebsocketDispatchConfig#createStreamMessageDispatcher(String, StreamMessageHandler, ShardKeyFunction)
+ */
+public interface StreamMessageDispatcher<T extends StreamMessageType, M extends StreamMessage> {
+
+    /**
+     * Dispatches a stream message to the handler.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    void dispatch(T streamMessageType, M streamMessage);
+
+    /**
+     * Shuts down the threads of this dispatcher (if any). The messages that were already dispatched are still handled.
+     */
+    void shutdown();
+}
@@ -0,0 +1,22 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+
+/**
+ * The handler of the decoded stream messages a {@link StreamMessageDispatcher} dispatches.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+@FunctionalInterface
+public interface StreamMessageHandler<T extends StreamMessageType, M extends StreamMessage> {
+
+    /**
+     * Handles a stream message.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    void handleStreamMessage(T streamMessageType, M streamMessage);
+}
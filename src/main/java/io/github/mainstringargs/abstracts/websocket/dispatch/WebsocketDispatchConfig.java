@@ -0,0 +1,270 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+import io.github.mainstringargs.util.concurrency.RingBufferWaitStrategy;
+import io.github.mainstringargs.util.concurrency.SingleProducerRingBuffer;
+
+import java.util.StringJoiner;
+
+/**
+ * The Class WebsocketDispatchConfig. Holds the settings of how a websocket client dispatches its stream messages to its
+ * listeners.
+ */
+public class WebsocketDispatchConfig {
+
+    /** The Constant DEFAULT_SHARD_COUNT. */
+    public static final int DEFAULT_SHARD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    /** The dispatch mode. */
+    private WebsocketDispatchMode dispatchMode = WebsocketDispatchMode.DIRECT;
+
+    /** The Constant DEFAULT_DISPATCH_QUEUE_CAPACITY. */
+    public static final int DEFAULT_DISPATCH_QUEUE_CAPACITY = 65_536;
+
+    /** The Constant DEFAULT_FRAME_RING_BUFFER_WAIT_STRATEGY. */
+    public static final RingBufferWaitStrategy DEFAULT_FRAME_RING_BUFFER_WAIT_STRATEGY =
+            RingBufferWaitStrategy.BLOCKING;
+
+    /** The Constant DEFAULT_ARBITRATION_WINDOW_SIZE. */
+    public static final int DEFAULT_ARBITRATION_WINDOW_SIZE = 65_536;
+
+    /** The number of shard threads in the {@link WebsocketDispatchMode#SHARDED_BY_SYMBOL} mode. */
+    private int shardCount = DEFAULT_SHARD_COUNT;
+
+    /**
+     * The capacity of the executor queues of the frames and of the shards. The thread that queues a frame or message
+     * blocks while the queue is full, so a slow consumer backs up the websocket reader instead of growing the queue
+     * until the JVM runs out of memory.
+     */
+    private int dispatchQueueCapacity = DEFAULT_DISPATCH_QUEUE_CAPACITY;
+
+    /**
+     * The capacity of the {@link SingleProducerRingBuffer} that hands the websocket frames from the websocket I/O
+     * thread to the message thread, or 0 to queue them in an executor.
+     */
+    private int frameRingBufferSize = 0;
+
+    /** The wait strategy of the frame ring buffer. */
+    private RingBufferWaitStrategy frameRingBufferWaitStrategy = DEFAULT_FRAME_RING_BUFFER_WAIT_STRATEGY;
+
+    /**
+     * The number of websocket connections the subscriptions are spread across. The stream messages of all of them are
+     * dispatched together.
+     */
+    private int connectionCount = 1;
+
+    /** How the subscriptions are spread across the connections. */
+    private ConnectionPartitioning connectionPartitioning = ConnectionPartitioning.BY_SYMBOL;
+
+    /**
+     * The number of recent stream messages the {@link ConnectionPartitioning#REDUNDANT} connections remember to drop
+     * the later copies of.
+     */
+    private int arbitrationWindowSize = DEFAULT_ARBITRATION_WINDOW_SIZE;
+
+    /**
+     * Gets the dispatch mode.
+     *
+     * @return the dispatch mode
+     */
+    public WebsocketDispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * Sets the dispatch mode.
+     *
+     * @param dispatchMode the dispatch mode
+     */
+    public void setDispatchMode(WebsocketDispatchMode dispatchMode) {
+        Preconditions.checkNotNull(dispatchMode);
+
+        this.dispatchMode = dispatchMode;
+    }
+
+    /**
+     * Gets the shard count.
+     *
+     * @return the shard count
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Sets the shard count.
+     *
+     * @param shardCount the shard count
+     */
+    public void setShardCount(int shardCount) {
+        Preconditions.checkArgument(shardCount > 0, "The shard count must be positive");
+
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Gets the dispatch queue capacity.
+     *
+     * @return the dispatch queue capacity
+     */
+    public int getDispatchQueueCapacity() {
+        return dispatchQueueCapacity;
+    }
+
+    /**
+     * Sets the dispatch queue capacity.
+     *
+     * @param dispatchQueueCapacity the dispatch queue capacity
+     */
+    public void setDispatchQueueCapacity(int dispatchQueueCapacity) {
+        Preconditions.checkArgument(dispatchQueueCapacity > 0, "The dispatch queue capacity must be positive");
+
+        this.dispatchQueueCapacity = dispatchQueueCapacity;
+    }
+
+    /**
+     * Gets the frame ring buffer size.
+     *
+     * @return the frame ring buffer size (0 if frames are queued in an executor)
+     */
+    public int getFrameRingBufferSize() {
+        return frameRingBufferSize;
+    }
+
+    /**
+     * Sets the frame ring buffer size. The websocket I/O thread stalls while the ring buffer is full.
+     *
+     * @param frameRingBufferSize the frame ring buffer size (rounded up to a power of 2), or 0 to queue the frames in
+     *                            an (unbounded) executor
+     */
+    public void setFrameRingBufferSize(int frameRingBufferSize) {
+        Preconditions.checkArgument(frameRingBufferSize >= 0, "The frame ring buffer size can't be negative");
+
+        this.frameRingBufferSize = frameRingBufferSize;
+    }
+
+    /**
+     * Gets the frame ring buffer wait strategy.
+     *
+     * @return the frame ring buffer wait strategy
+     */
+    public RingBufferWaitStrategy getFrameRingBufferWaitStrategy() {
+        return frameRingBufferWaitStrategy;
+    }
+
+    /**
+     * Sets the frame ring buffer wait strategy.
+     *
+     * @param frameRingBufferWaitStrategy the frame ring buffer wait strategy
+     */
+    public void setFrameRingBufferWaitStrategy(RingBufferWaitStrategy frameRingBufferWaitStrategy) {
+        Preconditions.checkNotNull(frameRingBufferWaitStrategy);
+
+        this.frameRingBufferWaitStrategy = frameRingBufferWaitStrategy;
+    }
+
+    /**
+     * Gets the connection count.
+     *
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Sets the connection count. With more than one connection, the {@link WebsocketDispatchMode#DIRECT} mode calls
+     * the listeners on the message threads of all of the connections concurrently, while the {@link
+     * WebsocketDispatchMode#SHARDED_BY_SYMBOL} mode still calls them on one thread per symbol.
+     *
+     * @param connectionCount the connection count
+     */
+    public void setConnectionCount(int connectionCount) {
+        Preconditions.checkArgument(connectionCount > 0, "The connection count must be positive");
+
+        this.connectionCount = connectionCount;
+    }
+
+    /**
+     * Gets the connection partitioning.
+     *
+     * @return the connection partitioning
+     */
+    public ConnectionPartitioning getConnectionPartitioning() {
+        return connectionPartitioning;
+    }
+
+    /**
+     * Sets the connection partitioning.
+     *
+     * @param connectionPartitioning the connection partitioning
+     */
+    public void setConnectionPartitioning(ConnectionPartitioning connectionPartitioning) {
+        Preconditions.checkNotNull(connectionPartitioning);
+
+        this.connectionPartitioning = connectionPartitioning;
+    }
+
+    /**
+     * Gets the arbitration window size.
+     *
+     * @return the arbitration window size
+     */
+    public int getArbitrationWindowSize() {
+        return arbitrationWindowSize;
+    }
+
+    /**
+     * Sets the arbitration window size. A copy of a stream message that arrives after this many newer stream messages
+     * is no longer recognized as a duplicate, so it must cover the messages received while the slowest connection
+     * lags behind.
+     *
+     * @param arbitrationWindowSize the arbitration window size
+     */
+    public void setArbitrationWindowSize(int arbitrationWindowSize) {
+        Preconditions.checkArgument(arbitrationWindowSize > 0, "The arbitration window size must be positive");
+
+        this.arbitrationWindowSize = arbitrationWindowSize;
+    }
+
+    /**
+     * Creates the stream message dispatcher of this configuration.
+     *
+     * @param <T>                  the stream message type type
+     * @param <M>                  the stream message type
+     * @param threadNamePrefix     the prefix of the names of the dispatcher threads
+     * @param streamMessageHandler the stream message handler
+     * @param shardKeyFunction     the shard key function
+     *
+     * @return the stream message dispatcher
+     */
+    public <T extends StreamMessageType, M extends StreamMessage> StreamMessageDispatcher<T, M>
+    createStreamMessageDispatcher(String threadNamePrefix, StreamMessageHandler<T, M> streamMessageHandler,
+            ShardKeyFunction<T, M> shardKeyFunction) {
+        switch (dispatchMode) {
+            case DIRECT:
+                return new DirectStreamMessageDispatcher<>(streamMessageHandler);
+            case SHARDED_BY_SYMBOL:
+                return new ShardedStreamMessageDispatcher<>(threadNamePrefix, shardCount, dispatchQueueCapacity,
+                        streamMessageHandler, shardKeyFunction);
+            default:
+                throw new UnsupportedOperationException("Unknown dispatch mode: " + dispatchMode);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", WebsocketDispatchConfig.class.getSimpleName() + "[", "]")
+                .add("dispatchMode=" + dispatchMode)
+                .add("shardCount=" + shardCount)
+                .add("dispatchQueueCapacity=" + dispatchQueueCapacity)
+                .add("frameRingBufferSize=" + frameRingBufferSize)
+                .add("frameRingBufferWaitStrategy=" + frameRingBufferWaitStrategy)
+                .add("connectionCount=" + connectionCount)
+                .add("connectionPartitioning=" + connectionPartitioning)
+                .add("arbitrationWindowSize=" + arbitrationWindowSize)
+                .toString();
+    }
+}
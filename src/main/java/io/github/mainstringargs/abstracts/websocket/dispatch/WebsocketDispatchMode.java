@@ -0,0 +1,18 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+/**
+ * The enum Websocket dispatch mode.
+ */
+public enum WebsocketDispatchMode {
+
+    /** The stream messages are handled on the message thread of the websocket client endpoint. */
+    DIRECT,
+
+    /**
+     * The stream messages are hashed by symbol onto a number of threads, and the control messages are handled on a
+     * control thread.
+     *
+     * @see ShardedStreamMessageDispatcher
+     */
+    SHARDED_BY_SYMBOL
+}
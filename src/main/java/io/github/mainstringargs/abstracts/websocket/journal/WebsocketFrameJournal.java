@@ -0,0 +1,555 @@
+package io.github.mainstringargs.abstracts.websocket.journal;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Class WebsocketFrameJournal. Records the websocket frames a client receives, with their receive timestamp, in an
+ * append-only log of memory-mapped segment files, so that they can be replayed later with a {@link
+ * WebsocketFrameReplayer}.
+ * <p>
+ * Appending a frame encodes it as UTF-8 directly into the mapped segment, so it allocates nothing and doesn't wait for
+ * the disk: the operating system writes the mapped pages back on its own (also if the process dies). The next segment
+ * file is created, mapped and pre-faulted on a background thread while the current one fills up, so when a frame
+ * doesn't fit in the current segment, the journal just moves on to the next one (and forces the full one to the disk
+ * on the background thread). The segments are named {@code <prefix>-<segment index>.journal}, and a new journal starts
+ * after the last existing segment of its prefix.
+ * <p>
+ * A journal holds a lock on the {@code <prefix>.lock} file in its directory while it is open, so that no other journal
+ * (in this or another process) can write to the segments of the same prefix.
+ * <p>
+ * A segment starts with a {@link #SEGMENT_HEADER_LENGTH} byte header (the {@link #MAGIC} and the {@link #VERSION}),
+ * followed by the records. A record is a {@link #RECORD_HEADER_LENGTH} byte header (the frame length in bytes, the
+ * source ID and the receive timestamp in epoch nanoseconds) followed by the UTF-8 bytes of the frame, padded to a
+ * multiple of 8 bytes. The frame length of a record is written last, and a frame length of 0 marks the end of the
+ * segment.
+ */
+public class WebsocketFrameJournal implements Closeable {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(WebsocketFrameJournal.class);
+
+    /** The Constant DEFAULT_SEGMENT_SIZE. */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /** The magic number a segment starts with ("WSFJ"). */
+    public static final int MAGIC = 0x5753464A;
+
+    /** The version of the segment format. */
+    public static final int VERSION = 1;
+
+    /** The length of the segment header. */
+    public static final int SEGMENT_HEADER_LENGTH = 8;
+
+    /** The length of the record header. */
+    public static final int RECORD_HEADER_LENGTH = 16;
+
+    /** The file name suffix of the segments. */
+    public static final String SEGMENT_FILE_SUFFIX = ".journal";
+
+    /** The file name suffix of the lock file of a prefix. */
+    public static final String LOCK_FILE_SUFFIX = ".lock";
+
+    /** The page size the pre-allocated segments are faulted in by. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** The directory. */
+    private final Path directory;
+
+    /** The file name prefix of the segments. */
+    private final String prefix;
+
+    /** The segment size. */
+    private final int segmentSize;
+
+    /** The epoch nanoseconds of System.nanoTime() 0, so the receive timestamps are monotonic. */
+    private final long epochNanosOffset;
+
+    /** The channel of the lock file, whose lock is held until the journal is closed. */
+    private final FileChannel lockFileChannel;
+
+    /** The executor service that pre-allocates the next segment and forces the full ones. */
+    private final ExecutorService segmentExecutorService;
+
+    /** The mapped current segment (null once closed). */
+    private MappedByteBuffer segment;
+
+    /** The future of the pre-allocated next segment. */
+    private Future<MappedByteBuffer> nextSegmentFuture;
+
+    /** The position of the next record in the current segment. */
+    private int position;
+
+    /** The index of the current segment. */
+    private long segmentIndex;
+
+    /** The number of appended frames. */
+    private long appendedFrameCount;
+
+    /** The number of appended frame bytes. */
+    private long appendedByteCount;
+
+    /** The number of frames that were dropped because they don't fit in a segment. */
+    private long droppedFrameCount;
+
+    /**
+     * Instantiates a new websocket frame journal with the default segment size.
+     *
+     * @param directory the directory of the segments (created if it doesn't exist)
+     * @param prefix    the file name prefix of the segments
+     *
+     * @throws IOException the IO exception
+     */
+    public WebsocketFrameJournal(Path directory, String prefix) throws IOException {
+        this(directory, prefix, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Instantiates a new websocket frame journal.
+     *
+     * @param directory   the directory of the segments (created if it doesn't exist)
+     * @param prefix      the file name prefix of the segments
+     * @param segmentSize the size of the segment files in bytes (which bounds the size of a frame)
+     *
+     * @throws IOException the IO exception (also if another journal has the same directory and prefix)
+     */
+    public WebsocketFrameJournal(Path directory, String prefix, int segmentSize) throws IOException {
+        Preconditions.checkNotNull(directory);
+        Preconditions.checkNotNull(prefix);
+        Preconditions.checkArgument(segmentSize >= SEGMENT_HEADER_LENGTH + RECORD_HEADER_LENGTH + 8,
+                "The segment size is too small");
+
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+
+        epochNanosOffset = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+
+        Files.createDirectories(directory);
+        lockFileChannel = lockPrefix(directory, prefix);
+
+        segmentExecutorService = ExecutorTracer.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, prefix + "JournalThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            segmentIndex = getLastSegmentIndex(directory, prefix) + 1;
+            segment = mapSegment(segmentIndex);
+        } catch (IOException e) {
+            segmentExecutorService.shutdown();
+            lockFileChannel.close();
+            throw e;
+        }
+        position = SEGMENT_HEADER_LENGTH;
+
+        LOGGER.info("Journaling websocket frames to " + getSegmentPath(directory, prefix, segmentIndex));
+
+        preallocateNextSegment();
+    }
+
+    /**
+     * Appends a frame, timestamped now. May be called by several threads (e.g. the websocket I/O threads of several
+     * connections).
+     *
+     * @param sourceId the ID of the source of the frame (e.g. the connection index)
+     * @param frame    the frame
+     */
+    public synchronized void append(int sourceId, String frame) {
+        long receiveEpochNanos = epochNanosOffset + System.nanoTime();
+
+        if (segment == null) {
+            LOGGER.warn("Not appending a frame to a closed journal");
+            return;
+        }
+
+        int frameLength = getUTF8Length(frame);
+        int recordLength = RECORD_HEADER_LENGTH + ((frameLength + 7) & ~7);
+
+        if (frameLength == 0) { // A frame length of 0 marks the end of a segment
+            return;
+        } else if (recordLength > segmentSize - SEGMENT_HEADER_LENGTH) {
+            droppedFrameCount++;
+            LOGGER.error("Dropping a frame of " + frameLength + " bytes that doesn't fit in a journal segment");
+            return;
+        }
+
+        if (position + recordLength > segmentSize) {
+            try {
+                rollSegment();
+            } catch (IOException e) {
+                LOGGER.throwing(e);
+
+                droppedFrameCount++;
+                return;
+            }
+        }
+
+        MappedByteBuffer segment = this.segment;
+        int recordPosition = position;
+
+        segment.putInt(recordPosition + 4, sourceId);
+        segment.putLong(recordPosition + 8, receiveEpochNanos);
+        putUTF8(segment, recordPosition + RECORD_HEADER_LENGTH, frame);
+        // The frame length makes the record visible, so it is written last
+        segment.putInt(recordPosition, frameLength);
+
+        position = recordPosition + recordLength;
+        appendedFrameCount++;
+        appendedByteCount += frameLength;
+    }
+
+    /**
+     * Asks the operating system to write the mapped pages of the current segment to the disk.
+     */
+    public synchronized void flush() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the journal, deletes the pre-allocated next segment and releases the lock of the prefix. The
+     * mapping of the last segment is released by the garbage collector.
+     */
+    @Override
+    public synchronized void close() {
+        if (segment == null) {
+            return;
+        }
+
+        flush();
+        segment = null;
+
+        try {
+            nextSegmentFuture.get();
+            Files.deleteIfExists(getSegmentPath(directory, prefix, segmentIndex + 1));
+        } catch (ExecutionException | IOException e) {
+            LOGGER.throwing(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        nextSegmentFuture = null;
+
+        // The pending forces of the full segments still run
+        segmentExecutorService.shutdown();
+
+        try {
+            lockFileChannel.close();
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+        }
+    }
+
+    /**
+     * Gets the directory.
+     *
+     * @return the directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the file name prefix of the segments.
+     *
+     * @return the prefix
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Gets the segment size.
+     *
+     * @return the segment size
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Gets the index of the current segment.
+     *
+     * @return the segment index
+     */
+    public synchronized long getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    /**
+     * Gets the number of appended frames.
+     *
+     * @return the appended frame count
+     */
+    public synchronized long getAppendedFrameCount() {
+        return appendedFrameCount;
+    }
+
+    /**
+     * Gets the number of appended frame bytes.
+     *
+     * @return the appended byte count
+     */
+    public synchronized long getAppendedByteCount() {
+        return appendedByteCount;
+    }
+
+    /**
+     * Gets the number of frames that were dropped because they don't fit in a segment.
+     *
+     * @return the dropped frame count
+     */
+    public synchronized long getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    /**
+     * Moves on to the pre-allocated next segment (the current one is left as it is, its zero-filled rest marks its
+     * end) and starts pre-allocating the one after it.
+     *
+     * @throws IOException the IO exception
+     */
+    private void rollSegment() throws IOException {
+        MappedByteBuffer nextSegment;
+        try {
+            // Normally ready long before the current segment is full
+            nextSegment = nextSegmentFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the next journal segment");
+        } catch (ExecutionException e) {
+            // Retried by the next roll
+            preallocateNextSegment();
+            throw new IOException(e.getCause());
+        }
+
+        // Written back on the segment thread, so the appending thread doesn't wait for the disk
+        MappedByteBuffer fullSegment = segment;
+        segmentExecutorService.execute(fullSegment::force);
+
+        segment = nextSegment;
+        segmentIndex++;
+        position = SEGMENT_HEADER_LENGTH;
+
+        LOGGER.info("Journaling websocket frames to " + getSegmentPath(directory, prefix, segmentIndex));
+
+        preallocateNextSegment();
+    }
+
+    /**
+     * Starts pre-allocating the segment after the current one on the segment thread.
+     */
+    private void preallocateNextSegment() {
+        long nextSegmentIndex = segmentIndex + 1;
+
+        nextSegmentFuture = segmentExecutorService.submit(() -> {
+            MappedByteBuffer nextSegment = mapSegment(nextSegmentIndex);
+
+            // Faults the pages in now, instead of when the appending thread first writes to them
+            for (int pagePosition = SEGMENT_HEADER_LENGTH; pagePosition < segmentSize; pagePosition += PAGE_SIZE) {
+                nextSegment.put(pagePosition, (byte) 0);
+            }
+
+            return nextSegment;
+        });
+    }
+
+    /**
+     * Creates and maps a segment and writes its header.
+     *
+     * @param segmentIndex the segment index
+     *
+     * @return the mapped segment
+     *
+     * @throws IOException the IO exception
+     */
+    private MappedByteBuffer mapSegment(long segmentIndex) throws IOException {
+        MappedByteBuffer segment;
+
+        try (RandomAccessFile segmentFile = new RandomAccessFile(
+                getSegmentPath(directory, prefix, segmentIndex).toFile(), "rw")) {
+            segmentFile.setLength(segmentSize);
+            segment = segmentFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, VERSION);
+
+        return segment;
+    }
+
+    /**
+     * Locks the lock file of a prefix in a directory.
+     *
+     * @param directory the directory
+     * @param prefix    the prefix
+     *
+     * @return the channel of the lock file, which holds the lock until it is closed
+     *
+     * @throws IOException the IO exception (also if the prefix is already locked)
+     */
+    private static FileChannel lockPrefix(Path directory, String prefix) throws IOException {
+        Path lockPath = directory.resolve(prefix + LOCK_FILE_SUFFIX);
+        FileChannel lockFileChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        FileLock lock;
+        try {
+            lock = lockFileChannel.tryLock();
+        } catch (OverlappingFileLockException e) { // Locked in this process
+            lock = null;
+        } catch (IOException e) {
+            lockFileChannel.close();
+            throw e;
+        }
+
+        if (lock == null) {
+            lockFileChannel.close();
+            throw new IOException("Another journal is writing the '" + prefix + "' segments in " + directory);
+        }
+
+        return lockFileChannel;
+    }
+
+    /**
+     * Gets the path of a segment.
+     *
+     * @param directory    the directory
+     * @param prefix       the prefix
+     * @param segmentIndex the segment index
+     *
+     * @return the segment path
+     */
+    public static Path getSegmentPath(Path directory, String prefix, long segmentIndex) {
+        return directory.resolve(String.format("%s-%08d%s", prefix, segmentIndex, SEGMENT_FILE_SUFFIX));
+    }
+
+    /**
+     * Gets the index of the last segment of a prefix in a directory.
+     *
+     * @param directory the directory
+     * @param prefix    the prefix
+     *
+     * @return the last segment index (0 if there is none)
+     *
+     * @throws IOException the IO exception
+     */
+    public static long getLastSegmentIndex(Path directory, String prefix) throws IOException {
+        long lastSegmentIndex = 0;
+
+        try (DirectoryStream<Path> segmentPaths = Files.newDirectoryStream(directory,
+                prefix + "-*" + SEGMENT_FILE_SUFFIX)) {
+            for (Path segmentPath : segmentPaths) {
+                String fileName = segmentPath.getFileName().toString();
+                String index = fileName.substring(prefix.length() + 1,
+                        fileName.length() - SEGMENT_FILE_SUFFIX.length());
+
+                try {
+                    lastSegmentIndex = Math.max(lastSegmentIndex, Long.parseLong(index));
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Skipping " + segmentPath + " which isn't a segment of " + prefix);
+                }
+            }
+        }
+
+        return lastSegmentIndex;
+    }
+
+    /**
+     * Gets the UTF-8 length of a string.
+     *
+     * @param string the string
+     *
+     * @return the UTF-8 length in bytes
+     */
+    private static int getUTF8Length(String string) {
+        int length = 0;
+
+        for (int index = 0; index < string.length(); index++) {
+            char character = string.charAt(index);
+
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && index + 1 < string.length() &&
+                    Character.isLowSurrogate(string.charAt(index + 1))) {
+                length += 4;
+                index++;
+            } else if (Character.isSurrogate(character)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Puts the UTF-8 bytes of a string (unpaired surrogates are encoded as '?', like {@link String#getBytes}).
+     *
+     * @param buffer   the buffer
+     * @param position the position
+     * @param string   the string
+     */
+    private static void putUTF8(MappedByteBuffer buffer, int position, String string) {
+        for (int index = 0; index < string.length(); index++) {
+            char character = string.charAt(index);
+
+            if (character < 0x80) {
+                buffer.put(position++, (byte) character);
+            } else if (character < 0x800) {
+                buffer.put(position++, (byte) (0xC0 | (character >> 6)));
+                buffer.put(position++, (byte) (0x80 | (character & 0x3F)));
+            } else if (Character.isHighSurrogate(character) && index + 1 < string.length() &&
+                    Character.isLowSurrogate(string.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(character, string.charAt(++index));
+                buffer.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(character)) {
+                buffer.put(position++, (byte) '?');
+            } else {
+                buffer.put(position++, (byte) (0xE0 | (character >> 12)));
+                buffer.put(position++, (byte) (0x80 | ((character >> 6) & 0x3F)));
+                buffer.put(position++, (byte) (0x80 | (character & 0x3F)));
+            }
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringJoiner(", ", WebsocketFrameJournal.class.getSimpleName() + "[", "]")
+                .add("directory=" + directory)
+                .add("prefix='" + prefix + "'")
+                .add("segmentSize=" + segmentSize)
+                .add("segmentIndex=" + segmentIndex)
+                .add("appendedFrameCount=" + appendedFrameCount)
+                .add("appendedByteCount=" + appendedByteCount)
+                .add("droppedFrameCount=" + droppedFrameCount)
+                .toString();
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.mainstringargs.abstracts.websocket.journal;
+
+import com.google.common.base.Preconditions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Class WebsocketFrameJournalReader. Reads the records of the segments of a {@link WebsocketFrameJournal} in order,
+ * one record at a time:
+ * <pre>{@code
+ * while (reader.next()) {
+ *     handle(reader.getReceiveEpochNanos(), reader.getSourceId(), reader.getFrame());
+ * }
+ * }</pre>
+ * The segments are mapped read-only one at a time. A segment that is still being appended to can be read up to its
+ * last complete record.
+ */
+public class WebsocketFrameJournalReader implements Closeable {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(WebsocketFrameJournalReader.class);
+
+    /** The segment paths in order. */
+    private final List<Path> segmentPaths;
+
+    /** The index of the current segment in the segment paths. */
+    private int segmentPathIndex = -1;
+
+    /** The mapped current segment (null before the first one and once the segments are exhausted). */
+    private MappedByteBuffer segment;
+
+    /** The position of the next record in the current segment. */
+    private int position;
+
+    /** The buffer the frame bytes are read into (grown as needed). */
+    private byte[] frameBytes = new byte[4096];
+
+    /** The frame length in bytes of the current record. */
+    private int frameLength;
+
+    /** The source ID of the current record. */
+    private int sourceId;
+
+    /** The receive timestamp of the current record in epoch nanoseconds. */
+    private long receiveEpochNanos;
+
+    /**
+     * Instantiates a new websocket frame journal reader of all of the segments of a prefix in a directory.
+     *
+     * @param directory the directory of the segments
+     * @param prefix    the file name prefix of the segments
+     *
+     * @throws IOException the IO exception
+     */
+    public WebsocketFrameJournalReader(Path directory, String prefix) throws IOException {
+        this(getSegmentPaths(directory, prefix));
+    }
+
+    /**
+     * Instantiates a new websocket frame journal reader of the given segments.
+     *
+     * @param segmentPaths the segment paths in order
+     */
+    public WebsocketFrameJournalReader(List<Path> segmentPaths) {
+        Preconditions.checkNotNull(segmentPaths);
+
+        this.segmentPaths = new ArrayList<>(segmentPaths);
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return true if there is a next record, false if the segments are exhausted
+     *
+     * @throws IOException the IO exception
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (segment != null && position + WebsocketFrameJournal.RECORD_HEADER_LENGTH <= segment.limit()) {
+                int recordFrameLength = segment.getInt(position);
+
+                if (recordFrameLength > 0 && position + WebsocketFrameJournal.RECORD_HEADER_LENGTH +
+                        recordFrameLength <= segment.limit()) {
+                    frameLength = recordFrameLength;
+                    sourceId = segment.getInt(position + 4);
+                    receiveEpochNanos = segment.getLong(position + 8);
+
+                    if (frameBytes.length < frameLength) {
+                        frameBytes = new byte[Math.max(frameLength, frameBytes.length * 2)];
+                    }
+                    segment.position(position + WebsocketFrameJournal.RECORD_HEADER_LENGTH);
+                    segment.get(frameBytes, 0, frameLength);
+
+                    position += WebsocketFrameJournal.RECORD_HEADER_LENGTH + ((frameLength + 7) & ~7);
+                    return true;
+                } else if (recordFrameLength < 0) {
+                    LOGGER.error("Skipping the rest of " + segmentPaths.get(segmentPathIndex) +
+                            " after a corrupt record at " + position);
+                }
+            }
+
+            if (!openNextSegment()) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Gets the frame of the current record.
+     *
+     * @return the frame
+     */
+    public String getFrame() {
+        return new String(frameBytes, 0, frameLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the frame length in bytes of the current record.
+     *
+     * @return the frame length
+     */
+    public int getFrameLength() {
+        return frameLength;
+    }
+
+    /**
+     * Gets the source ID of the current record.
+     *
+     * @return the source id
+     */
+    public int getSourceId() {
+        return sourceId;
+    }
+
+    /**
+     * Gets the receive timestamp of the current record.
+     *
+     * @return the receive timestamp in epoch nanoseconds
+     */
+    public long getReceiveEpochNanos() {
+        return receiveEpochNanos;
+    }
+
+    /**
+     * Gets the segment paths.
+     *
+     * @return the segment paths
+     */
+    public List<Path> getSegmentPaths() {
+        return Collections.unmodifiableList(segmentPaths);
+    }
+
+    /**
+     * Closes the reader. The mapping of the current segment is released by the garbage collector.
+     */
+    @Override
+    public void close() {
+        segment = null;
+        segmentPathIndex = segmentPaths.size();
+    }
+
+    /**
+     * Maps the next segment.
+     *
+     * @return true if there is a next segment
+     *
+     * @throws IOException the IO exception
+     */
+    private boolean openNextSegment() throws IOException {
+        segment = null;
+
+        while (++segmentPathIndex < segmentPaths.size()) {
+            Path segmentPath = segmentPaths.get(segmentPathIndex);
+
+            try (FileChannel segmentChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                long segmentSize = segmentChannel.size();
+                if (segmentSize < WebsocketFrameJournal.SEGMENT_HEADER_LENGTH || segmentSize > Integer.MAX_VALUE) {
+                    LOGGER.error("Skipping " + segmentPath + " of " + segmentSize + " bytes");
+                    continue;
+                }
+
+                MappedByteBuffer mappedSegment = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSize);
+                if (mappedSegment.getInt(0) != WebsocketFrameJournal.MAGIC ||
+                        mappedSegment.getInt(4) != WebsocketFrameJournal.VERSION) {
+                    LOGGER.error("Skipping " + segmentPath + " which isn't a version " +
+                            WebsocketFrameJournal.VERSION + " journal segment");
+                    continue;
+                }
+
+                segment = mappedSegment;
+                position = WebsocketFrameJournal.SEGMENT_HEADER_LENGTH;
+
+                LOGGER.debug("Reading " + segmentPath);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the paths of the segments of a prefix in a directory, in order.
+     *
+     * @param directory the directory
+     * @param prefix    the prefix
+     *
+     * @return the segment paths
+     *
+     * @throws IOException the IO exception
+     */
+    public static List<Path> getSegmentPaths(Path directory, String prefix) throws IOException {
+        List<Path> segmentPaths = new ArrayList<>();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory,
+                prefix + "-*" + WebsocketFrameJournal.SEGMENT_FILE_SUFFIX)) {
+            for (Path segmentPath : directoryStream) {
+                segmentPaths.add(segmentPath);
+            }
+        }
+
+        // The segment indexes are zero-padded, so the names sort in segment order
+        Collections.sort(segmentPaths);
+
+        return segmentPaths;
+    }
+}
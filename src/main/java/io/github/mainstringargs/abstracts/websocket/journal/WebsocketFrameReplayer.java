@@ -0,0 +1,156 @@
+package io.github.mainstringargs.abstracts.websocket.journal;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketClient;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The Class WebsocketFrameReplayer. Feeds the frames recorded in a {@link WebsocketFrameJournal} back through {@link
+ * WebsocketClient#handleWebsocketMessage(String)}, on the calling thread, either with the original pacing, at a
+ * multiple of it, or as fast as possible, e.g. to reproduce an incident or to test the throughput offline.
+ */
+public class WebsocketFrameReplayer {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(WebsocketFrameReplayer.class);
+
+    /** The speed of the original pacing. */
+    public static final double ORIGINAL_SPEED = 1;
+
+    /** The speed to replay the frames as fast as possible. */
+    public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+
+    /** The source ID that replays the frames of all of the sources. */
+    public static final int ALL_SOURCES = -1;
+
+    /** The websocket client. */
+    private final WebsocketClient websocketClient;
+
+    /** The speed (a multiple of the original pacing). */
+    private final double speed;
+
+    /** The source ID of the replayed frames (or {@link #ALL_SOURCES}). */
+    private final int sourceId;
+
+    /** The number of replayed frames. */
+    private volatile long replayedFrameCount;
+
+    /** Whether the replay was stopped. */
+    private volatile boolean stopped;
+
+    /**
+     * Instantiates a new websocket frame replayer of all of the sources.
+     *
+     * @param websocketClient the websocket client
+     * @param speed           the speed, as a multiple of the original pacing ({@link #ORIGINAL_SPEED}, N for N times
+     *                        faster or {@link #AS_FAST_AS_POSSIBLE})
+     */
+    public WebsocketFrameReplayer(WebsocketClient websocketClient, double speed) {
+        this(websocketClient, speed, ALL_SOURCES);
+    }
+
+    /**
+     * Instantiates a new websocket frame replayer.
+     *
+     * @param websocketClient the websocket client
+     * @param speed           the speed, as a multiple of the original pacing ({@link #ORIGINAL_SPEED}, N for N times
+     *                        faster or {@link #AS_FAST_AS_POSSIBLE})
+     * @param sourceId        the source ID of the frames to replay (e.g. a connection index), or {@link #ALL_SOURCES}
+     */
+    public WebsocketFrameReplayer(WebsocketClient websocketClient, double speed, int sourceId) {
+        Preconditions.checkNotNull(websocketClient);
+        Preconditions.checkArgument(speed > 0, "The speed must be positive");
+
+        this.websocketClient = websocketClient;
+        this.speed = speed;
+        this.sourceId = sourceId;
+    }
+
+    /**
+     * Replays the frames of a journal reader until it is exhausted or the replay is stopped.
+     *
+     * @param websocketFrameJournalReader the websocket frame journal reader
+     *
+     * @return the number of frames replayed
+     *
+     * @throws IOException the IO exception
+     */
+    public long replay(WebsocketFrameJournalReader websocketFrameJournalReader) throws IOException {
+        Preconditions.checkNotNull(websocketFrameJournalReader);
+
+        long replayStartNanos = System.nanoTime();
+        long firstReceiveEpochNanos = 0;
+        boolean first = true;
+        long frameCount = 0;
+
+        while (!stopped && websocketFrameJournalReader.next()) {
+            if (sourceId != ALL_SOURCES && websocketFrameJournalReader.getSourceId() != sourceId) {
+                continue;
+            }
+
+            if (first) {
+                firstReceiveEpochNanos = websocketFrameJournalReader.getReceiveEpochNanos();
+                first = false;
+            } else if (speed != AS_FAST_AS_POSSIBLE) {
+                long receiveOffsetNanos = websocketFrameJournalReader.getReceiveEpochNanos() - firstReceiveEpochNanos;
+                awaitNanoTime(replayStartNanos + (long) (receiveOffsetNanos / speed));
+            }
+
+            try {
+                websocketClient.handleWebsocketMessage(websocketFrameJournalReader.getFrame());
+            } catch (Exception exception) {
+                LOGGER.throwing(exception);
+            }
+
+            frameCount++;
+            replayedFrameCount++;
+        }
+
+        LOGGER.info("Replayed " + frameCount + " frames in " +
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - replayStartNanos) + " ms");
+
+        return frameCount;
+    }
+
+    /**
+     * Stops a replay that is in progress (after the current frame).
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Gets the speed.
+     *
+     * @return the speed
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Gets the number of replayed frames.
+     *
+     * @return the replayed frame count
+     */
+    public long getReplayedFrameCount() {
+        return replayedFrameCount;
+    }
+
+    /**
+     * Waits until System.nanoTime() reaches a deadline.
+     *
+     * @param deadlineNanos the deadline
+     */
+    private void awaitNanoTime(long deadlineNanos) {
+        long remainingNanos;
+        while (!stopped && (remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remainingNanos);
+        }
+    }
+}
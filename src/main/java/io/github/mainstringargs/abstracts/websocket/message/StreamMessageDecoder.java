@@ -0,0 +1,155 @@
+package io.github.mainstringargs.abstracts.websocket.message;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import io.github.mainstringargs.util.gson.GsonUtil;
+import io.github.mainstringargs.util.gson.JsonReaderUtil;
+import io.github.mainstringargs.util.gson.PojoTypeAdapter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * The Class StreamMessageDecoder. Decodes stream message objects in a single pass over a {@link JsonReader}: as soon
+ * as the message type field is read, the message of that type is created and the rest of the fields are read
+ * directly into it with its {@link PojoTypeAdapter}, without building an intermediate JSON tree. The fields that come
+ * before the message type field (if any) are buffered in a {@link JsonObject}, which the message is created from once
+ * the message type is known.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ */
+public class StreamMessageDecoder<T extends Enum<T> & StreamMessageType, M extends StreamMessage> {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(StreamMessageDecoder.class);
+
+    /** The JSON name of the message type field. */
+    private final String typeKey;
+
+    /** The message type setter. */
+    private final BiConsumer<M, T> typeSetter;
+
+    /** The message types by JSON name. */
+    private final HashMap<String, T> typesByName;
+
+    /** The message type adapters by message type. */
+    private final HashMap<T, PojoTypeAdapter<M>> typeAdaptersByType;
+
+    /**
+     * Instantiates a new stream message decoder.
+     *
+     * @param typeKey    the JSON name of the message type field
+     * @param typeClass  the message type class
+     * @param typeSetter the setter of the message type of a message
+     */
+    public StreamMessageDecoder(String typeKey, Class<T> typeClass, BiConsumer<M, T> typeSetter) {
+        Preconditions.checkNotNull(typeKey);
+        Preconditions.checkNotNull(typeClass);
+        Preconditions.checkNotNull(typeSetter);
+
+        this.typeKey = typeKey;
+        this.typeSetter = typeSetter;
+
+        typesByName = new HashMap<>();
+        typeAdaptersByType = new HashMap<>();
+
+        TypeAdapter<T> typeTypeAdapter = GsonUtil.GSON.getAdapter(typeClass);
+        for (T type : typeClass.getEnumConstants()) {
+            typesByName.put(typeTypeAdapter.toJsonTree(type).getAsString(), type);
+        }
+    }
+
+    /**
+     * Registers the message class of a message type. Messages of types that have no registered message class are
+     * skipped by {@link #decode(JsonReader)}.
+     *
+     * @param type         the message type
+     * @param messageClass the message class (it must have a generated {@link PojoTypeAdapter})
+     *
+     * @return this decoder
+     */
+    @SuppressWarnings("unchecked")
+    public StreamMessageDecoder<T, M> registerMessageClass(T type, Class<? extends M> messageClass) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(messageClass);
+
+        TypeAdapter<? extends M> typeAdapter = GsonUtil.GSON.getAdapter(messageClass);
+        Preconditions.checkArgument(typeAdapter instanceof PojoTypeAdapter,
+                "%s doesn't have a generated type adapter", messageClass.getName());
+
+        // Safe since the adapter only ever reads into the messages it creates itself
+        typeAdaptersByType.put(type, (PojoTypeAdapter<M>) typeAdapter);
+
+        return this;
+    }
+
+    /**
+     * Decodes the stream message object the reader is positioned at. The whole object is consumed, even if it isn't
+     * decoded.
+     *
+     * @param jsonReader the json reader
+     *
+     * @return the message, or null if the object has no message type or a message type that has no registered message
+     * class
+     *
+     * @throws IOException the IO exception (including a {@link com.google.gson.JsonParseException} for malformed JSON)
+     */
+    public M decode(JsonReader jsonReader) throws IOException {
+        PojoTypeAdapter<M> typeAdapter = null;
+        M message = null;
+        String typeName = null;
+        boolean typeRead = false;
+
+        // The fields that come before the message type field
+        JsonObject bufferedFields = null;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+
+            if (message != null) {
+                if (!typeAdapter.readField(jsonReader, name, message)) {
+                    jsonReader.skipValue();
+                }
+            } else if (typeRead) { // Not a type that's decoded
+                jsonReader.skipValue();
+            } else if (typeKey.equals(name)) {
+                typeRead = true;
+                typeName = JsonReaderUtil.readString(jsonReader);
+
+                T type = typeName == null ? null : typesByName.get(typeName);
+                typeAdapter = type == null ? null : typeAdaptersByType.get(type);
+
+                if (typeAdapter != null) {
+                    message = bufferedFields == null ? typeAdapter.newInstance() :
+                            typeAdapter.fromJsonTree(bufferedFields);
+                    typeSetter.accept(message, type);
+                }
+            } else {
+                if (bufferedFields == null) {
+                    bufferedFields = new JsonObject();
+                }
+
+                bufferedFields.add(name, GsonUtil.GSON.getAdapter(JsonElement.class).read(jsonReader));
+            }
+        }
+        jsonReader.endObject();
+
+        if (message == null) {
+            if (typeRead) {
+                LOGGER.error("Unknown stream message type: " + typeName);
+            } else {
+                LOGGER.error("Stream message without a '" + typeKey + "' field");
+            }
+        }
+
+        return message;
+    }
+}
@@ -0,0 +1,263 @@
+package io.github.mainstringargs.abstracts.websocket.publisher;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerDispatchQueue;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerOverflowPolicy;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ShardKeyFunction;
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The Class StreamPublisher. A Reactive Streams {@link Publisher} of the messages of a websocket stream. Every
+ * {@link Subscriber} gets its own demand-driven {@link ListenerDispatchQueue} and a stream listener (added to the
+ * websocket client while subscribed) that queues the messages into it. The queue only delivers the messages the
+ * subscriber {@link Subscription#request(long) requested}, so while a slow subscriber has no demand, its messages
+ * queue up to the queue capacity and then overflow by the {@link ListenerOverflowPolicy} of the publisher, instead of
+ * being buffered without bound. The stream never completes; a subscription ends when it is cancelled.
+ *
+ * @param <T> the stream message type type
+ * @param <M> the stream message type
+ * @param <L> the stream listener type of the websocket client
+ */
+public class StreamPublisher<T extends StreamMessageType, M extends StreamMessage, L extends StreamListener<T, M>>
+        implements Publisher<M> {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(StreamPublisher.class);
+
+    /** The default overflow policy. */
+    public static final ListenerOverflowPolicy DEFAULT_OVERFLOW_POLICY = ListenerOverflowPolicy.DROP_OLDEST;
+
+    /** The default queue capacity. */
+    public static final int DEFAULT_QUEUE_CAPACITY = WebsocketDispatchConfig.DEFAULT_DISPATCH_QUEUE_CAPACITY;
+
+    /** The subscriber thread counter. */
+    private static final AtomicInteger SUBSCRIBER_THREAD_COUNTER = new AtomicInteger();
+
+    /** The subscriber thread name prefix. */
+    private final String subscriberThreadNamePrefix;
+
+    /** The function that creates the stream listener of a subscription, which delegates to the given listener. */
+    private final Function<StreamListener<T, M>, L> listenerFunction;
+
+    /** The function that adds a stream listener to the websocket client. */
+    private final Consumer<L> addListenerFunction;
+
+    /** The function that removes a stream listener from the websocket client. */
+    private final Consumer<L> removeListenerFunction;
+
+    /** The overflow policy. */
+    private final ListenerOverflowPolicy overflowPolicy;
+
+    /** The queue capacity. */
+    private final int queueCapacity;
+
+    /** The function that gets the symbol of a message (for the {@link ListenerOverflowPolicy#CONFLATE} policy). */
+    private final ShardKeyFunction<T, M> symbolFunction;
+
+    /**
+     * Instantiates a new stream publisher.
+     *
+     * @param subscriberThreadNamePrefix the subscriber thread name prefix
+     * @param listenerFunction           the function that creates the stream listener of a subscription, which
+     *                                   delegates to the given listener
+     * @param addListenerFunction        the function that adds a stream listener to the websocket client
+     * @param removeListenerFunction     the function that removes a stream listener from the websocket client
+     * @param overflowPolicy             what to do with new messages when the queue of a subscriber is full
+     * @param queueCapacity              the queue capacity of a subscriber
+     * @param symbolFunction             the function that gets the symbol of a message (null if it has none)
+     */
+    public StreamPublisher(String subscriberThreadNamePrefix, Function<StreamListener<T, M>, L> listenerFunction,
+            Consumer<L> addListenerFunction, Consumer<L> removeListenerFunction,
+            ListenerOverflowPolicy overflowPolicy, int queueCapacity, ShardKeyFunction<T, M> symbolFunction) {
+        Preconditions.checkNotNull(subscriberThreadNamePrefix);
+        Preconditions.checkNotNull(listenerFunction);
+        Preconditions.checkNotNull(addListenerFunction);
+        Preconditions.checkNotNull(removeListenerFunction);
+        Preconditions.checkNotNull(overflowPolicy);
+        Preconditions.checkArgument(queueCapacity > 0, "The queue capacity must be positive");
+        Preconditions.checkNotNull(symbolFunction);
+
+        this.subscriberThreadNamePrefix = subscriberThreadNamePrefix;
+        this.listenerFunction = listenerFunction;
+        this.addListenerFunction = addListenerFunction;
+        this.removeListenerFunction = removeListenerFunction;
+        this.overflowPolicy = overflowPolicy;
+        this.queueCapacity = queueCapacity;
+        this.symbolFunction = symbolFunction;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super M> subscriber) {
+        Preconditions.checkNotNull(subscriber);
+
+        StreamSubscription streamSubscription = new StreamSubscription(subscriber);
+        subscriber.onSubscribe(streamSubscription);
+        streamSubscription.start();
+    }
+
+    /**
+     * Gets the overflow policy.
+     *
+     * @return the overflow policy
+     */
+    public ListenerOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Gets the queue capacity of a subscriber.
+     *
+     * @return the queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", StreamPublisher.class.getSimpleName() + "[", "]")
+                .add("subscriberThreadNamePrefix=" + subscriberThreadNamePrefix)
+                .add("overflowPolicy=" + overflowPolicy)
+                .add("queueCapacity=" + queueCapacity)
+                .toString();
+    }
+
+    /**
+     * The subscription of a subscriber. The signals to the subscriber are serialized by the lock of the subscription,
+     * since {@link Subscriber#onNext(Object)} is called on the queue thread and {@link Subscriber#onError(Throwable)}
+     * may be called on the thread of {@link #request(long)}.
+     */
+    private class StreamSubscription implements Subscription {
+
+        /** The subscriber. */
+        private final Subscriber<? super M> subscriber;
+
+        /** The dispatch queue of the subscriber. */
+        private final ListenerDispatchQueue<T, M> listenerDispatchQueue;
+
+        /** The stream listener added to the websocket client. */
+        private final L listener;
+
+        /** Whether the subscription was cancelled or failed (guarded by this). */
+        private boolean terminated;
+
+        /** Whether the listener was added (guarded by this). */
+        private boolean started;
+
+        /**
+         * Instantiates a new stream subscription.
+         *
+         * @param subscriber the subscriber
+         */
+        private StreamSubscription(Subscriber<? super M> subscriber) {
+            this.subscriber = subscriber;
+
+            listenerDispatchQueue = new ListenerDispatchQueue<>(
+                    subscriberThreadNamePrefix + "-" + SUBSCRIBER_THREAD_COUNTER.incrementAndGet(),
+                    (streamMessageType, streamMessage) -> onNext(streamMessage), queueCapacity, overflowPolicy,
+                    symbolFunction, true);
+            listener = listenerFunction.apply(listenerDispatchQueue);
+        }
+
+        /**
+         * Adds the listener to the websocket client, unless the subscriber cancelled in its {@link
+         * Subscriber#onSubscribe(Subscription)}.
+         */
+        private synchronized void start() {
+            if (terminated) {
+                return;
+            }
+
+            try {
+                addListenerFunction.accept(listener);
+                started = true;
+            } catch (RuntimeException exception) {
+                LOGGER.throwing(exception);
+                onError(exception);
+            }
+        }
+
+        @Override
+        public void request(long count) {
+            if (count <= 0) {
+                onError(new IllegalArgumentException("The requested count must be positive (rule 3.9): " + count));
+                return;
+            }
+
+            listenerDispatchQueue.request(count);
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+            }
+
+            terminate();
+        }
+
+        /**
+         * Signals a message to the subscriber (on the queue thread).
+         *
+         * @param streamMessage the stream message
+         */
+        private synchronized void onNext(M streamMessage) {
+            if (!terminated) {
+                subscriber.onNext(streamMessage);
+            }
+        }
+
+        /**
+         * Terminates the subscription and signals an error to the subscriber.
+         *
+         * @param throwable the throwable
+         */
+        private void onError(Throwable throwable) {
+            synchronized (this) {
+                if (terminated) {
+                    return;
+                }
+                terminated = true;
+
+                subscriber.onError(throwable);
+            }
+
+            terminate();
+        }
+
+        /**
+         * Shuts down the queue and removes the listener from the websocket client (if it was added). The queue is shut
+         * down first, which releases a websocket thread that is blocked on the full queue (with the {@link
+         * ListenerOverflowPolicy#BLOCK} policy) before the websocket client is changed.
+         */
+        private void terminate() {
+            listenerDispatchQueue.shutdown();
+
+            boolean wasStarted;
+            synchronized (this) {
+                wasStarted = started;
+                started = false;
+            }
+
+            if (wasStarted) {
+                removeListenerFunction.accept(listener);
+            }
+        }
+    }
+}
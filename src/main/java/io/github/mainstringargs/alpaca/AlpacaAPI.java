@@ -1,12 +1,23 @@
 package io.github.mainstringargs.alpaca;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.reflect.TypeToken;
-import com.mashape.unirest.http.HttpResponse;
+import io.github.mainstringargs.abstracts.rest.pagination.Page;
+import io.github.mainstringargs.abstracts.rest.pagination.PageFetcher;
+import io.github.mainstringargs.abstracts.rest.pagination.PrefetchingPageIterator;
+import io.github.mainstringargs.abstracts.rest.pagination.TimestampCursor;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RateLimiter;
+import io.github.mainstringargs.abstracts.rest.transport.ApacheHttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransportConfig;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketConnectionListener;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerOverflowPolicy;
+import io.github.mainstringargs.abstracts.websocket.publisher.StreamPublisher;
 import io.github.mainstringargs.alpaca.enums.ActivityType;
 import io.github.mainstringargs.alpaca.enums.AssetStatus;
 import io.github.mainstringargs.alpaca.enums.BarsTimeFrame;
@@ -24,6 +35,8 @@ import io.github.mainstringargs.alpaca.rest.AlpacaRequestBuilder;
 import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
 import io.github.mainstringargs.alpaca.websocket.client.AlpacaWebsocketClient;
 import io.github.mainstringargs.alpaca.websocket.listener.AlpacaStreamListener;
+import io.github.mainstringargs.alpaca.websocket.listener.AlpacaStreamListenerAdapter;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
 import io.github.mainstringargs.domain.alpaca.account.Account;
 import io.github.mainstringargs.domain.alpaca.accountactivities.AccountActivity;
 import io.github.mainstringargs.domain.alpaca.accountactivities.NonTradeActivity;
@@ -38,26 +51,38 @@ import io.github.mainstringargs.domain.alpaca.order.Order;
 import io.github.mainstringargs.domain.alpaca.portfoliohistory.PortfolioHistory;
 import io.github.mainstringargs.domain.alpaca.position.Position;
 import io.github.mainstringargs.domain.alpaca.watchlist.Watchlist;
+import io.github.mainstringargs.domain.alpaca.websocket.AlpacaStreamMessage;
+import io.github.mainstringargs.util.concurrency.FutureUtil;
 import io.github.mainstringargs.util.gson.GsonUtil;
+import io.github.mainstringargs.util.time.TimeSeriesUtil;
 import io.github.mainstringargs.util.time.TimeUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
 
-import java.io.InputStream;
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The Class AlpacaAPI.
  */
-public class AlpacaAPI {
+public class AlpacaAPI implements Closeable {
 
     /** The logger. */
     private static Logger LOGGER = LogManager.getLogger(AlpacaAPI.class);
@@ -80,6 +105,9 @@ public class AlpacaAPI {
     /** The alpaca web socket client. */
     private final AlpacaWebsocketClient alpacaWebSocketClient;
 
+    /** The http transport created by this API, which {@link #close()} closes (null if it was given). */
+    private final HttpTransport ownedHttpTransport;
+
     /**
      * Instantiates a new Alpaca API using properties specified in alpaca.properties file (or relevant defaults)
      */
@@ -134,17 +162,84 @@ public class AlpacaAPI {
      * @param baseDataUrl the base data url
      */
     public AlpacaAPI(String apiVersion, String keyId, String secret, String baseAPIURL, String baseDataUrl) {
+        this(apiVersion, keyId, secret, baseAPIURL, baseDataUrl, new ApacheHttpTransport(), true);
+    }
+
+    /**
+     * Instantiates a new Alpaca API using the specified apiVersion, keyId, secret, baseAPIURL, and baseDataUrl, and
+     * a {@link ApacheHttpTransport} with the given connection pool, keep-alive and timeout configuration.
+     *
+     * @param apiVersion          the api version
+     * @param keyId               the key id
+     * @param secret              the secret
+     * @param baseAPIURL          the base api url
+     * @param baseDataUrl         the base data url
+     * @param httpTransportConfig the http transport config
+     */
+    public AlpacaAPI(String apiVersion, String keyId, String secret, String baseAPIURL, String baseDataUrl,
+            HttpTransportConfig httpTransportConfig) {
+        this(apiVersion, keyId, secret, baseAPIURL, baseDataUrl, new ApacheHttpTransport(httpTransportConfig), true);
+    }
+
+    /**
+     * Instantiates a new Alpaca API using the specified apiVersion, keyId, secret, baseAPIURL, baseDataUrl, and
+     * httpTransport.
+     *
+     * @param apiVersion    the api version
+     * @param keyId         the key id
+     * @param secret        the secret
+     * @param baseAPIURL    the base api url
+     * @param baseDataUrl   the base data url
+     * @param httpTransport the http transport that executes the REST requests (e.g. an
+     *                      {@link io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport}), which
+     *                      {@link #close()} doesn't close
+     */
+    public AlpacaAPI(String apiVersion, String keyId, String secret, String baseAPIURL, String baseDataUrl,
+            HttpTransport httpTransport) {
+        this(apiVersion, keyId, secret, baseAPIURL, baseDataUrl, httpTransport, false);
+    }
+
+    /**
+     * Instantiates a new Alpaca API.
+     *
+     * @param apiVersion        the api version
+     * @param keyId             the key id
+     * @param secret            the secret
+     * @param baseAPIURL        the base api url
+     * @param baseDataUrl       the base data url
+     * @param httpTransport     the http transport that executes the REST requests
+     * @param ownsHttpTransport true if the http transport was created for this API, so {@link #close()} closes it
+     */
+    private AlpacaAPI(String apiVersion, String keyId, String secret, String baseAPIURL, String baseDataUrl,
+            HttpTransport httpTransport, boolean ownsHttpTransport) {
         this.apiVersion = apiVersion;
         this.keyId = keyId;
         this.baseAPIURL = baseAPIURL;
         this.baseDataUrl = baseDataUrl;
 
-        alpacaRequest = new AlpacaRequest(keyId, secret);
+        alpacaRequest = new AlpacaRequest(keyId, secret, httpTransport);
         alpacaWebSocketClient = new AlpacaWebsocketClient(keyId, secret, baseAPIURL);
+        ownedHttpTransport = ownsHttpTransport ? httpTransport : null;
 
         LOGGER.debug(this.toString());
     }
 
+    /**
+     * Closes the websocket client (see {@link AlpacaWebsocketClient#close()}) and the http transport this API created
+     * (with its I/O threads and connection pool). A transport given to the constructor is left open for its owner to
+     * close.
+     *
+     * @throws IOException the IO exception
+     */
+    @Override
+    public void close() throws IOException {
+        alpacaWebSocketClient.close();
+
+        if (ownedHttpTransport != null) {
+            ownedHttpTransport.close();
+        }
+    }
+
     /**
      * Returns the account associated with the API key.
      *
@@ -154,16 +249,26 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/account/">Get the Account</a>
      */
     public Account getAccount() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getAccountAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAccount()}.
+     *
+     * @return a future of the account
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/account/">Get the Account</a>
+     */
+    public CompletableFuture<Account> getAccountAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ACCOUNT_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Account.class);
+            return alpacaRequest.getResponseObject(response, Account.class);
+        });
     }
 
     /**
@@ -188,6 +293,31 @@ public class AlpacaAPI {
     public ArrayList<AccountActivity> getAccountActivities(ZonedDateTime date, ZonedDateTime until, ZonedDateTime after,
             Direction direction, Integer pageSize, String pageToken, ActivityType... activityTypes)
             throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getAccountActivitiesAsync(date, until, after, direction, pageSize, pageToken,
+                activityTypes));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAccountActivities(ZonedDateTime, ZonedDateTime, ZonedDateTime, Direction,
+     * Integer, String, ActivityType...)}.
+     *
+     * @param date          The date for which you want to see activities.
+     * @param until         The response will contain only activities submitted before this date. (Cannot be used with
+     *                      date.)
+     * @param after         The response will contain only activities submitted after this date. (Cannot be used with
+     *                      date.)
+     * @param direction     asc or desc (default desc if unspecified.)
+     * @param pageSize      The maximum number of entries to return in the response. (See the section on paging above.)
+     * @param pageToken     The ID of the end of your current page of results. (See the section on paging above.)
+     * @param activityTypes the activity types (null for all activities)
+     *
+     * @return a future of the account activities
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/account-activities/">Gets the Account
+     * Activities</a>
+     */
+    public CompletableFuture<ArrayList<AccountActivity>> getAccountActivitiesAsync(ZonedDateTime date,
+            ZonedDateTime until, ZonedDateTime after, Direction direction, Integer pageSize, String pageToken,
+            ActivityType... activityTypes) {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, AlpacaConstants.VERSION_2_ENDPOINT,
                 AlpacaConstants.ACCOUNT_ENDPOINT,
                 AlpacaConstants.ACTIVITIES_ENDPOINT);
@@ -228,35 +358,114 @@ public class AlpacaAPI {
             urlBuilder.appendURLParameter(AlpacaConstants.PAGE_TOKEN_PARAMETER, pageToken);
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
-        JsonElement responseJsonElement = alpacaRequest.getResponseJSON(response);
-        ArrayList<AccountActivity> accountActivities = new ArrayList<>();
-
-        if (responseJsonElement instanceof JsonArray) {
-            JsonArray responseJsonArray = (JsonArray) responseJsonElement;
-
-            for (JsonElement arrayJsonElement : responseJsonArray) { // Loop through response array
-                if (arrayJsonElement instanceof JsonObject) {
-                    JsonObject arrayJsonObject = (JsonObject) arrayJsonElement;
-
-                    if (GsonUtil.doesGsonPOJOMatch(TradeActivity.class, arrayJsonObject)) {
-                        accountActivities.add(GsonUtil.GSON.fromJson(arrayJsonObject, TradeActivity.class));
-                    } else if (GsonUtil.doesGsonPOJOMatch(NonTradeActivity.class, arrayJsonObject)) {
-                        accountActivities.add(GsonUtil.GSON.fromJson(arrayJsonObject, NonTradeActivity.class));
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
+            JsonElement responseJsonElement = alpacaRequest.getResponseJSON(response);
+            ArrayList<AccountActivity> accountActivities = new ArrayList<>();
+
+            if (responseJsonElement instanceof JsonArray) {
+                JsonArray responseJsonArray = (JsonArray) responseJsonElement;
+
+                for (JsonElement arrayJsonElement : responseJsonArray) { // Loop through response array
+                    if (arrayJsonElement instanceof JsonObject) {
+                        JsonObject arrayJsonObject = (JsonObject) arrayJsonElement;
+
+                        if (GsonUtil.doesGsonPOJOMatch(TradeActivity.class, arrayJsonObject)) {
+                            accountActivities.add(GsonUtil.GSON.fromJson(arrayJsonObject, TradeActivity.class));
+                        } else if (GsonUtil.doesGsonPOJOMatch(NonTradeActivity.class, arrayJsonObject)) {
+                            accountActivities.add(GsonUtil.GSON.fromJson(arrayJsonObject, NonTradeActivity.class));
+                        } else {
+                            LOGGER.warn("Received unknown JSON Object in response!");
+                        }
                     } else {
-                        LOGGER.warn("Received unknown JSON Object in response!");
+                        throw new IllegalStateException("All array elements must be objects!");
                     }
-                } else {
-                    throw new IllegalStateException("All array elements must be objects!");
                 }
+                return accountActivities;
+            } else {
+                throw new IllegalStateException("The response must be an array!");
             }
-            return accountActivities;
+        });
+    }
+
+    /**
+     * Lazily iterates over all the account activities, following the page token from page to page. The pages after
+     * the one being consumed are requested in the background so that the network round trip overlaps with the
+     * consumption of the current page. See {@link #getAccountActivities(ZonedDateTime, ZonedDateTime, ZonedDateTime,
+     * Direction, Integer, String, ActivityType...)}.
+     *
+     * @param date          The date for which you want to see activities.
+     * @param until         The response will contain only activities submitted before this date. (Cannot be used with
+     *                      date.)
+     * @param after         The response will contain only activities submitted after this date. (Cannot be used with
+     *                      date.)
+     * @param direction     asc or desc (default desc if unspecified.)
+     * @param pageSize      The maximum number of entries in each page (null for the max of 100).
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     * @param activityTypes the activity types (null for all activities)
+     *
+     * @return the account activities iterator (close it to cancel the pending requests when abandoning it early)
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/account-activities/">Gets the Account
+     * Activities</a>
+     */
+    public PrefetchingPageIterator<String, AccountActivity> getAccountActivitiesIterator(ZonedDateTime date,
+            ZonedDateTime until, ZonedDateTime after, Direction direction, Integer pageSize, int prefetchDepth,
+            ActivityType... activityTypes) {
+        int effectivePageSize = pageSize == null ? AlpacaConstants.MAX_ACCOUNT_ACTIVITIES_PAGE_SIZE : pageSize;
+
+        PageFetcher<String, AccountActivity> pageFetcher = pageToken -> getAccountActivitiesAsync(date, until,
+                after, direction, effectivePageSize, pageToken, activityTypes).thenApply(accountActivities -> {
+                    String nextPageToken = null;
+
+                    if (accountActivities.size() >= effectivePageSize) { // A full page means there may be more
+                        nextPageToken = getAccountActivityID(accountActivities.get(accountActivities.size() - 1));
+                    }
+
+                    return new Page<>(accountActivities, nextPageToken);
+                });
+
+        return new PrefetchingPageIterator<>(null, pageFetcher, prefetchDepth);
+    }
+
+    /**
+     * Lazily streams all the account activities. See {@link #getAccountActivitiesIterator(ZonedDateTime,
+     * ZonedDateTime, ZonedDateTime, Direction, Integer, int, ActivityType...)}.
+     *
+     * @param date          The date for which you want to see activities.
+     * @param until         The response will contain only activities submitted before this date. (Cannot be used with
+     *                      date.)
+     * @param after         The response will contain only activities submitted after this date. (Cannot be used with
+     *                      date.)
+     * @param direction     asc or desc (default desc if unspecified.)
+     * @param pageSize      The maximum number of entries in each page (null for the max of 100).
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     * @param activityTypes the activity types (null for all activities)
+     *
+     * @return the account activities stream (close it to cancel the pending requests when abandoning it early)
+     */
+    public Stream<AccountActivity> getAccountActivitiesStream(ZonedDateTime date, ZonedDateTime until,
+            ZonedDateTime after, Direction direction, Integer pageSize, int prefetchDepth,
+            ActivityType... activityTypes) {
+        return getAccountActivitiesIterator(date, until, after, direction, pageSize, prefetchDepth, activityTypes)
+                .stream();
+    }
+
+    /**
+     * Gets the ID of an account activity.
+     *
+     * @param accountActivity the account activity
+     *
+     * @return the account activity ID
+     */
+    private static String getAccountActivityID(AccountActivity accountActivity) {
+        if (accountActivity instanceof TradeActivity) {
+            return ((TradeActivity) accountActivity).getId();
+        } else if (accountActivity instanceof NonTradeActivity) {
+            return ((NonTradeActivity) accountActivity).getId();
         } else {
-            throw new IllegalStateException("The response must be an array!");
+            return null;
         }
     }
 
@@ -270,17 +479,28 @@ public class AlpacaAPI {
      * Configuration</a>
      */
     public AccountConfiguration getAccountConfiguration() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getAccountConfigurationAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAccountConfiguration()}.
+     *
+     * @return a future of the account configurations
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/account-configuration/">Account
+     * Configuration</a>
+     */
+    public CompletableFuture<AccountConfiguration> getAccountConfigurationAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ACCOUNT_ENDPOINT,
                 AlpacaConstants.CONFIGURATIONS_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, AccountConfiguration.class);
+            return alpacaRequest.getResponseObject(response, AccountConfiguration.class);
+        });
     }
 
     /**
@@ -296,6 +516,20 @@ public class AlpacaAPI {
      */
     public AccountConfiguration setAccountConfiguration(AccountConfiguration accountConfiguration)
             throws AlpacaAPIRequestException {
+        return alpacaRequest.await(setAccountConfigurationAsync(accountConfiguration));
+    }
+
+    /**
+     * Non-blocking variant of {@link #setAccountConfiguration(AccountConfiguration)}.
+     *
+     * @param accountConfiguration the account configuration
+     *
+     * @return a future of the updated account configuration
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/account-configuration/">Account
+     * Configuration</a>
+     */
+    public CompletableFuture<AccountConfiguration> setAccountConfigurationAsync(
+            AccountConfiguration accountConfiguration) {
         Preconditions.checkNotNull(accountConfiguration);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
@@ -303,13 +537,13 @@ public class AlpacaAPI {
                 AlpacaConstants.CONFIGURATIONS_ENDPOINT);
         urlBuilder.setCustomBody(GsonUtil.GSON.toJson(accountConfiguration));
 
-        HttpResponse<InputStream> response = alpacaRequest.invokePatch(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokePatchAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, AccountConfiguration.class);
+            return alpacaRequest.getResponseObject(response, AccountConfiguration.class);
+        });
     }
 
     /**
@@ -330,6 +564,26 @@ public class AlpacaAPI {
      */
     public ArrayList<Order> getOrders(OrderStatus status, Integer limit, ZonedDateTime after, ZonedDateTime until,
             Direction direction, Boolean nested) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getOrdersAsync(status, limit, after, until, direction, nested));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrders(OrderStatus, Integer, ZonedDateTime, ZonedDateTime, Direction,
+     * Boolean)}.
+     *
+     * @param status    Order status to be queried. open, closed or all. Defaults to open.
+     * @param limit     The maximum number of orders in response. Defaults to 50 and max is 500.
+     * @param after     The response will include only ones submitted after this timestamp (exclusive.)
+     * @param until     The response will include only ones submitted until this timestamp (exclusive.)
+     * @param direction The chronological order of response based on the submission time. asc or desc. Defaults to
+     *                  desc.
+     * @param nested    If true, the result will roll up multi-leg orders under the legs field of primary order.
+     *
+     * @return a future of the orders
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<ArrayList<Order>> getOrdersAsync(OrderStatus status, Integer limit, ZonedDateTime after,
+            ZonedDateTime until, Direction direction, Boolean nested) {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ORDERS_ENDPOINT);
 
@@ -359,15 +613,93 @@ public class AlpacaAPI {
             urlBuilder.appendURLParameter(AlpacaConstants.NESTED_PARAMETER, nested.toString());
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
+
+            Type arrayListType = new TypeToken<ArrayList<Order>>() {}.getType();
 
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
+    }
+
+    /**
+     * Lazily iterates over all the orders, paging by submission time. The pages after the one being consumed are
+     * requested in the background so that the network round trip overlaps with the consumption of the current page.
+     * Since several orders can share a submission time, each page is requested inclusive of the last submission time
+     * received and the orders already received are skipped, which fails the iteration with an {@link
+     * IllegalStateException} if more orders than the limit share one submission time. See {@link
+     * #getOrders(OrderStatus, Integer, ZonedDateTime, ZonedDateTime, Direction, Boolean)}.
+     *
+     * @param status        Order status to be queried. open, closed or all. Defaults to open.
+     * @param limit         The maximum number of orders in each page (null for the max of 500).
+     * @param after         The iteration will include only ones submitted after this timestamp (exclusive.)
+     * @param until         The iteration will include only ones submitted until this timestamp (exclusive.)
+     * @param direction     The chronological order of response based on the submission time. asc or desc. Defaults
+     *                      to desc.
+     * @param nested        If true, the result will roll up multi-leg orders under the legs field of primary order.
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     *
+     * @return the orders iterator (close it to cancel the pending requests when abandoning it early)
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public PrefetchingPageIterator<TimestampCursor<ZonedDateTime>, Order> getOrdersIterator(OrderStatus status,
+            Integer limit, ZonedDateTime after, ZonedDateTime until, Direction direction, Boolean nested,
+            int prefetchDepth) {
+        int effectiveLimit = limit == null ? AlpacaConstants.MAX_ORDERS_LIMIT : limit;
+        boolean ascending = direction == Direction.ASCENDING;
+
+        PageFetcher<TimestampCursor<ZonedDateTime>, Order> pageFetcher = cursor -> {
+            ZonedDateTime pageAfter = after;
+            ZonedDateTime pageUntil = until;
+
+            // The bounds are exclusive so move them by the smallest API time unit to include the cursor timestamp
+            if (cursor.getTimestamp() != null) {
+                if (ascending) {
+                    pageAfter = cursor.getTimestamp().minus(1, ChronoUnit.MICROS);
+                } else {
+                    pageUntil = cursor.getTimestamp().plus(1, ChronoUnit.MICROS);
+                }
+            }
+
+            return getOrdersAsync(status, effectiveLimit, pageAfter, pageUntil, direction, nested)
+                    .thenApply(orders -> {
+                        ArrayList<Order> newOrders = orders.stream()
+                                .filter(order -> !cursor.wasReceived(order.getSubmittedAt(), order.getId()))
+                                .collect(Collectors.toCollection(ArrayList::new));
+
+                        TimestampCursor<ZonedDateTime> nextCursor = null;
+
+                        if (orders.size() >= effectiveLimit) { // A full page means there may be more
+                            nextCursor = cursor.next(newOrders, Order::getSubmittedAt, Order::getId);
+                        }
+
+                        return new Page<>(newOrders, nextCursor);
+                    });
+        };
 
-        Type arrayListType = new TypeToken<ArrayList<Order>>() {}.getType();
+        return new PrefetchingPageIterator<>(new TimestampCursor<>(null), pageFetcher, prefetchDepth);
+    }
 
-        return alpacaRequest.getResponseObject(response, arrayListType);
+    /**
+     * Lazily streams all the orders. See {@link #getOrdersIterator(OrderStatus, Integer, ZonedDateTime,
+     * ZonedDateTime, Direction, Boolean, int)}.
+     *
+     * @param status        Order status to be queried. open, closed or all. Defaults to open.
+     * @param limit         The maximum number of orders in each page (null for the max of 500).
+     * @param after         The stream will include only ones submitted after this timestamp (exclusive.)
+     * @param until         The stream will include only ones submitted until this timestamp (exclusive.)
+     * @param direction     The chronological order of response based on the submission time. asc or desc. Defaults
+     *                      to desc.
+     * @param nested        If true, the result will roll up multi-leg orders under the legs field of primary order.
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     *
+     * @return the orders stream (close it to cancel the pending requests when abandoning it early)
+     */
+    public Stream<Order> getOrdersStream(OrderStatus status, Integer limit, ZonedDateTime after, ZonedDateTime until,
+            Direction direction, Boolean nested, int prefetchDepth) {
+        return getOrdersIterator(status, limit, after, until, direction, nested, prefetchDepth).stream();
     }
 
     /**
@@ -404,6 +736,41 @@ public class AlpacaAPI {
             String clientOrderId, OrderClass orderClass, Double takeProfitLimitPrice, Double stopLossStopPrice,
             Double stopLossLimitPrice)
             throws AlpacaAPIRequestException {
+        return alpacaRequest.await(requestNewOrderAsync(symbol, quantity, side, type, timeInForce, limitPrice,
+                stopPrice, extendedHours, clientOrderId, orderClass, takeProfitLimitPrice, stopLossStopPrice,
+                stopLossLimitPrice));
+    }
+
+    /**
+     * Non-blocking variant of {@link #requestNewOrder(String, Integer, OrderSide, OrderType, OrderTimeInForce, Double,
+     * Double, Boolean, String, OrderClass, Double, Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param type                 market, limit, stop, or stop_limit
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice           required if type is limit or stop_limit
+     * @param stopPrice            required if type is stop or stop_limit
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param clientOrderId        A unique identifier for the order. Automatically generated if not sent.
+     * @param orderClass           Simple, bracket, oco, or oto. For details of non-simple order classes, please see
+     *                             Bracket Order Overview on the Alpaca Docs.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders. Required for bracket
+     *                             orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders. Required for bracket
+     *                             orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<Order> requestNewOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderType type, OrderTimeInForce timeInForce, Double limitPrice, Double stopPrice, Boolean extendedHours,
+            String clientOrderId, OrderClass orderClass, Double takeProfitLimitPrice, Double stopLossStopPrice,
+            Double stopLossLimitPrice) {
         Preconditions.checkNotNull(symbol);
         Preconditions.checkNotNull(quantity);
         Preconditions.checkNotNull(side);
@@ -462,13 +829,13 @@ public class AlpacaAPI {
             urlBuilder.appendJSONBodyJSONProperty(AlpacaConstants.STOP_LOSS_PARAMETER, stopLoss);
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokePost(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokePostAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Order.class);
+            return alpacaRequest.getResponseObject(response, Order.class);
+        });
     }
 
     /**
@@ -495,6 +862,25 @@ public class AlpacaAPI {
                 null, OrderClass.SIMPLE, null, null, null);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewMarketOrder(String, Integer, OrderSide, OrderTimeInForce, Boolean)}.
+     *
+     * @param symbol        symbol or asset ID to identify the asset to trade
+     * @param quantity      number of shares to trade
+     * @param side          buy or sell
+     * @param timeInForce   day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param extendedHours (default) false. If true, order will be eligible to execute in premarket/afterhours. Only
+     *                      works with type limit and time_in_force day.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewMarketOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Boolean extendedHours) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.MARKET, timeInForce, null, null, extendedHours,
+                null, OrderClass.SIMPLE, null, null, null);
+    }
+
     /**
      * A limit order is an order to buy or sell at a specified price or better. A buy limit order (a limit order to buy)
      * is executed at the specified limit price or lower (i.e., better). Conversely, a sell limit order (a limit order
@@ -522,6 +908,27 @@ public class AlpacaAPI {
                 null, OrderClass.SIMPLE, null, null, null);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewLimitOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Boolean)}.
+     *
+     * @param symbol        symbol or asset ID to identify the asset to trade
+     * @param quantity      number of shares to trade
+     * @param side          buy or sell
+     * @param timeInForce   day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice    required if type is limit or stop_limit
+     * @param extendedHours (default) false. If true, order will be eligible to execute in premarket/afterhours. Only
+     *                      works with type limit and time_in_force day.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewLimitOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double limitPrice, Boolean extendedHours) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.LIMIT, timeInForce, limitPrice, null,
+                extendedHours, null, OrderClass.SIMPLE, null, null, null);
+    }
+
     /**
      * A stop (market) order is an order to buy or sell a security when its price moves past a particular point,
      * ensuring a higher probability of achieving a predetermined entry or exit price. Once the market price crosses the
@@ -550,6 +957,27 @@ public class AlpacaAPI {
                 null, OrderClass.SIMPLE, null, null, null);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewStopOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Boolean)}.
+     *
+     * @param symbol        symbol or asset ID to identify the asset to trade
+     * @param quantity      number of shares to trade
+     * @param side          buy or sell
+     * @param timeInForce   day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param stopPrice     required if type is stop or stop_limit
+     * @param extendedHours (default) false. If true, order will be eligible to execute in premarket/afterhours. Only
+     *                      works with type limit and time_in_force day.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewStopOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double stopPrice, Boolean extendedHours) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.STOP, timeInForce, null, stopPrice, extendedHours,
+                null, OrderClass.SIMPLE, null, null, null);
+    }
+
     /**
      * A stop-limit order is a conditional trade over a set time frame that combines the features of a stop order with
      * those of a limit order and is used to mitigate risk. The stop-limit order will be executed at a specified limit
@@ -578,6 +1006,28 @@ public class AlpacaAPI {
                 extendedHours, null, OrderClass.SIMPLE, null, null, null);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewStopLimitOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Double, Boolean)}.
+     *
+     * @param symbol        symbol or asset ID to identify the asset to trade
+     * @param quantity      number of shares to trade
+     * @param side          buy or sell
+     * @param timeInForce   day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice    required if type is limit or stop_limit
+     * @param stopPrice     required if type is stop or stop_limit
+     * @param extendedHours (default) false. If true, order will be eligible to execute in premarket/afterhours. Only
+     *                      works with type limit and time_in_force day.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewStopLimitOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double limitPrice, Double stopPrice, Boolean extendedHours) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.STOP_LIMIT, timeInForce, limitPrice, stopPrice,
+                extendedHours, null, OrderClass.SIMPLE, null, null, null);
+    }
+
     /**
      * A bracket order is a chain of three orders that can be used to manage your position entry and exit. It is a
      * common use case of an OTOCO (One Triggers OCO {One Cancels Other}) order. This method calls {@link
@@ -610,16 +1060,13 @@ public class AlpacaAPI {
     }
 
     /**
-     * A bracket order is a chain of three orders that can be used to manage your position entry and exit. It is a
-     * common use case of an OTOCO (One Triggers OCO {One Cancels Other}) order. This method calls {@link
-     * #requestNewOrder(String, Integer, OrderSide, OrderType, OrderTimeInForce, Double, Double, Boolean, String,
-     * OrderClass, Double, Double, Double)} with {@link OrderType#LIMIT} and with parameters for a bracket order.
+     * Non-blocking variant of {@link #requestNewMarketBracketOrder(String, Integer, OrderSide, OrderTimeInForce,
+     * Boolean, Double, Double, Double)}.
      *
      * @param symbol               symbol or asset ID to identify the asset to trade
      * @param quantity             number of shares to trade
      * @param side                 buy or sell
      * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
-     * @param limitPrice           required if type is limit or stop_limit
      * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
      *                             Only works with type limit and time_in_force day.
      * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders. Required for bracket
@@ -629,26 +1076,84 @@ public class AlpacaAPI {
      * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
      *                             becomes a stop-limit order if specified.
      *
-     * @return the order
-     *
-     * @throws AlpacaAPIRequestException the alpaca api request exception
+     * @return a future of the order
      * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
      */
-    public Order requestNewLimitBracketOrder(String symbol, Integer quantity, OrderSide side,
-            OrderTimeInForce timeInForce, Double limitPrice, Boolean extendedHours, Double takeProfitLimitPrice,
-            Double stopLossStopPrice, Double stopLossLimitPrice) throws AlpacaAPIRequestException {
-        return requestNewOrder(symbol, quantity, side, OrderType.LIMIT, timeInForce, limitPrice, null,
+    public CompletableFuture<Order> requestNewMarketBracketOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Boolean extendedHours, Double takeProfitLimitPrice, Double stopLossStopPrice,
+            Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.MARKET, timeInForce, null, null,
                 extendedHours, null, OrderClass.BRACKET, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
     }
 
     /**
-     * OCO (One-Cancels-Other) is another type of advanced order type. This is a set of two orders with the same side
-     * (buy/buy or sell/sell) and currently only exit order is supported. In other words, this is the second part of the
-     * bracket orders where the entry order is already filled, and you can submit the take-profit and stop-loss in one
-     * order submission. This method calls {@link #requestNewOrder(String, Integer, OrderSide, OrderType,
-     * OrderTimeInForce, Double, Double, Boolean, String, OrderClass, Double, Double, Double)} with parameters for an
-     * OCO order type.
-     *
+     * A bracket order is a chain of three orders that can be used to manage your position entry and exit. It is a
+     * common use case of an OTOCO (One Triggers OCO {One Cancels Other}) order. This method calls {@link
+     * #requestNewOrder(String, Integer, OrderSide, OrderType, OrderTimeInForce, Double, Double, Boolean, String,
+     * OrderClass, Double, Double, Double)} with {@link OrderType#LIMIT} and with parameters for a bracket order.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice           required if type is limit or stop_limit
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders. Required for bracket
+     *                             orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders. Required for bracket
+     *                             orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return the order
+     *
+     * @throws AlpacaAPIRequestException the alpaca api request exception
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public Order requestNewLimitBracketOrder(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double limitPrice, Boolean extendedHours, Double takeProfitLimitPrice,
+            Double stopLossStopPrice, Double stopLossLimitPrice) throws AlpacaAPIRequestException {
+        return requestNewOrder(symbol, quantity, side, OrderType.LIMIT, timeInForce, limitPrice, null,
+                extendedHours, null, OrderClass.BRACKET, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
+    /**
+     * Non-blocking variant of {@link #requestNewLimitBracketOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Boolean, Double, Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice           required if type is limit or stop_limit
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders. Required for bracket
+     *                             orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders. Required for bracket
+     *                             orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewLimitBracketOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double limitPrice, Boolean extendedHours, Double takeProfitLimitPrice,
+            Double stopLossStopPrice, Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.LIMIT, timeInForce, limitPrice, null,
+                extendedHours, null, OrderClass.BRACKET, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
+    /**
+     * OCO (One-Cancels-Other) is another type of advanced order type. This is a set of two orders with the same side
+     * (buy/buy or sell/sell) and currently only exit order is supported. In other words, this is the second part of the
+     * bracket orders where the entry order is already filled, and you can submit the take-profit and stop-loss in one
+     * order submission. This method calls {@link #requestNewOrder(String, Integer, OrderSide, OrderType,
+     * OrderTimeInForce, Double, Double, Boolean, String, OrderClass, Double, Double, Double)} with parameters for an
+     * OCO order type.
+     *
      * @param symbol               symbol or asset ID to identify the asset to trade
      * @param quantity             number of shares to trade
      * @param side                 buy or sell
@@ -672,6 +1177,31 @@ public class AlpacaAPI {
                 OrderClass.OCO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewOCOOrder(String, Integer, OrderSide, OrderTimeInForce, Boolean, Double,
+     * Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewOCOOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Boolean extendedHours, Double takeProfitLimitPrice, Double stopLossStopPrice,
+            Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.LIMIT, timeInForce, null, null, extendedHours,
+                null, OrderClass.OCO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
     /**
      * OTO (One-Triggers-Other) is a variant of bracket order. It takes one of the take-profit or stop-loss order in
      * addition to the entry order. This method calls {@link #requestNewOrder(String, Integer, OrderSide, OrderType,
@@ -701,6 +1231,31 @@ public class AlpacaAPI {
                 OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewOTOMarketOrder(String, Integer, OrderSide, OrderTimeInForce, Boolean,
+     * Double, Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewOTOMarketOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Boolean extendedHours, Double takeProfitLimitPrice, Double stopLossStopPrice,
+            Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.MARKET, timeInForce, null, null, extendedHours,
+                null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
     /**
      * OTO (One-Triggers-Other) is a variant of bracket order. It takes one of the take-profit or stop-loss order in
      * addition to the entry order. This method calls {@link #requestNewOrder(String, Integer, OrderSide, OrderType,
@@ -731,6 +1286,32 @@ public class AlpacaAPI {
                 null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewOTOLimitOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Boolean, Double, Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice           required if type is limit or stop_limit
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewOTOLimitOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double limitPrice, Boolean extendedHours, Double takeProfitLimitPrice,
+            Double stopLossStopPrice, Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.LIMIT, timeInForce, limitPrice, null,
+                extendedHours, null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
     /**
      * OTO (One-Triggers-Other) is a variant of bracket order. It takes one of the take-profit or stop-loss order in
      * addition to the entry order. This method calls {@link #requestNewOrder(String, Integer, OrderSide, OrderType,
@@ -761,6 +1342,32 @@ public class AlpacaAPI {
                 null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewOTOStopOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Boolean, Double, Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param stopPrice            required if type is stop or stop_limit
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewOTOStopOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double stopPrice, Boolean extendedHours, Double takeProfitLimitPrice,
+            Double stopLossStopPrice, Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.STOP, timeInForce, null, stopPrice, extendedHours,
+                null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
     /**
      * OTO (One-Triggers-Other) is a variant of bracket order. It takes one of the take-profit or stop-loss order in
      * addition to the entry order. This method calls {@link #requestNewOrder(String, Integer, OrderSide, OrderType,
@@ -793,6 +1400,33 @@ public class AlpacaAPI {
                 extendedHours, null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
     }
 
+    /**
+     * Non-blocking variant of {@link #requestNewOTOStopLimitOrder(String, Integer, OrderSide, OrderTimeInForce, Double,
+     * Double, Boolean, Double, Double, Double)}.
+     *
+     * @param symbol               symbol or asset ID to identify the asset to trade
+     * @param quantity             number of shares to trade
+     * @param side                 buy or sell
+     * @param timeInForce          day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice           required if type is limit or stop_limit
+     * @param stopPrice            required if type is stop or stop_limit
+     * @param extendedHours        (default) false. If true, order will be eligible to execute in premarket/afterhours.
+     *                             Only works with type limit and time_in_force day.
+     * @param takeProfitLimitPrice Additional parameter for take-profit leg of advanced orders.
+     * @param stopLossStopPrice    Additional parameters for stop-loss leg of advanced orders.
+     * @param stopLossLimitPrice   Additional parameters for stop-loss leg of advanced orders. The stop-loss order
+     *                             becomes a stop-limit order if specified.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/trading-on-alpaca/orders/#order-types">Order Types</a>
+     */
+    public CompletableFuture<Order> requestNewOTOStopLimitOrderAsync(String symbol, Integer quantity, OrderSide side,
+            OrderTimeInForce timeInForce, Double limitPrice, Double stopPrice, Boolean extendedHours,
+            Double takeProfitLimitPrice, Double stopLossStopPrice, Double stopLossLimitPrice) {
+        return requestNewOrderAsync(symbol, quantity, side, OrderType.STOP_LIMIT, timeInForce, limitPrice, stopPrice,
+                extendedHours, null, OrderClass.OTO, takeProfitLimitPrice, stopLossStopPrice, stopLossLimitPrice);
+    }
+
     /**
      * Retrieves a single order for the given order_id.
      *
@@ -805,6 +1439,19 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
      */
     public Order getOrder(String orderID, Boolean nested) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getOrderAsync(orderID, nested));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrder(String, Boolean)}.
+     *
+     * @param orderID Order ID
+     * @param nested  If true, the result will roll up multi-leg orders under the legs field of primary order.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<Order> getOrderAsync(String orderID, Boolean nested) {
         Preconditions.checkNotNull(orderID);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
@@ -815,13 +1462,13 @@ public class AlpacaAPI {
             urlBuilder.appendURLParameter(AlpacaConstants.NESTED_PARAMETER, nested.toString());
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Order.class);
+            return alpacaRequest.getResponseObject(response, Order.class);
+        });
     }
 
     /**
@@ -835,19 +1482,31 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
      */
     public Order getOrderByClientID(String clientOrderId) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getOrderByClientIDAsync(clientOrderId));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrderByClientID(String)}.
+     *
+     * @param clientOrderId the client order id
+     *
+     * @return a future of the order by client id
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<Order> getOrderByClientIDAsync(String clientOrderId) {
         Preconditions.checkNotNull(clientOrderId);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ORDERS_BY_CLIENT_ORDER_ID_ENDPOINT);
         urlBuilder.appendURLParameter(AlpacaConstants.CLIENT_ORDER_ID_PARAMETER, clientOrderId);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Order.class);
+            return alpacaRequest.getResponseObject(response, Order.class);
+        });
     }
 
     /**
@@ -868,6 +1527,25 @@ public class AlpacaAPI {
      */
     public Order replaceOrder(String orderID, Integer quantity, OrderTimeInForce timeInForce, Double limitPrice,
             Double stopPrice, String clientOrderId) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(replaceOrderAsync(orderID, quantity, timeInForce, limitPrice, stopPrice,
+                clientOrderId));
+    }
+
+    /**
+     * Non-blocking variant of {@link #replaceOrder(String, Integer, OrderTimeInForce, Double, Double, String)}.
+     *
+     * @param orderID       Order id
+     * @param quantity      number of shares to trade
+     * @param timeInForce   day, gtc, opg, cls, ioc, fok. Please see Understand Orders for more info.
+     * @param limitPrice    required if type is limit or stop_limit
+     * @param stopPrice     required if type is stop or stop_limit
+     * @param clientOrderId A unique identifier for the order. Automatically generated if not sent.
+     *
+     * @return a future of the order
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<Order> replaceOrderAsync(String orderID, Integer quantity, OrderTimeInForce timeInForce,
+            Double limitPrice, Double stopPrice, String clientOrderId) {
         Preconditions.checkNotNull(orderID);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
@@ -896,13 +1574,13 @@ public class AlpacaAPI {
             urlBuilder.appendJSONBodyProperty(AlpacaConstants.CLIENT_ORDER_ID_PARAMETER, clientOrderId);
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokePatch(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokePatchAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Order.class);
+            return alpacaRequest.getResponseObject(response, Order.class);
+        });
     }
 
     /**
@@ -915,18 +1593,28 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
      */
     public ArrayList<CancelledOrder> cancelAllOrders() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(cancelAllOrdersAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #cancelAllOrders()}.
+     *
+     * @return a future of the array list of cancelled orders
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<ArrayList<CancelledOrder>> cancelAllOrdersAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ORDERS_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeDelete(urlBuilder);
-
-        if (response.getStatus() != 207) { // This returns a 207 multi-status message
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeDeleteAsync(urlBuilder), response -> {
+            if (response.getStatus() != 207) { // This returns a 207 multi-status message
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        Type arrayListType = new TypeToken<ArrayList<CancelledOrder>>() {}.getType();
+            Type arrayListType = new TypeToken<ArrayList<CancelledOrder>>() {}.getType();
 
-        return alpacaRequest.getResponseObject(response, arrayListType);
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
     }
 
     /**
@@ -941,19 +1629,31 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
      */
     public boolean cancelOrder(String orderId) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(cancelOrderAsync(orderId));
+    }
+
+    /**
+     * Non-blocking variant of {@link #cancelOrder(String)}.
+     *
+     * @param orderId Order ID
+     *
+     * @return a future of true, if successful
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/orders/">Orders</a>
+     */
+    public CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
         Preconditions.checkNotNull(orderId);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ORDERS_ENDPOINT,
                 orderId);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeDelete(urlBuilder);
-
-        if ((response.getStatus() != 200 && response.getStatus() != 204)) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeDeleteAsync(urlBuilder), response -> {
+            if ((response.getStatus() != 200 && response.getStatus() != 204)) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return response.getStatus() == 200 || response.getStatus() == 204;
+            return response.getStatus() == 200 || response.getStatus() == 204;
+        });
     }
 
     /**
@@ -965,18 +1665,28 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/positions/">Positions</a>
      */
     public ArrayList<Position> getOpenPositions() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getOpenPositionsAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOpenPositions()}.
+     *
+     * @return a future of the open positions
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/positions/">Positions</a>
+     */
+    public CompletableFuture<ArrayList<Position>> getOpenPositionsAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.POSITIONS_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        Type arrayListType = new TypeToken<ArrayList<Position>>() {}.getType();
+            Type arrayListType = new TypeToken<ArrayList<Position>>() {}.getType();
 
-        return alpacaRequest.getResponseObject(response, arrayListType);
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
     }
 
     /**
@@ -990,19 +1700,31 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/positions/">Positions</a>
      */
     public Position getOpenPositionBySymbol(String symbol) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getOpenPositionBySymbolAsync(symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOpenPositionBySymbol(String)}.
+     *
+     * @param symbol the symbol or asset_id (required)
+     *
+     * @return a future of the open position by symbol
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/positions/">Positions</a>
+     */
+    public CompletableFuture<Position> getOpenPositionBySymbolAsync(String symbol) {
         Preconditions.checkNotNull(symbol);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.POSITIONS_ENDPOINT,
                 symbol.trim());
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Position.class);
+            return alpacaRequest.getResponseObject(response, Position.class);
+        });
     }
 
     /**
@@ -1017,6 +1739,19 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/assets/">Assets</a>
      */
     public ArrayList<Asset> getAssets(AssetStatus assetStatus, String assetClass) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getAssetsAsync(assetStatus, assetClass));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAssets(AssetStatus, String)}.
+     *
+     * @param assetStatus e.g. “active”. By default, all statuses are included.
+     * @param assetClass  Defaults to us_equity.
+     *
+     * @return a future of the assets
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/assets/">Assets</a>
+     */
+    public CompletableFuture<ArrayList<Asset>> getAssetsAsync(AssetStatus assetStatus, String assetClass) {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ASSETS_ENDPOINT);
 
@@ -1028,15 +1763,15 @@ public class AlpacaAPI {
             urlBuilder.appendURLParameter(AlpacaConstants.ASSET_CLASS_PARAMETER, assetClass.trim());
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        Type arrayListType = new TypeToken<ArrayList<Asset>>() {}.getType();
+            Type arrayListType = new TypeToken<ArrayList<Asset>>() {}.getType();
 
-        return alpacaRequest.getResponseObject(response, arrayListType);
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
     }
 
     /**
@@ -1050,19 +1785,31 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/assets/">Assets</a>
      */
     public Asset getAssetBySymbol(String symbolOrAssetID) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getAssetBySymbolAsync(symbolOrAssetID));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAssetBySymbol(String)}.
+     *
+     * @param symbolOrAssetID the symbol or asset_id (required)
+     *
+     * @return a future of the asset by symbol
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/assets/">Assets</a>
+     */
+    public CompletableFuture<Asset> getAssetBySymbolAsync(String symbolOrAssetID) {
         Preconditions.checkNotNull(symbolOrAssetID);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ASSETS_ENDPOINT,
                 symbolOrAssetID.trim());
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Asset.class);
+            return alpacaRequest.getResponseObject(response, Asset.class);
+        });
     }
 
     /**
@@ -1074,17 +1821,27 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
      */
     public ArrayList<Watchlist> getWatchlists() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getWatchlistsAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getWatchlists()}.
+     *
+     * @return a future of the watch lists
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<ArrayList<Watchlist>> getWatchlistsAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.WATCHLISTS_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        Type arrayListType = new TypeToken<ArrayList<Watchlist>>() {}.getType();
-        return alpacaRequest.getResponseObject(response, arrayListType);
+            Type arrayListType = new TypeToken<ArrayList<Watchlist>>() {}.getType();
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
     }
 
     /**
@@ -1099,6 +1856,19 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
      */
     public Watchlist createWatchlist(String name, String... symbols) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(createWatchlistAsync(name, symbols));
+    }
+
+    /**
+     * Non-blocking variant of {@link #createWatchlist(String, String...)}.
+     *
+     * @param name    arbitrary name string, up to 64 characters
+     * @param symbols set of symbol string
+     *
+     * @return a future of the created watchlist
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<Watchlist> createWatchlistAsync(String name, String... symbols) {
         Preconditions.checkNotNull(name);
         Preconditions.checkState(name.length() <= 64);
 
@@ -1114,13 +1884,13 @@ public class AlpacaAPI {
             urlBuilder.appendJSONBodyJSONProperty("symbols", symbolsArray);
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokePost(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokePostAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Watchlist.class);
+            return alpacaRequest.getResponseObject(response, Watchlist.class);
+        });
     }
 
     /**
@@ -1134,19 +1904,31 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
      */
     public Watchlist getWatchlist(String watchlistID) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getWatchlistAsync(watchlistID));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getWatchlist(String)}.
+     *
+     * @param watchlistID Watchlist ID
+     *
+     * @return a future of the watchlist
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<Watchlist> getWatchlistAsync(String watchlistID) {
         Preconditions.checkNotNull(watchlistID);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.WATCHLISTS_ENDPOINT,
                 watchlistID);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Watchlist.class);
+            return alpacaRequest.getResponseObject(response, Watchlist.class);
+        });
     }
 
     /**
@@ -1163,6 +1945,20 @@ public class AlpacaAPI {
      */
     public Watchlist updateWatchlist(String watchlistID, String name, String... symbols)
             throws AlpacaAPIRequestException {
+        return alpacaRequest.await(updateWatchlistAsync(watchlistID, name, symbols));
+    }
+
+    /**
+     * Non-blocking variant of {@link #updateWatchlist(String, String, String...)}.
+     *
+     * @param watchlistID Watchlist ID
+     * @param name        the new watchlist name
+     * @param symbols     the new list of symbol names to replace the watchlist content
+     *
+     * @return a future of the updated watchlist
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<Watchlist> updateWatchlistAsync(String watchlistID, String name, String... symbols) {
         Preconditions.checkNotNull(watchlistID);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
@@ -1180,13 +1976,13 @@ public class AlpacaAPI {
             urlBuilder.appendJSONBodyJSONProperty("symbols", symbolsArray);
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokePut(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokePutAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Watchlist.class);
+            return alpacaRequest.getResponseObject(response, Watchlist.class);
+        });
     }
 
     /**
@@ -1201,6 +1997,19 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
      */
     public Watchlist addWatchlistAsset(String watchlistID, String symbol) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(addWatchlistAssetAsync(watchlistID, symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #addWatchlistAsset(String, String)}.
+     *
+     * @param watchlistID Watchlist ID
+     * @param symbol      the symbol name to add to the watchlist
+     *
+     * @return a future of the watchlist
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<Watchlist> addWatchlistAssetAsync(String watchlistID, String symbol) {
         Preconditions.checkNotNull(watchlistID);
         Preconditions.checkNotNull(symbol);
 
@@ -1210,13 +2019,13 @@ public class AlpacaAPI {
 
         urlBuilder.appendJSONBodyProperty("symbol", symbol);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokePost(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokePostAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Watchlist.class);
+            return alpacaRequest.getResponseObject(response, Watchlist.class);
+        });
     }
 
     /**
@@ -1230,19 +2039,31 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
      */
     public boolean deleteWatchlist(String watchlistID) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(deleteWatchlistAsync(watchlistID));
+    }
+
+    /**
+     * Non-blocking variant of {@link #deleteWatchlist(String)}.
+     *
+     * @param watchlistID Watchlist ID
+     *
+     * @return a future of if the watchlist was deleted
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<Boolean> deleteWatchlistAsync(String watchlistID) {
         Preconditions.checkNotNull(watchlistID);
 
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.WATCHLISTS_ENDPOINT,
                 watchlistID);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeDelete(urlBuilder);
-
-        if ((response.getStatus() != 200 && response.getStatus() != 204)) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeDeleteAsync(urlBuilder), response -> {
+            if ((response.getStatus() != 200 && response.getStatus() != 204)) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return response.getStatus() == 200 || response.getStatus() == 204;
+            return response.getStatus() == 200 || response.getStatus() == 204;
+        });
     }
 
     /**
@@ -1257,6 +2078,19 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
      */
     public Watchlist removeSymbolFromWatchlist(String watchlistID, String symbol) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(removeSymbolFromWatchlistAsync(watchlistID, symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #removeSymbolFromWatchlist(String, String)}.
+     *
+     * @param watchlistID Watchlist ID
+     * @param symbol      symbol name to remove from the watchlist content
+     *
+     * @return a future of the updated watchlist
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/watchlist/">Watchlists</a>
+     */
+    public CompletableFuture<Watchlist> removeSymbolFromWatchlistAsync(String watchlistID, String symbol) {
         Preconditions.checkNotNull(watchlistID);
         Preconditions.checkNotNull(symbol);
 
@@ -1265,13 +2099,13 @@ public class AlpacaAPI {
                 watchlistID,
                 symbol);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeDelete(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeDeleteAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Watchlist.class);
+            return alpacaRequest.getResponseObject(response, Watchlist.class);
+        });
     }
 
     /**
@@ -1294,6 +2128,29 @@ public class AlpacaAPI {
      */
     public PortfolioHistory getPortfolioHistory(Integer periodLength, PortfolioPeriodUnit periodUnit,
             PortfolioTimeFrame timeFrame, LocalDate dateEnd, Boolean extendedHours) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getPortfolioHistoryAsync(periodLength, periodUnit, timeFrame, dateEnd,
+                extendedHours));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getPortfolioHistory(Integer, PortfolioPeriodUnit, PortfolioTimeFrame, LocalDate,
+     * Boolean)}.
+     *
+     * @param periodLength  The duration of the data in "number + unit", such as 1D, where unit can be D for day, W for
+     *                      week, M for month and A for year. Defaults to 1M. This parameter is the number.
+     * @param periodUnit    The duration of the data in "number + unit", such as 1D, where unit can be D for day, W for
+     *                      week, M for month and A for year. Defaults to 1M. This parameter is the unit.
+     * @param timeFrame     The resolution of time window. 1Min, 5Min, 15Min, 1H, or 1D. If omitted, 1Min for less than
+     *                      7 days period, 15Min for less than 30 days, or otherwise 1D.
+     * @param dateEnd       The date the data is returned up to, in "YYYY-MM-DD" format. Defaults to the current market
+     *                      date (rolls over at the market open if extended_hours is false, otherwise at 7am ET)
+     * @param extendedHours If true, include extended hours in the result. This is effective only for timeframe less
+     *                      than 1D.
+     *
+     * @return a future of the portfolio history
+     */
+    public CompletableFuture<PortfolioHistory> getPortfolioHistoryAsync(Integer periodLength,
+            PortfolioPeriodUnit periodUnit, PortfolioTimeFrame timeFrame, LocalDate dateEnd, Boolean extendedHours) {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.ACCOUNT_ENDPOINT,
                 AlpacaConstants.PORTFOLIO_ENDPOINT,
@@ -1315,13 +2172,13 @@ public class AlpacaAPI {
             urlBuilder.appendURLParameter(AlpacaConstants.EXTENDED_HOURS_PARAMETER, extendedHours.toString());
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, PortfolioHistory.class);
+            return alpacaRequest.getResponseObject(response, PortfolioHistory.class);
+        });
     }
 
     /**
@@ -1333,18 +2190,28 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/calendar/">Calendar</a>
      */
     public ArrayList<Calendar> getCalendar() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getCalendarAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getCalendar()}.
+     *
+     * @return a future of the calendar
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/calendar/">Calendar</a>
+     */
+    public CompletableFuture<ArrayList<Calendar>> getCalendarAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.CALENDAR_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        Type arrayListType = new TypeToken<ArrayList<Calendar>>() {}.getType();
+            Type arrayListType = new TypeToken<ArrayList<Calendar>>() {}.getType();
 
-        return alpacaRequest.getResponseObject(response, arrayListType);
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
     }
 
     /**
@@ -1359,6 +2226,19 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/calendar/">Calendar</a>
      */
     public ArrayList<Calendar> getCalendar(LocalDate start, LocalDate end) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getCalendarAsync(start, end));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getCalendar(LocalDate, LocalDate)}.
+     *
+     * @param start The first date to retrieve data for (inclusive)
+     * @param end   The last date to retrieve data for (inclusive)
+     *
+     * @return a future of the calendar
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/calendar/">Calendar</a>
+     */
+    public CompletableFuture<ArrayList<Calendar>> getCalendarAsync(LocalDate start, LocalDate end) {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.CALENDAR_ENDPOINT);
 
@@ -1370,15 +2250,15 @@ public class AlpacaAPI {
             urlBuilder.appendURLParameter(AlpacaConstants.END_PARAMETER, TimeUtil.toDateString(end));
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        Type arrayListType = new TypeToken<ArrayList<Calendar>>() {}.getType();
+            Type arrayListType = new TypeToken<ArrayList<Calendar>>() {}.getType();
 
-        return alpacaRequest.getResponseObject(response, arrayListType);
+            return alpacaRequest.getResponseObject(response, arrayListType);
+        });
     }
 
     /**
@@ -1390,16 +2270,26 @@ public class AlpacaAPI {
      * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/clock/">Clock</a>
      */
     public Clock getClock() throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getClockAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getClock()}.
+     *
+     * @return a future of the clock
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/clock/">Clock</a>
+     */
+    public CompletableFuture<Clock> getClockAsync() {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseAPIURL, apiVersion,
                 AlpacaConstants.CLOCK_ENDPOINT);
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
-
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
-        }
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
 
-        return alpacaRequest.getResponseObject(response, Clock.class);
+            return alpacaRequest.getResponseObject(response, Clock.class);
+        });
     }
 
     /**
@@ -1429,6 +2319,28 @@ public class AlpacaAPI {
         return this.getBars(timeframe, new String[]{symbol}, limit, start, end, after, until);
     }
 
+    /**
+     * Non-blocking variant of {@link #getBars(BarsTimeFrame, String, Integer, ZonedDateTime, ZonedDateTime,
+     * ZonedDateTime, ZonedDateTime)}.
+     *
+     * @param timeframe One of minute, 1Min, 5Min, 15Min, day or 1D. minute is an alias of 1Min. Similarly, day is of
+     *                  1D.
+     * @param symbol    One symbol name.
+     * @param limit     The maximum number of bars to be returned for each symbol. It can be between 1 and 1000. Default
+     *                  is 100 if parameter is unspecified or 0.
+     * @param start     Filter bars equal to or after this time. Cannot be used with after.
+     * @param end       Filter bars equal to or before this time. Cannot be used with until.
+     * @param after     Filter bars after this time. Cannot be used with start.
+     * @param until     Filter bars before this time. Cannot be used with end.
+     *
+     * @return a future of the bars
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/market-data/bars/">Bars</a>
+     */
+    public CompletableFuture<Map<String, ArrayList<Bar>>> getBarsAsync(BarsTimeFrame timeframe, String symbol,
+            Integer limit, ZonedDateTime start, ZonedDateTime end, ZonedDateTime after, ZonedDateTime until) {
+        return getBarsAsync(timeframe, new String[]{symbol}, limit, start, end, after, until);
+    }
+
     /**
      * Retrieves a list of bars for each requested symbol. It is guaranteed all bars are in ascending order by time.
      * <p>
@@ -1453,6 +2365,28 @@ public class AlpacaAPI {
     public Map<String, ArrayList<Bar>> getBars(BarsTimeFrame timeframe, String[] symbols, Integer limit,
             ZonedDateTime start, ZonedDateTime end, ZonedDateTime after, ZonedDateTime until)
             throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getBarsAsync(timeframe, symbols, limit, start, end, after, until));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getBars(BarsTimeFrame, String[], Integer, ZonedDateTime, ZonedDateTime,
+     * ZonedDateTime, ZonedDateTime)}.
+     *
+     * @param timeframe One of minute, 1Min, 5Min, 15Min, day or 1D. minute is an alias of 1Min. Similarly, day is of
+     *                  1D.
+     * @param symbols   One or more (max 200) symbol names split by commas (“,”).
+     * @param limit     The maximum number of bars to be returned for each symbol. It can be between 1 and 1000. Default
+     *                  is 100 if parameter is unspecified or 0.
+     * @param start     Filter bars equal to or after this time. Cannot be used with after.
+     * @param end       Filter bars equal to or before this time. Cannot be used with until.
+     * @param after     Filter bars after this time. Cannot be used with start.
+     * @param until     Filter bars before this time. Cannot be used with end.
+     *
+     * @return a future of the bars
+     * @see <a href="https://docs.alpaca.markets/api-documentation/api-v2/market-data/bars/">Bars</a>
+     */
+    public CompletableFuture<Map<String, ArrayList<Bar>>> getBarsAsync(BarsTimeFrame timeframe, String[] symbols,
+            Integer limit, ZonedDateTime start, ZonedDateTime end, ZonedDateTime after, ZonedDateTime until) {
         AlpacaRequestBuilder urlBuilder = new AlpacaRequestBuilder(baseDataUrl, AlpacaConstants.VERSION_1_ENDPOINT,
                 AlpacaConstants.BARS_ENDPOINT);
 
@@ -1488,15 +2422,126 @@ public class AlpacaAPI {
                     until.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
         }
 
-        HttpResponse<InputStream> response = alpacaRequest.invokeGet(urlBuilder);
+        urlBuilder.setStreamingResponse(true);
+
+        return alpacaRequest.handleResponse(alpacaRequest.invokeGetAsync(urlBuilder), response -> {
+            if (response.getStatus() != 200) {
+                throw new AlpacaAPIRequestException(response);
+            }
+
+            Type mapType = new TypeToken<Map<String, ArrayList<Bar>>>() {}.getType();
+
+            return alpacaRequest.getResponseObject(response, mapType);
+        });
+    }
 
-        if (response.getStatus() != 200) {
-            throw new AlpacaAPIRequestException(response);
+    /**
+     * Retrieves the bars for each requested symbol over a time range of any length and any number of symbols. The
+     * range is split into windows that can't hold more than {@link AlpacaConstants#MAX_BARS_LIMIT} bars and the
+     * symbols into chunks of at most {@link AlpacaConstants#MAX_BARS_SYMBOLS}, the requests are made concurrently
+     * (throttled by the rate limiter) and the bars of each symbol are merged into one de-duplicated series in
+     * ascending order by time.
+     *
+     * @param timeframe One of minute, 1Min, 5Min, 15Min, day or 1D. minute is an alias of 1Min. Similarly, day is of
+     *                  1D.
+     * @param symbols   The symbol names.
+     * @param start     Filter bars equal to or after this time.
+     * @param end       Filter bars equal to or before this time.
+     *
+     * @return the bars
+     *
+     * @throws AlpacaAPIRequestException the alpaca API exception
+     * @see #getBars(BarsTimeFrame, String[], Integer, ZonedDateTime, ZonedDateTime, ZonedDateTime, ZonedDateTime)
+     */
+    public Map<String, ArrayList<Bar>> getAllBars(BarsTimeFrame timeframe, String[] symbols, ZonedDateTime start,
+            ZonedDateTime end) throws AlpacaAPIRequestException {
+        return alpacaRequest.await(getAllBarsAsync(timeframe, symbols, start, end));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAllBars(BarsTimeFrame, String[], ZonedDateTime, ZonedDateTime)}.
+     *
+     * @param timeframe One of minute, 1Min, 5Min, 15Min, day or 1D. minute is an alias of 1Min. Similarly, day is of
+     *                  1D.
+     * @param symbols   The symbol names.
+     * @param start     Filter bars equal to or after this time.
+     * @param end       Filter bars equal to or before this time.
+     *
+     * @return a future of the bars
+     */
+    public CompletableFuture<Map<String, ArrayList<Bar>>> getAllBarsAsync(BarsTimeFrame timeframe, String[] symbols,
+            ZonedDateTime start, ZonedDateTime end) {
+        Preconditions.checkNotNull(timeframe);
+        Preconditions.checkNotNull(symbols);
+        Preconditions.checkNotNull(start);
+        Preconditions.checkNotNull(end);
+        Preconditions.checkArgument(!end.isBefore(start), "end must not be before start");
+
+        Duration window = getBarsDuration(timeframe).multipliedBy(AlpacaConstants.MAX_BARS_LIMIT);
+
+        List<CompletableFuture<Map<String, ArrayList<Bar>>>> requestFutures = new ArrayList<>();
+        for (List<String> symbolsChunk : Lists.partition(Arrays.asList(symbols), AlpacaConstants.MAX_BARS_SYMBOLS)) {
+            String[] chunkSymbols = symbolsChunk.toArray(new String[0]);
+
+            for (ZonedDateTime windowStart = start; !windowStart.isAfter(end); windowStart = windowStart.plus(window)) {
+                // Both bounds are inclusive, so end the window just before the next one starts
+                ZonedDateTime windowEnd = windowStart.plus(window).minusSeconds(1);
+                if (windowEnd.isAfter(end)) {
+                    windowEnd = end;
+                }
+
+                requestFutures.add(getBarsAsync(timeframe, chunkSymbols, AlpacaConstants.MAX_BARS_LIMIT, windowStart,
+                        windowEnd, null, null));
+            }
         }
 
-        Type mapType = new TypeToken<Map<String, ArrayList<Bar>>>() {}.getType();
+        return FutureUtil.allOf(requestFutures).thenApply(requestResults -> {
+            Map<String, List<ArrayList<Bar>>> barsPartsBySymbol = new HashMap<>();
+
+            for (Map<String, ArrayList<Bar>> barsBySymbol : requestResults) {
+                if (barsBySymbol != null) {
+                    barsBySymbol.forEach((symbol, bars) ->
+                            barsPartsBySymbol.computeIfAbsent(symbol, key -> new ArrayList<>()).add(bars));
+                }
+            }
 
-        return alpacaRequest.getResponseObject(response, mapType);
+            Map<String, ArrayList<Bar>> mergedBarsBySymbol = new LinkedHashMap<>();
+            for (String symbol : symbols) {
+                List<ArrayList<Bar>> barsParts = barsPartsBySymbol.remove(symbol);
+
+                if (barsParts != null) {
+                    mergedBarsBySymbol.put(symbol, TimeSeriesUtil.mergeDistinct(barsParts, Bar::getT));
+                }
+            }
+
+            // Keep any symbol the server keyed differently than requested (e.g. a different case)
+            barsPartsBySymbol.forEach((symbol, barsParts) ->
+                    mergedBarsBySymbol.put(symbol, TimeSeriesUtil.mergeDistinct(barsParts, Bar::getT)));
+
+            return mergedBarsBySymbol;
+        });
+    }
+
+    /**
+     * Gets the duration of a bar.
+     *
+     * @param timeframe the timeframe
+     *
+     * @return the bar duration
+     */
+    private static Duration getBarsDuration(BarsTimeFrame timeframe) {
+        switch (timeframe) {
+            case ONE_MIN:
+                return Duration.ofMinutes(1);
+            case FIVE_MINUTE:
+                return Duration.ofMinutes(5);
+            case FIFTEEN_MINUTE:
+                return Duration.ofMinutes(15);
+            case ONE_DAY:
+                return Duration.ofDays(1);
+            default:
+                throw new IllegalArgumentException("Unknown timeframe: " + timeframe);
+        }
     }
 
     /**
@@ -1517,6 +2562,91 @@ public class AlpacaAPI {
         alpacaWebSocketClient.removeListener(streamListener);
     }
 
+    /**
+     * Gets a Reactive Streams publisher of the alpaca stream messages of some types (e.g. {@link
+     * AlpacaStreamMessageType#TRADE_UPDATES}). Every subscriber is delivered through its own queue of {@link
+     * StreamPublisher#DEFAULT_QUEUE_CAPACITY} messages with the {@link ListenerOverflowPolicy#BLOCK} policy, so no
+     * trade or account update is lost: when a subscriber without demand lets its queue fill up, the alpaca stream waits
+     * until it requests more (which holds up the other alpaca stream listeners too). Use {@link
+     * #getAlpacaStreamPublisher(ListenerOverflowPolicy, int, AlpacaStreamMessageType...)} to drop messages instead.
+     *
+     * @param streamMessageTypes the stream message types
+     *
+     * @return the publisher
+     */
+    public Publisher<AlpacaStreamMessage> getAlpacaStreamPublisher(AlpacaStreamMessageType... streamMessageTypes) {
+        return getAlpacaStreamPublisher(ListenerOverflowPolicy.BLOCK, StreamPublisher.DEFAULT_QUEUE_CAPACITY,
+                streamMessageTypes);
+    }
+
+    /**
+     * Gets a Reactive Streams publisher of the alpaca stream messages of some types. Every subscriber is delivered
+     * through its own bounded queue, which only delivers the messages the subscriber requested, so a slow subscriber
+     * lets its queue fill up and the overflow policy decide what happens to the new messages (see {@link
+     * StreamPublisher}). The alpaca stream messages have no symbol, so {@link ListenerOverflowPolicy#CONFLATE} drops
+     * the oldest messages like {@link ListenerOverflowPolicy#DROP_OLDEST}.
+     *
+     * @param overflowPolicy     what to do with new messages when the queue of a subscriber is full
+     * @param queueCapacity      the queue capacity of a subscriber
+     * @param streamMessageTypes the stream message types
+     *
+     * @return the publisher
+     */
+    public Publisher<AlpacaStreamMessage> getAlpacaStreamPublisher(ListenerOverflowPolicy overflowPolicy,
+            int queueCapacity, AlpacaStreamMessageType... streamMessageTypes) {
+        Preconditions.checkArgument(streamMessageTypes.length > 0, "At least one stream message type is required");
+
+        return new StreamPublisher<AlpacaStreamMessageType, AlpacaStreamMessage, AlpacaStreamListener>(
+                "AlpacaStreamSubscriberThread",
+                subscriptionListener -> new AlpacaStreamListenerAdapter(streamMessageTypes) {
+                    @Override
+                    public void onStreamUpdate(AlpacaStreamMessageType streamMessageType,
+                            AlpacaStreamMessage streamMessage) {
+                        subscriptionListener.onStreamUpdate(streamMessageType, streamMessage);
+                    }
+                },
+                this::addAlpacaStreamListener, this::removeAlpacaStreamListener, overflowPolicy, queueCapacity,
+                (alpacaStreamMessageType, alpacaStreamMessage) -> null);
+    }
+
+    /**
+     * Adds a listener of the connection state of the alpaca stream, e.g. to know when stream messages may have been
+     * missed while the connection was lost.
+     *
+     * @param connectionListener the connection listener
+     */
+    public void addAlpacaStreamConnectionListener(WebsocketConnectionListener connectionListener) {
+        alpacaWebSocketClient.getWebsocketReconnector().addConnectionListener(connectionListener);
+    }
+
+    /**
+     * Removes a listener of the connection state of the alpaca stream.
+     *
+     * @param connectionListener the connection listener
+     */
+    public void removeAlpacaStreamConnectionListener(WebsocketConnectionListener connectionListener) {
+        alpacaWebSocketClient.getWebsocketReconnector().removeConnectionListener(connectionListener);
+    }
+
+    /**
+     * Gets the rate limiter that throttles the REST requests, e.g. to read its queue wait and throttled count metrics.
+     *
+     * @return the rate limiter (null if requests are not throttled)
+     */
+    public RateLimiter getRateLimiter() {
+        return alpacaRequest.getRateLimiter();
+    }
+
+    /**
+     * Sets the rate limiter that throttles the REST requests. Use {@link RateLimiter#forKey(String, int)} to share one
+     * with other API instances.
+     *
+     * @param rateLimiter the rate limiter (null to not throttle requests)
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        alpacaRequest.setRateLimiter(rateLimiter);
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", this.getClass().getSimpleName() + "[", "]")
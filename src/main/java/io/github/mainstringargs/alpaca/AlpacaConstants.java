@@ -134,6 +134,18 @@ public class AlpacaConstants {
     /** The constant HISTORY_ENDPOINT. */
     public static final String HISTORY_ENDPOINT = "history";
 
+    /** The constant MAX_ACCOUNT_ACTIVITIES_PAGE_SIZE. */
+    public static final int MAX_ACCOUNT_ACTIVITIES_PAGE_SIZE = 100;
+
+    /** The constant MAX_ORDERS_LIMIT. */
+    public static final int MAX_ORDERS_LIMIT = 500;
+
+    /** The constant MAX_BARS_LIMIT. The maximum number of bars per symbol in a bars request. */
+    public static final int MAX_BARS_LIMIT = 1000;
+
+    /** The constant MAX_BARS_SYMBOLS. The maximum number of symbols in a bars request. */
+    public static final int MAX_BARS_SYMBOLS = 200;
+
     /** The Constant UTF_ENCODING. */
     public static final String UTF_ENCODING = "UTF-8";
 
@@ -47,6 +47,57 @@ public class AlpacaProperties {
     /** The Constant USER_AGENT_VALUE. */
     public static final String USER_AGENT_VALUE = getProperty(ALPACA_PROPERTIES_FILE, USER_AGENT_KEY);
 
+    /** The Constant RATE_LIMIT_REQUESTS_PER_MINUTE_KEY. */
+    private static final String RATE_LIMIT_REQUESTS_PER_MINUTE_KEY = "rate_limit_requests_per_minute";
+
+    /** The Constant RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE. */
+    public static final String RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE =
+            getProperty(ALPACA_PROPERTIES_FILE, RATE_LIMIT_REQUESTS_PER_MINUTE_KEY);
+
+    /** The Constant WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY. */
+    private static final String WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY = "websocket_reconnect_max_attempts";
+
+    /** The Constant WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE. The reconnect attempts are unlimited if this is not set. */
+    public static final String WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE =
+            getProperty(ALPACA_PROPERTIES_FILE, WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY);
+
+    /** The Constant WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY. */
+    private static final String WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY =
+            "websocket_reconnect_initial_backoff_millis";
+
+    /**
+     * The Constant WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE. {@link
+     * io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig#DEFAULT_INITIAL_BACKOFF_MILLIS} is
+     * used if this is not set.
+     */
+    public static final String WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE =
+            getProperty(ALPACA_PROPERTIES_FILE, WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY);
+
+    /** The Constant WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY. */
+    private static final String WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY = "websocket_reconnect_max_backoff_millis";
+
+    /**
+     * The Constant WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE. {@link
+     * io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig#DEFAULT_MAX_BACKOFF_MILLIS} is used
+     * if this is not set.
+     */
+    public static final String WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE =
+            getProperty(ALPACA_PROPERTIES_FILE, WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY);
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY. */
+    private static final String WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY = "websocket_frame_journal_directory";
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE. The websocket frames aren't recorded if this isn't set. */
+    public static final String WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE =
+            getProperty(ALPACA_PROPERTIES_FILE, WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY);
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY. */
+    private static final String WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY = "websocket_frame_journal_segment_size";
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE. */
+    public static final String WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE =
+            getProperty(ALPACA_PROPERTIES_FILE, WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY);
+
     /**
      * Static to string string.
      *
@@ -63,10 +114,24 @@ public class AlpacaProperties {
                 .add("BASE_DATA_URL_VALUE = " + BASE_DATA_URL_VALUE)
                 .add("KEY_ID_KEY = " + KEY_ID_KEY)
                 .add("KEY_ID_VALUE = " + KEY_ID_VALUE)
+                .add("RATE_LIMIT_REQUESTS_PER_MINUTE_KEY = " + RATE_LIMIT_REQUESTS_PER_MINUTE_KEY)
+                .add("RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE = " + RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE)
                 .add("SECRET_KEY = " + SECRET_KEY)
                 .add("SECRET_VALUE = " + SECRET_VALUE)
                 .add("USER_AGENT_KEY = " + USER_AGENT_KEY)
                 .add("USER_AGENT_VALUE = " + USER_AGENT_VALUE)
+                .add("WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY = " + WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY)
+                .add("WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE = " + WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE)
+                .add("WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY = " +
+                        WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY)
+                .add("WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE = " +
+                        WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE)
+                .add("WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY = " + WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY)
+                .add("WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE = " + WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE)
+                .add("WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY = " + WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY)
+                .add("WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE = " + WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE)
+                .add("WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY = " + WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY)
+                .add("WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE = " + WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE)
                 .toString();
     }
 }
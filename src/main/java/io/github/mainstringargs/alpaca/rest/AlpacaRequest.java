@@ -1,7 +1,17 @@
 package io.github.mainstringargs.alpaca.rest;
 
+import io.github.mainstringargs.abstracts.rest.AbstractRequestBuilder;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RateLimiter;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RequestPriority;
+import io.github.mainstringargs.alpaca.AlpacaConstants;
 import io.github.mainstringargs.alpaca.properties.AlpacaProperties;
 import io.github.mainstringargs.abstracts.rest.AbstractRequest;
+import io.github.mainstringargs.abstracts.rest.transport.ApacheHttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransport;
+import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The Class AlpacaRequest.
@@ -17,17 +27,71 @@ public class AlpacaRequest extends AbstractRequest {
     /** The Constant API_SECRET_KEY. */
     private static final String API_SECRET_KEY = "APCA-API-SECRET-KEY";
 
+    /** The Constant RATE_LIMITER_KEY_PREFIX. */
+    private static final String RATE_LIMITER_KEY_PREFIX = "alpaca:";
+
     /**
-     * Instantiates a new alpaca request.
+     * Instantiates a new alpaca request using a default {@link ApacheHttpTransport}.
      *
      * @param keyID     the key id
      * @param secretKey the secret key
      */
     public AlpacaRequest(String keyID, String secretKey) {
-        super();
+        this(keyID, secretKey, new ApacheHttpTransport());
+    }
+
+    /**
+     * Instantiates a new alpaca request.
+     *
+     * @param keyID         the key id
+     * @param secretKey     the secret key
+     * @param httpTransport the http transport
+     */
+    public AlpacaRequest(String keyID, String secretKey, HttpTransport httpTransport) {
+        super(httpTransport);
 
         headers.put(USER_AGENT_KEY, AlpacaProperties.USER_AGENT_VALUE);
         headers.put(API_KEY_ID, keyID);
         headers.put(API_SECRET_KEY, secretKey);
+
+        if (keyID != null && AlpacaProperties.RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE != null) {
+            setRateLimiter(RateLimiter.forKey(RATE_LIMITER_KEY_PREFIX + keyID,
+                    Integer.parseInt(AlpacaProperties.RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE.trim())));
+        }
+    }
+
+    /**
+     * Order entry, replacement and cancellation (including closing positions) gets the highest priority, followed by
+     * the account, order and position queries. Everything else is treated as market data.
+     */
+    @Override
+    protected RequestPriority getRequestPriority(String method, AbstractRequestBuilder abstractRequestBuilder) {
+        List<String> endpoints = abstractRequestBuilder.getAppendedEndpoints();
+
+        boolean isOrderEndpoint = endpoints.contains(AlpacaConstants.ORDERS_ENDPOINT) ||
+                endpoints.contains(AlpacaConstants.ORDERS_BY_CLIENT_ORDER_ID_ENDPOINT);
+        boolean isPositionEndpoint = endpoints.contains(AlpacaConstants.POSITIONS_ENDPOINT);
+
+        if (!method.equals("GET") && (isOrderEndpoint || isPositionEndpoint)) {
+            return RequestPriority.ORDER;
+        } else if (isOrderEndpoint || isPositionEndpoint || endpoints.contains(AlpacaConstants.ACCOUNT_ENDPOINT)) {
+            return RequestPriority.ACCOUNT;
+        } else {
+            return RequestPriority.MARKET_DATA;
+        }
+    }
+
+    /**
+     * Waits for the response future to complete.
+     *
+     * @param <T>            the response object type
+     * @param responseFuture the response future
+     *
+     * @return the response object
+     *
+     * @throws AlpacaAPIRequestException the alpaca api request exception
+     */
+    public <T> T await(CompletableFuture<T> responseFuture) throws AlpacaAPIRequestException {
+        return awaitResponse(responseFuture, AlpacaAPIRequestException.class);
     }
 }
@@ -0,0 +1,19 @@
+package io.github.mainstringargs.alpaca.state;
+
+/**
+ * The listener interface for receiving the drifts found by the reconciliations of an {@link AccountStateMirror}, i.e.
+ * the values the mirror and the server disagreed on.
+ */
+@FunctionalInterface
+public interface AccountStateDriftListener {
+
+    /**
+     * On drift. Called on the reconcile thread, before the mirror is reset to the state of the server.
+     *
+     * @param symbol        the symbol of the position (null for a field of the account)
+     * @param field         the field (e.g. "qty" or "cash")
+     * @param mirroredValue the mirrored value (null if the mirror has no such position)
+     * @param serverValue   the value of the server (null if the server has no such position)
+     */
+    void onDrift(String symbol, String field, String mirroredValue, String serverValue);
+}
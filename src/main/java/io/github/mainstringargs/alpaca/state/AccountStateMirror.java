@@ -0,0 +1,667 @@
+package io.github.mainstringargs.alpaca.state;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketConnectionListener;
+import io.github.mainstringargs.alpaca.AlpacaAPI;
+import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
+import io.github.mainstringargs.alpaca.websocket.listener.AlpacaTypedStreamListener;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.account.Account;
+import io.github.mainstringargs.domain.alpaca.order.Order;
+import io.github.mainstringargs.domain.alpaca.position.Position;
+import io.github.mainstringargs.domain.alpaca.websocket.account.AccountUpdateMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdate;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Class AccountStateMirror. A live local copy of the open positions and the account, so that strategies can read
+ * them from memory instead of calling {@link AlpacaAPI#getOpenPositions()}, {@link
+ * AlpacaAPI#getOpenPositionBySymbol(String)} and {@link AlpacaAPI#getAccount()} before every order:
+ * <ul>
+ * <li>{@link #start()} seeds it from the REST API and adds it as a listener of the {@code trade_updates} and {@code
+ * account_updates} streams.</li>
+ * <li>The fills of the trade updates are applied with the position quantity after the fill that the trade update
+ * carries: the change of the position at the price of the fill updates the position (its average entry price and cost
+ * basis), and its notional the cash and the buying power. A repeated trade update doesn't change the position, so it
+ * isn't applied twice, and a trade update older than the last fill applied to its symbol is ignored, so it doesn't
+ * roll the position back. A fill without a position quantity, quantity or price, or whose change of the position
+ * isn't its quantity (i.e. a fill was missed), triggers a reconciliation instead.</li>
+ * <li>The account updates are applied as they are, their (non-null) fields replacing those of the account.</li>
+ * <li>A REST reconciliation runs periodically and whenever the stream reconnects. It compares the quantities of the
+ * positions and the cash with those of the server, tells the {@link AccountStateDriftListener}s about every
+ * difference, then resets the mirror to the state of the server.</li>
+ * </ul>
+ * The buying power of a fill is an estimate (the change of the exposure at the fill price), and the P/L fields of the
+ * positions are cleared by a fill, so neither is checked for drift: the reconciliation only refreshes them. The
+ * returned positions and account are snapshots that are replaced, never modified, by the mirror.
+ */
+public class AccountStateMirror implements AlpacaTypedStreamListener {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(AccountStateMirror.class);
+
+    /** The default interval of the reconciliations in milliseconds. */
+    public static final long DEFAULT_RECONCILE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** The default difference of the cash that isn't a drift. */
+    public static final BigDecimal DEFAULT_CASH_DRIFT_TOLERANCE = new BigDecimal("0.01");
+
+    /** The trade update events of the fills. */
+    private static final Set<String> FILL_EVENTS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("fill", "partial_fill")));
+
+    /** The stream message types of the mirror. */
+    private static final Set<AlpacaStreamMessageType> STREAM_MESSAGE_TYPES = Collections.unmodifiableSet(
+            EnumSet.of(AlpacaStreamMessageType.TRADE_UPDATES, AlpacaStreamMessageType.ACCOUNT_UPDATES));
+
+    /** The alpaca API. */
+    private final AlpacaAPI alpacaAPI;
+
+    /** The interval of the reconciliations in milliseconds. */
+    private final long reconcileIntervalMillis;
+
+    /** The difference of the cash that isn't a drift. */
+    private volatile BigDecimal cashDriftTolerance = DEFAULT_CASH_DRIFT_TOLERANCE;
+
+    /** The positions by symbol. */
+    private final Map<String, Position> positionsBySymbol = new ConcurrentHashMap<>();
+
+    /** The time of the last fill applied to each symbol (guarded by the update lock). */
+    private final Map<String, ZonedDateTime> lastFillTimesBySymbol = new HashMap<>();
+
+    /** The account (null until seeded). */
+    private volatile Account account;
+
+    /** The drift listeners. */
+    private final List<AccountStateDriftListener> driftListeners = new CopyOnWriteArrayList<>();
+
+    /** The lock of the updates, so they are applied one at a time. */
+    private final Object updateLock = new Object();
+
+    /** The listener of the connection of the stream that reconciles after a reconnect. */
+    private final WebsocketConnectionListener connectionListener;
+
+    /** The executor service of the reconciliations (null unless started). */
+    private ScheduledExecutorService reconcileExecutorService;
+
+    /** Whether the mirror was seeded (guarded by the update lock). */
+    private boolean seeded;
+
+    /** The number of fills received, applied or not (guarded by the update lock). */
+    private long fillSequence;
+
+    /** The number of fills applied. */
+    private final AtomicLong fillCount = new AtomicLong();
+
+    /** The number of stale fills ignored. */
+    private final AtomicLong staleFillCount = new AtomicLong();
+
+    /** The number of reconciliations. */
+    private final AtomicLong reconciliationCount = new AtomicLong();
+
+    /** The number of drifts found by the reconciliations. */
+    private final AtomicLong driftCount = new AtomicLong();
+
+    /**
+     * Instantiates a new account state mirror that reconciles every {@link #DEFAULT_RECONCILE_INTERVAL_MILLIS}.
+     *
+     * @param alpacaAPI the alpaca API
+     */
+    public AccountStateMirror(AlpacaAPI alpacaAPI) {
+        this(alpacaAPI, DEFAULT_RECONCILE_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Instantiates a new account state mirror.
+     *
+     * @param alpacaAPI               the alpaca API
+     * @param reconcileIntervalMillis the interval of the reconciliations in milliseconds
+     */
+    public AccountStateMirror(AlpacaAPI alpacaAPI, long reconcileIntervalMillis) {
+        Preconditions.checkNotNull(alpacaAPI);
+        Preconditions.checkArgument(reconcileIntervalMillis > 0, "The reconcile interval must be positive");
+
+        this.alpacaAPI = alpacaAPI;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+
+        this.connectionListener = websocketConnectionEvent -> {
+            if (websocketConnectionEvent.isReconnected()) {
+                LOGGER.info("Reconciling the positions and account after a " +
+                        websocketConnectionEvent.getGapMillis() + " ms gap in the streams");
+                submitReconciliation();
+            }
+        };
+    }
+
+    /**
+     * Starts the mirror: listens to the trade and account updates, seeds the mirror from the REST API and schedules
+     * the reconciliations.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception (the mirror is stopped)
+     */
+    public synchronized void start() throws AlpacaAPIRequestException {
+        Preconditions.checkState(reconcileExecutorService == null, "The mirror is already started");
+
+        reconcileExecutorService = ExecutorTracer.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, "AccountStateMirrorReconcileThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Listen first, so no fill is missed between the seed and the stream
+        alpacaAPI.addAlpacaStreamListener(this);
+        alpacaAPI.addAlpacaStreamConnectionListener(connectionListener);
+
+        try {
+            // A fill during the seed makes its snapshot ambiguous, so seed again
+            while (!reconcile()) {
+                LOGGER.debug("Seeding again after a fill during the seed");
+            }
+        } catch (AlpacaAPIRequestException e) {
+            stop();
+            throw e;
+        }
+
+        reconcileExecutorService.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMillis,
+                reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Seeded with " + positionsBySymbol.size() + " open positions");
+    }
+
+    /**
+     * Stops the mirror: stops listening to the trade and account updates and reconciling. The mirrored state is kept.
+     */
+    public synchronized void stop() {
+        if (reconcileExecutorService == null) {
+            return;
+        }
+
+        alpacaAPI.removeAlpacaStreamListener(this);
+        alpacaAPI.removeAlpacaStreamConnectionListener(connectionListener);
+
+        reconcileExecutorService.shutdownNow();
+        reconcileExecutorService = null;
+    }
+
+    /**
+     * Gets the open position of a symbol.
+     *
+     * @param symbol the symbol
+     *
+     * @return the position (null if there is no open position)
+     */
+    public Position getPosition(String symbol) {
+        return positionsBySymbol.get(symbol);
+    }
+
+    /**
+     * Gets the open positions.
+     *
+     * @return the positions
+     */
+    public List<Position> getPositions() {
+        return new ArrayList<>(positionsBySymbol.values());
+    }
+
+    /**
+     * Gets the account.
+     *
+     * @return the account (null until seeded)
+     */
+    public Account getAccount() {
+        return account;
+    }
+
+    /**
+     * Adds a drift listener.
+     *
+     * @param driftListener the drift listener
+     */
+    public void addDriftListener(AccountStateDriftListener driftListener) {
+        Preconditions.checkNotNull(driftListener);
+
+        driftListeners.add(driftListener);
+    }
+
+    /**
+     * Removes a drift listener.
+     *
+     * @param driftListener the drift listener
+     */
+    public void removeDriftListener(AccountStateDriftListener driftListener) {
+        driftListeners.remove(driftListener);
+    }
+
+    @Override
+    public Set<AlpacaStreamMessageType> getStreamMessageTypes() {
+        return STREAM_MESSAGE_TYPES;
+    }
+
+    @Override
+    public void onTradeUpdate(TradeUpdateMessage tradeUpdateMessage) {
+        TradeUpdate tradeUpdate = tradeUpdateMessage.getData();
+        if (tradeUpdate == null || tradeUpdate.getOrder() == null || !FILL_EVENTS.contains(tradeUpdate.getEvent())) {
+            return;
+        }
+
+        boolean applied;
+        synchronized (updateLock) {
+            fillSequence++;
+
+            // Before the seed, the fill is in (or after) the snapshot of the seed
+            applied = !seeded || applyFill(tradeUpdate);
+        }
+
+        if (!applied) {
+            submitReconciliation();
+        }
+    }
+
+    @Override
+    public void onAccountUpdate(AccountUpdateMessage accountUpdateMessage) {
+        if (accountUpdateMessage.getData() == null) {
+            return;
+        }
+
+        synchronized (updateLock) {
+            if (account == null) {
+                return;
+            }
+
+            account = getUpdatedAccount(account, accountUpdateMessage.getData());
+        }
+    }
+
+    /**
+     * Reconciles the mirror with the REST API (on the calling thread): tells the drift listeners about the differences
+     * between the mirror and the open positions and account of the server, then resets the mirror to them. It is
+     * skipped if a fill arrived while the REST requests were in flight, since it may or may not be in their snapshot.
+     *
+     * @return true if reconciled, false if skipped
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    public boolean reconcile() throws AlpacaAPIRequestException {
+        long fillSequenceBefore;
+        synchronized (updateLock) {
+            fillSequenceBefore = fillSequence;
+        }
+
+        ArrayList<Position> serverPositions = alpacaAPI.getOpenPositions();
+        Account serverAccount = alpacaAPI.getAccount();
+
+        synchronized (updateLock) {
+            if (fillSequence != fillSequenceBefore) {
+                LOGGER.debug("Skipping the reconciliation after a fill during its requests");
+                return false;
+            }
+
+            Map<String, Position> serverPositionsBySymbol = new HashMap<>();
+            for (Position serverPosition : serverPositions) {
+                serverPositionsBySymbol.put(serverPosition.getSymbol(), serverPosition);
+            }
+
+            if (seeded) {
+                findDrifts(serverPositionsBySymbol, serverAccount);
+            }
+
+            positionsBySymbol.keySet().retainAll(serverPositionsBySymbol.keySet());
+            positionsBySymbol.putAll(serverPositionsBySymbol);
+            account = serverAccount;
+
+            seeded = true;
+        }
+
+        reconciliationCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the difference of the cash that isn't a drift.
+     *
+     * @return the cash drift tolerance
+     */
+    public BigDecimal getCashDriftTolerance() {
+        return cashDriftTolerance;
+    }
+
+    /**
+     * Sets the difference of the cash that isn't a drift.
+     *
+     * @param cashDriftTolerance the cash drift tolerance
+     */
+    public void setCashDriftTolerance(BigDecimal cashDriftTolerance) {
+        Preconditions.checkNotNull(cashDriftTolerance);
+        Preconditions.checkArgument(cashDriftTolerance.signum() >= 0, "The tolerance must not be negative");
+
+        this.cashDriftTolerance = cashDriftTolerance;
+    }
+
+    /**
+     * Gets the number of fills applied.
+     *
+     * @return the fill count
+     */
+    public long getFillCount() {
+        return fillCount.get();
+    }
+
+    /**
+     * Gets the number of fills that were ignored because they were older than the last fill applied to their symbol.
+     *
+     * @return the stale fill count
+     */
+    public long getStaleFillCount() {
+        return staleFillCount.get();
+    }
+
+    /**
+     * Gets the number of reconciliations.
+     *
+     * @return the reconciliation count
+     */
+    public long getReconciliationCount() {
+        return reconciliationCount.get();
+    }
+
+    /**
+     * Gets the number of drifts found by the reconciliations.
+     *
+     * @return the drift count
+     */
+    public long getDriftCount() {
+        return driftCount.get();
+    }
+
+    /**
+     * Gets the interval of the reconciliations.
+     *
+     * @return the reconcile interval in milliseconds
+     */
+    public long getReconcileIntervalMillis() {
+        return reconcileIntervalMillis;
+    }
+
+    /**
+     * Applies a fill to the position of its symbol and to the account (under the update lock): the change of the
+     * position is the difference between the position quantity of the trade update and the mirrored one, which must
+     * be the quantity of the fill.
+     *
+     * @param tradeUpdate the trade update of the fill
+     *
+     * @return true if applied (or there was nothing to apply), false if the fill can't be applied
+     */
+    private boolean applyFill(TradeUpdate tradeUpdate) {
+        Order order = tradeUpdate.getOrder();
+        if (order.getSymbol() == null) {
+            return true;
+        }
+
+        String fillPriceString = tradeUpdate.getPrice() != null ? tradeUpdate.getPrice() : order.getFilledAvgPrice();
+        if (tradeUpdate.getPositionQty() == null || tradeUpdate.getQty() == null || fillPriceString == null) {
+            LOGGER.warn("Cannot apply the fill of order " + order.getId() +
+                    " without a position qty, a qty and a price");
+            return false;
+        }
+
+        // The position qty is absolute, so applying an older trade update would roll the position back
+        ZonedDateTime fillTime = tradeUpdate.getTimestamp() != null ? tradeUpdate.getTimestamp() : order.getUpdatedAt();
+        ZonedDateTime lastFillTime = lastFillTimesBySymbol.get(order.getSymbol());
+        if (fillTime != null && lastFillTime != null && fillTime.isBefore(lastFillTime)) {
+            LOGGER.debug("Ignoring the stale fill of order " + order.getId() + " at " + fillTime);
+            staleFillCount.incrementAndGet();
+            return true;
+        }
+
+        BigDecimal fillPrice = new BigDecimal(fillPriceString);
+
+        Position position = positionsBySymbol.get(order.getSymbol());
+        BigDecimal qty = position == null ? BigDecimal.ZERO : getSignedQty(position);
+        BigDecimal newQty = new BigDecimal(tradeUpdate.getPositionQty());
+        BigDecimal signedFillQty = newQty.subtract(qty);
+
+        // E.g. a repeated trade update, or a fill that was in the snapshot of the last reconciliation
+        if (signedFillQty.signum() == 0) {
+            return true;
+        }
+
+        // Otherwise the change includes fills that were missed (or the mirror is off), whose prices are unknown
+        BigDecimal fillQty = new BigDecimal(tradeUpdate.getQty()).abs();
+        boolean matchesFill = order.getSide() == null ? signedFillQty.abs().compareTo(fillQty) == 0 :
+                signedFillQty.compareTo("sell".equals(order.getSide()) ? fillQty.negate() : fillQty) == 0;
+        if (!matchesFill) {
+            LOGGER.warn("The fill of " + fillQty + " of order " + order.getId() + " changed the position of " +
+                    order.getSymbol() + " by " + signedFillQty);
+            return false;
+        }
+
+        if (fillTime != null) {
+            lastFillTimesBySymbol.put(order.getSymbol(), fillTime);
+        }
+
+        if (newQty.signum() == 0) {
+            positionsBySymbol.remove(order.getSymbol());
+        } else {
+            positionsBySymbol.put(order.getSymbol(), getFilledPosition(position, order.getSymbol(), qty, newQty,
+                    signedFillQty.abs(), fillPrice));
+        }
+
+        if (account != null) {
+            BigDecimal notional = signedFillQty.multiply(fillPrice);
+            BigDecimal exposureChange = newQty.abs().subtract(qty.abs()).multiply(fillPrice);
+
+            Account filledAccount = getUpdatedAccount(account, null);
+            if (filledAccount.getCash() != null) {
+                filledAccount.setCash(new BigDecimal(filledAccount.getCash()).subtract(notional).toPlainString());
+            }
+            if (filledAccount.getBuyingPower() != null) {
+                filledAccount.setBuyingPower(new BigDecimal(filledAccount.getBuyingPower())
+                        .subtract(exposureChange).toPlainString());
+            }
+            account = filledAccount;
+        }
+
+        fillCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the position after a fill: the average entry price is that of the position if the fill reduced it, the
+     * fill price if the fill opened or reversed it, and the weighted average of both if the fill increased it.
+     *
+     * @param position  the position before the fill (null if none)
+     * @param symbol    the symbol
+     * @param qty       the signed quantity before the fill
+     * @param newQty    the signed quantity after the fill
+     * @param fillQty   the quantity of the fill
+     * @param fillPrice the price of the fill
+     *
+     * @return the filled position
+     */
+    private static Position getFilledPosition(Position position, String symbol, BigDecimal qty, BigDecimal newQty,
+            BigDecimal fillQty, BigDecimal fillPrice) {
+        BigDecimal avgEntryPrice;
+        if (position == null || position.getAvgEntryPrice() == null || qty.signum() != newQty.signum()) {
+            avgEntryPrice = fillPrice;
+        } else if (newQty.abs().compareTo(qty.abs()) < 0) {
+            avgEntryPrice = new BigDecimal(position.getAvgEntryPrice());
+        } else {
+            avgEntryPrice = qty.abs().multiply(new BigDecimal(position.getAvgEntryPrice()))
+                    .add(fillQty.multiply(fillPrice))
+                    .divide(newQty.abs(), MathContext.DECIMAL64).stripTrailingZeros();
+        }
+
+        Position filledPosition = new Position();
+        filledPosition.setSymbol(symbol);
+        if (position != null) {
+            filledPosition.setAssetId(position.getAssetId());
+            filledPosition.setExchange(position.getExchange());
+            filledPosition.setAssetClass(position.getAssetClass());
+            filledPosition.setLastdayPrice(position.getLastdayPrice());
+        }
+        filledPosition.setQty(newQty.abs().toPlainString());
+        filledPosition.setSide(newQty.signum() > 0 ? "long" : "short");
+        filledPosition.setAvgEntryPrice(avgEntryPrice.toPlainString());
+        filledPosition.setCostBasis(newQty.multiply(avgEntryPrice).toPlainString());
+        filledPosition.setCurrentPrice(fillPrice.toPlainString());
+        filledPosition.setMarketValue(newQty.multiply(fillPrice).toPlainString());
+        return filledPosition;
+    }
+
+    /**
+     * Tells the drift listeners about the differences between the mirror and the server (under the update lock).
+     *
+     * @param serverPositionsBySymbol the positions of the server by symbol
+     * @param serverAccount           the account of the server
+     */
+    private void findDrifts(Map<String, Position> serverPositionsBySymbol, Account serverAccount) {
+        Set<String> symbols = new HashSet<>(positionsBySymbol.keySet());
+        symbols.addAll(serverPositionsBySymbol.keySet());
+
+        for (String symbol : symbols) {
+            Position position = positionsBySymbol.get(symbol);
+            Position serverPosition = serverPositionsBySymbol.get(symbol);
+
+            if (position == null || serverPosition == null ||
+                    getSignedQty(position).compareTo(getSignedQty(serverPosition)) != 0) {
+                notifyDrift(symbol, "qty", position == null ? null : getSignedQty(position).toPlainString(),
+                        serverPosition == null ? null : getSignedQty(serverPosition).toPlainString());
+            }
+        }
+
+        if (account != null && account.getCash() != null && serverAccount.getCash() != null &&
+                new BigDecimal(account.getCash()).subtract(new BigDecimal(serverAccount.getCash())).abs()
+                        .compareTo(cashDriftTolerance) > 0) {
+            notifyDrift(null, "cash", account.getCash(), serverAccount.getCash());
+        }
+    }
+
+    /**
+     * Notifies the drift listeners of a drift.
+     *
+     * @param symbol        the symbol (null for the account)
+     * @param field         the field
+     * @param mirroredValue the mirrored value
+     * @param serverValue   the server value
+     */
+    private void notifyDrift(String symbol, String field, String mirroredValue, String serverValue) {
+        driftCount.incrementAndGet();
+
+        LOGGER.warn("Drift of " + (symbol == null ? "account" : symbol) + " " + field + ": mirrored " +
+                mirroredValue + ", server " + serverValue);
+
+        for (AccountStateDriftListener driftListener : driftListeners) {
+            try {
+                driftListener.onDrift(symbol, field, mirroredValue, serverValue);
+            } catch (Exception exception) {
+                LOGGER.throwing(exception);
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of an account with the non-null fields of an update replacing its own.
+     *
+     * @param account the account
+     * @param update  the update (null for a plain copy)
+     *
+     * @return the updated account
+     */
+    private static Account getUpdatedAccount(Account account, Account update) {
+        Account changes = update != null ? update : new Account();
+
+        return new Account(
+                getUpdatedValue(account.getId(), changes.getId()),
+                getUpdatedValue(account.getAccountNumber(), changes.getAccountNumber()),
+                getUpdatedValue(account.getStatus(), changes.getStatus()),
+                getUpdatedValue(account.getCurrency(), changes.getCurrency()),
+                getUpdatedValue(account.getCash(), changes.getCash()),
+                getUpdatedValue(account.getPortfolioValue(), changes.getPortfolioValue()),
+                getUpdatedValue(account.getPatternDayTrader(), changes.getPatternDayTrader()),
+                getUpdatedValue(account.getTradeSuspendedByUser(), changes.getTradeSuspendedByUser()),
+                getUpdatedValue(account.getTradingBlocked(), changes.getTradingBlocked()),
+                getUpdatedValue(account.getTransfersBlocked(), changes.getTransfersBlocked()),
+                getUpdatedValue(account.getAccountBlocked(), changes.getAccountBlocked()),
+                getUpdatedValue(account.getCreatedAt(), changes.getCreatedAt()),
+                getUpdatedValue(account.getShortingEnabled(), changes.getShortingEnabled()),
+                getUpdatedValue(account.getLongMarketValue(), changes.getLongMarketValue()),
+                getUpdatedValue(account.getShortMarketValue(), changes.getShortMarketValue()),
+                getUpdatedValue(account.getEquity(), changes.getEquity()),
+                getUpdatedValue(account.getLastEquity(), changes.getLastEquity()),
+                getUpdatedValue(account.getMultiplier(), changes.getMultiplier()),
+                getUpdatedValue(account.getBuyingPower(), changes.getBuyingPower()),
+                getUpdatedValue(account.getInitialMargin(), changes.getInitialMargin()),
+                getUpdatedValue(account.getMaintenanceMargin(), changes.getMaintenanceMargin()),
+                getUpdatedValue(account.getSma(), changes.getSma()),
+                getUpdatedValue(account.getDaytradeCount(), changes.getDaytradeCount()),
+                getUpdatedValue(account.getLastMaintenanceMargin(), changes.getLastMaintenanceMargin()),
+                getUpdatedValue(account.getDaytradingBuyingPower(), changes.getDaytradingBuyingPower()),
+                getUpdatedValue(account.getRegtBuyingPower(), changes.getRegtBuyingPower()));
+    }
+
+    /**
+     * Gets the updated value of a field.
+     *
+     * @param <T>          the field type
+     * @param value        the value
+     * @param updatedValue the updated value (null if not updated)
+     *
+     * @return the updated value if not null, the value otherwise
+     */
+    private static <T> T getUpdatedValue(T value, T updatedValue) {
+        return updatedValue != null ? updatedValue : value;
+    }
+
+    /**
+     * Gets the quantity of a position, negative if it is short.
+     *
+     * @param position the position
+     *
+     * @return the signed qty
+     */
+    private static BigDecimal getSignedQty(Position position) {
+        BigDecimal qty = position.getQty() == null ? BigDecimal.ZERO : new BigDecimal(position.getQty()).abs();
+        return "short".equals(position.getSide()) ? qty.negate() : qty;
+    }
+
+    /**
+     * Submits a reconciliation to the reconcile thread (if the mirror is started).
+     */
+    private synchronized void submitReconciliation() {
+        if (reconcileExecutorService != null) {
+            reconcileExecutorService.execute(this::reconcileQuietly);
+        }
+    }
+
+    /**
+     * Reconciles, logging the failures (the next reconciliation retries).
+     */
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (AlpacaAPIRequestException | RuntimeException e) {
+            LOGGER.throwing(e);
+        }
+    }
+}
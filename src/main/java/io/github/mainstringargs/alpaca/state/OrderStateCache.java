@@ -0,0 +1,459 @@
+package io.github.mainstringargs.alpaca.state;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketConnectionListener;
+import io.github.mainstringargs.alpaca.AlpacaAPI;
+import io.github.mainstringargs.alpaca.enums.OrderStatus;
+import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
+import io.github.mainstringargs.alpaca.websocket.listener.AlpacaTypedStreamListener;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.order.Order;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdate;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The Class OrderStateCache. A live local copy of the state of the orders of the account, so that strategies can look
+ * an order up by ID or client order ID in O(1) instead of polling {@link AlpacaAPI#getOrder(String, Boolean)}:
+ * <ul>
+ * <li>{@link #start()} seeds it once from the open orders ({@link AlpacaAPI#getOrdersStream(OrderStatus, Integer,
+ * ZonedDateTime, ZonedDateTime, io.github.mainstringargs.alpaca.enums.Direction, Boolean, int)}) and adds it as a
+ * listener of the {@code trade_updates} stream, whose order of every trade update (new, partial_fill, fill, canceled,
+ * replaced, ...) it then applies.</li>
+ * <li>A REST reconciliation runs periodically and whenever the stream reconnects, to fix the trade updates that were
+ * missed: the open orders are fetched again, and the cached orders that are open but no longer in them are fetched
+ * one by one.</li>
+ * </ul>
+ * An update is only applied if it isn't older (by {@code updated_at}) than the cached state, so the trade updates and
+ * the reconciliations can't roll an order back. The {@link OrderStateListener}s are told about every new order and
+ * every change of the status or filled quantity of an order. The terminal orders (filled, canceled, ...) are kept for
+ * a retention time, then evicted by the reconciliations.
+ */
+public class OrderStateCache implements AlpacaTypedStreamListener {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(OrderStateCache.class);
+
+    /** The event of the transitions found by a REST reconciliation. */
+    public static final String RECONCILED_EVENT = "reconciled";
+
+    /** The default interval of the reconciliations in milliseconds. */
+    public static final long DEFAULT_RECONCILE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** The default time the terminal orders are kept for in milliseconds. */
+    public static final long DEFAULT_TERMINAL_ORDER_RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /** The statuses of the orders that can't change anymore. */
+    public static final Set<String> TERMINAL_STATUSES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("filled", "canceled", "expired", "replaced", "rejected")));
+
+    /** The stream message types of the cache. */
+    private static final Set<AlpacaStreamMessageType> STREAM_MESSAGE_TYPES =
+            Collections.unmodifiableSet(EnumSet.of(AlpacaStreamMessageType.TRADE_UPDATES));
+
+    /** The number of pages of open orders that are requested ahead. */
+    private static final int OPEN_ORDERS_PREFETCH_DEPTH = 1;
+
+    /** The alpaca API. */
+    private final AlpacaAPI alpacaAPI;
+
+    /** The interval of the reconciliations in milliseconds. */
+    private final long reconcileIntervalMillis;
+
+    /** The time the terminal orders are kept for in milliseconds. */
+    private final long terminalOrderRetentionMillis;
+
+    /** The orders by ID. */
+    private final Map<String, Order> ordersById = new ConcurrentHashMap<>();
+
+    /** The orders by client order ID. */
+    private final Map<String, Order> ordersByClientOrderId = new ConcurrentHashMap<>();
+
+    /** The order state listeners. */
+    private final List<OrderStateListener> orderStateListeners = new CopyOnWriteArrayList<>();
+
+    /** The lock of the updates, so they are applied (and their transitions are notified) one at a time. */
+    private final Object updateLock = new Object();
+
+    /** The listener of the connection of the stream that reconciles after a reconnect. */
+    private final WebsocketConnectionListener connectionListener;
+
+    /** The executor service of the reconciliations (null unless started). */
+    private ScheduledExecutorService reconcileExecutorService;
+
+    /** Whether the cache was seeded. */
+    private volatile boolean seeded;
+
+    /** The number of trade updates applied. */
+    private final AtomicLong tradeUpdateCount = new AtomicLong();
+
+    /** The number of reconciliations. */
+    private final AtomicLong reconciliationCount = new AtomicLong();
+
+    /** The number of transitions found by the reconciliations (i.e. of missed trade updates). */
+    private final AtomicLong correctionCount = new AtomicLong();
+
+    /**
+     * Instantiates a new order state cache that reconciles every {@link #DEFAULT_RECONCILE_INTERVAL_MILLIS}.
+     *
+     * @param alpacaAPI the alpaca API
+     */
+    public OrderStateCache(AlpacaAPI alpacaAPI) {
+        this(alpacaAPI, DEFAULT_RECONCILE_INTERVAL_MILLIS, DEFAULT_TERMINAL_ORDER_RETENTION_MILLIS);
+    }
+
+    /**
+     * Instantiates a new order state cache.
+     *
+     * @param alpacaAPI                    the alpaca API
+     * @param reconcileIntervalMillis      the interval of the reconciliations in milliseconds
+     * @param terminalOrderRetentionMillis the time the terminal orders are kept for in milliseconds
+     */
+    public OrderStateCache(AlpacaAPI alpacaAPI, long reconcileIntervalMillis, long terminalOrderRetentionMillis) {
+        Preconditions.checkNotNull(alpacaAPI);
+        Preconditions.checkArgument(reconcileIntervalMillis > 0, "The reconcile interval must be positive");
+        Preconditions.checkArgument(terminalOrderRetentionMillis >= 0, "The retention must not be negative");
+
+        this.alpacaAPI = alpacaAPI;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        this.terminalOrderRetentionMillis = terminalOrderRetentionMillis;
+
+        this.connectionListener = websocketConnectionEvent -> {
+            if (websocketConnectionEvent.isReconnected()) {
+                LOGGER.info("Reconciling the orders after a " + websocketConnectionEvent.getGapMillis() +
+                        " ms gap in the trade updates");
+                submitReconciliation();
+            }
+        };
+    }
+
+    /**
+     * Starts the cache: listens to the trade updates, seeds the cache from the open orders and schedules the
+     * reconciliations.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception (the cache is stopped)
+     */
+    public synchronized void start() throws AlpacaAPIRequestException {
+        Preconditions.checkState(reconcileExecutorService == null, "The cache is already started");
+
+        reconcileExecutorService = ExecutorTracer.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, "OrderStateCacheReconcileThread");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Listen first, so no trade update is missed between the seed and the stream
+        alpacaAPI.addAlpacaStreamListener(this);
+        alpacaAPI.addAlpacaStreamConnectionListener(connectionListener);
+
+        try {
+            reconcile();
+        } catch (AlpacaAPIRequestException e) {
+            stop();
+            throw e;
+        }
+
+        reconcileExecutorService.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMillis,
+                reconcileIntervalMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("Seeded with " + ordersById.size() + " open orders");
+    }
+
+    /**
+     * Stops the cache: stops listening to the trade updates and reconciling. The cached orders are kept.
+     */
+    public synchronized void stop() {
+        if (reconcileExecutorService == null) {
+            return;
+        }
+
+        alpacaAPI.removeAlpacaStreamListener(this);
+        alpacaAPI.removeAlpacaStreamConnectionListener(connectionListener);
+
+        reconcileExecutorService.shutdownNow();
+        reconcileExecutorService = null;
+    }
+
+    /**
+     * Gets an order by ID.
+     *
+     * @param orderId the order ID
+     *
+     * @return the order (null if it isn't cached)
+     */
+    public Order getOrder(String orderId) {
+        return ordersById.get(orderId);
+    }
+
+    /**
+     * Gets an order by client order ID.
+     *
+     * @param clientOrderId the client order ID
+     *
+     * @return the order (null if it isn't cached)
+     */
+    public Order getOrderByClientOrderId(String clientOrderId) {
+        return ordersByClientOrderId.get(clientOrderId);
+    }
+
+    /**
+     * Gets the cached orders that aren't terminal.
+     *
+     * @return the open orders
+     */
+    public List<Order> getOpenOrders() {
+        return ordersById.values().stream().filter(order -> !isTerminal(order)).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets all of the cached orders, including the terminal ones that are retained.
+     *
+     * @return the orders
+     */
+    public List<Order> getOrders() {
+        return new ArrayList<>(ordersById.values());
+    }
+
+    /**
+     * Gets the number of cached orders.
+     *
+     * @return the size
+     */
+    public int size() {
+        return ordersById.size();
+    }
+
+    /**
+     * Adds an order state listener.
+     *
+     * @param orderStateListener the order state listener
+     */
+    public void addOrderStateListener(OrderStateListener orderStateListener) {
+        Preconditions.checkNotNull(orderStateListener);
+
+        orderStateListeners.add(orderStateListener);
+    }
+
+    /**
+     * Removes an order state listener.
+     *
+     * @param orderStateListener the order state listener
+     */
+    public void removeOrderStateListener(OrderStateListener orderStateListener) {
+        orderStateListeners.remove(orderStateListener);
+    }
+
+    @Override
+    public Set<AlpacaStreamMessageType> getStreamMessageTypes() {
+        return STREAM_MESSAGE_TYPES;
+    }
+
+    @Override
+    public void onTradeUpdate(TradeUpdateMessage tradeUpdateMessage) {
+        TradeUpdate tradeUpdate = tradeUpdateMessage.getData();
+        if (tradeUpdate == null || tradeUpdate.getOrder() == null) {
+            return;
+        }
+
+        tradeUpdateCount.incrementAndGet();
+
+        apply(tradeUpdate.getEvent(), tradeUpdate.getOrder());
+    }
+
+    /**
+     * Reconciles the cache with the REST API (on the calling thread): applies the open orders, and the current state of
+     * the cached open orders that aren't open anymore, then evicts the terminal orders past their retention.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    public void reconcile() throws AlpacaAPIRequestException {
+        Set<String> openOrderIds = new HashSet<>();
+
+        try (Stream<Order> openOrders = alpacaAPI.getOrdersStream(OrderStatus.OPEN, null, null, null, null, false,
+                OPEN_ORDERS_PREFETCH_DEPTH)) {
+            openOrders.forEach(openOrder -> {
+                openOrderIds.add(openOrder.getId());
+                apply(RECONCILED_EVENT, openOrder);
+            });
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof AlpacaAPIRequestException) {
+                throw (AlpacaAPIRequestException) e.getCause();
+            }
+            throw e;
+        }
+
+        // The cached open orders that aren't open anymore closed during a gap in the trade updates
+        for (Order cachedOrder : getOpenOrders()) {
+            if (!openOrderIds.contains(cachedOrder.getId())) {
+                apply(RECONCILED_EVENT, alpacaAPI.getOrder(cachedOrder.getId(), false));
+            }
+        }
+
+        evictTerminalOrders();
+
+        seeded = true;
+        reconciliationCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of trade updates applied.
+     *
+     * @return the trade update count
+     */
+    public long getTradeUpdateCount() {
+        return tradeUpdateCount.get();
+    }
+
+    /**
+     * Gets the number of reconciliations.
+     *
+     * @return the reconciliation count
+     */
+    public long getReconciliationCount() {
+        return reconciliationCount.get();
+    }
+
+    /**
+     * Gets the number of transitions found by the reconciliations after the seed, i.e. of missed trade updates.
+     *
+     * @return the correction count
+     */
+    public long getCorrectionCount() {
+        return correctionCount.get();
+    }
+
+    /**
+     * Gets the interval of the reconciliations.
+     *
+     * @return the reconcile interval in milliseconds
+     */
+    public long getReconcileIntervalMillis() {
+        return reconcileIntervalMillis;
+    }
+
+    /**
+     * Gets the time the terminal orders are kept for.
+     *
+     * @return the terminal order retention in milliseconds
+     */
+    public long getTerminalOrderRetentionMillis() {
+        return terminalOrderRetentionMillis;
+    }
+
+    /**
+     * Is an order terminal, i.e. its status can't change anymore.
+     *
+     * @param order the order
+     *
+     * @return the boolean
+     */
+    public static boolean isTerminal(Order order) {
+        return order.getStatus() != null && TERMINAL_STATUSES.contains(order.getStatus());
+    }
+
+    /**
+     * Applies the state of an order, unless it is older than the cached one, and notifies the transition.
+     *
+     * @param event the event
+     * @param order the order
+     */
+    private void apply(String event, Order order) {
+        if (order == null || order.getId() == null) {
+            return;
+        }
+
+        synchronized (updateLock) {
+            Order previousOrder = ordersById.get(order.getId());
+
+            if (previousOrder != null && previousOrder.getUpdatedAt() != null && order.getUpdatedAt() != null &&
+                    order.getUpdatedAt().isBefore(previousOrder.getUpdatedAt())) {
+                return;
+            }
+
+            ordersById.put(order.getId(), order);
+            if (order.getClientOrderId() != null) {
+                ordersByClientOrderId.put(order.getClientOrderId(), order);
+            }
+
+            if (previousOrder != null && Objects.equals(previousOrder.getStatus(), order.getStatus()) &&
+                    Objects.equals(previousOrder.getFilledQty(), order.getFilledQty())) {
+                return;
+            }
+
+            if (seeded && RECONCILED_EVENT.equals(event)) {
+                correctionCount.incrementAndGet();
+
+                LOGGER.warn("Reconciled order " + order.getId() + " from " +
+                        (previousOrder == null ? "unknown" : previousOrder.getStatus()) + " to " + order.getStatus());
+            }
+
+            for (OrderStateListener orderStateListener : orderStateListeners) {
+                try {
+                    orderStateListener.onOrderStateChange(event, previousOrder, order);
+                } catch (Exception exception) {
+                    LOGGER.throwing(exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts the terminal orders that were last updated before the retention time.
+     */
+    private void evictTerminalOrders() {
+        ZonedDateTime retentionStart = ZonedDateTime.now().minusNanos(
+                TimeUnit.MILLISECONDS.toNanos(terminalOrderRetentionMillis));
+
+        synchronized (updateLock) {
+            ordersById.values().removeIf(order -> {
+                boolean evicted = isTerminal(order) && order.getUpdatedAt() != null &&
+                        order.getUpdatedAt().isBefore(retentionStart);
+                if (evicted && order.getClientOrderId() != null) {
+                    ordersByClientOrderId.remove(order.getClientOrderId(), order);
+                }
+                return evicted;
+            });
+        }
+    }
+
+    /**
+     * Submits a reconciliation to the reconcile thread (if the cache is started).
+     */
+    private synchronized void submitReconciliation() {
+        if (reconcileExecutorService != null) {
+            reconcileExecutorService.execute(this::reconcileQuietly);
+        }
+    }
+
+    /**
+     * Reconciles, logging the failures (the next reconciliation retries).
+     */
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (AlpacaAPIRequestException | RuntimeException e) {
+            LOGGER.throwing(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.mainstringargs.alpaca.state;
+
+import io.github.mainstringargs.domain.alpaca.order.Order;
+
+/**
+ * The listener interface for receiving the state transitions of the orders of an {@link OrderStateCache}.
+ */
+@FunctionalInterface
+public interface OrderStateListener {
+
+    /**
+     * On order state change, i.e. a new order, or a change of the status or the filled quantity of an order. Called
+     * one at a time, in the order the transitions are applied, on the thread that applies them (the websocket thread
+     * for trade updates, the reconcile thread for reconciliations), so it should return quickly.
+     *
+     * @param event         the event of the trade update (e.g. "fill"), or {@link OrderStateCache#RECONCILED_EVENT}
+     *                      if the transition was found by a REST reconciliation
+     * @param previousOrder the previous state of the order (null if the order is new to the cache)
+     * @param order         the new state of the order
+     */
+    void onOrderStateChange(String event, Order previousOrder, Order order);
+}
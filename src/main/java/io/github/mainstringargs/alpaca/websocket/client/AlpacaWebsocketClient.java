@@ -2,39 +2,53 @@ package io.github.mainstringargs.alpaca.websocket.client;
 
 import com.google.common.base.Preconditions;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import io.github.mainstringargs.abstracts.websocket.client.ReconnectableWebsocket;
 import io.github.mainstringargs.abstracts.websocket.client.WebsocketClient;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnector;
+import io.github.mainstringargs.abstracts.websocket.journal.WebsocketFrameJournal;
 import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
 import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageDecoder;
 import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+import io.github.mainstringargs.alpaca.properties.AlpacaProperties;
 import io.github.mainstringargs.alpaca.websocket.listener.AlpacaStreamListener;
+import io.github.mainstringargs.alpaca.websocket.listener.AlpacaTypedStreamListener;
 import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
 import io.github.mainstringargs.domain.alpaca.websocket.AlpacaStreamMessage;
 import io.github.mainstringargs.domain.alpaca.websocket.account.AccountUpdateMessage;
 import io.github.mainstringargs.domain.alpaca.websocket.authorization.AuthorizationMessage;
 import io.github.mainstringargs.domain.alpaca.websocket.listening.ListeningMessage;
 import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
-import io.github.mainstringargs.util.gson.GsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.websocket.CloseReason;
 import javax.websocket.DeploymentException;
+import javax.websocket.Session;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
  * The type Alpaca websocket client.
  */
-public class AlpacaWebsocketClient implements WebsocketClient {
+public class AlpacaWebsocketClient implements WebsocketClient, Closeable {
 
     /** The logger. */
     private static final Logger LOGGER = LogManager.getLogger(AlpacaWebsocketClient.class);
@@ -42,6 +56,15 @@ public class AlpacaWebsocketClient implements WebsocketClient {
     /** The constant STREAM_KEY. */
     private static final String STREAM_KEY = "stream";
 
+    /** The decoder of the stream messages. */
+    private static final StreamMessageDecoder<AlpacaStreamMessageType, AlpacaStreamMessage> STREAM_MESSAGE_DECODER =
+            new StreamMessageDecoder<AlpacaStreamMessageType, AlpacaStreamMessage>(STREAM_KEY,
+                    AlpacaStreamMessageType.class, AlpacaStreamMessage::setStream)
+                    .registerMessageClass(AlpacaStreamMessageType.LISTENING, ListeningMessage.class)
+                    .registerMessageClass(AlpacaStreamMessageType.AUTHORIZATION, AuthorizationMessage.class)
+                    .registerMessageClass(AlpacaStreamMessageType.TRADE_UPDATES, TradeUpdateMessage.class)
+                    .registerMessageClass(AlpacaStreamMessageType.ACCOUNT_UPDATES, AccountUpdateMessage.class);
+
     /** The key id. */
     private String keyId;
 
@@ -51,14 +74,43 @@ public class AlpacaWebsocketClient implements WebsocketClient {
     /** The Base api url. */
     private String baseAPIURL;
 
-    /** The observers. */
-    private List<AlpacaStreamListener> listeners;
+    /** The observers (copy-on-write, so dispatch and subscription updates iterate a snapshot). */
+    private final List<AlpacaStreamListener> listeners;
+
+    /**
+     * The lock of the listener registry writers. Adding or removing a listener and computing the subscription update
+     * happen under it, one writer at a time. Dispatch never takes it.
+     */
+    private final Object listenersLock = new Object();
+
+    /** The callbacks of the typed listeners, bound when they are added, indexed by message type ordinal. */
+    private final Map<AlpacaStreamListener, StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[]>
+            listenerCallbacks = new ConcurrentHashMap<>();
+
+    /**
+     * What the messages of each type are delivered to (the listeners or their bound callbacks), indexed by message type
+     * ordinal. Replaced as a whole whenever the listeners change.
+     */
+    private volatile StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[][] targetsByMessageType =
+            buildTargetsByMessageType(new ArrayList<>(), new HashMap<>());
 
     /** The client end point. */
-    private AlpacaWebsocketClientEndpoint alpacaWebsocketClientEndpoint;
+    private volatile AlpacaWebsocketClientEndpoint alpacaWebsocketClientEndpoint;
 
     /** The Authenticated. */
-    private boolean authenticated;
+    private volatile boolean authenticated;
+
+    /** The reconnector of the connection when it is lost. */
+    private final WebsocketReconnector websocketReconnector;
+
+    /** The journal the received frames are recorded in (null if they aren't recorded). */
+    private volatile WebsocketFrameJournal frameJournal;
+
+    /** Whether the default frame journal is created on connecting, i.e. no journal was set and none was created. */
+    private boolean defaultFrameJournalPending = true;
+
+    /** The default frame journal created by this client, which it closes (null if none was created). */
+    private WebsocketFrameJournal defaultFrameJournal;
 
     /**
      * Instantiates a new Alpaca websocket client.
@@ -72,32 +124,55 @@ public class AlpacaWebsocketClient implements WebsocketClient {
         this.secret = secret;
         this.baseAPIURL = baseAPIURL.replace("https", "wss") + "/stream";
 
-        this.listeners = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+
+        this.websocketReconnector = new WebsocketReconnector("AlpacaWebsocket",
+                createDefaultWebsocketReconnectConfig(), createReconnectableWebsocket());
+
     }
 
     @Override
     public void addListener(StreamListener streamListener) {
         Preconditions.checkState(streamListener instanceof AlpacaStreamListener);
 
-        if (listeners.isEmpty()) {
-            connect();
-        }
+        synchronized (listenersLock) {
+            if (listeners.contains(streamListener)) {
+                LOGGER.warn("The listener was already added: " + streamListener);
+                return;
+            }
 
-        listeners.add((AlpacaStreamListener) streamListener);
+            if (listeners.isEmpty()) {
+                connect();
+            }
 
-        submitStreamRequestUpdate();
+            listeners.add((AlpacaStreamListener) streamListener);
+            if (streamListener instanceof AlpacaTypedStreamListener) {
+                listenerCallbacks.put((AlpacaStreamListener) streamListener,
+                        AlpacaTypedStreamListener.bindCallbacks((AlpacaTypedStreamListener) streamListener));
+            }
+            targetsByMessageType = buildTargetsByMessageType(listeners, listenerCallbacks);
+
+            submitStreamRequestUpdate();
+        }
     }
 
     @Override
     public void removeListener(StreamListener streamListener) {
         Preconditions.checkState(streamListener instanceof AlpacaStreamListener);
 
-        listeners.remove(streamListener);
+        synchronized (listenersLock) {
+            if (!listeners.remove(streamListener)) {
+                LOGGER.warn("The listener was not added: " + streamListener);
+                return;
+            }
+            listenerCallbacks.remove(streamListener);
+            targetsByMessageType = buildTargetsByMessageType(listeners, listenerCallbacks);
 
-        submitStreamRequestUpdate();
+            submitStreamRequestUpdate();
 
-        if (listeners.isEmpty()) {
-            disconnect();
+            if (listeners.isEmpty()) {
+                disconnect();
+            }
         }
     }
 
@@ -105,12 +180,23 @@ public class AlpacaWebsocketClient implements WebsocketClient {
     public void connect() {
         LOGGER.info("Connecting...");
 
+        createDefaultFrameJournalIfPending();
+
+        // The message thread of the previous endpoint stops once it has handled its frames
+        if (alpacaWebsocketClientEndpoint != null) {
+            alpacaWebsocketClientEndpoint.shutdown();
+        }
+
         try {
             alpacaWebsocketClientEndpoint = new AlpacaWebsocketClientEndpoint(this, new URI(baseAPIURL));
+            alpacaWebsocketClientEndpoint.setFrameJournal(frameJournal, 0);
+            // Before connecting, so that the authentication (which may arrive before connect() returns) is expected
+            websocketReconnector.onConnected();
             alpacaWebsocketClientEndpoint.connect();
 
             LOGGER.info("Connected.");
         } catch (URISyntaxException | DeploymentException | IOException e) {
+            websocketReconnector.onDisconnected();
             LOGGER.throwing(e);
         }
     }
@@ -119,8 +205,10 @@ public class AlpacaWebsocketClient implements WebsocketClient {
     public void disconnect() {
         LOGGER.info("Disconnecting...");
 
+        websocketReconnector.onDisconnected();
+
         try {
-            alpacaWebsocketClientEndpoint.getUserSession().close();
+            alpacaWebsocketClientEndpoint.disconnect();
 
             LOGGER.info("Disconnected.");
         } catch (IOException e) {
@@ -128,6 +216,32 @@ public class AlpacaWebsocketClient implements WebsocketClient {
         }
     }
 
+    /**
+     * Closes this client: removes all of the listeners (disconnecting if they were connected), shuts down the reconnect
+     * thread and the message thread of the endpoint and closes the default frame journal if it was created. The client
+     * can't be used once it's closed.
+     */
+    @Override
+    public void close() {
+        synchronized (listenersLock) {
+            if (!listeners.isEmpty()) {
+                listeners.clear();
+                listenerCallbacks.clear();
+                targetsByMessageType = buildTargetsByMessageType(listeners, listenerCallbacks);
+                disconnect();
+            }
+        }
+
+        websocketReconnector.shutdown();
+
+        AlpacaWebsocketClientEndpoint alpacaWebsocketClientEndpoint = this.alpacaWebsocketClientEndpoint;
+        if (alpacaWebsocketClientEndpoint != null) {
+            alpacaWebsocketClientEndpoint.shutdown();
+        }
+
+        closeDefaultFrameJournal();
+    }
+
     @Override
     public void sendAuthenticationMessage() {
         /* Format of message is:
@@ -152,53 +266,54 @@ public class AlpacaWebsocketClient implements WebsocketClient {
         alpacaWebsocketClientEndpoint.sendMessage(authRequest.toString());
     }
 
+    @Override
+    public void handleConnectionLost(CloseReason closeReason) {
+        authenticated = false;
+
+        websocketReconnector.onConnectionLost(closeReason.getCloseCode() + " " + closeReason.getReasonPhrase());
+    }
+
     @Override
     public void handleWebsocketMessage(String message) {
-        JsonElement messageJsonElement = GsonUtil.JSON_PARSER.parse(message);
-
-        Preconditions.checkState(messageJsonElement instanceof JsonObject);
-
-        JsonObject messageJsonObject = messageJsonElement.getAsJsonObject();
-        JsonElement streamJsonElement = messageJsonObject.get(STREAM_KEY);
-
-        if (streamJsonElement instanceof JsonPrimitive) {
-            try {
-                AlpacaStreamMessageType alpacaStreamMessageType = GsonUtil.GSON.fromJson(streamJsonElement,
-                        AlpacaStreamMessageType.class);
-
-                switch (alpacaStreamMessageType) {
-                    case LISTENING:
-                        ListeningMessage listeningMessage = GsonUtil.GSON.fromJson(messageJsonObject,
-                                ListeningMessage.class);
-                        sendStreamMessageToListeners(alpacaStreamMessageType, listeningMessage);
-
-                        LOGGER.debug(listeningMessage);
-                        break;
-                    case AUTHORIZATION:
-                        AuthorizationMessage authorizationMessage = GsonUtil.GSON.fromJson(messageJsonObject,
-                                AuthorizationMessage.class);
-                        sendStreamMessageToListeners(alpacaStreamMessageType, authorizationMessage);
-
-                        authenticated = isAuthorizationMessageSuccess(authorizationMessage);
-
-                        LOGGER.debug(authorizationMessage);
-                        break;
-                    case TRADE_UPDATES:
-                        sendStreamMessageToListeners(alpacaStreamMessageType, GsonUtil.GSON.fromJson(messageJsonObject,
-                                TradeUpdateMessage.class));
-                        break;
-                    case ACCOUNT_UPDATES:
-                        sendStreamMessageToListeners(alpacaStreamMessageType, GsonUtil.GSON.fromJson(messageJsonObject,
-                                AccountUpdateMessage.class));
-                        break;
-                    default:
-                        LOGGER.error("Unhandled stream type: " + alpacaStreamMessageType);
-                }
-            } catch (JsonSyntaxException e) {
-                LOGGER.throwing(e);
+        JsonReader jsonReader = new JsonReader(new StringReader(message));
+        jsonReader.setLenient(true);
+
+        try {
+            AlpacaStreamMessage alpacaStreamMessage = STREAM_MESSAGE_DECODER.decode(jsonReader);
+
+            if (alpacaStreamMessage == null) { // Logged by the decoder
+                return;
+            }
+
+            AlpacaStreamMessageType alpacaStreamMessageType = alpacaStreamMessage.getStream();
+
+            switch (alpacaStreamMessageType) {
+                case LISTENING:
+                    ListeningMessage listeningMessage = (ListeningMessage) alpacaStreamMessage;
+                    sendStreamMessageToListeners(alpacaStreamMessageType, listeningMessage);
+
+                    LOGGER.debug(listeningMessage);
+                    break;
+                case AUTHORIZATION:
+                    AuthorizationMessage authorizationMessage = (AuthorizationMessage) alpacaStreamMessage;
+                    sendStreamMessageToListeners(alpacaStreamMessageType, authorizationMessage);
+
+                    authenticated = isAuthorizationMessageSuccess(authorizationMessage);
+                    if (authenticated) {
+                        websocketReconnector.onAuthenticated();
+                    }
+
+                    LOGGER.debug(authorizationMessage);
+                    break;
+                case TRADE_UPDATES:
+                case ACCOUNT_UPDATES:
+                    sendStreamMessageToListeners(alpacaStreamMessageType, alpacaStreamMessage);
+                    break;
+                default:
+                    LOGGER.error("Unhandled stream type: " + alpacaStreamMessageType);
             }
-        } else {
-            LOGGER.error("Unknown stream message: " + messageJsonObject);
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            LOGGER.throwing(e);
         }
     }
 
@@ -210,12 +325,9 @@ public class AlpacaWebsocketClient implements WebsocketClient {
         AlpacaStreamMessageType alpacaStreamMessageType = (AlpacaStreamMessageType) streamMessageType;
         AlpacaStreamMessage alpacaStreamMessage = (AlpacaStreamMessage) streamMessage;
 
-        for (AlpacaStreamListener alpacaStreamListener : listeners) {
-            if (alpacaStreamListener.getStreamMessageTypes() == null ||
-                    alpacaStreamListener.getStreamMessageTypes().isEmpty() ||
-                    alpacaStreamListener.getStreamMessageTypes().contains(alpacaStreamMessageType)) {
-                alpacaStreamListener.onStreamUpdate(alpacaStreamMessageType, alpacaStreamMessage);
-            }
+        for (StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage> target :
+                targetsByMessageType[alpacaStreamMessageType.ordinal()]) {
+            target.onStreamUpdate(alpacaStreamMessageType, alpacaStreamMessage);
         }
     }
 
@@ -229,6 +341,199 @@ public class AlpacaWebsocketClient implements WebsocketClient {
         return authenticated;
     }
 
+    /**
+     * Gets the websocket reconnector, e.g. to add connection listeners or to read the connection state.
+     *
+     * @return the websocket reconnector
+     */
+    public WebsocketReconnector getWebsocketReconnector() {
+        return websocketReconnector;
+    }
+
+    /**
+     * Gets the journal the received frames are recorded in.
+     *
+     * @return the frame journal (null if they aren't recorded, or until the default one is created on connecting)
+     */
+    public WebsocketFrameJournal getFrameJournal() {
+        return frameJournal;
+    }
+
+    /**
+     * Sets the journal the received frames are recorded in (with 0 as source ID).
+     *
+     * @param frameJournal the frame journal (null to stop recording)
+     */
+    public synchronized void setFrameJournal(WebsocketFrameJournal frameJournal) {
+        this.frameJournal = frameJournal;
+        defaultFrameJournalPending = false;
+
+        AlpacaWebsocketClientEndpoint alpacaWebsocketClientEndpoint = this.alpacaWebsocketClientEndpoint;
+        if (alpacaWebsocketClientEndpoint != null) {
+            alpacaWebsocketClientEndpoint.setFrameJournal(frameJournal, 0);
+        }
+    }
+
+    /**
+     * Creates the default websocket reconnect config, i.e. the one configured in the alpaca properties.
+     *
+     * @return the websocket reconnect config
+     */
+    public static WebsocketReconnectConfig createDefaultWebsocketReconnectConfig() {
+        WebsocketReconnectConfig websocketReconnectConfig = new WebsocketReconnectConfig();
+
+        if (AlpacaProperties.WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE != null) {
+            websocketReconnectConfig.setMaxAttempts(
+                    Integer.parseInt(AlpacaProperties.WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE.trim()));
+        }
+
+        if (AlpacaProperties.WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE != null) {
+            websocketReconnectConfig.setInitialBackoffMillis(
+                    Long.parseLong(AlpacaProperties.WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE.trim()));
+        }
+
+        if (AlpacaProperties.WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE != null) {
+            websocketReconnectConfig.setMaxBackoffMillis(
+                    Long.parseLong(AlpacaProperties.WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE.trim()));
+        }
+
+        return websocketReconnectConfig;
+    }
+
+    /**
+     * Creates the default frame journal if it's pending, so that a client that never connects (e.g. of an API only
+     * used for REST requests) doesn't hold the lock of the journal prefix.
+     */
+    private synchronized void createDefaultFrameJournalIfPending() {
+        if (!defaultFrameJournalPending) {
+            return;
+        }
+        defaultFrameJournalPending = false;
+
+        defaultFrameJournal = createDefaultFrameJournal();
+        if (defaultFrameJournal != null) {
+            frameJournal = defaultFrameJournal;
+        }
+    }
+
+    /**
+     * Closes the default frame journal if this client created it, releasing the lock of its prefix.
+     */
+    private synchronized void closeDefaultFrameJournal() {
+        defaultFrameJournalPending = false;
+
+        if (defaultFrameJournal == null) {
+            return;
+        }
+
+        if (frameJournal == defaultFrameJournal) {
+            frameJournal = null;
+        }
+        defaultFrameJournal.close();
+        defaultFrameJournal = null;
+    }
+
+    /**
+     * Creates the default frame journal, i.e. the one configured in the alpaca properties.
+     *
+     * @return the frame journal (null if the frames aren't recorded)
+     */
+    private static WebsocketFrameJournal createDefaultFrameJournal() {
+        if (AlpacaProperties.WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE == null) {
+            return null;
+        }
+
+        int segmentSize = WebsocketFrameJournal.DEFAULT_SEGMENT_SIZE;
+        if (AlpacaProperties.WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE != null) {
+            segmentSize = Integer.parseInt(AlpacaProperties.WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE.trim());
+        }
+
+        try {
+            return new WebsocketFrameJournal(Paths.get(AlpacaProperties.WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE.trim()),
+                    "alpaca", segmentSize);
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the reconnectable websocket the websocket reconnector operates on.
+     *
+     * @return the reconnectable websocket
+     */
+    private ReconnectableWebsocket createReconnectableWebsocket() {
+        return new ReconnectableWebsocket() {
+            @Override
+            public void openConnection() throws Exception {
+                alpacaWebsocketClientEndpoint.connect();
+            }
+
+            @Override
+            public void closeConnection() {
+                Session userSession = alpacaWebsocketClientEndpoint.getUserSession();
+                if (userSession == null) {
+                    return;
+                }
+
+                try {
+                    userSession.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "Authentication timed out"));
+                } catch (IOException e) {
+                    LOGGER.throwing(e);
+                }
+            }
+
+            @Override
+            public void resubscribe() {
+                synchronized (listenersLock) {
+                    if (!listeners.isEmpty()) {
+                        submitStreamRequestUpdate();
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Builds what the messages of each type are delivered to: the listeners whose stream message types contain the type
+     * (or that have none), in order, or their bound callback of the type.
+     *
+     * @param listeners         the listeners
+     * @param listenerCallbacks the bound callbacks of the typed listeners
+     *
+     * @return the targets indexed by message type ordinal
+     */
+    @SuppressWarnings("unchecked")
+    private static StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[][] buildTargetsByMessageType(
+            List<AlpacaStreamListener> listeners,
+            Map<AlpacaStreamListener, StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[]>
+                    listenerCallbacks) {
+        AlpacaStreamMessageType[] alpacaStreamMessageTypes = AlpacaStreamMessageType.values();
+        StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[][] targetsByMessageType =
+                (StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[][])
+                        new StreamListener<?, ?>[alpacaStreamMessageTypes.length][];
+
+        for (AlpacaStreamMessageType alpacaStreamMessageType : alpacaStreamMessageTypes) {
+            List<StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>> targets = new ArrayList<>();
+
+            for (AlpacaStreamListener alpacaStreamListener : listeners) {
+                Set<AlpacaStreamMessageType> streamMessageTypes = alpacaStreamListener.getStreamMessageTypes();
+                if (streamMessageTypes == null || streamMessageTypes.isEmpty() ||
+                        streamMessageTypes.contains(alpacaStreamMessageType)) {
+                    StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[] callbacks =
+                            listenerCallbacks.get(alpacaStreamListener);
+                    targets.add(callbacks != null ? callbacks[alpacaStreamMessageType.ordinal()] :
+                            alpacaStreamListener);
+                }
+            }
+
+            targetsByMessageType[alpacaStreamMessageType.ordinal()] = targets.toArray(
+                    (StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[]) new StreamListener<?, ?>[0]);
+        }
+
+        return targetsByMessageType;
+    }
+
     /**
      * Is authorization message success boolean.
      *
@@ -0,0 +1,105 @@
+package io.github.mainstringargs.alpaca.websocket.listener;
+
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.websocket.AlpacaStreamMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.account.AccountUpdateMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.authorization.AuthorizationMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.listening.ListeningMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+
+/**
+ * An update interface for receiving Alpaca stream messages with a typed callback per message type, instead of
+ * switching on the message type and casting the message in {@link #onStreamUpdate(AlpacaStreamMessageType,
+ * AlpacaStreamMessage)}. Implement the callbacks of the stream message types; the others do nothing.
+ * <p>
+ * The {@link io.github.mainstringargs.alpaca.websocket.client.AlpacaWebsocketClient} binds the callbacks of the
+ * listener once when it is added (see {@link #bindCallbacks(AlpacaTypedStreamListener)}), so delivering a message
+ * calls the callback of its type directly, without going through {@link #onStreamUpdate(AlpacaStreamMessageType,
+ * AlpacaStreamMessage)} (which shouldn't be overridden).
+ */
+public interface AlpacaTypedStreamListener extends AlpacaStreamListener {
+
+    /**
+     * On trade update.
+     *
+     * @param tradeUpdateMessage the trade update message
+     */
+    default void onTradeUpdate(TradeUpdateMessage tradeUpdateMessage) {
+    }
+
+    /**
+     * On account update.
+     *
+     * @param accountUpdateMessage the account update message
+     */
+    default void onAccountUpdate(AccountUpdateMessage accountUpdateMessage) {
+    }
+
+    /**
+     * On authorization.
+     *
+     * @param authorizationMessage the authorization message
+     */
+    default void onAuthorization(AuthorizationMessage authorizationMessage) {
+    }
+
+    /**
+     * On listening.
+     *
+     * @param listeningMessage the listening message
+     */
+    default void onListening(ListeningMessage listeningMessage) {
+    }
+
+    /**
+     * Calls the callback of the message type.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    @Override
+    default void onStreamUpdate(AlpacaStreamMessageType streamMessageType, AlpacaStreamMessage streamMessage) {
+        switch (streamMessageType) {
+            case TRADE_UPDATES:
+                onTradeUpdate((TradeUpdateMessage) streamMessage);
+                break;
+            case ACCOUNT_UPDATES:
+                onAccountUpdate((AccountUpdateMessage) streamMessage);
+                break;
+            case AUTHORIZATION:
+                onAuthorization((AuthorizationMessage) streamMessage);
+                break;
+            case LISTENING:
+                onListening((ListeningMessage) streamMessage);
+                break;
+        }
+    }
+
+    /**
+     * Binds the callbacks of a listener: gets a stream listener per message type that calls the callback of that type
+     * of the listener.
+     *
+     * @param listener the listener
+     *
+     * @return the bound callbacks indexed by message type ordinal
+     */
+    @SuppressWarnings("unchecked")
+    static StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[] bindCallbacks(
+            AlpacaTypedStreamListener listener) {
+        StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[] callbacks =
+                (StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[])
+                        new StreamListener<?, ?>[AlpacaStreamMessageType.values().length];
+
+        callbacks[AlpacaStreamMessageType.TRADE_UPDATES.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onTradeUpdate((TradeUpdateMessage) streamMessage);
+        callbacks[AlpacaStreamMessageType.ACCOUNT_UPDATES.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onAccountUpdate((AccountUpdateMessage) streamMessage);
+        callbacks[AlpacaStreamMessageType.AUTHORIZATION.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onAuthorization((AuthorizationMessage) streamMessage);
+        callbacks[AlpacaStreamMessageType.LISTENING.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onListening((ListeningMessage) streamMessage);
+
+        return callbacks;
+    }
+}
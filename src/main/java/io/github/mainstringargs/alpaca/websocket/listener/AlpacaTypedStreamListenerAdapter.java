@@ -0,0 +1,33 @@
+package io.github.mainstringargs.alpaca.websocket.listener;
+
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.websocket.AlpacaStreamMessage;
+
+/**
+ * The Class AlpacaTypedStreamListenerAdapter. An {@link AlpacaStreamListenerAdapter} whose stream messages are
+ * delivered to the typed callbacks of {@link AlpacaTypedStreamListener}, e.g.:
+ * <pre>{@code
+ * alpacaAPI.addAlpacaStreamListener(new AlpacaTypedStreamListenerAdapter(AlpacaStreamMessageType.TRADE_UPDATES) {
+ *     public void onTradeUpdate(TradeUpdateMessage tradeUpdateMessage) {
+ *         ...
+ *     }
+ * });
+ * }</pre>
+ */
+public class AlpacaTypedStreamListenerAdapter extends AlpacaStreamListenerAdapter
+        implements AlpacaTypedStreamListener {
+
+    /**
+     * Instantiates a new Alpaca typed stream listener adapter.
+     *
+     * @param streamUpdateTypes the stream update types
+     */
+    public AlpacaTypedStreamListenerAdapter(AlpacaStreamMessageType... streamUpdateTypes) {
+        super(streamUpdateTypes);
+    }
+
+    @Override
+    public void onStreamUpdate(AlpacaStreamMessageType streamMessageType, AlpacaStreamMessage streamMessage) {
+        AlpacaTypedStreamListener.super.onStreamUpdate(streamMessageType, streamMessage);
+    }
+}
@@ -2,13 +2,28 @@ package io.github.mainstringargs.polygon;
 
 import com.google.common.base.Preconditions;
 import com.google.gson.reflect.TypeToken;
-import com.mashape.unirest.http.HttpResponse;
+import io.github.mainstringargs.abstracts.rest.pagination.Page;
+import io.github.mainstringargs.abstracts.rest.pagination.PageFetcher;
+import io.github.mainstringargs.abstracts.rest.pagination.PrefetchingPageIterator;
+import io.github.mainstringargs.abstracts.rest.pagination.TimestampCursor;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RateLimiter;
+import io.github.mainstringargs.abstracts.rest.transport.ApacheHttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransportConfig;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketConnectionListener;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerDispatchQueue;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerOverflowPolicy;
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
+import io.github.mainstringargs.abstracts.websocket.publisher.StreamPublisher;
+import io.github.mainstringargs.domain.polygon.aggregates.Aggregate;
 import io.github.mainstringargs.domain.polygon.aggregates.AggregatesResponse;
 import io.github.mainstringargs.domain.polygon.conditionsmapping.ConditionsMapping;
 import io.github.mainstringargs.domain.polygon.dailyopenclose.DailyOpenCloseResponse;
 import io.github.mainstringargs.domain.polygon.exchanges.Exchange;
 import io.github.mainstringargs.domain.polygon.groupeddaily.GroupedDailyResponse;
+import io.github.mainstringargs.domain.polygon.historicquotes.HistoricQuote;
 import io.github.mainstringargs.domain.polygon.historicquotes.HistoricQuotesResponse;
+import io.github.mainstringargs.domain.polygon.historictrades.HistoricTrade;
 import io.github.mainstringargs.domain.polygon.historictrades.HistoricTradesResponse;
 import io.github.mainstringargs.domain.polygon.lastquote.LastQuoteResponse;
 import io.github.mainstringargs.domain.polygon.lasttrade.LastTradeResponse;
@@ -27,7 +42,9 @@ import io.github.mainstringargs.domain.polygon.stocksplits.StockSplitsResponse;
 import io.github.mainstringargs.domain.polygon.tickerdetails.TickerDetails;
 import io.github.mainstringargs.domain.polygon.tickernews.TickerNews;
 import io.github.mainstringargs.domain.polygon.tickers.TickersResponse;
+import io.github.mainstringargs.domain.polygon.tickers.ticker.Ticker;
 import io.github.mainstringargs.domain.polygon.tickertypes.TickerTypes;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
 import io.github.mainstringargs.polygon.enums.ConditionMappingsType;
 import io.github.mainstringargs.polygon.enums.FinancialReportType;
 import io.github.mainstringargs.polygon.enums.FinancialSort;
@@ -40,22 +57,38 @@ import io.github.mainstringargs.polygon.properties.PolygonProperties;
 import io.github.mainstringargs.polygon.rest.PolygonRequest;
 import io.github.mainstringargs.polygon.rest.PolygonRequestBuilder;
 import io.github.mainstringargs.polygon.rest.exception.PolygonAPIRequestException;
+import io.github.mainstringargs.polygon.websocket.client.PolygonFeedArbitrator;
+import io.github.mainstringargs.polygon.websocket.client.PolygonSubscriptionManager;
 import io.github.mainstringargs.polygon.websocket.client.PolygonWebsocketClient;
 import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListener;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListenerAdapter;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import io.github.mainstringargs.util.concurrency.FutureUtil;
+import io.github.mainstringargs.util.concurrency.SingleProducerRingBuffer;
+import io.github.mainstringargs.util.time.TimeSeriesUtil;
 import io.github.mainstringargs.util.time.TimeUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.reactivestreams.Publisher;
 
-import java.io.InputStream;
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The Class PolygonAPI.
  */
-public class PolygonAPI {
+public class PolygonAPI implements Closeable {
 
     /** The logger. */
     private static Logger LOGGER = LogManager.getLogger(PolygonAPI.class);
@@ -66,6 +99,9 @@ public class PolygonAPI {
     /** The polygon request. */
     private final PolygonRequest polygonRequest;
 
+    /** The http transport created by this API, which {@link #close()} closes (null if it was given). */
+    private final HttpTransport ownedHttpTransport;
+
     /** The base api url. */
     private String baseAPIURL;
 
@@ -101,16 +137,94 @@ public class PolygonAPI {
      * @param keyID        the key id
      */
     public PolygonAPI(String baseAPIURL, String websocketURL, String keyID) {
+        this(baseAPIURL, websocketURL, keyID, new ApacheHttpTransport(),
+                PolygonWebsocketClient.createDefaultWebsocketDispatchConfig(), true);
+    }
+
+    /**
+     * Instantiates a new polygon API using a {@link ApacheHttpTransport} with the given connection pool, keep-alive and
+     * timeout configuration.
+     *
+     * @param baseAPIURL          the base api url
+     * @param websocketURL        the websocket url
+     * @param keyID               the key id
+     * @param httpTransportConfig the http transport config
+     */
+    public PolygonAPI(String baseAPIURL, String websocketURL, String keyID, HttpTransportConfig httpTransportConfig) {
+        this(baseAPIURL, websocketURL, keyID, new ApacheHttpTransport(httpTransportConfig),
+                PolygonWebsocketClient.createDefaultWebsocketDispatchConfig(), true);
+    }
+
+    /**
+     * Instantiates a new polygon API.
+     *
+     * @param baseAPIURL    the base api url
+     * @param websocketURL  the websocket url
+     * @param keyID         the key id
+     * @param httpTransport the http transport that executes the REST requests (e.g. an
+     *                      {@link io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport}), which
+     *                      {@link #close()} doesn't close
+     */
+    public PolygonAPI(String baseAPIURL, String websocketURL, String keyID, HttpTransport httpTransport) {
+        this(baseAPIURL, websocketURL, keyID, httpTransport,
+                PolygonWebsocketClient.createDefaultWebsocketDispatchConfig());
+    }
+
+    /**
+     * Instantiates a new polygon API.
+     *
+     * @param baseAPIURL              the base api url
+     * @param websocketURL            the websocket url
+     * @param keyID                   the key id
+     * @param httpTransport           the http transport that executes the REST requests, which {@link #close()}
+     *                                doesn't close
+     * @param websocketDispatchConfig the config of how the stream messages are dispatched to the stream listeners
+     */
+    public PolygonAPI(String baseAPIURL, String websocketURL, String keyID, HttpTransport httpTransport,
+            WebsocketDispatchConfig websocketDispatchConfig) {
+        this(baseAPIURL, websocketURL, keyID, httpTransport, websocketDispatchConfig, false);
+    }
+
+    /**
+     * Instantiates a new polygon API.
+     *
+     * @param baseAPIURL              the base api url
+     * @param websocketURL            the websocket url
+     * @param keyID                   the key id
+     * @param httpTransport           the http transport that executes the REST requests
+     * @param websocketDispatchConfig the config of how the stream messages are dispatched to the stream listeners
+     * @param ownsHttpTransport       true if the http transport was created for this API, so {@link #close()} closes
+     *                                it
+     */
+    private PolygonAPI(String baseAPIURL, String websocketURL, String keyID, HttpTransport httpTransport,
+            WebsocketDispatchConfig websocketDispatchConfig, boolean ownsHttpTransport) {
         this.baseAPIURL = baseAPIURL;
         this.websocketURL = websocketURL;
         this.keyID = keyID;
 
-        polygonRequest = new PolygonRequest(keyID);
-        polygonWebsocketClient = new PolygonWebsocketClient(keyID, websocketURL);
+        polygonRequest = new PolygonRequest(keyID, httpTransport);
+        polygonWebsocketClient = new PolygonWebsocketClient(keyID, websocketURL, websocketDispatchConfig);
+        ownedHttpTransport = ownsHttpTransport ? httpTransport : null;
 
         LOGGER.debug(this.toString());
     }
 
+    /**
+     * Closes the websocket client (see {@link PolygonWebsocketClient#close()}) and the http transport this API created
+     * (with its I/O threads and connection pool). A transport given to the constructor is left open for its owner to
+     * close.
+     *
+     * @throws IOException the IO exception
+     */
+    @Override
+    public void close() throws IOException {
+        polygonWebsocketClient.close();
+
+        if (ownedHttpTransport != null) {
+            ownedHttpTransport.close();
+        }
+    }
+
     /**
      * Query all ticker symbols which are supported by Polygon.io.
      *
@@ -130,6 +244,28 @@ public class PolygonAPI {
      */
     public TickersResponse getTickers(TickerSort tickerSort, StockType stockType, Market market, String locale,
             String search, Integer perpage, Integer page, Boolean active) throws PolygonAPIRequestException {
+        return polygonRequest.await(getTickersAsync(tickerSort, stockType, market, locale, search, perpage, page,
+                active));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getTickers(TickerSort, StockType, Market, String, String, Integer, Integer,
+     * Boolean)}.
+     *
+     * @param tickerSort Which field to sort by.
+     * @param stockType  If you want the results to only container a certain type.
+     * @param market     Get tickers for a specific market
+     * @param locale     Get tickers for a specific region/locale
+     * @param search     Search the name of tickers
+     * @param perpage    How many items to be on each page during pagination. Max 50
+     * @param page       Which page of results to return
+     * @param active     Filter for only active or inactive symbols
+     *
+     * @return a future of the tickers
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_tickers">Tickers</a>
+     */
+    public CompletableFuture<TickersResponse> getTickersAsync(TickerSort tickerSort, StockType stockType, Market market,
+            String locale, String search, Integer perpage, Integer page, Boolean active) {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
                 PolygonConstants.REFERENCE_ENDPOINT,
                 PolygonConstants.TICKERS_ENDPOINT);
@@ -166,13 +302,69 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.ACTIVE_PARAMETER, String.valueOf(active));
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+            return polygonRequest.getResponseObject(response, TickersResponse.class);
+        });
+    }
+
+    /**
+     * Lazily iterates over all the pages of tickers. Since the pages are addressed by number, the pages after the one
+     * being consumed are requested concurrently in the background. See {@link #getTickers(TickerSort, StockType,
+     * Market, String, String, Integer, Integer, Boolean)}.
+     *
+     * @param tickerSort    Which field to sort by.
+     * @param stockType     If you want the results to only container a certain type.
+     * @param market        Get tickers for a specific market
+     * @param locale        Get tickers for a specific region/locale
+     * @param search        Search the name of tickers
+     * @param perpage       How many items to be on each page during pagination (null for the max of 50)
+     * @param active        Filter for only active or inactive symbols
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     *
+     * @return the tickers iterator (close it to cancel the pending requests when abandoning it early)
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_tickers">Tickers</a>
+     */
+    public PrefetchingPageIterator<Integer, Ticker> getTickersIterator(TickerSort tickerSort, StockType stockType,
+            Market market, String locale, String search, Integer perpage, Boolean active, int prefetchDepth) {
+        int effectivePerPage = perpage == null ? PolygonConstants.MAX_TICKERS_PER_PAGE : perpage;
+
+        PageFetcher<Integer, Ticker> pageFetcher = page -> getTickersAsync(tickerSort, stockType, market, locale,
+                search, effectivePerPage, page, active).thenApply(tickersResponse -> {
+                    ArrayList<Ticker> tickers = tickersResponse.getResults() == null ? new ArrayList<>() :
+                            tickersResponse.getResults();
+
+                    boolean lastPage = tickers.size() < effectivePerPage || (tickersResponse.getCount() != null &&
+                            page * effectivePerPage >= tickersResponse.getCount());
+
+                    return new Page<>(tickers, lastPage ? null : page + 1);
+                });
 
-        return polygonRequest.getResponseObject(response, TickersResponse.class);
+        return new PrefetchingPageIterator<>(1, pageFetcher, page -> page + 1, prefetchDepth);
+    }
+
+    /**
+     * Lazily streams all the tickers. See {@link #getTickersIterator(TickerSort, StockType, Market, String, String,
+     * Integer, Boolean, int)}.
+     *
+     * @param tickerSort    Which field to sort by.
+     * @param stockType     If you want the results to only container a certain type.
+     * @param market        Get tickers for a specific market
+     * @param locale        Get tickers for a specific region/locale
+     * @param search        Search the name of tickers
+     * @param perpage       How many items to be on each page during pagination (null for the max of 50)
+     * @param active        Filter for only active or inactive symbols
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     *
+     * @return the tickers stream (close it to cancel the pending requests when abandoning it early)
+     */
+    public Stream<Ticker> getTickersStream(TickerSort tickerSort, StockType stockType, Market market, String locale,
+            String search, Integer perpage, Boolean active, int prefetchDepth) {
+        return getTickersIterator(tickerSort, stockType, market, locale, search, perpage, active, prefetchDepth)
+                .stream();
     }
 
     /**
@@ -183,17 +375,27 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_types">Ticker Types</a>
      */
     public TickerTypes getTickerTypes() throws PolygonAPIRequestException {
+        return polygonRequest.await(getTickerTypesAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getTickerTypes()}.
+     *
+     * @return a future of the ticker types
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_types">Ticker Types</a>
+     */
+    public CompletableFuture<TickerTypes> getTickerTypesAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
                 PolygonConstants.REFERENCE_ENDPOINT,
                 PolygonConstants.TYPES_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, TickersResponse.class);
+            return polygonRequest.getResponseObject(response, TickersResponse.class);
+        });
     }
 
     /**
@@ -208,6 +410,18 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Meta-Data/get_v1_meta_symbols_symbol_company">Ticker Details</a>
      */
     public TickerDetails getTickerDetails(String symbol) throws PolygonAPIRequestException {
+        return polygonRequest.await(getTickerDetailsAsync(symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getTickerDetails(String)}.
+     *
+     * @param symbol symbol we want details for
+     *
+     * @return a future of the ticker details
+     * @see <a href="https://polygon.io/docs/#!/Meta-Data/get_v1_meta_symbols_symbol_company">Ticker Details</a>
+     */
+    public CompletableFuture<TickerDetails> getTickerDetailsAsync(String symbol) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
@@ -216,13 +430,13 @@ public class PolygonAPI {
                 symbol,
                 PolygonConstants.COMPANY_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
-
-        return polygonRequest.getResponseObject(response, TickerDetails.class);
+            return polygonRequest.getResponseObject(response, TickerDetails.class);
+        });
     }
 
     /**
@@ -239,6 +453,20 @@ public class PolygonAPI {
      */
     public ArrayList<TickerNews> getTickerNews(String symbol, Integer perpage, Integer page)
             throws PolygonAPIRequestException {
+        return polygonRequest.await(getTickerNewsAsync(symbol, perpage, page));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getTickerNews(String, Integer, Integer)}.
+     *
+     * @param symbol  the symbol we want details for
+     * @param perpage How many items to be on each page during pagination. Max 50
+     * @param page    Which page of results to return
+     *
+     * @return a future of the ticker news
+     * @see <a href="https://polygon.io/docs/#!/Meta-Data/get_v1_meta_symbols_symbol_news">Ticker News</a>
+     */
+    public CompletableFuture<ArrayList<TickerNews>> getTickerNewsAsync(String symbol, Integer perpage, Integer page) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
@@ -255,15 +483,56 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.PAGE_PARAMETER, String.valueOf(page));
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+            Type listType = new TypeToken<ArrayList<TickerNews>>() {}.getType();
 
-        Type listType = new TypeToken<ArrayList<TickerNews>>() {}.getType();
+            return polygonRequest.getResponseObject(response, listType);
+        });
+    }
 
-        return polygonRequest.getResponseObject(response, listType);
+    /**
+     * Lazily iterates over all the pages of news articles for this symbol. Since the pages are addressed by number,
+     * the pages after the one being consumed are requested concurrently in the background. See {@link
+     * #getTickerNews(String, Integer, Integer)}.
+     *
+     * @param symbol        the symbol we want details for
+     * @param perpage       How many items to be on each page during pagination (null for the max of 50)
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     *
+     * @return the ticker news iterator (close it to cancel the pending requests when abandoning it early)
+     * @see <a href="https://polygon.io/docs/#!/Meta-Data/get_v1_meta_symbols_symbol_news">Ticker News</a>
+     */
+    public PrefetchingPageIterator<Integer, TickerNews> getTickerNewsIterator(String symbol, Integer perpage,
+            int prefetchDepth) {
+        Preconditions.checkNotNull(symbol);
+
+        int effectivePerPage = perpage == null ? PolygonConstants.MAX_TICKER_NEWS_PER_PAGE : perpage;
+
+        PageFetcher<Integer, TickerNews> pageFetcher = page -> getTickerNewsAsync(symbol, effectivePerPage, page)
+                .thenApply(tickerNews -> {
+                    ArrayList<TickerNews> articles = tickerNews == null ? new ArrayList<>() : tickerNews;
+
+                    return new Page<>(articles, articles.size() < effectivePerPage ? null : page + 1);
+                });
+
+        return new PrefetchingPageIterator<>(1, pageFetcher, page -> page + 1, prefetchDepth);
+    }
+
+    /**
+     * Lazily streams all the news articles for this symbol. See {@link #getTickerNewsIterator(String, Integer, int)}.
+     *
+     * @param symbol        the symbol we want details for
+     * @param perpage       How many items to be on each page during pagination (null for the max of 50)
+     * @param prefetchDepth the number of pages to request ahead of the page being consumed
+     *
+     * @return the ticker news stream (close it to cancel the pending requests when abandoning it early)
+     */
+    public Stream<TickerNews> getTickerNewsStream(String symbol, Integer perpage, int prefetchDepth) {
+        return getTickerNewsIterator(symbol, perpage, prefetchDepth).stream();
     }
 
     /**
@@ -275,17 +544,27 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_markets">Markets</a>
      */
     public MarketsResponse getMarkets() throws PolygonAPIRequestException {
+        return polygonRequest.await(getMarketsAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getMarkets()}.
+     *
+     * @return a future of the markets
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_markets">Markets</a>
+     */
+    public CompletableFuture<MarketsResponse> getMarketsAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
                 PolygonConstants.REFERENCE_ENDPOINT,
                 PolygonConstants.MARKETS_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
-
-        return polygonRequest.getResponseObject(response, MarketsResponse.class);
+            return polygonRequest.getResponseObject(response, MarketsResponse.class);
+        });
     }
 
     /**
@@ -297,17 +576,27 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_locales">Locales</a>
      */
     public LocalesResponse getLocales() throws PolygonAPIRequestException {
+        return polygonRequest.await(getLocalesAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getLocales()}.
+     *
+     * @return a future of the locales
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_locales">Locales</a>
+     */
+    public CompletableFuture<LocalesResponse> getLocalesAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
                 PolygonConstants.REFERENCE_ENDPOINT,
                 PolygonConstants.LOCALES_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
-
-        return polygonRequest.getResponseObject(response, LocalesResponse.class);
+            return polygonRequest.getResponseObject(response, LocalesResponse.class);
+        });
     }
 
     /**
@@ -321,19 +610,31 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_splits_symbol">Stock Splits</a>
      */
     public StockSplitsResponse getStockSplits(String symbol) throws PolygonAPIRequestException {
+        return polygonRequest.await(getStockSplitsAsync(symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getStockSplits(String)}.
+     *
+     * @param symbol symbol we want details for
+     *
+     * @return a future of the stock splits
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_splits_symbol">Stock Splits</a>
+     */
+    public CompletableFuture<StockSplitsResponse> getStockSplitsAsync(String symbol) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
                 PolygonConstants.REFERENCE_ENDPOINT,
                 PolygonConstants.SPLITS_ENDPOINT, symbol);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, StockSplitsResponse.class);
+            return polygonRequest.getResponseObject(response, StockSplitsResponse.class);
+        });
     }
 
     /**
@@ -347,6 +648,18 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Meta-Data/get_v1_meta_symbols_symbol_dividends">Stock Dividends</a>
      */
     public StockDividendsResponse getStockDividends(String symbol) throws PolygonAPIRequestException {
+        return polygonRequest.await(getStockDividendsAsync(symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getStockDividends(String)}.
+     *
+     * @param symbol symbol we want details for
+     *
+     * @return a future of the stock dividends
+     * @see <a href="https://polygon.io/docs/#!/Meta-Data/get_v1_meta_symbols_symbol_dividends">Stock Dividends</a>
+     */
+    public CompletableFuture<StockDividendsResponse> getStockDividendsAsync(String symbol) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
@@ -354,13 +667,13 @@ public class PolygonAPI {
                 PolygonConstants.DIVIDENDS_ENDPOINT,
                 symbol);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, StockDividendsResponse.class);
+            return polygonRequest.getResponseObject(response, StockDividendsResponse.class);
+        });
     }
 
     /**
@@ -378,6 +691,22 @@ public class PolygonAPI {
      */
     public StockFinancialsResponse getStockFinancials(String symbol, Integer limit,
             FinancialReportType financialReportType, FinancialSort financialSort) throws PolygonAPIRequestException {
+        return polygonRequest.await(getStockFinancialsAsync(symbol, limit, financialReportType, financialSort));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getStockFinancials(String, Integer, FinancialReportType, FinancialSort)}.
+     *
+     * @param symbol              symbol we want details for
+     * @param limit               limit the number of results
+     * @param financialReportType type of reports
+     * @param financialSort       sort direction
+     *
+     * @return a future of the symbol financials
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v2_reference_financials_symbol">Stock Financials</a>
+     */
+    public CompletableFuture<StockFinancialsResponse> getStockFinancialsAsync(String symbol, Integer limit,
+            FinancialReportType financialReportType, FinancialSort financialSort) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
@@ -397,13 +726,13 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.SORT_PARAMETER, financialSort.getAPIName());
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, StockFinancialsResponse.class);
+            return polygonRequest.getResponseObject(response, StockFinancialsResponse.class);
+        });
     }
 
     /**
@@ -415,17 +744,27 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Reference/get_v1_marketstatus_now">Market Status</a>
      */
     public MarketStatus getMarketStatus() throws PolygonAPIRequestException {
+        return polygonRequest.await(getMarketStatusAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getMarketStatus()}.
+     *
+     * @return a future of the market status
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v1_marketstatus_now">Market Status</a>
+     */
+    public CompletableFuture<MarketStatus> getMarketStatusAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
                 PolygonConstants.MARKET_STATUS_ENDPOINT,
                 PolygonConstants.NOW_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, MarketStatus.class);
+            return polygonRequest.getResponseObject(response, MarketStatus.class);
+        });
     }
 
     /**
@@ -437,19 +776,29 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Reference/get_v1_marketstatus_upcoming">Market Holidays</a>
      */
     public ArrayList<MarketHoliday> getMarketHolidays() throws PolygonAPIRequestException {
+        return polygonRequest.await(getMarketHolidaysAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getMarketHolidays()}.
+     *
+     * @return a future of the market holidays
+     * @see <a href="https://polygon.io/docs/#!/Reference/get_v1_marketstatus_upcoming">Market Holidays</a>
+     */
+    public CompletableFuture<ArrayList<MarketHoliday>> getMarketHolidaysAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
                 PolygonConstants.MARKET_STATUS_ENDPOINT,
                 PolygonConstants.UPCOMING_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        Type listType = new TypeToken<ArrayList<MarketHoliday>>() {}.getType();
+            Type listType = new TypeToken<ArrayList<MarketHoliday>>() {}.getType();
 
-        return polygonRequest.getResponseObject(response, listType);
+            return polygonRequest.getResponseObject(response, listType);
+        });
     }
 
     /**
@@ -461,19 +810,29 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_meta_exchanges">Exchanges</a>
      */
     public ArrayList<Exchange> getExchanges() throws PolygonAPIRequestException {
+        return polygonRequest.await(getExchangesAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getExchanges()}.
+     *
+     * @return a future of the exchanges
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_meta_exchanges">Exchanges</a>
+     */
+    public CompletableFuture<ArrayList<Exchange>> getExchangesAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
                 PolygonConstants.META_ENDPOINT,
                 PolygonConstants.EXCHANGES_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        Type listType = new TypeToken<ArrayList<Exchange>>() {}.getType();
+            Type listType = new TypeToken<ArrayList<Exchange>>() {}.getType();
 
-        return polygonRequest.getResponseObject(response, listType);
+            return polygonRequest.getResponseObject(response, listType);
+        });
     }
 
     /**
@@ -496,6 +855,27 @@ public class PolygonAPI {
      */
     public HistoricTradesResponse getHistoricTrades(String ticker, LocalDate date, Long timestamp, Long timestampLimit,
             Boolean reverse, Integer limit) throws PolygonAPIRequestException {
+        return polygonRequest.await(getHistoricTradesAsync(ticker, date, timestamp, timestampLimit, reverse, limit));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getHistoricTrades(String, LocalDate, Long, Long, Boolean, Integer)}.
+     *
+     * @param ticker         Ticker symbol we want ticks for
+     * @param date           Date/Day of the historic ticks to retrieve
+     * @param timestamp      Timestamp offset, used for pagination. This is the offset at which to start the results.
+     *                       Using the timestamp of the last result as the offset will give you the next page of
+     *                       results.
+     * @param timestampLimit Maximum timestamp allowed in the results.
+     * @param reverse        Reverse the order of the results. This is useful in combination with timestamp param.
+     * @param limit          Limit the size of response, Max 50000
+     *
+     * @return a future of the historic trades
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_ticks_stocks_trades_ticker_date">Historic
+     * Trades</a>
+     */
+    public CompletableFuture<HistoricTradesResponse> getHistoricTradesAsync(String ticker, LocalDate date,
+            Long timestamp, Long timestampLimit, Boolean reverse, Integer limit) {
         Preconditions.checkNotNull(ticker);
         Preconditions.checkNotNull(date);
 
@@ -522,13 +902,80 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.LIMIT_PARAMETER, String.valueOf(limit));
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        builder.setStreamingResponse(true);
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
+
+            return polygonRequest.getResponseObject(response, HistoricTradesResponse.class);
+        });
+    }
+
+    /**
+     * Lazily iterates over all the historic trades for a symbol on a day, following the timestamp of the last result
+     * from page to page. The pages after the one being consumed are requested in the background so that the network
+     * round trip overlaps with the consumption of the current page. Since the timestamp offset is inclusive, the
+     * trades already received at the offset are skipped by their sequence number. See {@link
+     * #getHistoricTrades(String, LocalDate, Long, Long, Boolean, Integer)}.
+     *
+     * @param ticker         Ticker symbol we want ticks for
+     * @param date           Date/Day of the historic ticks to retrieve
+     * @param timestamp      Timestamp offset at which to start the results (null for the start of the day)
+     * @param timestampLimit Maximum timestamp allowed in the results.
+     * @param reverse        Reverse the order of the results.
+     * @param limit          The size of each page (null for the max of 50000)
+     * @param prefetchDepth  the number of pages to request ahead of the page being consumed
+     *
+     * @return the historic trades iterator (close it to cancel the pending requests when abandoning it early)
+     */
+    public PrefetchingPageIterator<TimestampCursor<Long>, HistoricTrade> getHistoricTradesIterator(String ticker,
+            LocalDate date, Long timestamp, Long timestampLimit, Boolean reverse, Integer limit, int prefetchDepth) {
+        Preconditions.checkNotNull(ticker);
+        Preconditions.checkNotNull(date);
+
+        int effectiveLimit = limit == null ? PolygonConstants.MAX_HISTORIC_TICKS_LIMIT : limit;
+
+        PageFetcher<TimestampCursor<Long>, HistoricTrade> pageFetcher = cursor -> getHistoricTradesAsync(ticker, date,
+                cursor.getTimestamp(), timestampLimit, reverse, effectiveLimit).thenApply(tradesResponse -> {
+                    ArrayList<HistoricTrade> trades = tradesResponse.getResults() == null ? new ArrayList<>() :
+                            tradesResponse.getResults();
+
+                    ArrayList<HistoricTrade> newTrades = trades.stream()
+                            .filter(trade -> !cursor.wasReceived(trade.getT(), String.valueOf(trade.getQ())))
+                            .collect(Collectors.toCollection(ArrayList::new));
+
+                    TimestampCursor<Long> nextCursor = null;
+
+                    if (trades.size() >= effectiveLimit) { // A full page means there may be more
+                        nextCursor = cursor.next(newTrades, HistoricTrade::getT, trade -> String.valueOf(trade.getQ()));
+                    }
+
+                    return new Page<>(newTrades, nextCursor);
+                });
 
-        return polygonRequest.getResponseObject(response, HistoricTradesResponse.class);
+        return new PrefetchingPageIterator<>(new TimestampCursor<>(timestamp), pageFetcher, prefetchDepth);
+    }
+
+    /**
+     * Lazily streams all the historic trades for a symbol on a day. See {@link #getHistoricTradesIterator(String,
+     * LocalDate, Long, Long, Boolean, Integer, int)}.
+     *
+     * @param ticker         Ticker symbol we want ticks for
+     * @param date           Date/Day of the historic ticks to retrieve
+     * @param timestamp      Timestamp offset at which to start the results (null for the start of the day)
+     * @param timestampLimit Maximum timestamp allowed in the results.
+     * @param reverse        Reverse the order of the results.
+     * @param limit          The size of each page (null for the max of 50000)
+     * @param prefetchDepth  the number of pages to request ahead of the page being consumed
+     *
+     * @return the historic trades stream (close it to cancel the pending requests when abandoning it early)
+     */
+    public Stream<HistoricTrade> getHistoricTradesStream(String ticker, LocalDate date, Long timestamp,
+            Long timestampLimit, Boolean reverse, Integer limit, int prefetchDepth) {
+        return getHistoricTradesIterator(ticker, date, timestamp, timestampLimit, reverse, limit, prefetchDepth)
+                .stream();
     }
 
     /**
@@ -551,6 +998,27 @@ public class PolygonAPI {
      */
     public HistoricQuotesResponse getHistoricQuotes(String ticker, LocalDate date, Long timestamp, Long timestampLimit,
             Boolean reverse, Integer limit) throws PolygonAPIRequestException {
+        return polygonRequest.await(getHistoricQuotesAsync(ticker, date, timestamp, timestampLimit, reverse, limit));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getHistoricQuotes(String, LocalDate, Long, Long, Boolean, Integer)}.
+     *
+     * @param ticker         Ticker symbol we want ticks for
+     * @param date           Date/Day of the historic ticks to retrieve
+     * @param timestamp      Timestamp offset, used for pagination. This is the offset at which to start the results.
+     *                       Using the timestamp of the last result as the offset will give you the next page of
+     *                       results.
+     * @param timestampLimit Maximum timestamp allowed in the results.
+     * @param reverse        Reverse the order of the results. This is useful in combination with timestamp param.
+     * @param limit          Limit the size of response, Max 50000
+     *
+     * @return a future of the historic quotes
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_ticks_stocks_nbbo_ticker_date">Historic
+     * Quotes</a>
+     */
+    public CompletableFuture<HistoricQuotesResponse> getHistoricQuotesAsync(String ticker, LocalDate date,
+            Long timestamp, Long timestampLimit, Boolean reverse, Integer limit) {
         Preconditions.checkNotNull(ticker);
         Preconditions.checkNotNull(date);
 
@@ -577,13 +1045,80 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.LIMIT_PARAMETER, String.valueOf(limit));
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        builder.setStreamingResponse(true);
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
+
+            return polygonRequest.getResponseObject(response, HistoricQuotesResponse.class);
+        });
+    }
+
+    /**
+     * Lazily iterates over all the historic quotes for a symbol on a day, following the timestamp of the last result
+     * from page to page. The pages after the one being consumed are requested in the background so that the network
+     * round trip overlaps with the consumption of the current page. Since the timestamp offset is inclusive, the
+     * quotes already received at the offset are skipped by their sequence number. See {@link
+     * #getHistoricQuotes(String, LocalDate, Long, Long, Boolean, Integer)}.
+     *
+     * @param ticker         Ticker symbol we want ticks for
+     * @param date           Date/Day of the historic ticks to retrieve
+     * @param timestamp      Timestamp offset at which to start the results (null for the start of the day)
+     * @param timestampLimit Maximum timestamp allowed in the results.
+     * @param reverse        Reverse the order of the results.
+     * @param limit          The size of each page (null for the max of 50000)
+     * @param prefetchDepth  the number of pages to request ahead of the page being consumed
+     *
+     * @return the historic quotes iterator (close it to cancel the pending requests when abandoning it early)
+     */
+    public PrefetchingPageIterator<TimestampCursor<Long>, HistoricQuote> getHistoricQuotesIterator(String ticker,
+            LocalDate date, Long timestamp, Long timestampLimit, Boolean reverse, Integer limit, int prefetchDepth) {
+        Preconditions.checkNotNull(ticker);
+        Preconditions.checkNotNull(date);
+
+        int effectiveLimit = limit == null ? PolygonConstants.MAX_HISTORIC_TICKS_LIMIT : limit;
 
-        return polygonRequest.getResponseObject(response, HistoricQuotesResponse.class);
+        PageFetcher<TimestampCursor<Long>, HistoricQuote> pageFetcher = cursor -> getHistoricQuotesAsync(ticker, date,
+                cursor.getTimestamp(), timestampLimit, reverse, effectiveLimit).thenApply(quotesResponse -> {
+                    ArrayList<HistoricQuote> quotes = quotesResponse.getResults() == null ? new ArrayList<>() :
+                            quotesResponse.getResults();
+
+                    ArrayList<HistoricQuote> newQuotes = quotes.stream()
+                            .filter(quote -> !cursor.wasReceived(quote.getT(), String.valueOf(quote.getQ())))
+                            .collect(Collectors.toCollection(ArrayList::new));
+
+                    TimestampCursor<Long> nextCursor = null;
+
+                    if (quotes.size() >= effectiveLimit) { // A full page means there may be more
+                        nextCursor = cursor.next(newQuotes, HistoricQuote::getT, quote -> String.valueOf(quote.getQ()));
+                    }
+
+                    return new Page<>(newQuotes, nextCursor);
+                });
+
+        return new PrefetchingPageIterator<>(new TimestampCursor<>(timestamp), pageFetcher, prefetchDepth);
+    }
+
+    /**
+     * Lazily streams all the historic quotes for a symbol on a day. See {@link #getHistoricQuotesIterator(String,
+     * LocalDate, Long, Long, Boolean, Integer, int)}.
+     *
+     * @param ticker         Ticker symbol we want ticks for
+     * @param date           Date/Day of the historic ticks to retrieve
+     * @param timestamp      Timestamp offset at which to start the results (null for the start of the day)
+     * @param timestampLimit Maximum timestamp allowed in the results.
+     * @param reverse        Reverse the order of the results.
+     * @param limit          The size of each page (null for the max of 50000)
+     * @param prefetchDepth  the number of pages to request ahead of the page being consumed
+     *
+     * @return the historic quotes stream (close it to cancel the pending requests when abandoning it early)
+     */
+    public Stream<HistoricQuote> getHistoricQuotesStream(String ticker, LocalDate date, Long timestamp,
+            Long timestampLimit, Boolean reverse, Integer limit, int prefetchDepth) {
+        return getHistoricQuotesIterator(ticker, date, timestamp, timestampLimit, reverse, limit, prefetchDepth)
+                .stream();
     }
 
     /**
@@ -597,6 +1132,18 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_last_stocks_symbol">Last Trade</a>
      */
     public LastTradeResponse getLastTrade(String symbol) throws PolygonAPIRequestException {
+        return polygonRequest.await(getLastTradeAsync(symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getLastTrade(String)}.
+     *
+     * @param symbol Symbol of the stock to get
+     *
+     * @return a future of the last trade
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_last_stocks_symbol">Last Trade</a>
+     */
+    public CompletableFuture<LastTradeResponse> getLastTradeAsync(String symbol) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
@@ -604,13 +1151,13 @@ public class PolygonAPI {
                 PolygonConstants.STOCKS_ENDPOINT,
                 symbol);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, LastTradeResponse.class);
+            return polygonRequest.getResponseObject(response, LastTradeResponse.class);
+        });
     }
 
     /**
@@ -624,6 +1171,18 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_last_quote_stocks_symbol">Last Quote</a>
      */
     public LastQuoteResponse getLastQuote(String symbol) throws PolygonAPIRequestException {
+        return polygonRequest.await(getLastQuoteAsync(symbol));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getLastQuote(String)}.
+     *
+     * @param symbol Symbol of the stock to get
+     *
+     * @return a future of the last quote
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_last_quote_stocks_symbol">Last Quote</a>
+     */
+    public CompletableFuture<LastQuoteResponse> getLastQuoteAsync(String symbol) {
         Preconditions.checkNotNull(symbol);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
@@ -631,13 +1190,13 @@ public class PolygonAPI {
                 PolygonConstants.STOCKS_ENDPOINT,
                 symbol);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
-
-        return polygonRequest.getResponseObject(response, LastQuoteResponse.class);
+            return polygonRequest.getResponseObject(response, LastQuoteResponse.class);
+        });
     }
 
     /**
@@ -652,6 +1211,19 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_open_close_symbol_date">Daily Open/Close</a>
      */
     public DailyOpenCloseResponse getDailyOpenClose(String symbol, LocalDate date) throws PolygonAPIRequestException {
+        return polygonRequest.await(getDailyOpenCloseAsync(symbol, date));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getDailyOpenClose(String, LocalDate)}.
+     *
+     * @param symbol Symbol of the stock to get
+     * @param date   Date of the requested open/close
+     *
+     * @return a future of the daily open close
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_open_close_symbol_date">Daily Open/Close</a>
+     */
+    public CompletableFuture<DailyOpenCloseResponse> getDailyOpenCloseAsync(String symbol, LocalDate date) {
         Preconditions.checkNotNull(symbol);
         Preconditions.checkNotNull(date);
 
@@ -660,13 +1232,13 @@ public class PolygonAPI {
                 symbol,
                 TimeUtil.toDateString(date));
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, DailyOpenCloseResponse.class);
+            return polygonRequest.getResponseObject(response, DailyOpenCloseResponse.class);
+        });
     }
 
     /**
@@ -681,6 +1253,18 @@ public class PolygonAPI {
      */
     public ConditionsMapping getConditionsMapping(ConditionMappingsType conditionMappingsType)
             throws PolygonAPIRequestException {
+        return polygonRequest.await(getConditionsMappingAsync(conditionMappingsType));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getConditionsMapping(ConditionMappingsType)}.
+     *
+     * @param conditionMappingsType Ticker type we want mappings for
+     *
+     * @return a future of the conditions mapping
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v1_meta_conditions_ticktype">Condition Mappings</a>
+     */
+    public CompletableFuture<ConditionsMapping> getConditionsMappingAsync(ConditionMappingsType conditionMappingsType) {
         Preconditions.checkNotNull(conditionMappingsType);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_1_ENDPOINT,
@@ -688,13 +1272,13 @@ public class PolygonAPI {
                 PolygonConstants.CONDITIONS_ENDPOINT,
                 conditionMappingsType.getAPIName());
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, ConditionsMapping.class);
+            return polygonRequest.getResponseObject(response, ConditionsMapping.class);
+        });
     }
 
     /**
@@ -709,6 +1293,18 @@ public class PolygonAPI {
      * - All Tickers</a>
      */
     public SnapshotAllTickersResponse getSnapshotAllTickers() throws PolygonAPIRequestException {
+        return polygonRequest.await(getSnapshotAllTickersAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshotAllTickers()}.
+     *
+     * @return a future of the snapshot all tickers
+     * @see
+     * <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_snapshot_locale_us_markets_stocks_tickers">Snapshot
+     * - All Tickers</a>
+     */
+    public CompletableFuture<SnapshotAllTickersResponse> getSnapshotAllTickersAsync() {
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
                 PolygonConstants.SNAPSHOT_ENDPOINT,
                 PolygonConstants.LOCALE_ENDPOINT,
@@ -717,13 +1313,15 @@ public class PolygonAPI {
                 PolygonConstants.STOCKS_ENDPOINT,
                 PolygonConstants.TICKERS_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        builder.setStreamingResponse(true);
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, SnapshotAllTickersResponse.class);
+            return polygonRequest.getResponseObject(response, SnapshotAllTickersResponse.class);
+        });
     }
 
     /**
@@ -739,6 +1337,20 @@ public class PolygonAPI {
      * - Single Ticker</a>
      */
     public SnapshotSingleTickerResponse getSnapshotSingleTicker(String ticker) throws PolygonAPIRequestException {
+        return polygonRequest.await(getSnapshotSingleTickerAsync(ticker));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshotSingleTicker(String)}.
+     *
+     * @param ticker Ticker of the snapshot
+     *
+     * @return a future of the snapshot single ticker
+     * @see
+     * <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_snapshot_locale_us_markets_stocks_tickers_ticker">Snapshot
+     * - Single Ticker</a>
+     */
+    public CompletableFuture<SnapshotSingleTickerResponse> getSnapshotSingleTickerAsync(String ticker) {
         Preconditions.checkNotNull(ticker);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
@@ -750,13 +1362,13 @@ public class PolygonAPI {
                 PolygonConstants.TICKERS_ENDPOINT,
                 ticker);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, SnapshotSingleTickerResponse.class);
+            return polygonRequest.getResponseObject(response, SnapshotSingleTickerResponse.class);
+        });
     }
 
     /**
@@ -773,6 +1385,21 @@ public class PolygonAPI {
      */
     public SnapshotGainersLosersResponse getSnapshotsGainersLosers(GainersLosersDirection gainersLosersDirection)
             throws PolygonAPIRequestException {
+        return polygonRequest.await(getSnapshotsGainersLosersAsync(gainersLosersDirection));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshotsGainersLosers(GainersLosersDirection)}.
+     *
+     * @param gainersLosersDirection the gainers losers direction
+     *
+     * @return a future of the snapshots gainers
+     * @see
+     * <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_snapshot_locale_us_markets_stocks_gainers">Snapshot
+     * - Gainers / Losers</a>
+     */
+    public CompletableFuture<SnapshotGainersLosersResponse> getSnapshotsGainersLosersAsync(
+            GainersLosersDirection gainersLosersDirection) {
         Preconditions.checkNotNull(gainersLosersDirection);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
@@ -783,13 +1410,13 @@ public class PolygonAPI {
                 PolygonConstants.STOCKS_ENDPOINT,
                 gainersLosersDirection.getAPIName());
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, SnapshotGainersLosersResponse.class);
+            return polygonRequest.getResponseObject(response, SnapshotGainersLosersResponse.class);
+        });
     }
 
     /**
@@ -806,6 +1433,21 @@ public class PolygonAPI {
      */
     public SnapshotTickerBook getSnapshotTickerBook(String locale, Market market, String ticker)
             throws PolygonAPIRequestException {
+        return polygonRequest.await(getSnapshotTickerBookAsync(locale, market, ticker));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshotTickerBook(String, Market, String)}.
+     *
+     * @param locale the locale
+     * @param market the market
+     * @param ticker the ticker
+     *
+     * @return a future of the snapshot ticker book
+     * @see <a href="">Docs not public yet</a>
+     */
+    public CompletableFuture<SnapshotTickerBook> getSnapshotTickerBookAsync(String locale, Market market,
+            String ticker) {
         Preconditions.checkNotNull(locale);
         Preconditions.checkNotNull(market);
         Preconditions.checkNotNull(ticker);
@@ -820,13 +1462,13 @@ public class PolygonAPI {
                 ticker,
                 PolygonConstants.BOOK_ENDPOINT);
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, SnapshotTickerBook.class);
+            return polygonRequest.getResponseObject(response, SnapshotTickerBook.class);
+        });
     }
 
     /**
@@ -841,6 +1483,19 @@ public class PolygonAPI {
      * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_aggs_ticker_ticker_prev">Previous Close</a>
      */
     public PreviousCloseResponse getPreviousClose(String ticker, Boolean unadjusted) throws PolygonAPIRequestException {
+        return polygonRequest.await(getPreviousCloseAsync(ticker, unadjusted));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getPreviousClose(String, Boolean)}.
+     *
+     * @param ticker     Ticker symbol of the request
+     * @param unadjusted Set to true if the results should NOT be adjusted for splits.
+     *
+     * @return a future of the previous close
+     * @see <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_aggs_ticker_ticker_prev">Previous Close</a>
+     */
+    public CompletableFuture<PreviousCloseResponse> getPreviousCloseAsync(String ticker, Boolean unadjusted) {
         Preconditions.checkNotNull(ticker);
 
         PolygonRequestBuilder builder = new PolygonRequestBuilder(baseAPIURL, PolygonConstants.VERSION_2_ENDPOINT,
@@ -853,13 +1508,13 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.UNADJUSTED_PARAMETER, unadjusted.toString());
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
-
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, PreviousCloseResponse.class);
+            return polygonRequest.getResponseObject(response, PreviousCloseResponse.class);
+        });
     }
 
     /**
@@ -880,6 +1535,25 @@ public class PolygonAPI {
      */
     public AggregatesResponse getAggregates(String ticker, Integer multiplier, Timespan timeSpan, LocalDate fromDate,
             LocalDate toDate, Boolean unadjusted) throws PolygonAPIRequestException {
+        return polygonRequest.await(getAggregatesAsync(ticker, multiplier, timeSpan, fromDate, toDate, unadjusted));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAggregates(String, Integer, Timespan, LocalDate, LocalDate, Boolean)}.
+     *
+     * @param ticker     Ticker symbol of the request
+     * @param multiplier Size of the timespan multiplier
+     * @param timeSpan   Size of the time window
+     * @param fromDate   From date
+     * @param toDate     To date
+     * @param unadjusted Set to true if the results should NOT be adjusted for splits
+     *
+     * @return a future of the aggregates
+     * @see
+     * <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_aggs_ticker_ticker_range_multiplier_timespan_from_to">Aggregates</a>
+     */
+    public CompletableFuture<AggregatesResponse> getAggregatesAsync(String ticker, Integer multiplier,
+            Timespan timeSpan, LocalDate fromDate, LocalDate toDate, Boolean unadjusted) {
         Preconditions.checkNotNull(ticker);
         Preconditions.checkNotNull(timeSpan);
         Preconditions.checkNotNull(fromDate);
@@ -899,13 +1573,144 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.UNADJUSTED_PARAMETER, unadjusted.toString());
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        builder.setStreamingResponse(true);
+
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
+            return polygonRequest.getResponseObject(response, AggregatesResponse.class);
+        });
+    }
+
+    /**
+     * Get aggregates for a date range of any length. The range is split into windows small enough for the server
+     * not to cap their results (see {@link PolygonConstants#MAX_AGGREGATES_BASE_RESULTS}), the windows are requested
+     * concurrently (throttled by the rate limiter) and their results are merged into one de-duplicated series in
+     * timestamp order.
+     *
+     * @param ticker     Ticker symbol of the request
+     * @param multiplier Size of the timespan multiplier
+     * @param timeSpan   Size of the time window
+     * @param fromDate   From date
+     * @param toDate     To date
+     * @param unadjusted Set to true if the results should NOT be adjusted for splits
+     *
+     * @return the aggregates
+     *
+     * @throws PolygonAPIRequestException the polygon API exception
+     * @see #getAggregates(String, Integer, Timespan, LocalDate, LocalDate, Boolean)
+     */
+    public AggregatesResponse getAllAggregates(String ticker, Integer multiplier, Timespan timeSpan,
+            LocalDate fromDate, LocalDate toDate, Boolean unadjusted) throws PolygonAPIRequestException {
+        return polygonRequest.await(getAllAggregatesAsync(ticker, multiplier, timeSpan, fromDate, toDate,
+                unadjusted));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getAllAggregates(String, Integer, Timespan, LocalDate, LocalDate, Boolean)}.
+     *
+     * @param ticker     Ticker symbol of the request
+     * @param multiplier Size of the timespan multiplier
+     * @param timeSpan   Size of the time window
+     * @param fromDate   From date
+     * @param toDate     To date
+     * @param unadjusted Set to true if the results should NOT be adjusted for splits
+     *
+     * @return a future of the aggregates
+     */
+    public CompletableFuture<AggregatesResponse> getAllAggregatesAsync(String ticker, Integer multiplier,
+            Timespan timeSpan, LocalDate fromDate, LocalDate toDate, Boolean unadjusted) {
+        Preconditions.checkNotNull(ticker);
+        Preconditions.checkNotNull(timeSpan);
+        Preconditions.checkNotNull(fromDate);
+        Preconditions.checkNotNull(toDate);
+        Preconditions.checkArgument(!toDate.isBefore(fromDate), "toDate must not be before fromDate");
+
+        long windowDays = getAggregatesWindowDays(timeSpan);
+
+        List<CompletableFuture<AggregatesResponse>> windowFutures = new ArrayList<>();
+        LocalDate windowFrom = fromDate;
+        while (!windowFrom.isAfter(toDate)) {
+            LocalDate windowTo = windowFrom.plusDays(windowDays - 1);
+            if (windowTo.isAfter(toDate)) {
+                windowTo = toDate;
+            }
+
+            windowFutures.add(getAggregatesAsync(ticker, multiplier, timeSpan, windowFrom, windowTo, unadjusted));
+
+            windowFrom = windowTo.plusDays(1);
         }
 
-        return polygonRequest.getResponseObject(response, AggregatesResponse.class);
+        return FutureUtil.allOf(windowFutures).thenApply(windowResponses -> {
+            List<ArrayList<Aggregate>> windowResults = new ArrayList<>();
+            double queryCount = 0;
+
+            for (AggregatesResponse windowResponse : windowResponses) {
+                windowResults.add(windowResponse.getResults());
+
+                if (windowResponse.getQueryCount() != null) {
+                    queryCount += windowResponse.getQueryCount();
+                }
+            }
+
+            ArrayList<Aggregate> aggregates = TimeSeriesUtil.mergeDistinct(windowResults, Aggregate::getT);
+
+            // Use the first window for the response fields that are the same for every window
+            AggregatesResponse aggregatesResponse = windowResponses.get(0);
+            aggregatesResponse.setQueryCount(queryCount);
+            aggregatesResponse.setResultsCount((double) aggregates.size());
+            aggregatesResponse.setResults(aggregates);
+
+            return aggregatesResponse;
+        });
+    }
+
+    /**
+     * Gets the number of days in each window of {@link #getAllAggregatesAsync(String, Integer, Timespan, LocalDate,
+     * LocalDate, Boolean)} so that a window can't have more than {@link PolygonConstants#MAX_AGGREGATES_BASE_RESULTS}
+     * base aggregates, whatever the multiplier and hours of the market: the window spans that many of the (shortest)
+     * time span units, in whole days.
+     *
+     * @param timeSpan the time span
+     *
+     * @return the window days
+     */
+    private static long getAggregatesWindowDays(Timespan timeSpan) {
+        Duration windowDuration = getTimespanUnitDuration(timeSpan).multipliedBy(
+                PolygonConstants.MAX_AGGREGATES_BASE_RESULTS);
+
+        return Math.max(1, windowDuration.toDays());
+    }
+
+    /**
+     * Gets the shortest duration of a time span unit (e.g. 28 days for a month), so that the windows sized with it
+     * can't hold more base aggregates than intended.
+     *
+     * @param timeSpan the time span
+     *
+     * @return the time span unit duration
+     */
+    private static Duration getTimespanUnitDuration(Timespan timeSpan) {
+        switch (timeSpan) {
+            case MINUTE:
+                return Duration.ofMinutes(1);
+            case HOUR:
+                return Duration.ofHours(1);
+            case DAY:
+                return Duration.ofDays(1);
+            case WEEK:
+                return Duration.ofDays(7);
+            case MONTH:
+                return Duration.ofDays(28);
+            case QUARTER:
+                return Duration.ofDays(89);
+            case YEAR:
+                return Duration.ofDays(365);
+            default:
+                throw new IllegalArgumentException("Unknown time span: " + timeSpan);
+        }
     }
 
     /**
@@ -925,6 +1730,24 @@ public class PolygonAPI {
      */
     public GroupedDailyResponse getGroupedDaily(String locale, Market market, LocalDate date, Boolean unadjusted)
             throws PolygonAPIRequestException {
+        return polygonRequest.await(getGroupedDailyAsync(locale, market, date, unadjusted));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getGroupedDaily(String, Market, LocalDate, Boolean)}.
+     *
+     * @param locale     Locale of the aggregates ( See 'Locales' API )
+     * @param market     Market of the aggregates ( See 'Markets' API )
+     * @param date       To date
+     * @param unadjusted Set to true if the results should NOT be adjusted for splits.
+     *
+     * @return a future of the grouped daily
+     * @see
+     * <a href="https://polygon.io/docs/#!/Stocks--Equities/get_v2_aggs_grouped_locale_locale_market_market_date">Grouped
+     * Daily</a>
+     */
+    public CompletableFuture<GroupedDailyResponse> getGroupedDailyAsync(String locale, Market market, LocalDate date,
+            Boolean unadjusted) {
         Preconditions.checkNotNull(locale);
         Preconditions.checkNotNull(market);
         Preconditions.checkNotNull(date);
@@ -942,13 +1765,15 @@ public class PolygonAPI {
             builder.appendURLParameter(PolygonConstants.UNADJUSTED_PARAMETER, unadjusted.toString());
         }
 
-        HttpResponse<InputStream> response = polygonRequest.invokeGet(builder);
+        builder.setStreamingResponse(true);
 
-        if (response.getStatus() != 200) {
-            throw new PolygonAPIRequestException(response);
-        }
+        return polygonRequest.handleResponse(polygonRequest.invokeGetAsync(builder), response -> {
+            if (response.getStatus() != 200) {
+                throw new PolygonAPIRequestException(response);
+            }
 
-        return polygonRequest.getResponseObject(response, GroupedDailyResponse.class);
+            return polygonRequest.getResponseObject(response, GroupedDailyResponse.class);
+        });
     }
 
     /**
@@ -960,6 +1785,85 @@ public class PolygonAPI {
         polygonWebsocketClient.addListener(streamListener);
     }
 
+    /**
+     * Adds a polygon stream listener that is delivered to on its own thread through a bounded queue, so that a slow
+     * listener can't slow down the other listeners (unless its overflow policy is {@link
+     * ListenerOverflowPolicy#BLOCK}).
+     *
+     * @param streamListener the stream listener
+     * @param overflowPolicy what to do with new messages when the queue of the listener is full
+     * @param queueCapacity  the queue capacity
+     */
+    public void addPolygonStreamListener(PolygonStreamListener streamListener, ListenerOverflowPolicy overflowPolicy,
+            int queueCapacity) {
+        polygonWebsocketClient.addListener(streamListener, overflowPolicy, queueCapacity);
+    }
+
+    /**
+     * Gets the dispatch queue of a polygon stream listener added with {@link
+     * #addPolygonStreamListener(PolygonStreamListener, ListenerOverflowPolicy, int)}, e.g. to read its lag, drops and
+     * max queue depth.
+     *
+     * @param streamListener the stream listener
+     *
+     * @return the listener dispatch queue (null if the listener isn't delivered to through a queue)
+     */
+    public ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage> getPolygonStreamListenerQueue(
+            PolygonStreamListener streamListener) {
+        return polygonWebsocketClient.getListenerDispatchQueue(streamListener);
+    }
+
+    /**
+     * Gets a Reactive Streams publisher of the polygon stream messages of a ticker. Every subscriber is delivered
+     * through its own queue of {@link StreamPublisher#DEFAULT_QUEUE_CAPACITY} messages, and the oldest queued message
+     * is dropped when a subscriber without demand lets its queue fill up.
+     *
+     * @param ticker       the ticker (or {@link
+     *                     io.github.mainstringargs.polygon.websocket.client.PolygonStreamRoutingTable#ALL_TICKERS} for
+     *                     all tickers)
+     * @param channelTypes the channel types
+     *
+     * @return the publisher
+     */
+    public Publisher<PolygonStreamMessage> getPolygonStreamPublisher(String ticker,
+            PolygonStreamMessageType... channelTypes) {
+        return getPolygonStreamPublisher(Collections.singleton(ticker), StreamPublisher.DEFAULT_OVERFLOW_POLICY,
+                StreamPublisher.DEFAULT_QUEUE_CAPACITY, channelTypes);
+    }
+
+    /**
+     * Gets a Reactive Streams publisher of the polygon stream messages of tickers. Every subscriber is delivered
+     * through its own bounded queue, which only delivers the messages the subscriber requested, so a slow subscriber
+     * lets its queue fill up and the overflow policy decide what happens to the new messages (see {@link
+     * StreamPublisher}). The channels of a subscriber are subscribed to while it is subscribed.
+     *
+     * @param tickers        the tickers (including {@link
+     *                       io.github.mainstringargs.polygon.websocket.client.PolygonStreamRoutingTable#ALL_TICKERS}
+     *                       for all tickers)
+     * @param overflowPolicy what to do with new messages when the queue of a subscriber is full
+     * @param queueCapacity  the queue capacity of a subscriber
+     * @param channelTypes   the channel types
+     *
+     * @return the publisher
+     */
+    public Publisher<PolygonStreamMessage> getPolygonStreamPublisher(Set<String> tickers,
+            ListenerOverflowPolicy overflowPolicy, int queueCapacity, PolygonStreamMessageType... channelTypes) {
+        Preconditions.checkNotNull(tickers);
+        Preconditions.checkArgument(channelTypes.length > 0, "At least one channel type is required");
+
+        return new StreamPublisher<PolygonStreamMessageType, PolygonStreamMessage, PolygonStreamListener>(
+                "PolygonStreamSubscriberThread",
+                subscriptionListener -> new PolygonStreamListenerAdapter(tickers, channelTypes) {
+                    @Override
+                    public void onStreamUpdate(PolygonStreamMessageType streamMessageType,
+                            PolygonStreamMessage streamMessage) {
+                        subscriptionListener.onStreamUpdate(streamMessageType, streamMessage);
+                    }
+                },
+                this::addPolygonStreamListener, this::removePolygonStreamListener, overflowPolicy, queueCapacity,
+                (polygonStreamMessageType, polygonStreamMessage) -> polygonStreamMessage.getSym());
+    }
+
     /**
      * Removes the polygon stream listener.
      *
@@ -969,6 +1873,76 @@ public class PolygonAPI {
         polygonWebsocketClient.removeListener(streamListener);
     }
 
+    /**
+     * Adds a listener of the connection state of the polygon stream, e.g. to know when stream messages may have been
+     * missed while the connection was lost.
+     *
+     * @param connectionListener the connection listener
+     */
+    public void addPolygonStreamConnectionListener(WebsocketConnectionListener connectionListener) {
+        polygonWebsocketClient.addConnectionListener(connectionListener);
+    }
+
+    /**
+     * Removes a listener of the connection state of the polygon stream.
+     *
+     * @param connectionListener the connection listener
+     */
+    public void removePolygonStreamConnectionListener(WebsocketConnectionListener connectionListener) {
+        polygonWebsocketClient.removeConnectionListener(connectionListener);
+    }
+
+    /**
+     * Gets the ring buffer that queues the websocket frames of the current stream connection, e.g. to read its queue
+     * depth and producer stall metrics.
+     *
+     * @return the frame ring buffer (null if not connected or if no frame ring buffer is configured)
+     *
+     * @see WebsocketDispatchConfig#setFrameRingBufferSize(int)
+     */
+    public SingleProducerRingBuffer<String> getStreamFrameRingBuffer() {
+        return polygonWebsocketClient.getFrameRingBuffer();
+    }
+
+    /**
+     * Gets the manager of the stream subscriptions, e.g. to read their acknowledgements or to change how subscription
+     * changes are coalesced.
+     *
+     * @return the stream subscription manager
+     */
+    public PolygonSubscriptionManager getStreamSubscriptionManager() {
+        return polygonWebsocketClient.getSubscriptionManager();
+    }
+
+    /**
+     * Gets the arbitrator of the stream messages of redundant stream connections, e.g. to read how often each of them
+     * delivered a stream message first.
+     *
+     * @return the stream feed arbitrator (null if the stream connections aren't redundant)
+     */
+    public PolygonFeedArbitrator getStreamFeedArbitrator() {
+        return polygonWebsocketClient.getFeedArbitrator();
+    }
+
+    /**
+     * Gets the rate limiter that throttles the REST requests, e.g. to read its queue wait and throttled count metrics.
+     *
+     * @return the rate limiter (null if requests are not throttled)
+     */
+    public RateLimiter getRateLimiter() {
+        return polygonRequest.getRateLimiter();
+    }
+
+    /**
+     * Sets the rate limiter that throttles the REST requests. Use {@link RateLimiter#forKey(String, int)} to share one
+     * with other API instances.
+     *
+     * @param rateLimiter the rate limiter (null to not throttle requests)
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        polygonRequest.setRateLimiter(rateLimiter);
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", this.getClass().getSimpleName() + "[", "]")
@@ -161,4 +161,19 @@ public class PolygonConstants {
     /** The constant REVERSE_PARAMETER. */
     public static final String REVERSE_PARAMETER = "reverse";
 
+    /** The constant MAX_TICKERS_PER_PAGE. */
+    public static final int MAX_TICKERS_PER_PAGE = 50;
+
+    /** The constant MAX_TICKER_NEWS_PER_PAGE. */
+    public static final int MAX_TICKER_NEWS_PER_PAGE = 50;
+
+    /** The constant MAX_HISTORIC_TICKS_LIMIT. */
+    public static final int MAX_HISTORIC_TICKS_LIMIT = 50000;
+
+    /**
+     * The constant MAX_AGGREGATES_BASE_RESULTS. The number of base aggregates (e.g. minutes for minute aggregates)
+     * after which the server caps the results of an aggregates request.
+     */
+    public static final int MAX_AGGREGATES_BASE_RESULTS = 5000;
+
 }
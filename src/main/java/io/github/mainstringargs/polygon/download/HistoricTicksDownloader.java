@@ -0,0 +1,512 @@
+package io.github.mainstringargs.polygon.download;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.rest.pagination.PrefetchingPageIterator;
+import io.github.mainstringargs.abstracts.rest.pagination.TimestampCursor;
+import io.github.mainstringargs.domain.polygon.historicquotes.HistoricQuote;
+import io.github.mainstringargs.domain.polygon.historictrades.HistoricTrade;
+import io.github.mainstringargs.polygon.PolygonAPI;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * The Class HistoricTicksDownloader. Downloads the historic trades or quotes of many symbols over a range of dates.
+ * <p>
+ * The download is split in one chunk per symbol and date, and the chunks are run on a bounded pool of threads. Each
+ * chunk pages through its day by timestamp until it is complete (see {@link PolygonAPI#getHistoricTradesIterator(
+ * String, LocalDate, Long, Long, Boolean, Integer, int)}). The requests go through the {@link PolygonAPI}, so they
+ * are throttled by its rate limiter. A chunk that fails is retried with an exponential backoff, resuming from the
+ * last tick delivered rather than from the start of the day.
+ * <p>
+ * The ticks are delivered to a {@link HistoricTicksListener} in timestamp order for each symbol: the batches of the
+ * earliest day that is not complete are delivered as they arrive and the batches of later days are held back until
+ * the days before them are complete. To bound what is held back, the days of a symbol are only scheduled up to a
+ * maximum number of days ahead of its earliest day that is not complete.
+ */
+public class HistoricTicksDownloader implements Closeable {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(HistoricTicksDownloader.class);
+
+    /** The Constant DEFAULT_PARALLELISM. */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /** The Constant DEFAULT_MAX_RETRIES. */
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /** The Constant DEFAULT_RETRY_BACKOFF_MILLIS. */
+    public static final long DEFAULT_RETRY_BACKOFF_MILLIS = 1000;
+
+    /** The Constant DEFAULT_MAX_DAYS_AHEAD. */
+    public static final int DEFAULT_MAX_DAYS_AHEAD = 2;
+
+    /** The Constant BATCH_SIZE. The maximum number of ticks delivered in one batch. */
+    private static final int BATCH_SIZE = 10000;
+
+    /** The Constant PREFETCH_DEPTH. The pages requested ahead of the page being consumed in a chunk. */
+    private static final int PREFETCH_DEPTH = 1;
+
+    /** The thread counter. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** The polygon API. */
+    private final PolygonAPI polygonAPI;
+
+    /** The max retries. */
+    private final int maxRetries;
+
+    /** The retry backoff millis. */
+    private final long retryBackoffMillis;
+
+    /** The max days ahead. */
+    private final int maxDaysAhead;
+
+    /** The executor service that runs the chunks. */
+    private final ExecutorService executorService;
+
+    /**
+     * Instantiates a new historic ticks downloader with the default parallelism and retries.
+     *
+     * @param polygonAPI the polygon API
+     */
+    public HistoricTicksDownloader(PolygonAPI polygonAPI) {
+        this(polygonAPI, DEFAULT_PARALLELISM, DEFAULT_MAX_RETRIES, DEFAULT_RETRY_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Instantiates a new historic ticks downloader that downloads up to {@link #DEFAULT_MAX_DAYS_AHEAD} days of a
+     * symbol ahead of its earliest day that is not complete.
+     *
+     * @param polygonAPI         the polygon API
+     * @param parallelism        the maximum number of chunks downloaded at the same time
+     * @param maxRetries         the maximum number of times a chunk is retried before it fails
+     * @param retryBackoffMillis the wait before the first retry of a chunk (doubled on each retry)
+     */
+    public HistoricTicksDownloader(PolygonAPI polygonAPI, int parallelism, int maxRetries, long retryBackoffMillis) {
+        this(polygonAPI, parallelism, maxRetries, retryBackoffMillis, DEFAULT_MAX_DAYS_AHEAD);
+    }
+
+    /**
+     * Instantiates a new historic ticks downloader.
+     *
+     * @param polygonAPI         the polygon API
+     * @param parallelism        the maximum number of chunks downloaded at the same time
+     * @param maxRetries         the maximum number of times a chunk is retried before it fails
+     * @param retryBackoffMillis the wait before the first retry of a chunk (doubled on each retry)
+     * @param maxDaysAhead       the maximum number of days of a symbol downloaded ahead of its earliest day that is
+     *                           not complete, whose ticks are held back in memory until then (0 to download the days
+     *                           of a symbol one after the other)
+     */
+    public HistoricTicksDownloader(PolygonAPI polygonAPI, int parallelism, int maxRetries, long retryBackoffMillis,
+            int maxDaysAhead) {
+        Preconditions.checkNotNull(polygonAPI);
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        Preconditions.checkArgument(maxRetries >= 0, "maxRetries must not be negative");
+        Preconditions.checkArgument(retryBackoffMillis >= 0, "retryBackoffMillis must not be negative");
+        Preconditions.checkArgument(maxDaysAhead >= 0, "maxDaysAhead must not be negative");
+
+        this.polygonAPI = polygonAPI;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxDaysAhead = maxDaysAhead;
+
+        executorService = ExecutorTracer.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "HistoricTicksDownloaderThread-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Downloads the historic trades of the symbols on the weekdays from one date to another.
+     *
+     * @param symbols  the symbols
+     * @param from     the first date (inclusive)
+     * @param to       the last date (inclusive)
+     * @param listener the listener the trades are delivered to
+     *
+     * @return a future that completes when every chunk is done, exceptionally with the first chunk failure if any
+     * chunk failed (cancel it to stop the download)
+     */
+    public CompletableFuture<Void> downloadTrades(Collection<String> symbols, LocalDate from, LocalDate to,
+            HistoricTicksListener<HistoricTrade> listener) {
+        return download(symbols, from, to, listener, (symbol, date, timestamp) ->
+                        polygonAPI.getHistoricTradesIterator(symbol, date, timestamp, null, null, null, PREFETCH_DEPTH),
+                HistoricTrade::getT, trade -> String.valueOf(trade.getQ()));
+    }
+
+    /**
+     * Downloads the historic quotes of the symbols on the weekdays from one date to another.
+     *
+     * @param symbols  the symbols
+     * @param from     the first date (inclusive)
+     * @param to       the last date (inclusive)
+     * @param listener the listener the quotes are delivered to
+     *
+     * @return a future that completes when every chunk is done, exceptionally with the first chunk failure if any
+     * chunk failed (cancel it to stop the download)
+     */
+    public CompletableFuture<Void> downloadQuotes(Collection<String> symbols, LocalDate from, LocalDate to,
+            HistoricTicksListener<HistoricQuote> listener) {
+        return download(symbols, from, to, listener, (symbol, date, timestamp) ->
+                        polygonAPI.getHistoricQuotesIterator(symbol, date, timestamp, null, null, null, PREFETCH_DEPTH),
+                HistoricQuote::getT, quote -> String.valueOf(quote.getQ()));
+    }
+
+    /**
+     * Downloads the ticks of the symbols on the weekdays from one date to another.
+     *
+     * @param <T>               the tick type
+     * @param symbols           the symbols
+     * @param from              the first date (inclusive)
+     * @param to                the last date (inclusive)
+     * @param listener          the listener
+     * @param iteratorFactory   the factory of the tick iterators
+     * @param timestampFunction the function that gets the timestamp of a tick
+     * @param idFunction        the function that gets the ID of a tick
+     *
+     * @return the download future
+     */
+    private <T> CompletableFuture<Void> download(Collection<String> symbols, LocalDate from, LocalDate to,
+            HistoricTicksListener<T> listener, TickIteratorFactory<T> iteratorFactory,
+            Function<T, Long> timestampFunction, Function<T, String> idFunction) {
+        Preconditions.checkNotNull(symbols);
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkArgument(!to.isBefore(from), "to must not be before from");
+
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                dates.add(date);
+            }
+        }
+
+        CompletableFuture<Void> download = new CompletableFuture<>();
+        AtomicInteger remainingChunks = new AtomicInteger(symbols.size() * dates.size());
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        if (remainingChunks.get() == 0) {
+            download.complete(null);
+            return download;
+        }
+
+        // Submit symbol by symbol so that the days of a symbol complete close together and little is held back
+        for (String symbol : symbols) {
+            SymbolSequencer<T> symbolSequencer = new SymbolSequencer<>(symbol, listener);
+
+            submitChunks(symbolSequencer, dates, download, remainingChunks, firstFailure, iteratorFactory,
+                    timestampFunction, idFunction);
+        }
+
+        return download;
+    }
+
+    /**
+     * Submits the chunks of the days of a symbol that are not further than the max days ahead of its earliest day that
+     * is not complete and weren't submitted yet. Called again whenever a day of the symbol completes.
+     *
+     * @param <T>               the tick type
+     * @param symbolSequencer   the symbol sequencer
+     * @param dates             the dates of the download
+     * @param download          the download future
+     * @param remainingChunks   the number of chunks that are not done
+     * @param firstFailure      the first chunk failure
+     * @param iteratorFactory   the factory of the tick iterators
+     * @param timestampFunction the function that gets the timestamp of a tick
+     * @param idFunction        the function that gets the ID of a tick
+     */
+    private <T> void submitChunks(SymbolSequencer<T> symbolSequencer, List<LocalDate> dates,
+            CompletableFuture<Void> download, AtomicInteger remainingChunks, AtomicReference<Throwable> firstFailure,
+            TickIteratorFactory<T> iteratorFactory, Function<T, Long> timestampFunction,
+            Function<T, String> idFunction) {
+        String symbol = symbolSequencer.symbol;
+
+        int dayIndex;
+        while ((dayIndex = symbolSequencer.claimNextDay(dates.size(), maxDaysAhead)) >= 0) {
+            int chunkDayIndex = dayIndex;
+            LocalDate date = dates.get(chunkDayIndex);
+
+            executorService.execute(() -> {
+                if (!download.isDone()) {
+                    Throwable failure = null;
+
+                    try {
+                        downloadChunk(symbol, date, chunkDayIndex, symbolSequencer, download, iteratorFactory,
+                                timestampFunction, idFunction);
+                    } catch (Exception exception) {
+                        failure = exception instanceof CompletionException && exception.getCause() != null ?
+                                exception.getCause() : exception;
+
+                        LOGGER.error("Failed to download the ticks of " + symbol + " on " + date, failure);
+                        firstFailure.compareAndSet(null, failure);
+                    }
+
+                    if (!download.isDone()) {
+                        symbolSequencer.completeDay(chunkDayIndex, date, failure);
+
+                        // The earliest day that is not complete may have moved on
+                        try {
+                            submitChunks(symbolSequencer, dates, download, remainingChunks, firstFailure,
+                                    iteratorFactory, timestampFunction, idFunction);
+                        } catch (RejectedExecutionException exception) {
+                            LOGGER.debug("The download of " + symbol + " was abandoned on closing", exception);
+                        }
+                    }
+                }
+
+                if (remainingChunks.decrementAndGet() == 0) {
+                    if (firstFailure.get() == null) {
+                        download.complete(null);
+                    } else {
+                        download.completeExceptionally(firstFailure.get());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Downloads the ticks of a symbol on a date, retrying from the last tick delivered when a page request fails.
+     *
+     * @param <T>               the tick type
+     * @param symbol            the symbol
+     * @param date              the date
+     * @param dayIndex          the index of the date in the download
+     * @param symbolSequencer   the symbol sequencer
+     * @param download          the download future
+     * @param iteratorFactory   the factory of the tick iterators
+     * @param timestampFunction the function that gets the timestamp of a tick
+     * @param idFunction        the function that gets the ID of a tick
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private <T> void downloadChunk(String symbol, LocalDate date, int dayIndex, SymbolSequencer<T> symbolSequencer,
+            CompletableFuture<Void> download, TickIteratorFactory<T> iteratorFactory,
+            Function<T, Long> timestampFunction, Function<T, String> idFunction) throws InterruptedException {
+        TimestampCursor<Long> cursor = new TimestampCursor<>(null);
+        int failedAttempts = 0;
+
+        while (true) {
+            PrefetchingPageIterator<?, T> tickIterator = iteratorFactory.create(symbol, date, cursor.getTimestamp());
+
+            try {
+                List<T> batch = new ArrayList<>();
+
+                while (!download.isDone() && tickIterator.hasNext()) {
+                    T tick = tickIterator.next();
+
+                    if (cursor.wasReceived(timestampFunction.apply(tick), idFunction.apply(tick))) {
+                        continue;
+                    }
+
+                    batch.add(tick);
+
+                    if (batch.size() >= BATCH_SIZE) {
+                        cursor = cursor.next(batch, timestampFunction, idFunction);
+                        symbolSequencer.deliver(dayIndex, date, batch);
+                        batch = new ArrayList<>();
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    symbolSequencer.deliver(dayIndex, date, batch);
+                }
+
+                return;
+            } catch (CompletionException exception) {
+                // Resume after the ticks already delivered (the cursor), dropping the undelivered batch
+                failedAttempts++;
+
+                if (failedAttempts > maxRetries) {
+                    throw exception;
+                }
+
+                long backoffMillis = retryBackoffMillis << (failedAttempts - 1);
+
+                LOGGER.warn("Failed to download the ticks of " + symbol + " on " + date + " (attempt " +
+                        failedAttempts + "), retrying in " + backoffMillis + "ms", exception.getCause());
+
+                Thread.sleep(backoffMillis);
+            } finally {
+                tickIterator.close();
+            }
+        }
+    }
+
+    /**
+     * Stops the download threads. Downloads in progress are abandoned.
+     */
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * The factory of the iterators over the ticks of a symbol on a date.
+     *
+     * @param <T> the tick type
+     */
+    @FunctionalInterface
+    private interface TickIteratorFactory<T> {
+
+        /**
+         * Creates a tick iterator.
+         *
+         * @param symbol    the symbol
+         * @param date      the date
+         * @param timestamp the timestamp offset to start from (null for the start of the day)
+         *
+         * @return the tick iterator
+         */
+        PrefetchingPageIterator<?, T> create(String symbol, LocalDate date, Long timestamp);
+    }
+
+    /**
+     * The Class SymbolSequencer. Delivers the batches of a symbol to the listener in date order.
+     *
+     * @param <T> the tick type
+     */
+    private static class SymbolSequencer<T> {
+
+        /** The symbol. */
+        private final String symbol;
+
+        /** The listener. */
+        private final HistoricTicksListener<T> listener;
+
+        /** The days that can't be delivered yet or are being delivered, by day index. */
+        private final Map<Integer, PendingDay<T>> pendingDaysByIndex = new HashMap<>();
+
+        /** The index of the earliest day that is not complete. */
+        private int headDayIndex;
+
+        /** The index of the next day whose chunk is submitted. */
+        private int nextDayIndex;
+
+        /**
+         * Instantiates a new symbol sequencer.
+         *
+         * @param symbol   the symbol
+         * @param listener the listener
+         */
+        SymbolSequencer(String symbol, HistoricTicksListener<T> listener) {
+            this.symbol = symbol;
+            this.listener = listener;
+        }
+
+        /**
+         * Claims the next day whose chunk can be submitted, i.e. that is not further than a number of days ahead of
+         * the earliest day that is not complete.
+         *
+         * @param dayCount     the number of days of the download
+         * @param maxDaysAhead the max days ahead
+         *
+         * @return the day index (-1 if there is none)
+         */
+        synchronized int claimNextDay(int dayCount, int maxDaysAhead) {
+            if (nextDayIndex >= dayCount || nextDayIndex > headDayIndex + maxDaysAhead) {
+                return -1;
+            }
+
+            return nextDayIndex++;
+        }
+
+        /**
+         * Delivers a batch right away if its day is the earliest day that is not complete, otherwise holds it back.
+         *
+         * @param dayIndex the day index
+         * @param date     the date
+         * @param batch    the batch
+         */
+        synchronized void deliver(int dayIndex, LocalDate date, List<T> batch) {
+            if (dayIndex == headDayIndex) {
+                listener.onTicks(symbol, date, batch);
+            } else {
+                pendingDaysByIndex.computeIfAbsent(dayIndex, index -> new PendingDay<>(date)).batches.add(batch);
+            }
+        }
+
+        /**
+         * Marks a day as complete and delivers the held back batches that no longer have an incomplete day before
+         * them.
+         *
+         * @param dayIndex the day index
+         * @param date     the date
+         * @param failure  the failure (null if the day was downloaded)
+         */
+        synchronized void completeDay(int dayIndex, LocalDate date, Throwable failure) {
+            PendingDay<T> completedDay = pendingDaysByIndex.computeIfAbsent(dayIndex, index -> new PendingDay<>(date));
+            completedDay.completed = true;
+            completedDay.failure = failure;
+
+            PendingDay<T> headDay;
+            while ((headDay = pendingDaysByIndex.get(headDayIndex)) != null) {
+                for (List<T> batch : headDay.batches) {
+                    listener.onTicks(symbol, headDay.date, batch);
+                }
+                headDay.batches.clear();
+
+                if (!headDay.completed) { // Its next batches will be delivered right away
+                    break;
+                }
+
+                if (headDay.failure == null) {
+                    listener.onDayDownloaded(symbol, headDay.date);
+                } else {
+                    listener.onDayFailed(symbol, headDay.date, headDay.failure);
+                }
+
+                pendingDaysByIndex.remove(headDayIndex);
+                headDayIndex++;
+            }
+        }
+    }
+
+    /**
+     * The Class PendingDay.
+     *
+     * @param <T> the tick type
+     */
+    private static class PendingDay<T> {
+
+        /** The date. */
+        private final LocalDate date;
+
+        /** The held back batches. */
+        private final List<List<T>> batches = new ArrayList<>();
+
+        /** Whether the day is complete. */
+        private boolean completed;
+
+        /** The failure (null if none). */
+        private Throwable failure;
+
+        /**
+         * Instantiates a new pending day.
+         *
+         * @param date the date
+         */
+        PendingDay(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
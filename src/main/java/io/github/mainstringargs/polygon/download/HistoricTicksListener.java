@@ -0,0 +1,41 @@
+package io.github.mainstringargs.polygon.download;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The listener interface for receiving the ticks downloaded by a {@link HistoricTicksDownloader}. The ticks of a
+ * symbol are delivered in timestamp order (day after day), one batch at a time, while the ticks of different symbols
+ * may be delivered concurrently from different threads.
+ *
+ * @param <T> the tick type
+ */
+public interface HistoricTicksListener<T> {
+
+    /**
+     * Called with the next batch of ticks of a symbol.
+     *
+     * @param symbol the symbol
+     * @param date   the date of the ticks
+     * @param ticks  the ticks
+     */
+    void onTicks(String symbol, LocalDate date, List<T> ticks);
+
+    /**
+     * Called when all the ticks of a symbol on a date have been delivered.
+     *
+     * @param symbol the symbol
+     * @param date   the date
+     */
+    default void onDayDownloaded(String symbol, LocalDate date) {}
+
+    /**
+     * Called when the ticks of a symbol on a date could not be downloaded after all the retries. The ticks of that
+     * date that were already delivered are not taken back and the download moves on to the next date.
+     *
+     * @param symbol the symbol
+     * @param date   the date
+     * @param cause  the cause
+     */
+    default void onDayFailed(String symbol, LocalDate date, Throwable cause) {}
+}
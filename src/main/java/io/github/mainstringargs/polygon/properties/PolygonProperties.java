@@ -41,6 +41,140 @@ public class PolygonProperties {
     /** The Constant USER_AGENT_VALUE. */
     public static final String USER_AGENT_VALUE = getProperty(POLYGON_PROPERTIES_FILE, USER_AGENT_KEY);
 
+    /** The Constant RATE_LIMIT_REQUESTS_PER_MINUTE_KEY. */
+    private static final String RATE_LIMIT_REQUESTS_PER_MINUTE_KEY = "rate_limit_requests_per_minute";
+
+    /** The Constant RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE. Requests are not throttled if this is not set. */
+    public static final String RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, RATE_LIMIT_REQUESTS_PER_MINUTE_KEY);
+
+    /** The Constant WEBSOCKET_DISPATCH_MODE_KEY. */
+    private static final String WEBSOCKET_DISPATCH_MODE_KEY = "websocket_dispatch_mode";
+
+    /**
+     * The Constant WEBSOCKET_DISPATCH_MODE_VALUE. A {@link
+     * io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchMode} name (case-insensitive). Stream
+     * messages are dispatched directly if this is not set.
+     */
+    public static final String WEBSOCKET_DISPATCH_MODE_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_DISPATCH_MODE_KEY);
+
+    /** The Constant WEBSOCKET_DISPATCH_SHARD_COUNT_KEY. */
+    private static final String WEBSOCKET_DISPATCH_SHARD_COUNT_KEY = "websocket_dispatch_shard_count";
+
+    /** The Constant WEBSOCKET_DISPATCH_SHARD_COUNT_VALUE. The number of processors is used if this is not set. */
+    public static final String WEBSOCKET_DISPATCH_SHARD_COUNT_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_DISPATCH_SHARD_COUNT_KEY);
+
+    /** The Constant WEBSOCKET_FRAME_RING_BUFFER_SIZE_KEY. */
+    private static final String WEBSOCKET_FRAME_RING_BUFFER_SIZE_KEY = "websocket_frame_ring_buffer_size";
+
+    /** The Constant WEBSOCKET_FRAME_RING_BUFFER_SIZE_VALUE. Frames are queued in an executor if this is not set. */
+    public static final String WEBSOCKET_FRAME_RING_BUFFER_SIZE_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_FRAME_RING_BUFFER_SIZE_KEY);
+
+    /** The Constant WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_KEY. */
+    private static final String WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_KEY =
+            "websocket_frame_ring_buffer_wait_strategy";
+
+    /**
+     * The Constant WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_VALUE. A {@link
+     * io.github.mainstringargs.util.concurrency.RingBufferWaitStrategy} name (case-insensitive).
+     */
+    public static final String WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_KEY);
+
+    /** The Constant WEBSOCKET_CONNECTION_COUNT_KEY. */
+    private static final String WEBSOCKET_CONNECTION_COUNT_KEY = "websocket_connection_count";
+
+    /** The Constant WEBSOCKET_CONNECTION_COUNT_VALUE. A single connection is used if this is not set. */
+    public static final String WEBSOCKET_CONNECTION_COUNT_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_CONNECTION_COUNT_KEY);
+
+    /** The Constant WEBSOCKET_CONNECTION_PARTITIONING_KEY. */
+    private static final String WEBSOCKET_CONNECTION_PARTITIONING_KEY = "websocket_connection_partitioning";
+
+    /**
+     * The Constant WEBSOCKET_CONNECTION_PARTITIONING_VALUE. A {@link
+     * io.github.mainstringargs.abstracts.websocket.dispatch.ConnectionPartitioning} name (case-insensitive).
+     */
+    public static final String WEBSOCKET_CONNECTION_PARTITIONING_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_CONNECTION_PARTITIONING_KEY);
+
+    /** The Constant WEBSOCKET_ARBITRATION_WINDOW_SIZE_KEY. */
+    private static final String WEBSOCKET_ARBITRATION_WINDOW_SIZE_KEY = "websocket_arbitration_window_size";
+
+    /** The Constant WEBSOCKET_ARBITRATION_WINDOW_SIZE_VALUE. Only used by redundant connections. */
+    public static final String WEBSOCKET_ARBITRATION_WINDOW_SIZE_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_ARBITRATION_WINDOW_SIZE_KEY);
+
+    /** The Constant WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_KEY. */
+    private static final String WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_KEY =
+            "websocket_subscription_coalescing_window_millis";
+
+    /**
+     * The Constant WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_VALUE. {@link
+     * io.github.mainstringargs.polygon.websocket.client.PolygonSubscriptionManager#DEFAULT_COALESCING_WINDOW_MILLIS} is
+     * used if this is not set.
+     */
+    public static final String WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_KEY);
+
+    /** The Constant WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_KEY. */
+    private static final String WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_KEY = "websocket_subscription_max_frame_size";
+
+    /**
+     * The Constant WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_VALUE. {@link
+     * io.github.mainstringargs.polygon.websocket.client.PolygonSubscriptionManager#DEFAULT_MAX_FRAME_SIZE} is used if
+     * this is not set.
+     */
+    public static final String WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_KEY);
+
+    /** The Constant WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY. */
+    private static final String WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY = "websocket_reconnect_max_attempts";
+
+    /** The Constant WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE. The reconnect attempts are unlimited if this is not set. */
+    public static final String WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY);
+
+    /** The Constant WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY. */
+    private static final String WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY =
+            "websocket_reconnect_initial_backoff_millis";
+
+    /**
+     * The Constant WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE. {@link
+     * io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig#DEFAULT_INITIAL_BACKOFF_MILLIS} is
+     * used if this is not set.
+     */
+    public static final String WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY);
+
+    /** The Constant WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY. */
+    private static final String WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY = "websocket_reconnect_max_backoff_millis";
+
+    /**
+     * The Constant WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE. {@link
+     * io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig#DEFAULT_MAX_BACKOFF_MILLIS} is used
+     * if this is not set.
+     */
+    public static final String WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY);
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY. */
+    private static final String WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY = "websocket_frame_journal_directory";
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE. The websocket frames aren't recorded if this isn't set. */
+    public static final String WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY);
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY. */
+    private static final String WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY = "websocket_frame_journal_segment_size";
+
+    /** The Constant WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE. */
+    public static final String WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE =
+            getProperty(POLYGON_PROPERTIES_FILE, WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY);
+
     /**
      * Static to string.
      *
@@ -55,8 +189,43 @@ public class PolygonProperties {
                 .add("POLYGON_PROPERTIES_FILE = " + POLYGON_PROPERTIES_FILE)
                 .add("POLYGON_WEB_SOCKET_SERVER_URL_KEY = " + POLYGON_WEB_SOCKET_SERVER_URL_KEY)
                 .add("POLYGON_WEB_SOCKET_SERVER_URL_VALUE = " + POLYGON_WEB_SOCKET_SERVER_URL_VALUE)
+                .add("RATE_LIMIT_REQUESTS_PER_MINUTE_KEY = " + RATE_LIMIT_REQUESTS_PER_MINUTE_KEY)
+                .add("RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE = " + RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE)
                 .add("USER_AGENT_KEY = " + USER_AGENT_KEY)
                 .add("USER_AGENT_VALUE = " + USER_AGENT_VALUE)
+                .add("WEBSOCKET_DISPATCH_MODE_KEY = " + WEBSOCKET_DISPATCH_MODE_KEY)
+                .add("WEBSOCKET_DISPATCH_MODE_VALUE = " + WEBSOCKET_DISPATCH_MODE_VALUE)
+                .add("WEBSOCKET_DISPATCH_SHARD_COUNT_KEY = " + WEBSOCKET_DISPATCH_SHARD_COUNT_KEY)
+                .add("WEBSOCKET_DISPATCH_SHARD_COUNT_VALUE = " + WEBSOCKET_DISPATCH_SHARD_COUNT_VALUE)
+                .add("WEBSOCKET_FRAME_RING_BUFFER_SIZE_KEY = " + WEBSOCKET_FRAME_RING_BUFFER_SIZE_KEY)
+                .add("WEBSOCKET_FRAME_RING_BUFFER_SIZE_VALUE = " + WEBSOCKET_FRAME_RING_BUFFER_SIZE_VALUE)
+                .add("WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_KEY = " + WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_KEY)
+                .add("WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_VALUE = " +
+                        WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_VALUE)
+                .add("WEBSOCKET_CONNECTION_COUNT_KEY = " + WEBSOCKET_CONNECTION_COUNT_KEY)
+                .add("WEBSOCKET_CONNECTION_COUNT_VALUE = " + WEBSOCKET_CONNECTION_COUNT_VALUE)
+                .add("WEBSOCKET_CONNECTION_PARTITIONING_KEY = " + WEBSOCKET_CONNECTION_PARTITIONING_KEY)
+                .add("WEBSOCKET_CONNECTION_PARTITIONING_VALUE = " + WEBSOCKET_CONNECTION_PARTITIONING_VALUE)
+                .add("WEBSOCKET_ARBITRATION_WINDOW_SIZE_KEY = " + WEBSOCKET_ARBITRATION_WINDOW_SIZE_KEY)
+                .add("WEBSOCKET_ARBITRATION_WINDOW_SIZE_VALUE = " + WEBSOCKET_ARBITRATION_WINDOW_SIZE_VALUE)
+                .add("WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_KEY = " +
+                        WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_KEY)
+                .add("WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_VALUE = " +
+                        WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_VALUE)
+                .add("WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_KEY = " + WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_KEY)
+                .add("WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_VALUE = " + WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_VALUE)
+                .add("WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY = " + WEBSOCKET_RECONNECT_MAX_ATTEMPTS_KEY)
+                .add("WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE = " + WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE)
+                .add("WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY = " +
+                        WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_KEY)
+                .add("WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE = " +
+                        WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE)
+                .add("WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY = " + WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_KEY)
+                .add("WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE = " + WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE)
+                .add("WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY = " + WEBSOCKET_FRAME_JOURNAL_DIRECTORY_KEY)
+                .add("WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE = " + WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE)
+                .add("WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY = " + WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_KEY)
+                .add("WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE = " + WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE)
                 .toString();
     }
 }
@@ -4,8 +4,13 @@ import com.mashape.unirest.http.HttpResponse;
 import io.github.mainstringargs.polygon.properties.PolygonProperties;
 import io.github.mainstringargs.abstracts.rest.AbstractRequest;
 import io.github.mainstringargs.abstracts.rest.AbstractRequestBuilder;
+import io.github.mainstringargs.abstracts.rest.ratelimit.RateLimiter;
+import io.github.mainstringargs.abstracts.rest.transport.ApacheHttpTransport;
+import io.github.mainstringargs.abstracts.rest.transport.HttpTransport;
+import io.github.mainstringargs.polygon.rest.exception.PolygonAPIRequestException;
 
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The Class PolygonRequest.
@@ -18,60 +23,95 @@ public class PolygonRequest extends AbstractRequest {
     /** The Constant API_KEY_ID. */
     private static final String API_KEY_PARAMETER = "apiKey";
 
+    /** The Constant RATE_LIMITER_KEY_PREFIX. */
+    private static final String RATE_LIMITER_KEY_PREFIX = "polygon:";
+
     /** The key id. */
     private String keyId;
 
     /**
-     * Instantiates a new polygon request.
+     * Instantiates a new polygon request using a default {@link ApacheHttpTransport}.
      *
      * @param keyID the key id
      */
     public PolygonRequest(String keyID) {
-        super();
+        this(keyID, new ApacheHttpTransport());
+    }
+
+    /**
+     * Instantiates a new polygon request.
+     *
+     * @param keyID         the key id
+     * @param httpTransport the http transport
+     */
+    public PolygonRequest(String keyID, HttpTransport httpTransport) {
+        super(httpTransport);
         this.keyId = keyID;
 
         headers.put(USER_AGENT_KEY, PolygonProperties.USER_AGENT_VALUE);
+
+        if (keyID != null && PolygonProperties.RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE != null) {
+            setRateLimiter(RateLimiter.forKey(RATE_LIMITER_KEY_PREFIX + keyID,
+                    Integer.parseInt(PolygonProperties.RATE_LIMIT_REQUESTS_PER_MINUTE_VALUE.trim())));
+        }
     }
 
     @Override
-    public HttpResponse<InputStream> invokeGet(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokeGetAsync(AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokeGet(abstractRequestBuilder);
+        return super.invokeGetAsync(abstractRequestBuilder);
     }
 
     @Override
-    public HttpResponse<InputStream> invokeHead(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokeHeadAsync(AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokeHead(abstractRequestBuilder);
+        return super.invokeHeadAsync(abstractRequestBuilder);
     }
 
     @Override
-    public HttpResponse<InputStream> invokePost(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokePostAsync(AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokePost(abstractRequestBuilder);
+        return super.invokePostAsync(abstractRequestBuilder);
     }
 
     @Override
-    public HttpResponse<InputStream> invokePatch(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokePatchAsync(
+            AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokePatch(abstractRequestBuilder);
+        return super.invokePatchAsync(abstractRequestBuilder);
     }
 
     @Override
-    public HttpResponse<InputStream> invokePut(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokePutAsync(AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokePut(abstractRequestBuilder);
+        return super.invokePutAsync(abstractRequestBuilder);
     }
 
     @Override
-    public HttpResponse<InputStream> invokeDelete(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokeDeleteAsync(
+            AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokeDelete(abstractRequestBuilder);
+        return super.invokeDeleteAsync(abstractRequestBuilder);
     }
 
     @Override
-    public HttpResponse<InputStream> invokeOptions(AbstractRequestBuilder abstractRequestBuilder) {
+    public CompletableFuture<HttpResponse<InputStream>> invokeOptionsAsync(
+            AbstractRequestBuilder abstractRequestBuilder) {
         abstractRequestBuilder.appendURLParameter(API_KEY_PARAMETER, keyId);
-        return super.invokeOptions(abstractRequestBuilder);
+        return super.invokeOptionsAsync(abstractRequestBuilder);
+    }
+
+    /**
+     * Waits for the response future to complete.
+     *
+     * @param <T>            the response object type
+     * @param responseFuture the response future
+     *
+     * @return the response object
+     *
+     * @throws PolygonAPIRequestException the polygon api request exception
+     */
+    public <T> T await(CompletableFuture<T> responseFuture) throws PolygonAPIRequestException {
+        return awaitResponse(responseFuture, PolygonAPIRequestException.class);
     }
 }
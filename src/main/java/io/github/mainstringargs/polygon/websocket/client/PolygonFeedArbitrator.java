@@ -0,0 +1,249 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.dispatch.RecentFingerprintWindow;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregateMessage;
+import io.github.mainstringargs.domain.polygon.websocket.quote.QuoteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Class PolygonFeedArbitrator. Arbitrates the stream messages of redundant (hot-hot) connections that are
+ * subscribed to the same channels: the first copy of each stream message to arrive, on whichever connection, is
+ * delivered and the later copies are dropped.
+ * <p>
+ * A stream message is identified by a 64-bit fingerprint of its type, symbol, exchange timestamp and the fields that
+ * tell apart the messages of a symbol with the same timestamp: the trade ID and exchange of a trade, the prices, sizes,
+ * exchanges and condition of a quote and the window and values of an aggregate. The fingerprints of the recent stream
+ * messages are kept in bounded {@link RecentFingerprintWindow}s, striped by fingerprint so that the message threads of
+ * the connections rarely contend. A copy that arrives after the window moved past its original is delivered again, so
+ * the window must cover the messages received while the slowest connection lags behind.
+ * <p>
+ * Status messages are never arbitrated, since they are about their own connection.
+ */
+public class PolygonFeedArbitrator {
+
+    /** The number of windows (a power of two). */
+    private static final int STRIPE_COUNT = 16;
+
+    /** The fingerprint of a null field. */
+    private static final long NULL_FIELD = 0x5851F42D4C957F2DL;
+
+    /** The windows, each guarded by itself. */
+    private final RecentFingerprintWindow[] windows;
+
+    /** The number of first arrivals by connection index. */
+    private final AtomicLongArray firstArrivalCounts;
+
+    /** The number of dropped copies. */
+    private final LongAdder duplicateCount = new LongAdder();
+
+    /** The number of stream messages that aren't arbitrated (e.g. status messages). */
+    private final LongAdder unarbitratedCount = new LongAdder();
+
+    /**
+     * Instantiates a new Polygon feed arbitrator.
+     *
+     * @param connectionCount the number of redundant connections
+     * @param windowSize      the number of recent stream messages that are remembered to drop their later copies
+     */
+    public PolygonFeedArbitrator(int connectionCount, int windowSize) {
+        Preconditions.checkArgument(connectionCount > 0, "The connection count must be positive");
+        Preconditions.checkArgument(windowSize > 0, "The window size must be positive");
+
+        windows = new RecentFingerprintWindow[STRIPE_COUNT];
+        for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+            windows[stripe] = new RecentFingerprintWindow(Math.max(1, windowSize / STRIPE_COUNT));
+        }
+
+        firstArrivalCounts = new AtomicLongArray(connectionCount);
+    }
+
+    /**
+     * Checks whether a stream message is the first copy to arrive (and remembers it if it is). May be called by the
+     * message threads of all of the connections concurrently.
+     *
+     * @param polygonStreamMessageType the polygon stream message type
+     * @param polygonStreamMessage     the polygon stream message
+     * @param connectionIndex          the index of the connection it arrived on (-1 if it didn't come from a
+     *                                 connection, e.g. if it is replayed)
+     *
+     * @return true if it should be delivered, false if it is a later copy
+     */
+    public boolean isFirstArrival(PolygonStreamMessageType polygonStreamMessageType,
+            PolygonStreamMessage polygonStreamMessage, int connectionIndex) {
+        if (polygonStreamMessageType == PolygonStreamMessageType.STATUS || polygonStreamMessage.getSym() == null) {
+            unarbitratedCount.increment();
+            return true;
+        }
+
+        long fingerprint = getFingerprint(polygonStreamMessageType, polygonStreamMessage);
+        RecentFingerprintWindow window = windows[(int) (fingerprint ^ (fingerprint >>> 32)) & (STRIPE_COUNT - 1)];
+
+        boolean firstArrival;
+        synchronized (window) {
+            firstArrival = window.addIfAbsent(fingerprint);
+        }
+
+        if (!firstArrival) {
+            duplicateCount.increment();
+        } else if (connectionIndex >= 0 && connectionIndex < firstArrivalCounts.length()) {
+            firstArrivalCounts.incrementAndGet(connectionIndex);
+        }
+
+        return firstArrival;
+    }
+
+    /**
+     * Forgets all of the stream messages, e.g. before replaying a recorded stream.
+     */
+    public void clear() {
+        for (RecentFingerprintWindow window : windows) {
+            synchronized (window) {
+                window.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of stream messages whose first copy arrived on a connection, i.e. how often that connection won.
+     *
+     * @param connectionIndex the connection index
+     *
+     * @return the first arrival count
+     */
+    public long getFirstArrivalCount(int connectionIndex) {
+        return firstArrivalCounts.get(connectionIndex);
+    }
+
+    /**
+     * Gets the number of later copies that were dropped.
+     *
+     * @return the duplicate count
+     */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    /**
+     * Gets the number of stream messages that weren't arbitrated (e.g. status messages).
+     *
+     * @return the unarbitrated count
+     */
+    public long getUnarbitratedCount() {
+        return unarbitratedCount.sum();
+    }
+
+    /**
+     * Gets the fingerprint of a stream message.
+     *
+     * @param polygonStreamMessageType the polygon stream message type
+     * @param polygonStreamMessage     the polygon stream message
+     *
+     * @return the fingerprint
+     */
+    public static long getFingerprint(PolygonStreamMessageType polygonStreamMessageType,
+            PolygonStreamMessage polygonStreamMessage) {
+        long fingerprint = mix(polygonStreamMessageType.ordinal() + 1, polygonStreamMessage.getSym());
+
+        switch (polygonStreamMessageType) {
+            case TRADE:
+                TradeMessage tradeMessage = (TradeMessage) polygonStreamMessage;
+                fingerprint = mix(fingerprint, tradeMessage.getT());
+                fingerprint = mix(fingerprint, tradeMessage.getI());
+                fingerprint = mix(fingerprint, tradeMessage.getX());
+                fingerprint = mix(fingerprint, tradeMessage.getP());
+                fingerprint = mix(fingerprint, tradeMessage.getS());
+                break;
+            case QUOTE:
+                // The quotes have no ID, so all of their fields tell them apart
+                QuoteMessage quoteMessage = (QuoteMessage) polygonStreamMessage;
+                fingerprint = mix(fingerprint, quoteMessage.getT());
+                fingerprint = mix(fingerprint, quoteMessage.getBx());
+                fingerprint = mix(fingerprint, quoteMessage.getBp());
+                fingerprint = mix(fingerprint, quoteMessage.getBs());
+                fingerprint = mix(fingerprint, quoteMessage.getAx());
+                fingerprint = mix(fingerprint, quoteMessage.getAp());
+                fingerprint = mix(fingerprint, quoteMessage.getAs());
+                fingerprint = mix(fingerprint, quoteMessage.getC());
+                break;
+            case AGGREGATE_PER_SECOND:
+            case AGGREGATE_PER_MINUTE:
+                AggregateMessage aggregateMessage = (AggregateMessage) polygonStreamMessage;
+                fingerprint = mix(fingerprint, aggregateMessage.getS());
+                fingerprint = mix(fingerprint, aggregateMessage.getE());
+                fingerprint = mix(fingerprint, aggregateMessage.getV());
+                fingerprint = mix(fingerprint, aggregateMessage.getC());
+                break;
+            default:
+                break;
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Mixes a string field into a fingerprint (without allocating).
+     *
+     * @param fingerprint the fingerprint
+     * @param value       the value
+     *
+     * @return the fingerprint
+     */
+    private static long mix(long fingerprint, String value) {
+        if (value == null) {
+            return mix(fingerprint, NULL_FIELD);
+        }
+
+        long stringFingerprint = value.length();
+        for (int index = 0; index < value.length(); index++) {
+            stringFingerprint = stringFingerprint * 31 + value.charAt(index);
+        }
+        return mix(fingerprint, stringFingerprint);
+    }
+
+    /**
+     * Mixes a number field into a fingerprint.
+     *
+     * @param fingerprint the fingerprint
+     * @param value       the value
+     *
+     * @return the fingerprint
+     */
+    private static long mix(long fingerprint, Number value) {
+        if (value == null) {
+            return mix(fingerprint, NULL_FIELD);
+        } else if (value instanceof Double) {
+            return mix(fingerprint, Double.doubleToLongBits(value.doubleValue()));
+        } else {
+            return mix(fingerprint, value.longValue());
+        }
+    }
+
+    /**
+     * Mixes a value into a fingerprint.
+     *
+     * @param fingerprint the fingerprint
+     * @param value       the value
+     *
+     * @return the fingerprint
+     */
+    private static long mix(long fingerprint, long value) {
+        long mixed = (fingerprint ^ value) * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", PolygonFeedArbitrator.class.getSimpleName() + "[", "]")
+                .add("firstArrivalCounts=" + firstArrivalCounts)
+                .add("duplicateCount=" + duplicateCount)
+                .add("unarbitratedCount=" + unarbitratedCount)
+                .toString();
+    }
+}
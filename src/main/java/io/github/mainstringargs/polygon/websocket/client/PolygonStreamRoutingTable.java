@@ -0,0 +1,329 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import com.google.common.base.Preconditions;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListener;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * The Class PolygonStreamRoutingTable. An index of the stream listeners of a {@link PolygonWebsocketClient} by symbol
+ * and message type, so that routing a message only touches the listeners it is delivered to. A listener gets the
+ * messages of the symbols in its stock channels, and the messages of all the other symbols if its stock channels
+ * contain the all tickers symbol ({@value #ALL_TICKERS}), like before the index existed. The targets of a message are
+ * in the order the listeners were added.
+ * <p>
+ * The routes of a symbol are immutable and replaced as a whole, and adding or removing a listener only replaces the
+ * routes of the symbols in its stock channels (or of all the symbols if it has the all tickers symbol), so changing the
+ * listeners one at a time takes time linear in the number of listeners overall. The listeners are added and removed
+ * one writer at a time (e.g. under the listeners lock of the client), and the targets are read without locking.
+ */
+public class PolygonStreamRoutingTable {
+
+    /** The all tickers. */
+    public static final String ALL_TICKERS = "*";
+
+    /** The Constant MESSAGE_TYPES. */
+    private static final PolygonStreamMessageType[] MESSAGE_TYPES = PolygonStreamMessageType.values();
+
+    /** The function that gets what a message of a listener and a message type is delivered to. */
+    private final BiFunction<PolygonStreamListener, PolygonStreamMessageType,
+            StreamListener<PolygonStreamMessageType, PolygonStreamMessage>> targetFunction;
+
+    /** The routes of each symbol that some listener has in its stock channels. */
+    private final ConcurrentHashMap<String, Routes> routesBySymbol = new ConcurrentHashMap<>();
+
+    /** The routes of all the other symbols. */
+    private volatile Routes wildcardRoutes = Routes.EMPTY;
+
+    /** The stock channels of the listeners as they were added, in the order they were added (writer only). */
+    private final LinkedHashMap<PolygonStreamListener, Map<String, Set<PolygonStreamMessageType>>>
+            stockChannelsByListener = new LinkedHashMap<>();
+
+    /** The number of listeners that have each symbol in their stock channels (writer only). */
+    private final HashMap<String, Integer> listenerCountsBySymbol = new HashMap<>();
+
+    /**
+     * Instantiates a new polygon stream routing table.
+     *
+     * @param targetFunction the function that gets what a message of a listener and a message type is delivered to
+     *                       (e.g. the listener itself, its dispatch queue or its typed callback)
+     */
+    public PolygonStreamRoutingTable(BiFunction<PolygonStreamListener, PolygonStreamMessageType,
+            StreamListener<PolygonStreamMessageType, PolygonStreamMessage>> targetFunction) {
+        Preconditions.checkNotNull(targetFunction);
+
+        this.targetFunction = targetFunction;
+    }
+
+    /**
+     * Adds a listener after the current ones. Its targets are got from the target function now, and its stock channels
+     * are read now (a later change of them isn't routed).
+     *
+     * @param listener the listener
+     */
+    public void addListener(PolygonStreamListener listener) {
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkArgument(!stockChannelsByListener.containsKey(listener), "The listener was already added");
+
+        Map<String, Set<PolygonStreamMessageType>> stockChannels = listener.getStockChannels() == null ?
+                Collections.emptyMap() : new HashMap<>(listener.getStockChannels());
+        stockChannelsByListener.put(listener, stockChannels);
+
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] targets = newTargets(MESSAGE_TYPES.length);
+        for (PolygonStreamMessageType messageType : MESSAGE_TYPES) {
+            targets[messageType.ordinal()] = targetFunction.apply(listener, messageType);
+        }
+
+        // The channels of a symbol take precedence over the all tickers channels
+        for (Map.Entry<String, Set<PolygonStreamMessageType>> symbolChannels : stockChannels.entrySet()) {
+            String symbol = symbolChannels.getKey();
+            if (symbol.equals(ALL_TICKERS)) {
+                continue;
+            }
+
+            // A symbol no listener had yet was routed by the wildcard routes
+            Routes routes = routesBySymbol.getOrDefault(symbol, wildcardRoutes);
+            routesBySymbol.put(symbol, routes.with(listener, targets, symbolChannels.getValue()));
+            listenerCountsBySymbol.merge(symbol, 1, Integer::sum);
+        }
+
+        Set<PolygonStreamMessageType> wildcardChannels = stockChannels.get(ALL_TICKERS);
+        if (wildcardChannels != null) {
+            wildcardRoutes = wildcardRoutes.with(listener, targets, wildcardChannels);
+
+            for (Map.Entry<String, Routes> symbolRoutes : routesBySymbol.entrySet()) {
+                if (!stockChannels.containsKey(symbolRoutes.getKey())) {
+                    symbolRoutes.setValue(symbolRoutes.getValue().with(listener, targets, wildcardChannels));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(PolygonStreamListener listener) {
+        Map<String, Set<PolygonStreamMessageType>> stockChannels = stockChannelsByListener.remove(listener);
+        if (stockChannels == null) {
+            return;
+        }
+
+        for (String symbol : stockChannels.keySet()) {
+            if (symbol.equals(ALL_TICKERS)) {
+                continue;
+            }
+
+            // A symbol no listener has anymore is routed by the wildcard routes
+            if (listenerCountsBySymbol.merge(symbol, -1, Integer::sum) == 0) {
+                listenerCountsBySymbol.remove(symbol);
+                routesBySymbol.remove(symbol);
+            } else {
+                routesBySymbol.computeIfPresent(symbol, (routesSymbol, routes) -> routes.without(listener));
+            }
+        }
+
+        if (stockChannels.containsKey(ALL_TICKERS)) {
+            wildcardRoutes = wildcardRoutes.without(listener);
+
+            for (Map.Entry<String, Routes> symbolRoutes : routesBySymbol.entrySet()) {
+                if (!stockChannels.containsKey(symbolRoutes.getKey())) {
+                    symbolRoutes.setValue(symbolRoutes.getValue().without(listener));
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all of the listeners.
+     */
+    public void clear() {
+        stockChannelsByListener.clear();
+        listenerCountsBySymbol.clear();
+        routesBySymbol.clear();
+        wildcardRoutes = Routes.EMPTY;
+    }
+
+    /**
+     * Gets the targets of a message.
+     *
+     * @param symbol      the symbol of the message (may be null, e.g. for status messages)
+     * @param messageType the message type
+     *
+     * @return the targets (must not be modified)
+     */
+    public StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] getTargets(String symbol,
+            PolygonStreamMessageType messageType) {
+        Routes routes = symbol == null ? null : routesBySymbol.get(symbol);
+
+        return (routes == null ? wildcardRoutes : routes).targetsByType.get(messageType.ordinal());
+    }
+
+    /**
+     * Gets the number of listeners.
+     *
+     * @return the listener count
+     */
+    public int getListenerCount() {
+        return stockChannelsByListener.size();
+    }
+
+    /**
+     * Gets the number of symbols some listener has in its stock channels.
+     *
+     * @return the symbol count
+     */
+    public int getSymbolCount() {
+        return routesBySymbol.size();
+    }
+
+    /**
+     * Creates an array of targets.
+     *
+     * @param length the length
+     *
+     * @return the targets
+     */
+    @SuppressWarnings("unchecked")
+    private static StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] newTargets(int length) {
+        return (StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[]) new StreamListener<?, ?>[length];
+    }
+
+    /**
+     * The immutable routes of a symbol: the targets of each message type and the listeners they belong to.
+     */
+    private static final class Routes {
+
+        /** The routes without targets. */
+        private static final Routes EMPTY = new Routes();
+
+        /** The listeners of the targets, indexed by message type ordinal. */
+        private final PolygonStreamListener[][] listenersByType;
+
+        /** The targets, indexed by message type ordinal. */
+        private final List<StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[]> targetsByType;
+
+        /**
+         * Instantiates new routes without targets.
+         */
+        private Routes() {
+            listenersByType = new PolygonStreamListener[MESSAGE_TYPES.length][];
+            targetsByType = new ArrayList<>(MESSAGE_TYPES.length);
+
+            for (PolygonStreamMessageType messageType : MESSAGE_TYPES) {
+                listenersByType[messageType.ordinal()] = new PolygonStreamListener[0];
+                targetsByType.add(newTargets(0));
+            }
+        }
+
+        /**
+         * Instantiates new routes.
+         *
+         * @param listenersByType the listeners by type
+         * @param targetsByType   the targets by type
+         */
+        private Routes(PolygonStreamListener[][] listenersByType,
+                List<StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[]> targetsByType) {
+            this.listenersByType = listenersByType;
+            this.targetsByType = targetsByType;
+        }
+
+        /**
+         * Gets these routes with the targets of a listener appended for some message types.
+         *
+         * @param listener     the listener
+         * @param targets      the targets of the listener, indexed by message type ordinal
+         * @param messageTypes the message types (may be null)
+         *
+         * @return the routes
+         */
+        private Routes with(PolygonStreamListener listener,
+                StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] targets,
+                Set<PolygonStreamMessageType> messageTypes) {
+            if (messageTypes == null || messageTypes.isEmpty()) {
+                return this;
+            }
+
+            PolygonStreamListener[][] newListenersByType = listenersByType.clone();
+            List<StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[]> newTargetsByType =
+                    new ArrayList<>(targetsByType);
+
+            for (PolygonStreamMessageType messageType : messageTypes) {
+                int ordinal = messageType.ordinal();
+                int length = listenersByType[ordinal].length;
+
+                newListenersByType[ordinal] = Arrays.copyOf(listenersByType[ordinal], length + 1);
+                newListenersByType[ordinal][length] = listener;
+
+                StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] typeTargets =
+                        Arrays.copyOf(targetsByType.get(ordinal), length + 1);
+                typeTargets[length] = targets[ordinal];
+                newTargetsByType.set(ordinal, typeTargets);
+            }
+
+            return new Routes(newListenersByType, newTargetsByType);
+        }
+
+        /**
+         * Gets these routes without the targets of a listener.
+         *
+         * @param listener the listener
+         *
+         * @return the routes
+         */
+        private Routes without(PolygonStreamListener listener) {
+            PolygonStreamListener[][] newListenersByType = null;
+            List<StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[]> newTargetsByType = null;
+
+            for (int ordinal = 0; ordinal < listenersByType.length; ordinal++) {
+                PolygonStreamListener[] typeListeners = listenersByType[ordinal];
+
+                int index = Arrays.asList(typeListeners).indexOf(listener);
+                if (index < 0) {
+                    continue;
+                }
+
+                if (newListenersByType == null) {
+                    newListenersByType = listenersByType.clone();
+                    newTargetsByType = new ArrayList<>(targetsByType);
+                }
+
+                newListenersByType[ordinal] = remove(typeListeners, index,
+                        new PolygonStreamListener[typeListeners.length - 1]);
+                newTargetsByType.set(ordinal, remove(targetsByType.get(ordinal), index,
+                        newTargets(typeListeners.length - 1)));
+            }
+
+            return newListenersByType == null ? this : new Routes(newListenersByType, newTargetsByType);
+        }
+
+        /**
+         * Copies an array without one of its elements.
+         *
+         * @param <E>      the element type
+         * @param array    the array
+         * @param index    the index of the element to remove
+         * @param newArray the new array (one shorter)
+         *
+         * @return the new array
+         */
+        private static <E> E[] remove(E[] array, int index, E[] newArray) {
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 1, newArray, index, newArray.length - index);
+            return newArray;
+        }
+    }
+}
@@ -0,0 +1,822 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonObject;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ConnectionPartitioning;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ShardedStreamMessageDispatcher;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListener;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import io.github.mainstringargs.util.concurrency.ExecutorTracer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * The Class PolygonSubscriptionManager. Keeps the channels (e.g. "T.AAPL") the Polygon stream is subscribed to in line
+ * with the ones the listeners want.
+ * <p>
+ * The desired channels are reference counted per listener, so adding or removing a listener only costs the channels of
+ * that listener. The channels whose desired state changed are collected for a short coalescing window and then diffed
+ * against the active ones (the ones last requested from the server), so a burst of listener changes results in one
+ * subscribe and one unsubscribe request, split into frames of at most the max frame size. The server acknowledges
+ * each channel with a status message, which {@link #handleStatusMessage(int, StatusMessage)} tracks.
+ * <p>
+ * The channels can be spread across several connections (see {@link ConnectionPartitioning}). A channel is subscribed
+ * on its home connection, or while that connection is lost, on the next live one; it moves back once its home
+ * connection is restored. {@link ConnectionPartitioning#REDUNDANT} connections each have their own subscription
+ * manager instead.
+ */
+public class PolygonSubscriptionManager {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(PolygonSubscriptionManager.class);
+
+    /** The default coalescing window in milliseconds. */
+    public static final long DEFAULT_COALESCING_WINDOW_MILLIS = 10;
+
+    /** The default max frame size in characters. */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 8192;
+
+    /** The prefix of the message of the status message that acknowledges a subscription. */
+    private static final String SUBSCRIBED_STATUS_MESSAGE_PREFIX = "subscribed to: ";
+
+    /** The prefix of the message of the status message that acknowledges an unsubscription. */
+    private static final String UNSUBSCRIBED_STATUS_MESSAGE_PREFIX = "unsubscribed to: ";
+
+    /** The indexes of the subscribable message types by API name (for the partitioning by message type). */
+    private static final HashMap<String, Integer> SUBSCRIBABLE_TYPE_INDEXES = new HashMap<>();
+
+    static {
+        for (PolygonStreamMessageType polygonStreamMessageType : PolygonStreamMessageType.values()) {
+            if (polygonStreamMessageType.isAPISubscribable()) {
+                SUBSCRIBABLE_TYPE_INDEXES.put(polygonStreamMessageType.getAPIName(),
+                        SUBSCRIBABLE_TYPE_INDEXES.size());
+            }
+        }
+    }
+
+    /** The sender of the subscription frames (by connection index). */
+    private final BiConsumer<Integer, String> frameSender;
+
+    /** The number of connections. */
+    private final int connectionCount;
+
+    /** How the channels are spread across the connections. */
+    private final ConnectionPartitioning connectionPartitioning;
+
+    /** The executor service that flushes the changes at the end of the coalescing window. */
+    private final ScheduledExecutorService flushExecutorService;
+
+    /** The lock that keeps the frames of consecutive flushes in order. */
+    private final Object flushLock = new Object();
+
+    /** The channels of each listener (as they were when the listener was added). */
+    private final HashMap<PolygonStreamListener, List<String>> listenerChannels = new HashMap<>();
+
+    /** The number of listeners that want each channel. */
+    private final HashMap<String, Integer> desiredChannelCounts = new HashMap<>();
+
+    /** The index of the connection each channel was last requested on. */
+    private final HashMap<String, Integer> activeChannelConnections = new HashMap<>();
+
+    /** The channels whose desired state or connection changed since the last flush. */
+    private final LinkedHashSet<String> changedChannels = new LinkedHashSet<>();
+
+    /** Whether each connection is live (i.e. not lost). */
+    private final boolean[] liveConnections;
+
+    /** The channels whose subscription was acknowledged by the server, by connection. */
+    private final List<HashSet<String>> acknowledgedChannels;
+
+    /** The channels whose subscription wasn't acknowledged yet, by connection. */
+    private final List<HashSet<String>> awaitingSubscribeAcknowledgement;
+
+    /** The channels whose unsubscription wasn't acknowledged yet, by connection. */
+    private final List<HashSet<String>> awaitingUnsubscribeAcknowledgement;
+
+    /** Whether a flush is scheduled. */
+    private boolean flushScheduled;
+
+    /** The number of frames sent. */
+    private long sentFrameCount;
+
+    /** The coalescing window in milliseconds (0 to flush on every change). */
+    private volatile long coalescingWindowMillis = DEFAULT_COALESCING_WINDOW_MILLIS;
+
+    /** The max frame size in characters. */
+    private volatile int maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+
+    /**
+     * Instantiates a new Polygon subscription manager of a single connection.
+     *
+     * @param threadName  the name of the thread that flushes the changes
+     * @param frameSender the sender of the subscription frames
+     */
+    public PolygonSubscriptionManager(String threadName, Consumer<String> frameSender) {
+        this(threadName, 1, ConnectionPartitioning.BY_SYMBOL,
+                (connectionIndex, frame) -> frameSender.accept(frame));
+
+        Preconditions.checkNotNull(frameSender);
+    }
+
+    /**
+     * Instantiates a new Polygon subscription manager.
+     *
+     * @param threadName             the name of the thread that flushes the changes
+     * @param connectionCount        the number of connections
+     * @param connectionPartitioning how the channels are spread across the connections
+     * @param frameSender            the sender of the subscription frames (by connection index)
+     */
+    @SuppressWarnings("unchecked")
+    public PolygonSubscriptionManager(String threadName, int connectionCount,
+            ConnectionPartitioning connectionPartitioning, BiConsumer<Integer, String> frameSender) {
+        Preconditions.checkNotNull(threadName);
+        Preconditions.checkArgument(connectionCount > 0, "The connection count must be positive");
+        Preconditions.checkNotNull(connectionPartitioning);
+        Preconditions.checkArgument(connectionPartitioning != ConnectionPartitioning.REDUNDANT || connectionCount == 1,
+                "Redundant connections each have their own subscription manager");
+        Preconditions.checkNotNull(frameSender);
+
+        this.connectionCount = connectionCount;
+        this.connectionPartitioning = connectionPartitioning;
+        this.frameSender = frameSender;
+
+        liveConnections = new boolean[connectionCount];
+        Arrays.fill(liveConnections, true);
+
+        acknowledgedChannels = new ArrayList<>(connectionCount);
+        awaitingSubscribeAcknowledgement = new ArrayList<>(connectionCount);
+        awaitingUnsubscribeAcknowledgement = new ArrayList<>(connectionCount);
+        for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+            acknowledgedChannels.add(new HashSet<>());
+            awaitingSubscribeAcknowledgement.add(new HashSet<>());
+            awaitingUnsubscribeAcknowledgement.add(new HashSet<>());
+        }
+
+        flushExecutorService = ExecutorTracer.newScheduledThreadPool(1, runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Adds the channels of a listener to the desired ones.
+     *
+     * @param listener the listener
+     */
+    public void addListenerChannels(PolygonStreamListener listener) {
+        Preconditions.checkNotNull(listener);
+
+        synchronized (this) {
+            if (listenerChannels.containsKey(listener)) {
+                return;
+            }
+
+            List<String> channels = getSubscribableChannels(listener);
+            listenerChannels.put(listener, channels);
+
+            for (String channel : channels) {
+                if (desiredChannelCounts.merge(channel, 1, Integer::sum) == 1) {
+                    changedChannels.add(channel);
+                } else {
+                    LOGGER.debug("Already subscribed to " + channel + " for another stream listener");
+                }
+            }
+        }
+
+        onChange();
+    }
+
+    /**
+     * Removes the channels of a listener from the desired ones. A channel stays subscribed while another listener wants
+     * it.
+     *
+     * @param listener the listener
+     */
+    public void removeListenerChannels(PolygonStreamListener listener) {
+        Preconditions.checkNotNull(listener);
+
+        synchronized (this) {
+            List<String> channels = listenerChannels.remove(listener);
+            if (channels == null) {
+                return;
+            }
+
+            for (String channel : channels) {
+                Integer count = desiredChannelCounts.get(channel);
+
+                if (count == 1) {
+                    desiredChannelCounts.remove(channel);
+                    changedChannels.add(channel);
+                } else {
+                    desiredChannelCounts.put(channel, count - 1);
+                    LOGGER.debug("Cannot unsubscribe from " + channel + " because it is being used by another " +
+                            "stream listener");
+                }
+            }
+        }
+
+        onChange();
+    }
+
+    /**
+     * Forgets the active channels of all of the connections and considers them all live, e.g. when new connections are
+     * made, so that the next flush subscribes to all of the desired channels.
+     */
+    public void resetActiveChannels() {
+        synchronized (this) {
+            Arrays.fill(liveConnections, true);
+            activeChannelConnections.clear();
+
+            for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+                clearAcknowledgements(connectionIndex);
+            }
+
+            changedChannels.addAll(desiredChannelCounts.keySet());
+        }
+
+        onChange();
+    }
+
+    /**
+     * Called when a connection was lost. Its channels are moved to the live connections (if any) with the next flush.
+     *
+     * @param connectionIndex the connection index
+     */
+    public void onConnectionLost(int connectionIndex) {
+        synchronized (this) {
+            liveConnections[connectionIndex] = false;
+            forgetConnection(connectionIndex);
+        }
+
+        onChange();
+    }
+
+    /**
+     * Called when a lost connection was restored (and authenticated). It has none of the subscriptions, so its
+     * channels (including the ones that were moved to other connections) are subscribed on it with the next flush.
+     *
+     * @param connectionIndex the connection index
+     */
+    public void onConnectionRestored(int connectionIndex) {
+        synchronized (this) {
+            liveConnections[connectionIndex] = true;
+            forgetConnection(connectionIndex);
+        }
+
+        onChange();
+    }
+
+    /**
+     * Sends the subscribe and unsubscribe frames that bring the active channels in line with the desired ones, without
+     * waiting for the end of the coalescing window.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<ArrayList<String>> subscribeChannels = new ArrayList<>(connectionCount);
+            List<ArrayList<String>> unsubscribeChannels = new ArrayList<>(connectionCount);
+            for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+                subscribeChannels.add(new ArrayList<>());
+                unsubscribeChannels.add(new ArrayList<>());
+            }
+            int subscribeCount = 0;
+            int unsubscribeCount = 0;
+
+            synchronized (this) {
+                flushScheduled = false;
+
+                for (String channel : changedChannels) {
+                    Integer activeConnectionIndex = activeChannelConnections.get(channel);
+                    int targetConnectionIndex = desiredChannelCounts.containsKey(channel) ?
+                            getOwnerConnectionIndex(channel) : -1;
+
+                    if (activeConnectionIndex != null && activeConnectionIndex == targetConnectionIndex) {
+                        continue;
+                    }
+
+                    if (activeConnectionIndex != null) {
+                        activeChannelConnections.remove(channel);
+                        unsubscribeChannels.get(activeConnectionIndex).add(channel);
+                        awaitingSubscribeAcknowledgement.get(activeConnectionIndex).remove(channel);
+                        awaitingUnsubscribeAcknowledgement.get(activeConnectionIndex).add(channel);
+                        unsubscribeCount++;
+                    }
+
+                    if (targetConnectionIndex >= 0) {
+                        activeChannelConnections.put(channel, targetConnectionIndex);
+                        subscribeChannels.get(targetConnectionIndex).add(channel);
+                        awaitingUnsubscribeAcknowledgement.get(targetConnectionIndex).remove(channel);
+                        awaitingSubscribeAcknowledgement.get(targetConnectionIndex).add(channel);
+                        subscribeCount++;
+                    }
+                }
+                changedChannels.clear();
+            }
+
+            if (subscribeCount == 0 && unsubscribeCount == 0) {
+                LOGGER.debug("Did not change any channel listeners");
+                return;
+            }
+
+            // Unsubscribe first so that a channel limit on the server isn't hit in between
+            for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+                if (!unsubscribeChannels.get(connectionIndex).isEmpty()) {
+                    sendFrames(connectionIndex, PolygonStreamAction.UNSUBSCRIBE,
+                            unsubscribeChannels.get(connectionIndex));
+                }
+            }
+            for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+                if (!subscribeChannels.get(connectionIndex).isEmpty()) {
+                    sendFrames(connectionIndex, PolygonStreamAction.SUBSCRIBE, subscribeChannels.get(connectionIndex));
+                }
+            }
+
+            LOGGER.info("Requested " + subscribeCount + " subscriptions and " + unsubscribeCount + " unsubscriptions");
+        }
+    }
+
+    /**
+     * Shuts down the thread that flushes the changes, dropping a scheduled flush (e.g. when the connections are closed
+     * for good). The changes made afterwards are only sent by an explicit {@link #flush()}.
+     */
+    public void shutdown() {
+        flushExecutorService.shutdownNow();
+    }
+
+    /**
+     * Handles a status message of the first connection.
+     *
+     * @param statusMessage the status message
+     *
+     * @see #handleStatusMessage(int, StatusMessage)
+     */
+    public void handleStatusMessage(StatusMessage statusMessage) {
+        handleStatusMessage(0, statusMessage);
+    }
+
+    /**
+     * Handles a status message, i.e. tracks the acknowledgements of the subscriptions and unsubscriptions.
+     *
+     * @param connectionIndex the index of the connection the status message came from
+     * @param statusMessage   the status message
+     */
+    public void handleStatusMessage(int connectionIndex, StatusMessage statusMessage) {
+        String message = statusMessage.getMessage();
+        if (message == null || !"success".equalsIgnoreCase(statusMessage.getStatus())) {
+            return;
+        }
+
+        String lowerCaseMessage = message.toLowerCase();
+
+        if (lowerCaseMessage.startsWith(SUBSCRIBED_STATUS_MESSAGE_PREFIX)) {
+            String channel = message.substring(SUBSCRIBED_STATUS_MESSAGE_PREFIX.length()).trim();
+
+            synchronized (this) {
+                if (awaitingSubscribeAcknowledgement.get(connectionIndex).remove(channel)) {
+                    acknowledgedChannels.get(connectionIndex).add(channel);
+                }
+            }
+        } else if (lowerCaseMessage.startsWith(UNSUBSCRIBED_STATUS_MESSAGE_PREFIX)) {
+            String channel = message.substring(UNSUBSCRIBED_STATUS_MESSAGE_PREFIX.length()).trim();
+
+            synchronized (this) {
+                if (awaitingUnsubscribeAcknowledgement.get(connectionIndex).remove(channel)) {
+                    acknowledgedChannels.get(connectionIndex).remove(channel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Is the subscription to a channel acknowledged by the server (on the connection it is active on).
+     *
+     * @param channel the channel (e.g. "T.AAPL")
+     *
+     * @return the boolean
+     */
+    public synchronized boolean isAcknowledged(String channel) {
+        Integer connectionIndex = activeChannelConnections.get(channel);
+        return connectionIndex != null && acknowledgedChannels.get(connectionIndex).contains(channel);
+    }
+
+    /**
+     * Gets the index of the connection a channel is active on.
+     *
+     * @param channel the channel (e.g. "T.AAPL")
+     *
+     * @return the connection index (-1 if the channel isn't active)
+     */
+    public synchronized int getActiveConnectionIndex(String channel) {
+        Integer connectionIndex = activeChannelConnections.get(channel);
+        return connectionIndex == null ? -1 : connectionIndex;
+    }
+
+    /**
+     * Gets the number of connections.
+     *
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /**
+     * Gets the number of channels the listeners want.
+     *
+     * @return the desired channel count
+     */
+    public synchronized int getDesiredChannelCount() {
+        return desiredChannelCounts.size();
+    }
+
+    /**
+     * Gets the number of channels last requested from the server.
+     *
+     * @return the active channel count
+     */
+    public synchronized int getActiveChannelCount() {
+        return activeChannelConnections.size();
+    }
+
+    /**
+     * Gets the number of channels last requested on a connection.
+     *
+     * @param connectionIndex the connection index
+     *
+     * @return the active channel count
+     */
+    public synchronized int getActiveChannelCount(int connectionIndex) {
+        int activeChannelCount = 0;
+        for (Integer activeConnectionIndex : activeChannelConnections.values()) {
+            if (activeConnectionIndex == connectionIndex) {
+                activeChannelCount++;
+            }
+        }
+        return activeChannelCount;
+    }
+
+    /**
+     * Gets the number of channels whose subscription was acknowledged by the server.
+     *
+     * @return the acknowledged channel count
+     */
+    public synchronized int getAcknowledgedChannelCount() {
+        int acknowledgedChannelCount = 0;
+        for (HashSet<String> connectionAcknowledgedChannels : acknowledgedChannels) {
+            acknowledgedChannelCount += connectionAcknowledgedChannels.size();
+        }
+        return acknowledgedChannelCount;
+    }
+
+    /**
+     * Gets the number of subscriptions and unsubscriptions that weren't acknowledged by the server yet.
+     *
+     * @return the awaiting acknowledgement count
+     */
+    public synchronized int getAwaitingAcknowledgementCount() {
+        int awaitingAcknowledgementCount = 0;
+        for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+            awaitingAcknowledgementCount += awaitingSubscribeAcknowledgement.get(connectionIndex).size() +
+                    awaitingUnsubscribeAcknowledgement.get(connectionIndex).size();
+        }
+        return awaitingAcknowledgementCount;
+    }
+
+    /**
+     * Gets the number of frames sent.
+     *
+     * @return the sent frame count
+     */
+    public synchronized long getSentFrameCount() {
+        return sentFrameCount;
+    }
+
+    /**
+     * Gets the coalescing window in milliseconds.
+     *
+     * @return the coalescing window millis
+     */
+    public long getCoalescingWindowMillis() {
+        return coalescingWindowMillis;
+    }
+
+    /**
+     * Sets the coalescing window in milliseconds (0 to flush on every change).
+     *
+     * @param coalescingWindowMillis the coalescing window millis
+     */
+    public void setCoalescingWindowMillis(long coalescingWindowMillis) {
+        Preconditions.checkArgument(coalescingWindowMillis >= 0, "The coalescing window can't be negative");
+
+        this.coalescingWindowMillis = coalescingWindowMillis;
+    }
+
+    /**
+     * Gets the max frame size in characters.
+     *
+     * @return the max frame size
+     */
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    /**
+     * Sets the max frame size in characters. It should be under the max message size of the server.
+     *
+     * @param maxFrameSize the max frame size
+     */
+    public void setMaxFrameSize(int maxFrameSize) {
+        Preconditions.checkArgument(maxFrameSize > 0, "The max frame size must be positive");
+
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Gets the index of the home connection of a channel, i.e. the one it is on while all of the connections are live.
+     *
+     * @param channel the channel (e.g. "T.AAPL")
+     *
+     * @return the home connection index
+     */
+    public int getHomeConnectionIndex(String channel) {
+        if (connectionCount == 1) {
+            return 0;
+        }
+
+        int separatorIndex = channel.indexOf('.');
+
+        switch (connectionPartitioning) {
+            case BY_SYMBOL:
+                return ShardedStreamMessageDispatcher.getShardIndex(channel.substring(separatorIndex + 1),
+                        connectionCount);
+            case BY_MESSAGE_TYPE:
+                Integer typeIndex = separatorIndex < 0 ? null :
+                        SUBSCRIBABLE_TYPE_INDEXES.get(channel.substring(0, separatorIndex));
+                return typeIndex == null ? 0 : typeIndex % connectionCount;
+            default:
+                throw new UnsupportedOperationException("Unknown connection partitioning: " + connectionPartitioning);
+        }
+    }
+
+    /**
+     * Gets the index of the connection a channel should be on: its home connection if it is live, otherwise the next
+     * live one. Must be called while synchronized.
+     *
+     * @param channel the channel
+     *
+     * @return the owner connection index (-1 if none are live, in which case the channel is subscribed to once one of
+     * them is restored)
+     */
+    private int getOwnerConnectionIndex(String channel) {
+        int homeConnectionIndex = getHomeConnectionIndex(channel);
+
+        for (int offset = 0; offset < connectionCount; offset++) {
+            int connectionIndex = (homeConnectionIndex + offset) % connectionCount;
+            if (liveConnections[connectionIndex]) {
+                return connectionIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Forgets the active channels of a connection (whose subscriptions are gone) and marks every desired channel that
+     * isn't on its owner connection anymore as changed. Must be called while synchronized.
+     *
+     * @param connectionIndex the connection index
+     */
+    private void forgetConnection(int connectionIndex) {
+        Iterator<Map.Entry<String, Integer>> activeChannelConnectionIterator =
+                activeChannelConnections.entrySet().iterator();
+        while (activeChannelConnectionIterator.hasNext()) {
+            Map.Entry<String, Integer> activeChannelConnection = activeChannelConnectionIterator.next();
+            if (activeChannelConnection.getValue() == connectionIndex) {
+                activeChannelConnectionIterator.remove();
+            }
+        }
+
+        clearAcknowledgements(connectionIndex);
+
+        for (String channel : desiredChannelCounts.keySet()) {
+            Integer activeConnectionIndex = activeChannelConnections.get(channel);
+            if (activeConnectionIndex == null || activeConnectionIndex != getOwnerConnectionIndex(channel)) {
+                changedChannels.add(channel);
+            }
+        }
+    }
+
+    /**
+     * Clears the acknowledgements of a connection. Must be called while synchronized.
+     *
+     * @param connectionIndex the connection index
+     */
+    private void clearAcknowledgements(int connectionIndex) {
+        acknowledgedChannels.get(connectionIndex).clear();
+        awaitingSubscribeAcknowledgement.get(connectionIndex).clear();
+        awaitingUnsubscribeAcknowledgement.get(connectionIndex).clear();
+    }
+
+    /**
+     * Flushes the changes now or schedules their flush at the end of the coalescing window.
+     */
+    private void onChange() {
+        long coalescingWindowMillis = this.coalescingWindowMillis;
+
+        if (coalescingWindowMillis == 0) {
+            flush();
+            return;
+        }
+
+        synchronized (this) {
+            if (flushScheduled || changedChannels.isEmpty()) {
+                return;
+            }
+            flushScheduled = true;
+        }
+
+        try {
+            flushExecutorService.schedule(() -> {
+                try {
+                    flush();
+                } catch (Exception exception) {
+                    LOGGER.throwing(exception);
+                }
+            }, coalescingWindowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+            LOGGER.debug("Not flushing the channel changes of a shut down subscription manager");
+        }
+    }
+
+    /**
+     * Sends the frames of an action on some channels, splitting the channels so that each frame is at most the max
+     * frame size.
+     *
+     * @param connectionIndex     the index of the connection to send the frames on
+     * @param polygonStreamAction the polygon stream action
+     * @param channels            the channels
+     */
+    private void sendFrames(int connectionIndex, PolygonStreamAction polygonStreamAction, List<String> channels) {
+        // Format: {"action":"(un)subscribe","params":"T.AAPL,T.MSFT,T.TSLA"}
+
+        int maxFrameSize = this.maxFrameSize;
+        int frameOverhead = createFrame(polygonStreamAction, "").length();
+
+        StringJoiner params = null;
+        for (String channel : channels) {
+            if (params != null && frameOverhead + params.length() + 1 + channel.length() > maxFrameSize) {
+                sendFrame(connectionIndex, createFrame(polygonStreamAction, params.toString()));
+                params = null;
+            }
+
+            if (params == null) {
+                params = new StringJoiner(",");
+                if (frameOverhead + channel.length() > maxFrameSize) {
+                    LOGGER.warn("The " + channel + " channel doesn't fit in a frame of " + maxFrameSize +
+                            " characters, sending it anyway");
+                }
+            }
+            params.add(channel);
+        }
+
+        if (params != null) {
+            sendFrame(connectionIndex, createFrame(polygonStreamAction, params.toString()));
+        }
+    }
+
+    /**
+     * Sends a frame.
+     *
+     * @param connectionIndex the index of the connection to send the frame on
+     * @param frame           the frame
+     */
+    private void sendFrame(int connectionIndex, String frame) {
+        frameSender.accept(connectionIndex, frame);
+
+        synchronized (this) {
+            sentFrameCount++;
+        }
+    }
+
+    /**
+     * Creates a frame.
+     *
+     * @param polygonStreamAction the polygon stream action
+     * @param params              the comma separated channels
+     *
+     * @return the frame
+     */
+    private static String createFrame(PolygonStreamAction polygonStreamAction, String params) {
+        JsonObject actionJsonObject = new JsonObject();
+        actionJsonObject.addProperty("action", polygonStreamAction.getAPIName());
+        actionJsonObject.addProperty("params", params);
+        return actionJsonObject.toString();
+    }
+
+    /**
+     * Gets the channels of a listener that can be subscribed to through the API.
+     *
+     * @param listener the listener
+     *
+     * @return the subscribable channels
+     */
+    private static List<String> getSubscribableChannels(PolygonStreamListener listener) {
+        ArrayList<String> channels = new ArrayList<>();
+
+        Map<String, Set<PolygonStreamMessageType>> stockChannels = listener.getStockChannels();
+        if (stockChannels == null) {
+            return channels;
+        }
+
+        for (Map.Entry<String, Set<PolygonStreamMessageType>> stockChannel : stockChannels.entrySet()) {
+            if (stockChannel.getValue() == null) {
+                continue;
+            }
+
+            for (PolygonStreamMessageType polygonStreamMessageType : stockChannel.getValue()) {
+                if (polygonStreamMessageType.isAPISubscribable()) {
+                    channels.add(formatWebsocketTicker(polygonStreamMessageType, stockChannel.getKey()));
+                }
+            }
+        }
+
+        return channels;
+    }
+
+    /**
+     * Format websocket ticker string.
+     *
+     * @param polygonStreamMessageType the polygon stream message type
+     * @param ticker                   the ticker
+     *
+     * @return the string
+     */
+    private static String formatWebsocketTicker(PolygonStreamMessageType polygonStreamMessageType, String ticker) {
+        return polygonStreamMessageType.getAPIName() + "." + ticker;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringJoiner(", ", PolygonSubscriptionManager.class.getSimpleName() + "[", "]")
+                .add("connectionCount = " + connectionCount)
+                .add("connectionPartitioning = " + connectionPartitioning)
+                .add("liveConnections = " + Arrays.toString(liveConnections))
+                .add("desiredChannelCount = " + desiredChannelCounts.size())
+                .add("activeChannelCount = " + activeChannelConnections.size())
+                .add("acknowledgedChannelCount = " + getAcknowledgedChannelCount())
+                .add("awaitingAcknowledgementCount = " + getAwaitingAcknowledgementCount())
+                .add("sentFrameCount = " + sentFrameCount)
+                .add("coalescingWindowMillis = " + coalescingWindowMillis)
+                .add("maxFrameSize = " + maxFrameSize)
+                .toString();
+    }
+
+    /**
+     * The enum Polygon stream action.
+     */
+    private enum PolygonStreamAction {
+        /** The subscribe. */
+        SUBSCRIBE("subscribe"),
+
+        /** The unsubscribe. */
+        UNSUBSCRIBE("unsubscribe");
+
+        /** The api name. */
+        String apiName;
+
+        /**
+         * Instantiates a new stream action.
+         *
+         * @param apiName the api name
+         */
+        PolygonStreamAction(String apiName) {
+            this.apiName = apiName;
+        }
+
+        /**
+         * Gets api name.
+         *
+         * @return the api name
+         */
+        public String getAPIName() {
+            return apiName;
+        }
+    }
+}
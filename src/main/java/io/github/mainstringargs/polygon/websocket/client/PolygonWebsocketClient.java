@@ -1,14 +1,22 @@
 package io.github.mainstringargs.polygon.websocket.client;
 
 import com.google.common.base.Preconditions;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 import io.github.mainstringargs.abstracts.websocket.client.WebsocketClient;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketConnectionListener;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnector;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ConnectionPartitioning;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerDispatchQueue;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerOverflowPolicy;
+import io.github.mainstringargs.abstracts.websocket.dispatch.StreamMessageDispatcher;
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchMode;
+import io.github.mainstringargs.abstracts.websocket.journal.WebsocketFrameJournal;
 import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
 import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageDecoder;
 import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
 import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
 import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerMinuteMessage;
@@ -16,90 +24,298 @@ import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerS
 import io.github.mainstringargs.domain.polygon.websocket.quote.QuoteMessage;
 import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
 import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.properties.PolygonProperties;
 import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListener;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonTypedStreamListener;
 import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
-import io.github.mainstringargs.util.gson.GsonUtil;
+import io.github.mainstringargs.util.concurrency.RingBufferWaitStrategy;
+import io.github.mainstringargs.util.concurrency.SingleProducerRingBuffer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import javax.websocket.DeploymentException;
+import javax.websocket.CloseReason;
+import java.io.Closeable;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.io.StringReader;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.StringJoiner;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Class WebsocketClient.
  */
-public class PolygonWebsocketClient implements WebsocketClient {
+public class PolygonWebsocketClient implements WebsocketClient, Closeable {
 
     /** The logger. */
     private static final Logger LOGGER = LogManager.getLogger(PolygonWebsocketClient.class);
 
-    /** The all tickers. */
-    private static final String ALL_TICKERS = "*";
+    /** The listener thread counter. */
+    private static final AtomicInteger LISTENER_THREAD_COUNTER = new AtomicInteger();
 
     /** The constant EVENT_TYPE_KEY. */
     private static final String EVENT_TYPE_KEY = "ev";
 
+    /** The decoder of the stream messages. */
+    private static final StreamMessageDecoder<PolygonStreamMessageType, PolygonStreamMessage> STREAM_MESSAGE_DECODER =
+            new StreamMessageDecoder<PolygonStreamMessageType, PolygonStreamMessage>(EVENT_TYPE_KEY,
+                    PolygonStreamMessageType.class, PolygonStreamMessage::setEv)
+                    .registerMessageClass(PolygonStreamMessageType.STATUS, StatusMessage.class)
+                    .registerMessageClass(PolygonStreamMessageType.TRADE, TradeMessage.class)
+                    .registerMessageClass(PolygonStreamMessageType.QUOTE, QuoteMessage.class)
+                    .registerMessageClass(PolygonStreamMessageType.AGGREGATE_PER_SECOND,
+                            AggregatePerSecondMessage.class)
+                    .registerMessageClass(PolygonStreamMessageType.AGGREGATE_PER_MINUTE,
+                            AggregatePerMinuteMessage.class);
+
     /** The key id. */
     private String keyId;
 
     /** The Websocket url. */
     private String websocketURL;
 
-    /** The listeners. */
-    private List<PolygonStreamListener> listeners;
+    /** The listeners (copy-on-write, so dispatch and subscription diffs iterate a snapshot). */
+    private final List<PolygonStreamListener> listeners;
+
+    /**
+     * The lock of the listener registry writers. Adding or removing a listener, updating the routing table and
+     * computing the subscription diff happen under it, one writer at a time. Dispatch never takes it.
+     */
+    private final Object listenersLock = new Object();
 
-    /** The client end point. */
-    private PolygonWebsocketClientEndpoint polygonWebsocketClientEndpoint;
+    /** The dispatch queues of the listeners that are delivered to on their own thread. */
+    private final Map<PolygonStreamListener, ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage>>
+            listenerDispatchQueues = new ConcurrentHashMap<>();
 
-    /** The Authenticated. */
-    private boolean authenticated;
+    /** The callbacks of the typed listeners, bound when they are added, indexed by message type ordinal. */
+    private final Map<PolygonStreamListener, StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[]>
+            listenerCallbacks = new ConcurrentHashMap<>();
 
     /**
-     * Instantiates a new Polygon websocket client.
+     * The routing table of the stream messages, which routes to the dispatch queue of a listener if it has one, else to
+     * its bound callbacks if it has them, else to the listener itself (changed under the listeners lock).
+     */
+    private final PolygonStreamRoutingTable routingTable = new PolygonStreamRoutingTable((listener, messageType) -> {
+        ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage> listenerDispatchQueue =
+                listenerDispatchQueues.get(listener);
+        if (listenerDispatchQueue != null) {
+            return listenerDispatchQueue;
+        }
+
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] callbacks = listenerCallbacks.get(listener);
+        return callbacks != null ? callbacks[messageType.ordinal()] : listener;
+    });
+
+    /** The connections (whose stream messages are dispatched together). */
+    private final PolygonWebsocketConnection[] connections;
+
+    /**
+     * The subscription managers: a single one shared by all of the connections, or one per connection if they are
+     * redundant.
+     */
+    private final PolygonSubscriptionManager[] subscriptionManagers;
+
+    /** The arbitrator of the stream messages of redundant connections (null if they aren't redundant). */
+    private final PolygonFeedArbitrator feedArbitrator;
+
+    /** The websocket dispatch config. */
+    private final WebsocketDispatchConfig websocketDispatchConfig;
+
+    /** The stream message dispatcher. */
+    private final StreamMessageDispatcher<PolygonStreamMessageType, PolygonStreamMessage> streamMessageDispatcher;
+
+    /** The journal the received frames are recorded in (null if they aren't recorded). */
+    private volatile WebsocketFrameJournal frameJournal;
+
+    /** Whether the default frame journal is created on connecting, i.e. no journal was set and none was created. */
+    private boolean defaultFrameJournalPending = true;
+
+    /** The default frame journal created by this client, which it closes (null if none was created). */
+    private WebsocketFrameJournal defaultFrameJournal;
+
+
+    /**
+     * Instantiates a new Polygon websocket client that dispatches the stream messages as configured in the polygon
+     * properties.
      *
      * @param keyId        the key id
      * @param websocketURL the websocket url
      */
     public PolygonWebsocketClient(String keyId, String websocketURL) {
+        this(keyId, websocketURL, createDefaultWebsocketDispatchConfig());
+    }
+
+    /**
+     * Instantiates a new Polygon websocket client.
+     *
+     * @param keyId                   the key id
+     * @param websocketURL            the websocket url
+     * @param websocketDispatchConfig the websocket dispatch config
+     */
+    public PolygonWebsocketClient(String keyId, String websocketURL,
+            WebsocketDispatchConfig websocketDispatchConfig) {
+        Preconditions.checkNotNull(websocketDispatchConfig);
+
         this.keyId = keyId;
         this.websocketURL = websocketURL;
 
-        this.listeners = new ArrayList<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+
+        int connectionCount = websocketDispatchConfig.getConnectionCount();
+        boolean redundant = connectionCount > 1 &&
+                websocketDispatchConfig.getConnectionPartitioning() == ConnectionPartitioning.REDUNDANT;
+
+        if (redundant) {
+            // Every connection is subscribed to all of the channels on its own
+            this.subscriptionManagers = new PolygonSubscriptionManager[connectionCount];
+            for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+                int frameConnectionIndex = connectionIndex;
+                subscriptionManagers[connectionIndex] = new PolygonSubscriptionManager(
+                        "PolygonSubscriptionThread" + connectionIndex, 1, ConnectionPartitioning.REDUNDANT,
+                        (subscriptionConnectionIndex, frame) -> sendSubscriptionFrame(frameConnectionIndex, frame));
+            }
+
+            this.feedArbitrator = new PolygonFeedArbitrator(connectionCount,
+                    websocketDispatchConfig.getArbitrationWindowSize());
+        } else {
+            this.subscriptionManagers = new PolygonSubscriptionManager[]{new PolygonSubscriptionManager(
+                    "PolygonSubscriptionThread", connectionCount,
+                    websocketDispatchConfig.getConnectionPartitioning(), this::sendSubscriptionFrame)};
+
+            this.feedArbitrator = null;
+        }
+
+        for (PolygonSubscriptionManager subscriptionManager : subscriptionManagers) {
+            if (PolygonProperties.WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_VALUE != null) {
+                subscriptionManager.setCoalescingWindowMillis(Long.parseLong(
+                        PolygonProperties.WEBSOCKET_SUBSCRIPTION_COALESCING_WINDOW_MILLIS_VALUE.trim()));
+            }
+
+            if (PolygonProperties.WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_VALUE != null) {
+                subscriptionManager.setMaxFrameSize(
+                        Integer.parseInt(PolygonProperties.WEBSOCKET_SUBSCRIPTION_MAX_FRAME_SIZE_VALUE.trim()));
+            }
+        }
+
+
+        WebsocketReconnectConfig websocketReconnectConfig = createDefaultWebsocketReconnectConfig();
+        this.connections = new PolygonWebsocketConnection[connectionCount];
+        for (int connectionIndex = 0; connectionIndex < connectionCount; connectionIndex++) {
+            connections[connectionIndex] = new PolygonWebsocketConnection(this, connectionIndex,
+                    "PolygonWebsocket" + (connectionCount > 1 ? connectionIndex : ""), keyId, websocketURL,
+                    websocketDispatchConfig, redundant ? subscriptionManagers[connectionIndex] :
+                    subscriptionManagers[0], redundant ? 0 : connectionIndex, websocketReconnectConfig);
+        }
+
+        if (connectionCount > 1 && websocketDispatchConfig.getDispatchMode() == WebsocketDispatchMode.DIRECT) {
+            LOGGER.warn("The listeners are called concurrently by the message threads of the " + connectionCount +
+                    " connections, use the " + WebsocketDispatchMode.SHARDED_BY_SYMBOL + " dispatch mode to call " +
+                    "them on one thread per symbol");
+        }
+
+        this.websocketDispatchConfig = websocketDispatchConfig;
+        // Status messages have no symbol, so they are handled on the control thread
+        this.streamMessageDispatcher = websocketDispatchConfig.createStreamMessageDispatcher(
+                "PolygonStreamDispatchThread-", this::handleStreamMessage,
+                (polygonStreamMessageType, polygonStreamMessage) -> polygonStreamMessage.getSym());
+
+        LOGGER.debug(websocketDispatchConfig);
     }
 
     @Override
     public void addListener(StreamListener listener) {
         Preconditions.checkState(listener instanceof PolygonStreamListener);
 
-        if (listeners.isEmpty()) {
-            connect();
+        synchronized (listenersLock) {
+            if (listeners.contains(listener)) {
+                LOGGER.warn("The listener was already added: " + listener);
+                return;
+            }
+
+            if (listeners.isEmpty()) {
+                connect();
+            }
+
+            listeners.add((PolygonStreamListener) listener);
+            if (listener instanceof PolygonTypedStreamListener) {
+                listenerCallbacks.put((PolygonStreamListener) listener,
+                        PolygonTypedStreamListener.bindCallbacks((PolygonTypedStreamListener) listener));
+            }
+            routingTable.addListener((PolygonStreamListener) listener);
+
+            for (PolygonSubscriptionManager subscriptionManager : subscriptionManagers) {
+                subscriptionManager.addListenerChannels((PolygonStreamListener) listener);
+            }
         }
+    }
+
+    /**
+     * Adds a listener that is delivered to on its own thread through a bounded queue, so that it can't slow down the
+     * other listeners (unless its overflow policy is {@link ListenerOverflowPolicy#BLOCK}).
+     *
+     * @param listener       the listener
+     * @param overflowPolicy what to do with new messages when the queue of the listener is full
+     * @param queueCapacity  the queue capacity
+     */
+    public void addListener(PolygonStreamListener listener, ListenerOverflowPolicy overflowPolicy,
+            int queueCapacity) {
+        Preconditions.checkNotNull(listener);
+
+        synchronized (listenersLock) {
+            if (listeners.contains(listener)) {
+                LOGGER.warn("The listener was already added: " + listener);
+                return;
+            }
 
-        listeners.add((PolygonStreamListener) listener);
+            listenerDispatchQueues.put(listener, new ListenerDispatchQueue<>(
+                    "PolygonStreamListenerThread-" + LISTENER_THREAD_COUNTER.incrementAndGet(), listener,
+                    queueCapacity, overflowPolicy,
+                    (polygonStreamMessageType, polygonStreamMessage) -> polygonStreamMessage.getSym()));
+
+            addListener(listener);
+        }
+    }
 
-        submitStreamRequest(PolygonStreamAction.SUBSCRIBE, (PolygonStreamListener) listener);
+    /**
+     * Gets the dispatch queue of a listener added with {@link #addListener(PolygonStreamListener,
+     * ListenerOverflowPolicy, int)}, e.g. to read its lag, drops and max queue depth.
+     *
+     * @param listener the listener
+     *
+     * @return the listener dispatch queue (null if the listener isn't delivered to through a queue)
+     */
+    public ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage> getListenerDispatchQueue(
+            PolygonStreamListener listener) {
+        return listenerDispatchQueues.get(listener);
     }
 
     @Override
     public void removeListener(StreamListener listener) {
         Preconditions.checkState(listener instanceof PolygonStreamListener);
 
-        listeners.remove(listener);
+        synchronized (listenersLock) {
+            if (!listeners.remove(listener)) {
+                LOGGER.warn("The listener was not added: " + listener);
+                return;
+            }
+            routingTable.removeListener((PolygonStreamListener) listener);
+
+            ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage> listenerDispatchQueue =
+                    listenerDispatchQueues.remove(listener);
+            if (listenerDispatchQueue != null) {
+                listenerDispatchQueue.shutdown();
+            }
+            listenerCallbacks.remove(listener);
 
-        submitStreamRequest(PolygonStreamAction.UNSUBSCRIBE, (PolygonStreamListener) listener);
+            for (PolygonSubscriptionManager subscriptionManager : subscriptionManagers) {
+                subscriptionManager.removeListenerChannels((PolygonStreamListener) listener);
+            }
 
-        if (listeners.isEmpty()) {
-            disconnect();
+            if (listeners.isEmpty()) {
+                disconnect();
+            }
         }
     }
 
@@ -107,13 +323,15 @@ public class PolygonWebsocketClient implements WebsocketClient {
     public void connect() {
         LOGGER.info("Connecting...");
 
-        try {
-            polygonWebsocketClientEndpoint = new PolygonWebsocketClientEndpoint(this, new URI(websocketURL));
-            polygonWebsocketClientEndpoint.connect();
+        createDefaultFrameJournalIfPending();
 
-            LOGGER.info("Connected.");
-        } catch (URISyntaxException | DeploymentException | IOException e) {
-            LOGGER.throwing(e);
+        // New connections have no subscriptions
+        for (PolygonSubscriptionManager subscriptionManager : subscriptionManagers) {
+            subscriptionManager.resetActiveChannels();
+        }
+
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.connect();
         }
     }
 
@@ -121,76 +339,128 @@ public class PolygonWebsocketClient implements WebsocketClient {
     public void disconnect() {
         LOGGER.info("Disconnecting...");
 
-        try {
-            polygonWebsocketClientEndpoint.getUserSession().close();
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.disconnect();
+        }
+    }
 
-            LOGGER.info("Disconnected.");
-        } catch (IOException e) {
-            LOGGER.throwing(e);
+    /**
+     * Closes this client: removes all of the listeners (disconnecting if they were connected), shuts down the threads
+     * of the connections, of the subscription managers, of the stream message dispatcher and of the listener dispatch
+     * queues and closes the default frame journal if it was created. The client can't be used once it's closed.
+     */
+    @Override
+    public void close() {
+        synchronized (listenersLock) {
+            if (!listeners.isEmpty()) {
+                listeners.clear();
+                routingTable.clear();
+                disconnect();
+            }
+
+            for (ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage> listenerDispatchQueue :
+                    listenerDispatchQueues.values()) {
+                listenerDispatchQueue.shutdown();
+            }
+            listenerDispatchQueues.clear();
+            listenerCallbacks.clear();
+        }
+
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.shutdown();
+        }
+
+        for (PolygonSubscriptionManager subscriptionManager : subscriptionManagers) {
+            subscriptionManager.shutdown();
         }
+
+        streamMessageDispatcher.shutdown();
+        closeDefaultFrameJournal();
     }
 
     @Override
     public void sendAuthenticationMessage() {
-        // Format of message is: {"action":"auth","params":"{API_KEY}"}
-
-        JsonObject authRequest = new JsonObject();
-        authRequest.addProperty("action", "auth");
-        authRequest.addProperty("params", keyId);
+        // The connections authenticate themselves when they open
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.sendAuthenticationMessage();
+        }
+    }
 
-        polygonWebsocketClientEndpoint.sendMessage(authRequest.toString());
+    @Override
+    public void handleConnectionLost(CloseReason closeReason) {
+        // The endpoints report to their own connection, so this means all of them were lost
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.handleConnectionLost(closeReason);
+        }
     }
 
     @Override
     public void handleWebsocketMessage(String message) {
-        JsonElement messageJsonElement = GsonUtil.JSON_PARSER.parse(message);
-
-        Preconditions.checkState(messageJsonElement instanceof JsonArray);
-
-        for (JsonElement jsonElement : messageJsonElement.getAsJsonArray()) {
-            JsonObject messageJsonObject = jsonElement.getAsJsonObject();
-            JsonElement eventTypeJsonElement = messageJsonObject.get(EVENT_TYPE_KEY);
-
-            if (eventTypeJsonElement instanceof JsonPrimitive) {
-                try {
-                    PolygonStreamMessageType polygonStreamMessageType = GsonUtil.GSON.fromJson(eventTypeJsonElement,
-                            PolygonStreamMessageType.class);
-
-                    switch (polygonStreamMessageType) {
-                        case STATUS:
-                            StatusMessage statusMessage = GsonUtil.GSON.fromJson(messageJsonObject,
-                                    StatusMessage.class);
-                            sendStreamMessageToListeners(polygonStreamMessageType, statusMessage);
-
-                            authenticated = isAuthenticatedStatusMessage(statusMessage);
-
-                            LOGGER.debug(statusMessage);
-                            break;
-                        case TRADE:
-                            sendStreamMessageToListeners(polygonStreamMessageType,
-                                    GsonUtil.GSON.fromJson(messageJsonObject, TradeMessage.class));
-                            break;
-                        case QUOTE:
-                            sendStreamMessageToListeners(polygonStreamMessageType,
-                                    GsonUtil.GSON.fromJson(messageJsonObject, QuoteMessage.class));
-                            break;
-                        case AGGREGATE_PER_SECOND:
-                            sendStreamMessageToListeners(polygonStreamMessageType,
-                                    GsonUtil.GSON.fromJson(messageJsonObject, AggregatePerSecondMessage.class));
-                            break;
-                        case AGGREGATE_PER_MINUTE:
-                            sendStreamMessageToListeners(polygonStreamMessageType,
-                                    GsonUtil.GSON.fromJson(messageJsonObject, AggregatePerMinuteMessage.class));
-                            break;
-                        default:
-                            LOGGER.error("Unknown stream object: " + messageJsonObject);
-                    }
-                } catch (JsonSyntaxException e) {
-                    LOGGER.throwing(e);
+        handleWebsocketMessage(message, null);
+    }
+
+    /**
+     * Handles the websocket frame of a connection: decodes its stream messages and dispatches them.
+     *
+     * @param message    the message
+     * @param connection the connection the message came from (null if it didn't come from a connection, e.g. if it is
+     *                   replayed, in which case its status messages only go to the listeners)
+     */
+    void handleWebsocketMessage(String message, PolygonWebsocketConnection connection) {
+        JsonReader jsonReader = new JsonReader(new StringReader(message));
+        jsonReader.setLenient(true);
+
+        try {
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                PolygonStreamMessage polygonStreamMessage = STREAM_MESSAGE_DECODER.decode(jsonReader);
+
+                if (polygonStreamMessage == null) { // Logged by the decoder
+                    continue;
                 }
-            } else {
-                LOGGER.error("Unknown stream message: " + messageJsonObject);
+
+                // The authentication and subscription acknowledgements are tracked per connection
+                if (connection != null && polygonStreamMessage.getEv() == PolygonStreamMessageType.STATUS) {
+                    connection.handleStatusMessage((StatusMessage) polygonStreamMessage);
+                }
+
+                // Drops the later copies of the stream messages of redundant connections
+                if (feedArbitrator != null && !feedArbitrator.isFirstArrival(polygonStreamMessage.getEv(),
+                        polygonStreamMessage, connection == null ? -1 : connection.getConnectionIndex())) {
+                    continue;
+                }
+
+                streamMessageDispatcher.dispatch(polygonStreamMessage.getEv(), polygonStreamMessage);
             }
+            jsonReader.endArray();
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            LOGGER.throwing(e);
+        }
+    }
+
+    /**
+     * Handles a decoded stream message on the thread the stream message dispatcher picked for it.
+     *
+     * @param polygonStreamMessageType the polygon stream message type
+     * @param polygonStreamMessage     the polygon stream message
+     */
+    private void handleStreamMessage(PolygonStreamMessageType polygonStreamMessageType,
+            PolygonStreamMessage polygonStreamMessage) {
+        switch (polygonStreamMessageType) {
+            case STATUS:
+                StatusMessage statusMessage = (StatusMessage) polygonStreamMessage;
+                sendStreamMessageToListeners(polygonStreamMessageType, statusMessage);
+
+                LOGGER.debug(statusMessage);
+                break;
+            case TRADE:
+            case QUOTE:
+            case AGGREGATE_PER_SECOND:
+            case AGGREGATE_PER_MINUTE:
+                sendStreamMessageToListeners(polygonStreamMessageType, polygonStreamMessage);
+                break;
+            default:
+                LOGGER.error("Unknown stream object: " + polygonStreamMessage);
         }
     }
 
@@ -202,208 +472,300 @@ public class PolygonWebsocketClient implements WebsocketClient {
         PolygonStreamMessageType polygonStreamMessageType = (PolygonStreamMessageType) streamMessageType;
         PolygonStreamMessage polygonStreamMessage = (PolygonStreamMessage) streamMessage;
 
-        for (PolygonStreamListener streamListener : listeners) {
-            boolean sendToStreamListener = false;
-
-            if (streamListener.getStockChannels().containsKey(polygonStreamMessage.getSym())) {
-                if (streamListener.getStockChannels().get(polygonStreamMessage.getSym())
-                        .contains(polygonStreamMessageType)) {
-                    sendToStreamListener = true;
-                }
-            } else if (streamListener.getStockChannels().containsKey(ALL_TICKERS)) {
-                if (streamListener.getStockChannels().get(ALL_TICKERS).contains(polygonStreamMessageType)) {
-                    sendToStreamListener = true;
-                }
-            }
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] targets =
+                routingTable.getTargets(polygonStreamMessage.getSym(), polygonStreamMessageType);
 
-            if (sendToStreamListener) {
-                streamListener.onStreamUpdate(polygonStreamMessageType, polygonStreamMessage);
-            }
+        for (StreamListener<PolygonStreamMessageType, PolygonStreamMessage> target : targets) {
+            target.onStreamUpdate(polygonStreamMessageType, polygonStreamMessage);
         }
     }
 
     @Override
     public boolean isConnected() {
-        return polygonWebsocketClientEndpoint.getUserSession().isOpen();
+        for (PolygonWebsocketConnection connection : connections) {
+            if (!connection.isConnected()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public boolean isAuthenticated() {
-        return authenticated;
+        for (PolygonWebsocketConnection connection : connections) {
+            if (!connection.isAuthenticated()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Is authenticated status message boolean.
+     * Gets the number of websocket connections the subscriptions are spread across.
      *
-     * @param statusMessage the status message
+     * @return the connection count
+     */
+    public int getConnectionCount() {
+        return connections.length;
+    }
+
+    /**
+     * Gets the ring buffer that queues the websocket frames of the first connection, e.g. to read its queue depth and
+     * producer stall metrics.
      *
-     * @return the boolean
+     * @return the frame ring buffer (null if not connected or if the frames are queued in an executor)
      */
-    private boolean isAuthenticatedStatusMessage(StatusMessage statusMessage) {
-        return statusMessage.getStatus().equalsIgnoreCase("success") &&
-                statusMessage.getMessage().equalsIgnoreCase("authenticated");
+    public SingleProducerRingBuffer<String> getFrameRingBuffer() {
+        return getFrameRingBuffer(0);
     }
 
     /**
-     * Submit stream request.
+     * Gets the ring buffer that queues the websocket frames of a connection.
+     *
+     * @param connectionIndex the connection index
      *
-     * @param polygonStreamAction the polygon stream action
-     * @param newListener         the listener
+     * @return the frame ring buffer (null if not connected or if the frames are queued in an executor)
      */
-    private void submitStreamRequest(PolygonStreamAction polygonStreamAction, PolygonStreamListener newListener) {
-        Preconditions.checkNotNull(polygonStreamAction);
-        Preconditions.checkNotNull(newListener);
-
-        ArrayList<String> actionTickerList = new ArrayList<>();
-
-        Map<String, Set<PolygonStreamMessageType>> registeredTickerChannels = getRegisteredTickerChannels(newListener);
-        Map<String, Set<PolygonStreamMessageType>> newListenerTickerChannels = newListener.getStockChannels();
-
-        for (String ticker : newListenerTickerChannels.keySet()) {
-            Set<PolygonStreamMessageType> registeredChannels = registeredTickerChannels.get(ticker);
-            Set<PolygonStreamMessageType> newListenerChannelTypes = newListenerTickerChannels.get(ticker);
-
-            if (registeredTickerChannels.containsKey(ticker)) {
-                for (PolygonStreamMessageType listenerChannelType : newListenerChannelTypes) {
-                    if (!listenerChannelType.isAPISubscribable()) {
-                        continue;
-                    }
-
-                    boolean isTickerChannelRegistered = registeredChannels.contains(listenerChannelType);
-                    String formattedWebsocketTicker = formatWebsocketTicker(listenerChannelType, ticker);
-
-                    if (isTickerChannelRegistered) {
-                        if (polygonStreamAction == PolygonStreamAction.UNSUBSCRIBE) {
-                            LOGGER.warn("Cannot unsubscribe from " + ticker + " for channel " +
-                                    listenerChannelType.name() +
-                                    " because it is being used by another stream listener!");
-                        } else if (polygonStreamAction == PolygonStreamAction.SUBSCRIBE) {
-                            LOGGER.warn("Already subscribed to " + ticker + " for channel " +
-                                    listenerChannelType.name() + "!");
-                        }
-                    } else { // Not a registered channel by other stream listeners
-                        actionTickerList.add(formattedWebsocketTicker);
-
-                        if (polygonStreamAction == PolygonStreamAction.UNSUBSCRIBE) {
-                            LOGGER.info(("Unsubscribing from " + formattedWebsocketTicker));
-                        } else if (polygonStreamAction == PolygonStreamAction.SUBSCRIBE) {
-                            LOGGER.info(("Subscribing to " + formattedWebsocketTicker));
-                        }
-                    }
-                }
-            } else { // Not a registered ticker by other stream listeners
-                for (PolygonStreamMessageType listenerChannelType : newListenerChannelTypes) {
-                    if (!listenerChannelType.isAPISubscribable()) {
-                        continue;
-                    }
+    public SingleProducerRingBuffer<String> getFrameRingBuffer(int connectionIndex) {
+        return connections[connectionIndex].getFrameRingBuffer();
+    }
 
-                    String formattedWebsocketTicker = formatWebsocketTicker(listenerChannelType, ticker);
+    /**
+     * Gets the subscription manager of the first connection, e.g. to read the subscription acknowledgements or to
+     * change the coalescing window. Unless the connections are redundant, it is the one of all of the connections.
+     *
+     * @return the subscription manager
+     */
+    public PolygonSubscriptionManager getSubscriptionManager() {
+        return subscriptionManagers[0];
+    }
 
-                    actionTickerList.add(formattedWebsocketTicker);
+    /**
+     * Gets the subscription manager of a connection.
+     *
+     * @param connectionIndex the connection index
+     *
+     * @return the subscription manager
+     */
+    public PolygonSubscriptionManager getSubscriptionManager(int connectionIndex) {
+        Preconditions.checkElementIndex(connectionIndex, connections.length);
 
-                    if (polygonStreamAction == PolygonStreamAction.UNSUBSCRIBE) {
-                        LOGGER.info(("Unsubscribing from " + formattedWebsocketTicker));
-                    } else if (polygonStreamAction == PolygonStreamAction.SUBSCRIBE) {
-                        LOGGER.info(("Subscribing to " + formattedWebsocketTicker));
-                    }
-                }
-            }
-        }
+        return subscriptionManagers.length == 1 ? subscriptionManagers[0] : subscriptionManagers[connectionIndex];
+    }
 
-        if (actionTickerList.isEmpty()) {
-            LOGGER.info("Did not change any channel listeners");
-        } else {
-            // Format: {"action":"(un)subscribe","params":"T.AAPL,T.MSFT,T.TSLA"}
+    /**
+     * Gets the arbitrator of the stream messages of the redundant connections, e.g. to read how often each of them
+     * delivered a stream message first.
+     *
+     * @return the feed arbitrator (null if the connections aren't {@link ConnectionPartitioning#REDUNDANT})
+     */
+    public PolygonFeedArbitrator getFeedArbitrator() {
+        return feedArbitrator;
+    }
 
-            StringJoiner commaActionTickers = new StringJoiner(",");
-            actionTickerList.forEach(commaActionTickers::add);
+    /**
+     * Sends a subscription frame on a connection.
+     *
+     * @param connectionIndex the connection index
+     * @param frame           the frame
+     */
+    private void sendSubscriptionFrame(int connectionIndex, String frame) {
+        connections[connectionIndex].sendSubscriptionFrame(frame);
+    }
 
-            JsonObject actionJsonObject = new JsonObject();
-            actionJsonObject.addProperty("action", polygonStreamAction.getAPIName());
-            actionJsonObject.addProperty("params", commaActionTickers.toString());
+    /**
+     * Gets the websocket reconnector of the first connection, e.g. to read its connection state.
+     *
+     * @return the websocket reconnector
+     */
+    public WebsocketReconnector getWebsocketReconnector() {
+        return getWebsocketReconnector(0);
+    }
 
-            polygonWebsocketClientEndpoint.sendMessage(actionJsonObject.toString());
+    /**
+     * Gets the websocket reconnector of a connection.
+     *
+     * @param connectionIndex the connection index
+     *
+     * @return the websocket reconnector
+     */
+    public WebsocketReconnector getWebsocketReconnector(int connectionIndex) {
+        return connections[connectionIndex].getWebsocketReconnector();
+    }
 
-            LOGGER.info(("Requested subscriptions to update to " + getRegisteredTickerChannels(null)));
-        }
+    /**
+     * Gets the journal the received frames are recorded in.
+     *
+     * @return the frame journal (null if they aren't recorded, or until the default one is created on connecting)
+     */
+    public WebsocketFrameJournal getFrameJournal() {
+        return frameJournal;
     }
 
     /**
-     * Format websocket ticker string.
+     * Sets the journal the received frames of all of the connections are recorded in, with their connection index as
+     * source ID. They can be replayed through {@link #handleWebsocketMessage(String)} with a {@code
+     * WebsocketFrameReplayer} (which drops the later copies of redundant connections again).
      *
-     * @param polygonStreamMessageType the polygon stream message type
-     * @param ticker                   the ticker
+     * @param frameJournal the frame journal (null to stop recording)
+     */
+    public synchronized void setFrameJournal(WebsocketFrameJournal frameJournal) {
+        this.frameJournal = frameJournal;
+        defaultFrameJournalPending = false;
+
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.setFrameJournal(frameJournal);
+        }
+    }
+
+    /**
+     * Adds a listener of the state of all of the connections (the events carry the name of their connection).
      *
-     * @return the string
+     * @param connectionListener the connection listener
      */
-    private String formatWebsocketTicker(PolygonStreamMessageType polygonStreamMessageType, String ticker) {
-        return polygonStreamMessageType.getAPIName() + "." + ticker;
+    public void addConnectionListener(WebsocketConnectionListener connectionListener) {
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.getWebsocketReconnector().addConnectionListener(connectionListener);
+        }
     }
 
     /**
-     * Gets registered ticker channels.
+     * Removes a listener of the state of the connections.
      *
-     * @param exclude listener to exclude from the final map
+     * @param connectionListener the connection listener
+     */
+    public void removeConnectionListener(WebsocketConnectionListener connectionListener) {
+        for (PolygonWebsocketConnection connection : connections) {
+            connection.getWebsocketReconnector().removeConnectionListener(connectionListener);
+        }
+    }
+
+    /**
+     * Creates the default websocket reconnect config, i.e. the one configured in the polygon properties.
      *
-     * @return the registered ticker channels
+     * @return the websocket reconnect config
      */
-    private Map<String, Set<PolygonStreamMessageType>> getRegisteredTickerChannels(PolygonStreamListener exclude) {
-        HashMap<String, Set<PolygonStreamMessageType>> registeredTickerChannels = new HashMap<>();
+    public static WebsocketReconnectConfig createDefaultWebsocketReconnectConfig() {
+        WebsocketReconnectConfig websocketReconnectConfig = new WebsocketReconnectConfig();
 
-        for (PolygonStreamListener streamListener : listeners) {
-            if (streamListener.equals(exclude)) {
-                continue;
-            }
+        if (PolygonProperties.WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE != null) {
+            websocketReconnectConfig.setMaxAttempts(
+                    Integer.parseInt(PolygonProperties.WEBSOCKET_RECONNECT_MAX_ATTEMPTS_VALUE.trim()));
+        }
 
-            Map<String, Set<PolygonStreamMessageType>> stockChannelTypes = streamListener.getStockChannels();
+        if (PolygonProperties.WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE != null) {
+            websocketReconnectConfig.setInitialBackoffMillis(
+                    Long.parseLong(PolygonProperties.WEBSOCKET_RECONNECT_INITIAL_BACKOFF_MILLIS_VALUE.trim()));
+        }
 
-            for (String ticker : stockChannelTypes.keySet()) {
-                Set<PolygonStreamMessageType> streamMessageTypes = stockChannelTypes.get(ticker);
-                Set<PolygonStreamMessageType> subscribableStreamMessageTypes = streamMessageTypes == null ?
-                        new HashSet<>() : streamMessageTypes.stream()
-                        .filter(PolygonStreamMessageType::isAPISubscribable)
-                        .collect(Collectors.toSet());
+        if (PolygonProperties.WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE != null) {
+            websocketReconnectConfig.setMaxBackoffMillis(
+                    Long.parseLong(PolygonProperties.WEBSOCKET_RECONNECT_MAX_BACKOFF_MILLIS_VALUE.trim()));
+        }
 
-                if (!registeredTickerChannels.containsKey(ticker)) {
-                    registeredTickerChannels.put(ticker, subscribableStreamMessageTypes);
-                } else {
-                    registeredTickerChannels.get(ticker).addAll(subscribableStreamMessageTypes);
-                }
-            }
+        return websocketReconnectConfig;
+    }
+
+    /**
+     * Creates the default frame journal if it's pending, so that a client that never connects (e.g. of an API only
+     * used for REST requests) doesn't hold the lock of the journal prefix.
+     */
+    private synchronized void createDefaultFrameJournalIfPending() {
+        if (!defaultFrameJournalPending) {
+            return;
         }
+        defaultFrameJournalPending = false;
 
-        return registeredTickerChannels;
+        defaultFrameJournal = createDefaultFrameJournal();
+        if (defaultFrameJournal != null) {
+            frameJournal = defaultFrameJournal;
+        }
     }
 
     /**
-     * The enum Polygon stream action.
+     * Closes the default frame journal if this client created it, releasing the lock of its prefix.
      */
-    private enum PolygonStreamAction {
-        /** The subscribe. */
-        SUBSCRIBE("subscribe"),
+    private synchronized void closeDefaultFrameJournal() {
+        defaultFrameJournalPending = false;
 
-        /** The unsubscribe. */
-        UNSUBSCRIBE("unsubscribe");
+        if (defaultFrameJournal == null) {
+            return;
+        }
 
-        /** The api name. */
-        String apiName;
+        if (frameJournal == defaultFrameJournal) {
+            frameJournal = null;
+        }
+        defaultFrameJournal.close();
+        defaultFrameJournal = null;
+    }
 
-        /**
-         * Instantiates a new stream action.
-         *
-         * @param apiName the api name
-         */
-        PolygonStreamAction(String apiName) {
-            this.apiName = apiName;
+    /**
+     * Creates the default frame journal, i.e. the one configured in the polygon properties.
+     *
+     * @return the frame journal (null if the frames aren't recorded)
+     */
+    private static WebsocketFrameJournal createDefaultFrameJournal() {
+        if (PolygonProperties.WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE == null) {
+            return null;
+        }
+
+        int segmentSize = WebsocketFrameJournal.DEFAULT_SEGMENT_SIZE;
+        if (PolygonProperties.WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE != null) {
+            segmentSize = Integer.parseInt(PolygonProperties.WEBSOCKET_FRAME_JOURNAL_SEGMENT_SIZE_VALUE.trim());
+        }
+
+        try {
+            return new WebsocketFrameJournal(
+                    Paths.get(PolygonProperties.WEBSOCKET_FRAME_JOURNAL_DIRECTORY_VALUE.trim()), "polygon", segmentSize);
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+            return null;
         }
+    }
+
+    /**
+     * Creates the default websocket dispatch config, i.e. the one configured in the polygon properties.
+     *
+     * @return the websocket dispatch config
+     */
+    public static WebsocketDispatchConfig createDefaultWebsocketDispatchConfig() {
+        WebsocketDispatchConfig websocketDispatchConfig = new WebsocketDispatchConfig();
 
-        /**
-         * Gets api name.
-         *
-         * @return the api name
-         */
-        public String getAPIName() {
-            return apiName;
+        if (PolygonProperties.WEBSOCKET_DISPATCH_MODE_VALUE != null) {
+            websocketDispatchConfig.setDispatchMode(WebsocketDispatchMode.valueOf(
+                    PolygonProperties.WEBSOCKET_DISPATCH_MODE_VALUE.trim().toUpperCase()));
         }
+
+        if (PolygonProperties.WEBSOCKET_DISPATCH_SHARD_COUNT_VALUE != null) {
+            websocketDispatchConfig.setShardCount(
+                    Integer.parseInt(PolygonProperties.WEBSOCKET_DISPATCH_SHARD_COUNT_VALUE.trim()));
+        }
+
+        if (PolygonProperties.WEBSOCKET_FRAME_RING_BUFFER_SIZE_VALUE != null) {
+            websocketDispatchConfig.setFrameRingBufferSize(
+                    Integer.parseInt(PolygonProperties.WEBSOCKET_FRAME_RING_BUFFER_SIZE_VALUE.trim()));
+        }
+
+        if (PolygonProperties.WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_VALUE != null) {
+            websocketDispatchConfig.setFrameRingBufferWaitStrategy(RingBufferWaitStrategy.valueOf(
+                    PolygonProperties.WEBSOCKET_FRAME_RING_BUFFER_WAIT_STRATEGY_VALUE.trim().toUpperCase()));
+        }
+
+        if (PolygonProperties.WEBSOCKET_CONNECTION_COUNT_VALUE != null) {
+            websocketDispatchConfig.setConnectionCount(
+                    Integer.parseInt(PolygonProperties.WEBSOCKET_CONNECTION_COUNT_VALUE.trim()));
+        }
+
+        if (PolygonProperties.WEBSOCKET_CONNECTION_PARTITIONING_VALUE != null) {
+            websocketDispatchConfig.setConnectionPartitioning(ConnectionPartitioning.valueOf(
+                    PolygonProperties.WEBSOCKET_CONNECTION_PARTITIONING_VALUE.trim().toUpperCase()));
+        }
+
+        if (PolygonProperties.WEBSOCKET_ARBITRATION_WINDOW_SIZE_VALUE != null) {
+            websocketDispatchConfig.setArbitrationWindowSize(
+                    Integer.parseInt(PolygonProperties.WEBSOCKET_ARBITRATION_WINDOW_SIZE_VALUE.trim()));
+        }
+
+        return websocketDispatchConfig;
     }
 }
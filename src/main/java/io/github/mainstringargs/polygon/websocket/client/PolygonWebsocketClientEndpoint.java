@@ -2,6 +2,7 @@ package io.github.mainstringargs.polygon.websocket.client;
 
 import io.github.mainstringargs.abstracts.websocket.client.AbstractWebsocketClientEndpoint;
 import io.github.mainstringargs.abstracts.websocket.client.WebsocketClient;
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
 
 import javax.websocket.ClientEndpoint;
 import javax.websocket.CloseReason;
@@ -27,6 +28,31 @@ public class PolygonWebsocketClientEndpoint extends AbstractWebsocketClientEndpo
         super(websocketClient, endpointURI, "PolygonWebsocketThread");
     }
 
+    /**
+     * Instantiates a new polygon websocket client endpoint.
+     *
+     * @param websocketClient         the websocket client
+     * @param endpointURI             the endpoint uri
+     * @param websocketDispatchConfig the websocket dispatch config
+     */
+    public PolygonWebsocketClientEndpoint(WebsocketClient websocketClient, URI endpointURI,
+            WebsocketDispatchConfig websocketDispatchConfig) {
+        super(websocketClient, endpointURI, "PolygonWebsocketThread", websocketDispatchConfig);
+    }
+
+    /**
+     * Instantiates a new polygon websocket client endpoint.
+     *
+     * @param websocketClient         the websocket client
+     * @param endpointURI             the endpoint uri
+     * @param messageThreadName       the message thread name
+     * @param websocketDispatchConfig the websocket dispatch config
+     */
+    public PolygonWebsocketClientEndpoint(WebsocketClient websocketClient, URI endpointURI, String messageThreadName,
+            WebsocketDispatchConfig websocketDispatchConfig) {
+        super(websocketClient, endpointURI, messageThreadName, websocketDispatchConfig);
+    }
+
     @OnOpen
     @Override
     public void onOpenAnnotated(Session userSession) {
@@ -0,0 +1,312 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import com.google.gson.JsonObject;
+import io.github.mainstringargs.abstracts.websocket.client.ReconnectableWebsocket;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketClient;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnectConfig;
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketReconnector;
+import io.github.mainstringargs.abstracts.websocket.dispatch.WebsocketDispatchConfig;
+import io.github.mainstringargs.abstracts.websocket.journal.WebsocketFrameJournal;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessage;
+import io.github.mainstringargs.abstracts.websocket.message.StreamMessageType;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.util.concurrency.SingleProducerRingBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.DeploymentException;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+
+/**
+ * The Class PolygonWebsocketConnection. One of the websocket connections of a {@link PolygonWebsocketClient}: it owns
+ * the endpoint, authentication and reconnects of the connection, and hands the frames it receives to the client (which
+ * dispatches the stream messages of all of its connections together).
+ */
+class PolygonWebsocketConnection implements WebsocketClient, ReconnectableWebsocket {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(PolygonWebsocketConnection.class);
+
+    /** The client. */
+    private final PolygonWebsocketClient polygonWebsocketClient;
+
+    /** The connection index. */
+    private final int connectionIndex;
+
+    /** The connection name. */
+    private final String connectionName;
+
+    /** The key id. */
+    private final String keyId;
+
+    /** The Websocket url. */
+    private final String websocketURL;
+
+    /** The websocket dispatch config. */
+    private final WebsocketDispatchConfig websocketDispatchConfig;
+
+    /** The subscription manager (shared by all of the connections of the client, unless they are redundant). */
+    private final PolygonSubscriptionManager subscriptionManager;
+
+    /** The index of this connection in its subscription manager. */
+    private final int subscriptionConnectionIndex;
+
+    /** The reconnector of the connection when it is lost. */
+    private final WebsocketReconnector websocketReconnector;
+
+    /** The client end point. */
+    private volatile PolygonWebsocketClientEndpoint polygonWebsocketClientEndpoint;
+
+    /** The Authenticated. */
+    private volatile boolean authenticated;
+
+    /**
+     * Instantiates a new Polygon websocket connection.
+     *
+     * @param polygonWebsocketClient      the client
+     * @param connectionIndex             the connection index
+     * @param connectionName              the connection name (the threads of the connection are named after it)
+     * @param keyId                       the key id
+     * @param websocketURL                the websocket url
+     * @param websocketDispatchConfig     the websocket dispatch config
+     * @param subscriptionManager         the subscription manager
+     * @param subscriptionConnectionIndex the index of the connection in its subscription manager
+     * @param websocketReconnectConfig    the websocket reconnect config
+     */
+    PolygonWebsocketConnection(PolygonWebsocketClient polygonWebsocketClient, int connectionIndex,
+            String connectionName, String keyId, String websocketURL, WebsocketDispatchConfig websocketDispatchConfig,
+            PolygonSubscriptionManager subscriptionManager, int subscriptionConnectionIndex,
+            WebsocketReconnectConfig websocketReconnectConfig) {
+        this.polygonWebsocketClient = polygonWebsocketClient;
+        this.connectionIndex = connectionIndex;
+        this.connectionName = connectionName;
+        this.keyId = keyId;
+        this.websocketURL = websocketURL;
+        this.websocketDispatchConfig = websocketDispatchConfig;
+        this.subscriptionManager = subscriptionManager;
+        this.subscriptionConnectionIndex = subscriptionConnectionIndex;
+
+        websocketReconnector = new WebsocketReconnector(connectionName, websocketReconnectConfig, this);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void addListener(StreamListener streamListener) {
+        polygonWebsocketClient.addListener(streamListener);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void removeListener(StreamListener streamListener) {
+        polygonWebsocketClient.removeListener(streamListener);
+    }
+
+    @Override
+    public void connect() {
+        LOGGER.info("Connecting " + connectionName + "...");
+
+        // The message thread of the previous endpoint stops once it has handled its frames
+        if (polygonWebsocketClientEndpoint != null) {
+            polygonWebsocketClientEndpoint.shutdown();
+        }
+
+        try {
+            polygonWebsocketClientEndpoint = new PolygonWebsocketClientEndpoint(this, new URI(websocketURL),
+                    connectionName + "Thread", websocketDispatchConfig);
+            polygonWebsocketClientEndpoint.setFrameJournal(polygonWebsocketClient.getFrameJournal(), connectionIndex);
+            // Before connecting, so that the authentication (which may arrive before connect() returns) is expected
+            websocketReconnector.onConnected();
+            polygonWebsocketClientEndpoint.connect();
+
+            LOGGER.info("Connected " + connectionName + ".");
+        } catch (URISyntaxException | DeploymentException | IOException e) {
+            websocketReconnector.onDisconnected();
+            LOGGER.throwing(e);
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        LOGGER.info("Disconnecting " + connectionName + "...");
+
+        websocketReconnector.onDisconnected();
+
+        try {
+            if (polygonWebsocketClientEndpoint != null) {
+                polygonWebsocketClientEndpoint.disconnect();
+            }
+
+            LOGGER.info("Disconnected " + connectionName + ".");
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+        }
+    }
+
+    @Override
+    public void sendAuthenticationMessage() {
+        // Format of message is: {"action":"auth","params":"{API_KEY}"}
+
+        JsonObject authRequest = new JsonObject();
+        authRequest.addProperty("action", "auth");
+        authRequest.addProperty("params", keyId);
+
+        polygonWebsocketClientEndpoint.sendMessage(authRequest.toString());
+    }
+
+    @Override
+    public void handleConnectionLost(CloseReason closeReason) {
+        authenticated = false;
+
+        // Moves the channels of this connection to the live ones until it is restored
+        subscriptionManager.onConnectionLost(subscriptionConnectionIndex);
+        websocketReconnector.onConnectionLost(closeReason.getCloseCode() + " " + closeReason.getReasonPhrase());
+    }
+
+    @Override
+    public void handleWebsocketMessage(String message) {
+        polygonWebsocketClient.handleWebsocketMessage(message, this);
+    }
+
+    /**
+     * Handles a status message of this connection (before it is dispatched to the listeners).
+     *
+     * @param statusMessage the status message
+     */
+    void handleStatusMessage(StatusMessage statusMessage) {
+        if (isAuthenticatedStatusMessage(statusMessage)) {
+            authenticated = true;
+            websocketReconnector.onAuthenticated();
+        }
+
+        subscriptionManager.handleStatusMessage(subscriptionConnectionIndex, statusMessage);
+    }
+
+    @Override
+    public void sendStreamMessageToListeners(StreamMessageType streamMessageType, StreamMessage streamMessage) {
+        polygonWebsocketClient.sendStreamMessageToListeners(streamMessageType, streamMessage);
+    }
+
+    @Override
+    public boolean isConnected() {
+        PolygonWebsocketClientEndpoint polygonWebsocketClientEndpoint = this.polygonWebsocketClientEndpoint;
+        Session userSession = polygonWebsocketClientEndpoint == null ? null :
+                polygonWebsocketClientEndpoint.getUserSession();
+
+        return userSession != null && userSession.isOpen();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void openConnection() throws Exception {
+        polygonWebsocketClientEndpoint.connect();
+    }
+
+    @Override
+    public void closeConnection() {
+        Session userSession = polygonWebsocketClientEndpoint.getUserSession();
+        if (userSession == null) {
+            return;
+        }
+
+        try {
+            userSession.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "Authentication timed out"));
+        } catch (IOException e) {
+            LOGGER.throwing(e);
+        }
+    }
+
+    @Override
+    public void resubscribe() {
+        // The new connection has none of the subscriptions, so send all of its channels (in frames of the max size)
+        subscriptionManager.onConnectionRestored(subscriptionConnectionIndex);
+        subscriptionManager.flush();
+    }
+
+    /**
+     * Sends a subscription frame on this connection.
+     *
+     * @param frame the frame
+     */
+    void sendSubscriptionFrame(String frame) {
+        if (!isConnected()) {
+            // E.g. the unsubscriptions of the last listener, which are flushed after the disconnect
+            LOGGER.debug("Not sending a subscription frame without an open connection: " + frame);
+        } else {
+            polygonWebsocketClientEndpoint.sendMessage(frame);
+        }
+    }
+
+    /**
+     * Shuts down the threads of this connection: its reconnect thread and the message thread of its endpoint (once it
+     * has handled the frames already received). The connection can't be used once it's shut down.
+     */
+    void shutdown() {
+        websocketReconnector.shutdown();
+
+        PolygonWebsocketClientEndpoint polygonWebsocketClientEndpoint = this.polygonWebsocketClientEndpoint;
+        if (polygonWebsocketClientEndpoint != null) {
+            polygonWebsocketClientEndpoint.shutdown();
+        }
+    }
+
+    /**
+     * Sets the journal the frames of the current endpoint are recorded in (with the connection index as source ID).
+     *
+     * @param frameJournal the frame journal (null to stop recording)
+     */
+    void setFrameJournal(WebsocketFrameJournal frameJournal) {
+        PolygonWebsocketClientEndpoint polygonWebsocketClientEndpoint = this.polygonWebsocketClientEndpoint;
+        if (polygonWebsocketClientEndpoint != null) {
+            polygonWebsocketClientEndpoint.setFrameJournal(frameJournal, connectionIndex);
+        }
+    }
+
+    /**
+     * Gets the connection index.
+     *
+     * @return the connection index
+     */
+    int getConnectionIndex() {
+        return connectionIndex;
+    }
+
+    /**
+     * Gets the websocket reconnector.
+     *
+     * @return the websocket reconnector
+     */
+    WebsocketReconnector getWebsocketReconnector() {
+        return websocketReconnector;
+    }
+
+    /**
+     * Gets the frame ring buffer of the current endpoint.
+     *
+     * @return the frame ring buffer (null if not connected or if the frames are queued in an executor)
+     */
+    SingleProducerRingBuffer<String> getFrameRingBuffer() {
+        PolygonWebsocketClientEndpoint polygonWebsocketClientEndpoint = this.polygonWebsocketClientEndpoint;
+        return polygonWebsocketClientEndpoint == null ? null : polygonWebsocketClientEndpoint.getFrameRingBuffer();
+    }
+
+    /**
+     * Is authenticated status message boolean.
+     *
+     * @param statusMessage the status message
+     *
+     * @return the boolean
+     */
+    private boolean isAuthenticatedStatusMessage(StatusMessage statusMessage) {
+        return "success".equalsIgnoreCase(statusMessage.getStatus()) &&
+                "authenticated".equalsIgnoreCase(statusMessage.getMessage());
+    }
+}
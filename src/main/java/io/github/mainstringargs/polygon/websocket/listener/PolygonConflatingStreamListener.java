@@ -0,0 +1,80 @@
+package io.github.mainstringargs.polygon.websocket.listener;
+
+import io.github.mainstringargs.abstracts.websocket.dispatch.ConflatingMessageBuffer;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Class PolygonConflatingStreamListener. A polygon stream listener that only keeps the latest message of each
+ * symbol and message type (e.g. the latest quote of each symbol) until it is drained. Register it like any other
+ * listener and call {@link #drain(StreamListener)} from the consumer thread (e.g. on a UI or risk timer) to get the
+ * newest value of each symbol and message type that was updated since the previous drain. The intermediate messages of
+ * a burst are never queued nor delivered.
+ */
+public class PolygonConflatingStreamListener extends PolygonStreamListenerAdapter {
+
+    /** The conflating message buffer. */
+    private final ConflatingMessageBuffer<PolygonStreamMessageType, PolygonStreamMessage> conflatingMessageBuffer =
+            new ConflatingMessageBuffer<>(PolygonStreamMessageType.class,
+                    (polygonStreamMessageType, polygonStreamMessage) -> polygonStreamMessage.getSym());
+
+    /**
+     * Instantiates a new polygon conflating stream listener.
+     *
+     * @param ticker       the ticker
+     * @param channelTypes the channel types
+     */
+    public PolygonConflatingStreamListener(String ticker, PolygonStreamMessageType... channelTypes) {
+        super(ticker, channelTypes);
+    }
+
+    /**
+     * Instantiates a new polygon conflating stream listener.
+     *
+     * @param tickers      the tickers
+     * @param channelTypes the channel types
+     */
+    public PolygonConflatingStreamListener(Set<String> tickers, PolygonStreamMessageType... channelTypes) {
+        super(tickers, channelTypes);
+    }
+
+    /**
+     * Instantiates a new polygon conflating stream listener.
+     *
+     * @param stockChannels the stock channel types
+     */
+    public PolygonConflatingStreamListener(Map<String, Set<PolygonStreamMessageType>> stockChannels) {
+        super(stockChannels);
+    }
+
+    @Override
+    public void onStreamUpdate(PolygonStreamMessageType streamMessageType, PolygonStreamMessage streamMessage) {
+        conflatingMessageBuffer.offer(streamMessageType, streamMessage);
+    }
+
+    /**
+     * Drains the latest message of each symbol and message type that was updated since the previous drain to a
+     * consumer, on the calling thread.
+     *
+     * @param consumer the consumer
+     *
+     * @return the number of drained messages
+     */
+    public int drain(StreamListener<PolygonStreamMessageType, PolygonStreamMessage> consumer) {
+        return conflatingMessageBuffer.drainTo(consumer);
+    }
+
+    /**
+     * Gets the conflating message buffer, e.g. to peek at a pending message or to read its pending and conflated
+     * counts.
+     *
+     * @return the conflating message buffer
+     */
+    public ConflatingMessageBuffer<PolygonStreamMessageType, PolygonStreamMessage> getConflatingMessageBuffer() {
+        return conflatingMessageBuffer;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.mainstringargs.polygon.websocket.listener;
+
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerMinuteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerSecondMessage;
+import io.github.mainstringargs.domain.polygon.websocket.quote.QuoteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+
+/**
+ * The listener interface for receiving polygonStream events with a typed callback per message type, instead of
+ * switching on the message type and casting the message in {@link #onStreamUpdate(PolygonStreamMessageType,
+ * PolygonStreamMessage)}. Implement the callbacks of the channel types in the stock channels; the others do nothing.
+ * <p>
+ * The {@link io.github.mainstringargs.polygon.websocket.client.PolygonWebsocketClient} binds the callbacks of the
+ * listener once when it is added (see {@link #bindCallbacks(PolygonTypedStreamListener)}), so delivering a message
+ * calls the callback of its type directly, without going through {@link #onStreamUpdate(PolygonStreamMessageType,
+ * PolygonStreamMessage)} (which shouldn't be overridden).
+ */
+public interface PolygonTypedStreamListener extends PolygonStreamListener {
+
+    /**
+     * On trade.
+     *
+     * @param tradeMessage the trade message
+     */
+    default void onTrade(TradeMessage tradeMessage) {
+    }
+
+    /**
+     * On quote.
+     *
+     * @param quoteMessage the quote message
+     */
+    default void onQuote(QuoteMessage quoteMessage) {
+    }
+
+    /**
+     * On second agg.
+     *
+     * @param aggregatePerSecondMessage the aggregate per second message
+     */
+    default void onSecondAgg(AggregatePerSecondMessage aggregatePerSecondMessage) {
+    }
+
+    /**
+     * On minute agg.
+     *
+     * @param aggregatePerMinuteMessage the aggregate per minute message
+     */
+    default void onMinuteAgg(AggregatePerMinuteMessage aggregatePerMinuteMessage) {
+    }
+
+    /**
+     * On status.
+     *
+     * @param statusMessage the status message
+     */
+    default void onStatus(StatusMessage statusMessage) {
+    }
+
+    /**
+     * Calls the callback of the message type. The client only calls it when the listener is delivered to through a
+     * dispatch queue.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    @Override
+    default void onStreamUpdate(PolygonStreamMessageType streamMessageType, PolygonStreamMessage streamMessage) {
+        switch (streamMessageType) {
+            case TRADE:
+                onTrade((TradeMessage) streamMessage);
+                break;
+            case QUOTE:
+                onQuote((QuoteMessage) streamMessage);
+                break;
+            case AGGREGATE_PER_SECOND:
+                onSecondAgg((AggregatePerSecondMessage) streamMessage);
+                break;
+            case AGGREGATE_PER_MINUTE:
+                onMinuteAgg((AggregatePerMinuteMessage) streamMessage);
+                break;
+            case STATUS:
+                onStatus((StatusMessage) streamMessage);
+                break;
+        }
+    }
+
+    /**
+     * Binds the callbacks of a listener: gets a stream listener per message type that calls the callback of that type
+     * of the listener.
+     *
+     * @param listener the listener
+     *
+     * @return the bound callbacks indexed by message type ordinal
+     */
+    @SuppressWarnings("unchecked")
+    static StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] bindCallbacks(
+            PolygonTypedStreamListener listener) {
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] callbacks =
+                (StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[])
+                        new StreamListener<?, ?>[PolygonStreamMessageType.values().length];
+
+        callbacks[PolygonStreamMessageType.TRADE.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onTrade((TradeMessage) streamMessage);
+        callbacks[PolygonStreamMessageType.QUOTE.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onQuote((QuoteMessage) streamMessage);
+        callbacks[PolygonStreamMessageType.AGGREGATE_PER_SECOND.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onSecondAgg((AggregatePerSecondMessage) streamMessage);
+        callbacks[PolygonStreamMessageType.AGGREGATE_PER_MINUTE.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onMinuteAgg((AggregatePerMinuteMessage) streamMessage);
+        callbacks[PolygonStreamMessageType.STATUS.ordinal()] =
+                (streamMessageType, streamMessage) -> listener.onStatus((StatusMessage) streamMessage);
+
+        return callbacks;
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.mainstringargs.polygon.websocket.listener;
+
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Class PolygonTypedStreamListenerAdapter. A {@link PolygonStreamListenerAdapter} whose stream messages are
+ * delivered to the typed callbacks of {@link PolygonTypedStreamListener}, e.g.:
+ * <pre>{@code
+ * polygonAPI.addPolygonStreamListener(new PolygonTypedStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE) {
+ *     public void onTrade(TradeMessage tradeMessage) {
+ *         ...
+ *     }
+ * });
+ * }</pre>
+ */
+public class PolygonTypedStreamListenerAdapter extends PolygonStreamListenerAdapter
+        implements PolygonTypedStreamListener {
+
+    /**
+     * Instantiates a new polygon typed stream listener adapter.
+     *
+     * @param ticker       the ticker
+     * @param channelTypes the channel types
+     */
+    public PolygonTypedStreamListenerAdapter(String ticker, PolygonStreamMessageType... channelTypes) {
+        super(ticker, channelTypes);
+    }
+
+    /**
+     * Instantiates a new polygon typed stream listener adapter.
+     *
+     * @param tickers      the tickers
+     * @param channelTypes the channel types
+     */
+    public PolygonTypedStreamListenerAdapter(Set<String> tickers, PolygonStreamMessageType... channelTypes) {
+        super(tickers, channelTypes);
+    }
+
+    /**
+     * Instantiates a new polygon typed stream listener adapter.
+     *
+     * @param stockChannels the stock channel types
+     */
+    public PolygonTypedStreamListenerAdapter(Map<String, Set<PolygonStreamMessageType>> stockChannels) {
+        super(stockChannels);
+    }
+
+    @Override
+    public void onStreamUpdate(PolygonStreamMessageType streamMessageType, PolygonStreamMessage streamMessage) {
+        PolygonTypedStreamListener.super.onStreamUpdate(streamMessageType, streamMessage);
+    }
+}
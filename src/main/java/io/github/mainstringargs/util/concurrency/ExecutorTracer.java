@@ -8,6 +8,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.SynchronousQueue;
@@ -85,6 +86,63 @@ public class ExecutorTracer {
                 TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory));
     }
 
+    /**
+     * New single thread executor with a bounded queue. Executing a task blocks the calling thread while the queue is
+     * full.
+     *
+     * @param queueCapacity the queue capacity
+     * @param threadFactory the thread factory
+     *
+     * @return the executor service
+     */
+    public static ExecutorService newBoundedSingleThreadExecutor(int queueCapacity, ThreadFactory threadFactory) {
+        ThreadPoolExecutorTracer threadPoolExecutor = new ThreadPoolExecutorTracer(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(queueCapacity), threadFactory);
+
+        threadPoolExecutor.setRejectedExecutionHandler((runnable, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The executor is shut down");
+            }
+
+            try {
+                executor.getQueue().put(runnable);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(exception);
+            }
+        });
+
+        return new FinalizableDelegatedExecutorService(threadPoolExecutor);
+    }
+
+    /**
+     * New fixed thread pool with a bounded queue. A task executed while the queue is full runs on the calling thread,
+     * which slows the caller down instead of queueing without bound. The threads stop after being idle for a minute.
+     *
+     * @param nThreads      the n threads
+     * @param queueCapacity the queue capacity
+     * @param threadFactory the thread factory
+     *
+     * @return the executor service
+     */
+    public static ExecutorService newCallerRunsThreadPool(int nThreads, int queueCapacity,
+            ThreadFactory threadFactory) {
+        ThreadPoolExecutorTracer threadPoolExecutor = new ThreadPoolExecutorTracer(nThreads, nThreads, 60L,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(queueCapacity), threadFactory);
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+
+        threadPoolExecutor.setRejectedExecutionHandler((runnable, executor) -> {
+            // Unlike ThreadPoolExecutor.CallerRunsPolicy, which silently drops the task
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("The executor is shut down");
+            }
+
+            runnable.run();
+        });
+
+        return threadPoolExecutor;
+    }
+
     /**
      * New single thread executor.
      *
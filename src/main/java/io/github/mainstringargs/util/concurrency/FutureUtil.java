@@ -0,0 +1,43 @@
+package io.github.mainstringargs.util.concurrency;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Class FutureUtil.
+ */
+public class FutureUtil {
+
+    /**
+     * Instantiates a new future util.
+     */
+    private FutureUtil() {
+    }
+
+    /**
+     * Gets a future of the results of all the given futures, in the order of the futures. Unlike {@link
+     * CompletableFuture#allOf(CompletableFuture[])}, it needs no (raw) array of the futures and keeps their result type.
+     * It completes exceptionally if any of the futures does.
+     *
+     * @param <T>     the result type
+     * @param futures the futures
+     *
+     * @return the future of the results
+     */
+    public static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        Preconditions.checkNotNull(futures);
+
+        CompletableFuture<List<T>> resultsFuture = CompletableFuture.completedFuture(new ArrayList<>(futures.size()));
+        for (CompletableFuture<T> future : futures) {
+            resultsFuture = resultsFuture.thenCombine(future, (results, result) -> {
+                results.add(result);
+                return results;
+            });
+        }
+
+        return resultsFuture;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.mainstringargs.util.concurrency;
+
+/**
+ * The enum Ring buffer wait strategy. It is how a {@link SingleProducerRingBuffer} consumer waits for the next element
+ * and how its producer waits for a free slot when the ring is full.
+ */
+public enum RingBufferWaitStrategy {
+
+    /** Parks the waiting thread until it is woken up. Uses the least CPU, but has the highest wake-up latency. */
+    BLOCKING,
+
+    /** Spins for a while and then yields the waiting thread. Lower latency, at the cost of CPU while idle. */
+    YIELDING,
+
+    /** Spins the waiting thread. The lowest latency, at the cost of a whole core per waiting thread. */
+    BUSY_SPIN
+}
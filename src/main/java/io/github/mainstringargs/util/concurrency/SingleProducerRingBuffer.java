@@ -0,0 +1,285 @@
+package io.github.mainstringargs.util.concurrency;
+
+import com.google.common.base.Preconditions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The Class SingleProducerRingBuffer. A preallocated, lock-free ring buffer with one producer thread and one consumer
+ * thread that hands the published elements to a handler in order. The producer and the consumer only coordinate
+ * through two sequence numbers (the last published and the last consumed element), so publishing allocates nothing
+ * and takes no lock. When the ring is full the producer stalls until the consumer frees a slot.
+ *
+ * @param <E> the element type
+ */
+public class SingleProducerRingBuffer<E> {
+
+    /** The logger. */
+    private static final Logger LOGGER = LogManager.getLogger(SingleProducerRingBuffer.class);
+
+    /** The number of spins of the {@link RingBufferWaitStrategy#YIELDING} strategy before it yields. */
+    private static final int YIELDING_SPIN_TRIES = 100;
+
+    /** The max time a {@link RingBufferWaitStrategy#BLOCKING} wait parks before it checks the sequences again. */
+    private static final long BLOCKING_PARK_NANOS = 1_000_000;
+
+    /** The slots. */
+    private final Object[] slots;
+
+    /** The index mask (the capacity is a power of 2). */
+    private final int indexMask;
+
+    /** The wait strategy. */
+    private final RingBufferWaitStrategy waitStrategy;
+
+    /** The element handler. */
+    private final Consumer<E> elementHandler;
+
+    /** The consumer thread. */
+    private final Thread consumerThread;
+
+    /** The sequence of the last published element. */
+    private final AtomicLong publishedSequence = new AtomicLong(-1);
+
+    /** The sequence of the last consumed element. */
+    private final AtomicLong consumedSequence = new AtomicLong(-1);
+
+    /** The number of times the producer found the ring full. */
+    private final AtomicLong producerStallCount = new AtomicLong();
+
+    /** The next sequence to publish (only accessed by the producer). */
+    private long nextSequence = 0;
+
+    /** Whether the consumer is (about to be) parked waiting for an element. */
+    private volatile boolean consumerWaiting;
+
+    /** The producer thread that is (about to be) parked waiting for a free slot. */
+    private volatile Thread waitingProducerThread;
+
+    /** Whether the consumer is running. */
+    private volatile boolean running = true;
+
+    /**
+     * Instantiates a new single producer ring buffer and starts its consumer thread.
+     *
+     * @param capacity           the capacity (rounded up to a power of 2)
+     * @param waitStrategy       the wait strategy
+     * @param consumerThreadName the consumer thread name
+     * @param elementHandler     the handler of the elements, called on the consumer thread
+     */
+    public SingleProducerRingBuffer(int capacity, RingBufferWaitStrategy waitStrategy, String consumerThreadName,
+            Consumer<E> elementHandler) {
+        Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30, "The capacity must be in (0, 2^30]");
+        Preconditions.checkNotNull(waitStrategy);
+        Preconditions.checkNotNull(consumerThreadName);
+        Preconditions.checkNotNull(elementHandler);
+
+        int powerOf2Capacity = Integer.highestOneBit(capacity);
+        if (powerOf2Capacity < capacity) {
+            powerOf2Capacity <<= 1;
+        }
+
+        this.slots = new Object[powerOf2Capacity];
+        this.indexMask = powerOf2Capacity - 1;
+        this.waitStrategy = waitStrategy;
+        this.elementHandler = elementHandler;
+
+        consumerThread = new Thread(this::consume, consumerThreadName);
+        consumerThread.setDaemon(true);
+        consumerThread.start();
+    }
+
+    /**
+     * Publishes an element. Must only be called by one thread at a time. Stalls while the ring is full.
+     *
+     * @param element the element
+     */
+    public void publish(E element) {
+        Preconditions.checkNotNull(element);
+        Preconditions.checkState(running, "The ring buffer is shut down");
+
+        long sequence = nextSequence;
+        long wrapSequence = sequence - slots.length;
+
+        if (wrapSequence > consumedSequence.get()) {
+            producerStallCount.incrementAndGet();
+            waitForFreeSlot(wrapSequence);
+        }
+
+        slots[(int) sequence & indexMask] = element;
+        setSequence(publishedSequence, sequence); // Makes the slot write visible before the sequence
+        nextSequence = sequence + 1;
+
+        if (consumerWaiting) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    /**
+     * Shuts down the consumer thread once it has handled the elements that were already published.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumerThread);
+    }
+
+    /**
+     * Gets the capacity.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Gets the number of elements that were published but not yet handled.
+     *
+     * @return the queue depth
+     */
+    public long getQueueDepth() {
+        return publishedSequence.get() - consumedSequence.get();
+    }
+
+    /**
+     * Gets the number of elements that were published.
+     *
+     * @return the published count
+     */
+    public long getPublishedCount() {
+        return publishedSequence.get() + 1;
+    }
+
+    /**
+     * Gets the number of times the producer found the ring full and had to wait for the consumer.
+     *
+     * @return the producer stall count
+     */
+    public long getProducerStallCount() {
+        return producerStallCount.get();
+    }
+
+    /**
+     * Waits until the consumer has consumed the given sequence, so that its slot can be reused.
+     *
+     * @param wrapSequence the sequence that must be consumed
+     */
+    private void waitForFreeSlot(long wrapSequence) {
+        int spins = 0;
+
+        while (wrapSequence > consumedSequence.get()) {
+            if (!consumerThread.isAlive()) {
+                throw new IllegalStateException("The consumer thread of the ring buffer is not running");
+            }
+
+            switch (waitStrategy) {
+                case BLOCKING:
+                    waitingProducerThread = Thread.currentThread();
+                    if (wrapSequence > consumedSequence.get()) {
+                        LockSupport.parkNanos(this, BLOCKING_PARK_NANOS);
+                    }
+                    waitingProducerThread = null;
+                    break;
+                case YIELDING:
+                    spins = spinThenYield(spins);
+                    break;
+                case BUSY_SPIN:
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * The consumer thread loop.
+     */
+    @SuppressWarnings("unchecked")
+    private void consume() {
+        long nextConsumedSequence = 0;
+        int spins = 0;
+
+        while (true) {
+            long availableSequence = publishedSequence.get();
+
+            if (availableSequence < nextConsumedSequence) {
+                if (!running) {
+                    return;
+                }
+
+                switch (waitStrategy) {
+                    case BLOCKING:
+                        consumerWaiting = true;
+                        if (publishedSequence.get() < nextConsumedSequence && running) {
+                            LockSupport.parkNanos(this, BLOCKING_PARK_NANOS);
+                        }
+                        consumerWaiting = false;
+                        break;
+                    case YIELDING:
+                        spins = spinThenYield(spins);
+                        break;
+                    case BUSY_SPIN:
+                    default:
+                        break;
+                }
+                continue;
+            }
+
+            spins = 0;
+
+            for (; nextConsumedSequence <= availableSequence; nextConsumedSequence++) {
+                int index = (int) nextConsumedSequence & indexMask;
+                E element = (E) slots[index];
+                slots[index] = null;
+
+                try {
+                    elementHandler.accept(element);
+                } catch (RuntimeException exception) {
+                    LOGGER.catching(exception);
+                }
+
+                setSequence(consumedSequence, nextConsumedSequence);
+
+                Thread producerThread = waitingProducerThread;
+                if (producerThread != null) {
+                    LockSupport.unpark(producerThread);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets a sequence. With the {@link RingBufferWaitStrategy#BLOCKING} strategy this is a volatile write, so that the
+     * write can't be reordered with the following read of whether the other thread is parked (which would make it miss
+     * its wake-up). The other strategies never park, so an ordered (lazy) write is enough and cheaper.
+     *
+     * @param sequence the sequence
+     * @param value    the value
+     */
+    private void setSequence(AtomicLong sequence, long value) {
+        if (waitStrategy == RingBufferWaitStrategy.BLOCKING) {
+            sequence.set(value);
+        } else {
+            sequence.lazySet(value);
+        }
+    }
+
+    /**
+     * Spins for {@link #YIELDING_SPIN_TRIES} calls and yields on the following ones.
+     *
+     * @param spins the number of previous calls
+     *
+     * @return the new number of calls
+     */
+    private static int spinThenYield(int spins) {
+        if (spins < YIELDING_SPIN_TRIES) {
+            return spins + 1;
+        }
+
+        Thread.yield();
+        return spins;
+    }
+}
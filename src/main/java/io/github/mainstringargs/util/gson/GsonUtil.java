@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.annotations.SerializedName;
+import io.github.mainstringargs.domain.GeneratedTypeAdapterFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -25,9 +26,13 @@ public class GsonUtil {
     /** The constant CLASS_ANNOTATION_CACHE. */
     private static final HashMap<Class, ArrayList<SerializedName>> CLASS_ANNOTATION_CACHE = new HashMap<>();
 
-    /** The constant GSON which include ISO date time to ZonedDateTime objects */
+    /**
+     * The constant GSON which include ISO date time to ZonedDateTime objects and the generated reflection-free type
+     * adapters of the domain POJOs
+     */
     public static final Gson GSON = new GsonBuilder()
             .registerTypeAdapter(ZonedDateTime.class, new ZonedDateTimeAdapter())
+            .registerTypeAdapterFactory(new GeneratedTypeAdapterFactory())
             .enableComplexMapKeySerialization()
             .setLenient()
             .create();
@@ -0,0 +1,125 @@
+package io.github.mainstringargs.util.gson;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * The Class JsonReaderUtil. Reads nullable values from a {@link JsonReader} the same way Gson's built-in type adapters
+ * do (e.g. numbers may be quoted and strings may be unquoted numbers or booleans). Used by the generated type
+ * adapters of the domain POJOs.
+ */
+public class JsonReaderUtil {
+
+    /**
+     * Reads a string.
+     *
+     * @param jsonReader the json reader
+     *
+     * @return the string (null for a JSON null)
+     *
+     * @throws IOException the IO exception
+     */
+    public static String readString(JsonReader jsonReader) throws IOException {
+        JsonToken jsonToken = jsonReader.peek();
+
+        if (jsonToken == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        } else if (jsonToken == JsonToken.BOOLEAN) {
+            return Boolean.toString(jsonReader.nextBoolean());
+        } else {
+            return jsonReader.nextString();
+        }
+    }
+
+    /**
+     * Reads an integer.
+     *
+     * @param jsonReader the json reader
+     *
+     * @return the integer (null for a JSON null)
+     *
+     * @throws IOException the IO exception
+     */
+    public static Integer readInteger(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        try {
+            return jsonReader.nextInt();
+        } catch (NumberFormatException exception) {
+            throw new JsonSyntaxException(exception);
+        }
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @param jsonReader the json reader
+     *
+     * @return the long (null for a JSON null)
+     *
+     * @throws IOException the IO exception
+     */
+    public static Long readLong(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        try {
+            return jsonReader.nextLong();
+        } catch (NumberFormatException exception) {
+            throw new JsonSyntaxException(exception);
+        }
+    }
+
+    /**
+     * Reads a double.
+     *
+     * @param jsonReader the json reader
+     *
+     * @return the double (null for a JSON null)
+     *
+     * @throws IOException the IO exception
+     */
+    public static Double readDouble(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        try {
+            return jsonReader.nextDouble();
+        } catch (NumberFormatException exception) {
+            throw new JsonSyntaxException(exception);
+        }
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @param jsonReader the json reader
+     *
+     * @return the boolean (null for a JSON null)
+     *
+     * @throws IOException the IO exception
+     */
+    public static Boolean readBoolean(JsonReader jsonReader) throws IOException {
+        JsonToken jsonToken = jsonReader.peek();
+
+        if (jsonToken == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        } else if (jsonToken == JsonToken.STRING) {
+            return Boolean.parseBoolean(jsonReader.nextString());
+        } else {
+            return jsonReader.nextBoolean();
+        }
+    }
+}
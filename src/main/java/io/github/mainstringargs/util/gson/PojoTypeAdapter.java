@@ -0,0 +1,57 @@
+package io.github.mainstringargs.util.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * The Class PojoTypeAdapter. The base class of the generated type adapters of the domain POJOs. It reads a JSON object
+ * one field at a time, so that a caller that has already consumed part of an object (e.g. a stream message decoder
+ * that looked at the message type first) can fill the rest of it with {@link #readField(JsonReader, String, Object)}.
+ *
+ * @param <T> the POJO type
+ */
+public abstract class PojoTypeAdapter<T> extends TypeAdapter<T> {
+
+    /**
+     * Creates a new, empty instance of the POJO.
+     *
+     * @return the POJO
+     */
+    public abstract T newInstance();
+
+    /**
+     * Reads the value of a field into the POJO.
+     *
+     * @param jsonReader the json reader positioned at the value of the field
+     * @param name       the JSON name of the field
+     * @param value      the POJO
+     *
+     * @return true if the field was read, false if it isn't a field of the POJO (its value is then left unread)
+     *
+     * @throws IOException the IO exception
+     */
+    public abstract boolean readField(JsonReader jsonReader, String name, T value) throws IOException;
+
+    @Override
+    public T read(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        T value = newInstance();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (!readField(jsonReader, jsonReader.nextName(), value)) {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return value;
+    }
+}
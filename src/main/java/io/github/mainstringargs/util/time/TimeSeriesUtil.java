@@ -0,0 +1,41 @@
+package io.github.mainstringargs.util.time;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * The Class TimeSeriesUtil.
+ */
+public class TimeSeriesUtil {
+
+    /**
+     * Merges parts of a time series (e.g. the results of the windows a range was split in) into one series in
+     * ascending timestamp order. Items with the same timestamp are de-duplicated, keeping the one from the earliest
+     * part.
+     *
+     * @param <T>               the item type
+     * @param parts             the parts (null parts are skipped)
+     * @param timestampFunction the function that gets the timestamp of an item
+     *
+     * @return the merged series
+     */
+    public static <T> ArrayList<T> mergeDistinct(Collection<? extends List<T>> parts,
+            Function<T, Long> timestampFunction) {
+        TreeMap<Long, T> itemsByTimestamp = new TreeMap<>();
+
+        for (List<T> part : parts) {
+            if (part == null) {
+                continue;
+            }
+
+            for (T item : part) {
+                itemsByTimestamp.putIfAbsent(timestampFunction.apply(item), item);
+            }
+        }
+
+        return new ArrayList<>(itemsByTimestamp.values());
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.mainstringargs.abstracts.rest.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The Class PrefetchingPageIteratorTest.
+ */
+public class PrefetchingPageIteratorTest {
+
+    /** The number of pages. */
+    private static final int PAGE_COUNT = 4;
+
+    /** The number of items of a page. */
+    private static final int PAGE_SIZE = 3;
+
+    /** The page requests by cursor, completed by the tests. */
+    private final Map<Integer, CompletableFuture<Page<Integer, Integer>>> pageRequests = new ConcurrentHashMap<>();
+
+    /** The fetcher of the pages, whose requests are completed by the tests. */
+    private final PageFetcher<Integer, Integer> pageFetcher = cursor ->
+            pageRequests.computeIfAbsent(cursor, key -> new CompletableFuture<>());
+
+    /**
+     * Tests that the items of all the pages are iterated in order when the pages are answered right away.
+     */
+    @Test
+    public void testIteratesAllPages() {
+        PageFetcher<Integer, Integer> immediatePageFetcher = cursor -> CompletableFuture.completedFuture(
+                createPage(cursor));
+
+        PrefetchingPageIterator<Integer, Integer> pageIterator = new PrefetchingPageIterator<>(0,
+                immediatePageFetcher, 2);
+
+        List<Integer> items = pageIterator.stream().collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(0, 1, 2, 10, 11, 12, 20, 21, 22, 30, 31, 32), items);
+        assertFalse(pageIterator.hasNext());
+    }
+
+    /**
+     * Tests that a page whose cursor is only known from the previous page is requested once that page arrives.
+     */
+    @Test
+    public void testChainedCursorsRequestedAfterPreviousPage() {
+        PrefetchingPageIterator<Integer, Integer> pageIterator = new PrefetchingPageIterator<>(0, pageFetcher, 2);
+        assertEquals(Collections.singleton(0), pageRequests.keySet());
+
+        // The prefetched pages are requested one after the other
+        completePage(0);
+        assertTrue(pageRequests.containsKey(1));
+        completePage(1);
+        assertTrue(pageRequests.containsKey(2));
+        assertFalse(pageRequests.containsKey(3));
+
+        assertEquals(Integer.valueOf(0), pageIterator.next());
+        pageIterator.close();
+    }
+
+    /**
+     * Tests that the pages whose cursors can be predicted are requested concurrently, up to the prefetch depth.
+     */
+    @Test
+    public void testPredictedCursorsRequestedConcurrently() {
+        PrefetchingPageIterator<Integer, Integer> pageIterator = new PrefetchingPageIterator<>(0, pageFetcher,
+                cursor -> cursor + 1, 2);
+        assertEquals(3, pageRequests.size());
+
+        for (int cursor = 0; cursor < 3; cursor++) {
+            completePage(cursor);
+        }
+
+        List<Integer> items = new ArrayList<>();
+        for (int index = 0; index < PAGE_SIZE; index++) {
+            items.add(pageIterator.next());
+        }
+        assertEquals(Arrays.asList(0, 1, 2), items);
+
+        // Consuming the first page requested one more
+        assertTrue(pageIterator.hasNext());
+        assertEquals(4, pageRequests.size());
+        pageIterator.close();
+    }
+
+    /**
+     * Tests that closing the iterator cancels the requested pages that were not consumed.
+     */
+    @Test
+    public void testCloseCancelsRequestedPages() {
+        PrefetchingPageIterator<Integer, Integer> pageIterator = new PrefetchingPageIterator<>(0, pageFetcher,
+                cursor -> cursor + 1, 2);
+
+        pageIterator.close();
+
+        assertTrue(pageRequests.values().stream().allMatch(CompletableFuture::isCancelled));
+        assertFalse(pageIterator.hasNext());
+    }
+
+    /**
+     * Tests that a failed page request surfaces from the iterator.
+     */
+    @Test
+    public void testFailedPageSurfaces() {
+        PrefetchingPageIterator<Integer, Integer> pageIterator = new PrefetchingPageIterator<>(0, pageFetcher, 0);
+
+        IllegalStateException failure = new IllegalStateException("page failed");
+        pageRequests.get(0).completeExceptionally(failure);
+
+        try {
+            pageIterator.hasNext();
+            fail("The failed page request didn't surface");
+        } catch (CompletionException exception) {
+            assertEquals(failure, exception.getCause());
+        }
+    }
+
+    /**
+     * Completes the request of a page.
+     *
+     * @param cursor the cursor of the page
+     */
+    private void completePage(int cursor) {
+        pageRequests.get(cursor).complete(createPage(cursor));
+    }
+
+    /**
+     * Creates a page, whose items are its cursor times 10 plus their index.
+     *
+     * @param cursor the cursor of the page
+     *
+     * @return the page
+     */
+    private static Page<Integer, Integer> createPage(int cursor) {
+        List<Integer> items = new ArrayList<>();
+        for (int index = 0; index < PAGE_SIZE; index++) {
+            items.add(cursor * 10 + index);
+        }
+        return new Page<>(items, cursor + 1 < PAGE_COUNT ? cursor + 1 : null);
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.mainstringargs.abstracts.rest.pagination;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class TimestampCursorTest.
+ */
+public class TimestampCursorTest {
+
+    /**
+     * Tests that only the items at the timestamp of the cursor with a received ID are seen as received.
+     */
+    @Test
+    public void testWasReceived() {
+        TimestampCursor<Long> cursor = new TimestampCursor<>(100L, Collections.singleton("a"));
+
+        assertTrue(cursor.wasReceived(100L, "a"));
+        assertFalse(cursor.wasReceived(100L, "b"));
+        assertFalse(cursor.wasReceived(101L, "a"));
+        assertFalse(new TimestampCursor<Long>(null).wasReceived(100L, "a"));
+    }
+
+    /**
+     * Tests that the next cursor is at the timestamp of the last item and keeps the IDs of the items at it.
+     */
+    @Test
+    public void testNextKeepsLastTimestampIDs() {
+        TimestampCursor<Long> cursor = new TimestampCursor<>(null);
+
+        TimestampCursor<Long> nextCursor = cursor.next(Arrays.asList(new Item(1, "a"), new Item(2, "b"),
+                new Item(2, "c")), Item::getTimestamp, Item::getID);
+
+        assertEquals(Long.valueOf(2), nextCursor.getTimestamp());
+        assertTrue(nextCursor.wasReceived(2L, "b"));
+        assertTrue(nextCursor.wasReceived(2L, "c"));
+        assertFalse(nextCursor.wasReceived(1L, "a"));
+    }
+
+    /**
+     * Tests that a page that ends at the timestamp of the cursor adds its IDs to those already received.
+     */
+    @Test
+    public void testNextAtSameTimestampAccumulatesIDs() {
+        TimestampCursor<Long> cursor = new TimestampCursor<>(2L, Collections.singleton("b"));
+
+        TimestampCursor<Long> nextCursor = cursor.next(Collections.singletonList(new Item(2, "c")),
+                Item::getTimestamp, Item::getID);
+
+        assertEquals(Long.valueOf(2), nextCursor.getTimestamp());
+        assertTrue(nextCursor.wasReceived(2L, "b"));
+        assertTrue(nextCursor.wasReceived(2L, "c"));
+    }
+
+    /**
+     * Tests that a full page without new items fails rather than ending the pagination early.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testNextWithoutNewItemsFails() {
+        List<Item> noItems = Collections.emptyList();
+
+        new TimestampCursor<>(2L, Collections.singleton("b")).next(noItems, Item::getTimestamp, Item::getID);
+    }
+
+    /**
+     * An item with a timestamp and an ID.
+     */
+    private static final class Item {
+
+        /** The timestamp. */
+        private final long timestamp;
+
+        /** The ID. */
+        private final String id;
+
+        /**
+         * Instantiates a new item.
+         *
+         * @param timestamp the timestamp
+         * @param id        the ID
+         */
+        private Item(long timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        /**
+         * Gets the timestamp.
+         *
+         * @return the timestamp
+         */
+        private Long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the ID.
+         *
+         * @return the ID
+         */
+        private String getID() {
+            return id;
+        }
+    }
+}
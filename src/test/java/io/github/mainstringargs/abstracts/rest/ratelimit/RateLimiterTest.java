@@ -0,0 +1,95 @@
+package io.github.mainstringargs.abstracts.rest.ratelimit;
+
+import io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class RateLimiterTest.
+ */
+public class RateLimiterTest {
+
+    /**
+     * Tests that a burst takes the whole bucket except the tokens reserved for the higher priorities.
+     */
+    @Test
+    public void testReservedTokens() {
+        // A token per second, 3 of the 60 reserved
+        RateLimiter rateLimiter = new RateLimiter(60);
+
+        assertEquals(57, acquireImmediately(rateLimiter, RequestPriority.MARKET_DATA));
+        assertEquals(2, acquireImmediately(rateLimiter, RequestPriority.ACCOUNT));
+        assertEquals(1, acquireImmediately(rateLimiter, RequestPriority.ORDER));
+
+        assertEquals(60, rateLimiter.getAcquiredCount());
+        assertEquals(3, rateLimiter.getThrottledCount());
+        assertEquals(1, rateLimiter.getThrottledCount(RequestPriority.ORDER));
+    }
+
+    /**
+     * Tests that the queued requests are released by priority rather than in arrival order.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testQueuedRequestsReleasedByPriority() throws Exception {
+        // A token every 10 ms, 300 reserved
+        RateLimiter rateLimiter = new RateLimiter(6000);
+        rateLimiter.update(0, null);
+
+        CompletableFuture<Void> marketDataFuture = rateLimiter.acquire(RequestPriority.MARKET_DATA);
+        CompletableFuture<Void> orderFuture = rateLimiter.acquire(RequestPriority.ORDER);
+        assertEquals(2, rateLimiter.getQueueSize());
+
+        orderFuture.get(1, TimeUnit.SECONDS);
+        assertFalse(marketDataFuture.isDone());
+        assertEquals(1, rateLimiter.getQueueSize());
+    }
+
+    /**
+     * Tests that a 429 response with a reset header blocks the bucket until the reset.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testTooManyRequestsResponseBlocksUntilReset() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(6000);
+
+        long resetEpochSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 2;
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-ratelimit-remaining", "0");
+        headers.put("x-ratelimit-reset", String.valueOf(resetEpochSecond));
+        rateLimiter.updateFromResponse(InMemoryHttpTransport.createResponse(429, headers, ""));
+
+        CompletableFuture<Void> orderFuture = rateLimiter.acquire(RequestPriority.ORDER);
+        assertFalse(orderFuture.isDone());
+
+        orderFuture.get(5, TimeUnit.SECONDS);
+        assertTrue(System.currentTimeMillis() >= TimeUnit.SECONDS.toMillis(resetEpochSecond));
+        assertTrue(rateLimiter.getMaxQueueWaitMillis() > 0);
+    }
+
+    /**
+     * Acquires tokens until a request of a priority is queued.
+     *
+     * @param rateLimiter     the rate limiter
+     * @param requestPriority the request priority
+     *
+     * @return the number of tokens acquired without being queued
+     */
+    private static int acquireImmediately(RateLimiter rateLimiter, RequestPriority requestPriority) {
+        int acquiredCount = 0;
+        while (rateLimiter.acquire(requestPriority).isDone()) {
+            acquiredCount++;
+        }
+        return acquiredCount;
+    }
+}
@@ -0,0 +1,266 @@
+package io.github.mainstringargs.abstracts.rest.transport;
+
+import com.mashape.unirest.http.HttpResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class ApacheHttpTransportTest.
+ */
+public class ApacheHttpTransportTest {
+
+    /** The local http server. */
+    private HttpServer httpServer;
+
+    /** The latch the slow route waits on before responding. */
+    private final CountDownLatch slowResponseLatch = new CountDownLatch(1);
+
+    /** The latch the streaming route waits on before sending the rest of its body. */
+    private final CountDownLatch restOfBodyLatch = new CountDownLatch(1);
+
+    /** The size of the body of the large route. */
+    private static final int LARGE_BODY_SIZE = 1 << 20;
+
+    /** The http transport. */
+    private ApacheHttpTransport httpTransport;
+
+    /**
+     * Starts a local http server with a fast and a slow route.
+     *
+     * @throws IOException the IO exception
+     */
+    @Before
+    public void setUp() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        httpServer.createContext("/fast", exchange -> respond(exchange, "fast"));
+        httpServer.createContext("/slow", exchange -> {
+            try {
+                slowResponseLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "slow");
+        });
+        httpServer.createContext("/stream", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write("first".getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+                restOfBodyLatch.await(5, TimeUnit.SECONDS);
+                outputStream.write("second".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        httpServer.createContext("/large", exchange -> {
+            byte[] bodyBytes = new byte[LARGE_BODY_SIZE];
+            Arrays.fill(bodyBytes, (byte) 'x');
+            exchange.sendResponseHeaders(200, bodyBytes.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(bodyBytes);
+            }
+        });
+        httpServer.setExecutor(Executors.newCachedThreadPool());
+        httpServer.start();
+    }
+
+    /**
+     * Closes the transport and stops the server.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        if (httpTransport != null) {
+            httpTransport.close();
+        }
+        httpServer.stop(0);
+    }
+
+    /**
+     * Tests that the response futures are completed on a response thread, not on an I/O dispatcher thread.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testResponsesCompletedOnResponseThreads() throws Exception {
+        httpTransport = new ApacheHttpTransport();
+
+        CompletableFuture<String> threadNameFuture = httpTransport.execute(createRequest("/slow"))
+                .thenApply(response -> Thread.currentThread().getName());
+        slowResponseLatch.countDown();
+
+        assertTrue(threadNameFuture.get(5, TimeUnit.SECONDS).startsWith("HttpTransportResponseThread-"));
+    }
+
+    /**
+     * Tests that the responses are still completed, on the I/O dispatcher thread, while the response threads are busy
+     * and their queue is full.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testResponsesCompletedWhileResponseQueueFull() throws Exception {
+        HttpTransportConfig httpTransportConfig = new HttpTransportConfig();
+        httpTransportConfig.setResponseThreadCount(1);
+        httpTransportConfig.setResponseQueueCapacity(1);
+        httpTransport = new ApacheHttpTransport(httpTransportConfig);
+
+        // Blocks the only response thread
+        CountDownLatch blockedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        CompletableFuture<Void> blockingFuture = httpTransport.execute(createRequest("/fast")).thenAccept(response -> {
+            blockedLatch.countDown();
+            try {
+                releaseLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(blockedLatch.await(5, TimeUnit.SECONDS));
+
+        // One of them fills the queue, the others are completed by the I/O dispatcher thread meanwhile
+        List<CompletableFuture<HttpResponse<InputStream>>> responseFutures = new ArrayList<>();
+        for (int index = 0; index < 4; index++) {
+            responseFutures.add(httpTransport.execute(createRequest("/fast")));
+        }
+
+        long deadlineMillis = System.currentTimeMillis() + 5_000;
+        while (responseFutures.stream().filter(CompletableFuture::isDone).count() < 3 &&
+                System.currentTimeMillis() < deadlineMillis) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, responseFutures.stream().filter(CompletableFuture::isDone).count());
+
+        releaseLatch.countDown();
+        blockingFuture.get(5, TimeUnit.SECONDS);
+        for (CompletableFuture<HttpResponse<InputStream>> responseFuture : responseFutures) {
+            assertEquals(200, responseFuture.get(5, TimeUnit.SECONDS).getStatus());
+        }
+    }
+
+    /**
+     * Tests that a streaming response is completed once its headers arrive, and that its body can be read while the
+     * rest of it is still being sent.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testStreamingResponseCompletedBeforeBodyEnds() throws Exception {
+        httpTransport = new ApacheHttpTransport();
+
+        // Shorter than the wait of the route for the rest of the body
+        HttpResponse<InputStream> response = httpTransport.execute(createStreamingRequest("/stream"))
+                .get(2, TimeUnit.SECONDS);
+        InputStream bodyStream = response.getBody();
+
+        byte[] firstBytes = new byte[5];
+        int readCount = 0;
+        while (readCount < firstBytes.length) {
+            readCount += bodyStream.read(firstBytes, readCount, firstBytes.length - readCount);
+        }
+        assertEquals("first", new String(firstBytes, StandardCharsets.UTF_8));
+
+        restOfBodyLatch.countDown();
+        assertEquals("second", readFully(bodyStream));
+    }
+
+    /**
+     * Tests that a streaming body larger than the max buffered bytes is read completely.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testStreamingResponseLargerThanBuffer() throws Exception {
+        HttpTransportConfig httpTransportConfig = new HttpTransportConfig();
+        httpTransportConfig.setMaxBufferedResponseBytes(4096);
+        httpTransport = new ApacheHttpTransport(httpTransportConfig);
+
+        HttpResponse<InputStream> response = httpTransport.execute(createStreamingRequest("/large"))
+                .get(5, TimeUnit.SECONDS);
+
+        String body = readFully(response.getBody());
+        assertEquals(LARGE_BODY_SIZE, body.length());
+        assertTrue(body.chars().allMatch(character -> character == 'x'));
+    }
+
+    /**
+     * Creates a GET request of a path of the local server whose response body is streamed.
+     *
+     * @param path the path
+     *
+     * @return the http transport request
+     */
+    private HttpTransportRequest createStreamingRequest(String path) {
+        return new HttpTransportRequest("GET", "http://127.0.0.1:" + httpServer.getAddress().getPort() + path,
+                Collections.emptyMap(), null, true);
+    }
+
+    /**
+     * Reads the rest of a stream.
+     *
+     * @param inputStream the input stream
+     *
+     * @return the text read
+     *
+     * @throws IOException the IO exception
+     */
+    private static String readFully(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int readCount;
+        while ((readCount = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, readCount);
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a GET request of a path of the local server.
+     *
+     * @param path the path
+     *
+     * @return the http transport request
+     */
+    private HttpTransportRequest createRequest(String path) {
+        return new HttpTransportRequest("GET", "http://127.0.0.1:" + httpServer.getAddress().getPort() + path,
+                Collections.emptyMap(), null);
+    }
+
+    /**
+     * Responds to an exchange with a text body.
+     *
+     * @param exchange the exchange
+     * @param body     the body
+     *
+     * @throws IOException the IO exception
+     */
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, bodyBytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bodyBytes);
+        }
+    }
+}
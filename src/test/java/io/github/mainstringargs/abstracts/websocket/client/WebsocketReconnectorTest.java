@@ -0,0 +1,263 @@
+package io.github.mainstringargs.abstracts.websocket.client;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class WebsocketReconnectorTest.
+ */
+public class WebsocketReconnectorTest {
+
+    /** The name of the test connection. */
+    private static final String CONNECTION_NAME = "TestWebsocket";
+
+    /** The reported connection events. */
+    private final BlockingQueue<WebsocketConnectionEvent> connectionEvents = new LinkedBlockingQueue<>();
+
+    /** The number of times the connection was reopened. */
+    private final AtomicInteger openCount = new AtomicInteger();
+
+    /** The number of times the connection was closed by the reconnector. */
+    private final AtomicInteger closeCount = new AtomicInteger();
+
+    /** The number of times the subscriptions were sent again. */
+    private final AtomicInteger resubscribeCount = new AtomicInteger();
+
+    /** The number of reopen attempts that fail before one succeeds. */
+    private volatile int failingOpenCount;
+
+    /** The websocket reconnect config. */
+    private WebsocketReconnectConfig websocketReconnectConfig;
+
+    /** The websocket reconnector. */
+    private WebsocketReconnector websocketReconnector;
+
+    /**
+     * Sets up a reconnector with short backoffs and no jitter.
+     */
+    @Before
+    public void setUp() {
+        websocketReconnectConfig = new WebsocketReconnectConfig();
+        websocketReconnectConfig.setInitialBackoffMillis(10);
+        websocketReconnectConfig.setMaxBackoffMillis(40);
+        websocketReconnectConfig.setJitterRatio(0);
+
+        websocketReconnector = new WebsocketReconnector(CONNECTION_NAME, websocketReconnectConfig,
+                new ReconnectableWebsocket() {
+                    @Override
+                    public void openConnection() throws Exception {
+                        if (openCount.incrementAndGet() <= failingOpenCount) {
+                            throw new Exception("Connection refused");
+                        }
+                    }
+
+                    @Override
+                    public void closeConnection() {
+                        closeCount.incrementAndGet();
+                    }
+
+                    @Override
+                    public void resubscribe() {
+                        resubscribeCount.incrementAndGet();
+                    }
+                });
+        websocketReconnector.addConnectionListener(connectionEvents::add);
+    }
+
+    /**
+     * Shuts down the reconnector.
+     */
+    @After
+    public void tearDown() {
+        websocketReconnector.shutdown();
+    }
+
+    /**
+     * Tests the states of connecting, authenticating and disconnecting on request.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testConnectAndDisconnect() throws InterruptedException {
+        websocketReconnector.onConnected();
+        assertNextState(WebsocketConnectionState.AUTHENTICATING);
+
+        websocketReconnector.onAuthenticated();
+        assertNextState(WebsocketConnectionState.CONNECTED);
+
+        websocketReconnector.onDisconnected();
+        assertNextState(WebsocketConnectionState.DISCONNECTED);
+
+        // A close after the disconnect isn't a lost connection
+        websocketReconnector.onConnectionLost("Closed");
+        assertNull(connectionEvents.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, openCount.get());
+    }
+
+    /**
+     * Tests that a lost connection is reopened after failed attempts and then has its subscriptions sent again.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testReconnectAfterConnectionLost() throws InterruptedException {
+        failingOpenCount = 2;
+
+        connectAndAuthenticate();
+
+        websocketReconnector.onConnectionLost("Going away");
+        assertNextState(WebsocketConnectionState.CONNECTION_LOST);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        WebsocketConnectionEvent authenticatingEvent = assertNextState(WebsocketConnectionState.AUTHENTICATING);
+        assertEquals(3, authenticatingEvent.getAttempt());
+        assertEquals(3, openCount.get());
+
+        websocketReconnector.onAuthenticated();
+        assertNextState(WebsocketConnectionState.RESUBSCRIBING);
+        WebsocketConnectionEvent connectedEvent = assertNextState(WebsocketConnectionState.CONNECTED);
+        assertTrue(connectedEvent.getGapMillis() > 0);
+        assertEquals(1, resubscribeCount.get());
+        assertEquals(1, websocketReconnector.getReconnectCount());
+    }
+
+    /**
+     * Tests that a reconnect whose authentication times out is closed and attempted again.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testAuthenticationTimeout() throws InterruptedException {
+        websocketReconnectConfig.setAuthenticationTimeoutMillis(20);
+
+        connectAndAuthenticate();
+
+        websocketReconnector.onConnectionLost("Going away");
+        assertNextState(WebsocketConnectionState.CONNECTION_LOST);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        assertNextState(WebsocketConnectionState.AUTHENTICATING);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        assertEquals(1, closeCount.get());
+
+        assertNextState(WebsocketConnectionState.AUTHENTICATING);
+        websocketReconnector.onAuthenticated();
+        assertNextState(WebsocketConnectionState.RESUBSCRIBING);
+        assertNextState(WebsocketConnectionState.CONNECTED);
+    }
+
+    /**
+     * Tests that the reconnector gives up after the max attempts.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testReconnectFailed() throws InterruptedException {
+        websocketReconnectConfig.setMaxAttempts(2);
+        failingOpenCount = Integer.MAX_VALUE;
+
+        connectAndAuthenticate();
+
+        websocketReconnector.onConnectionLost("Going away");
+        assertNextState(WebsocketConnectionState.CONNECTION_LOST);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+        assertNextState(WebsocketConnectionState.RECONNECT_FAILED);
+        assertEquals(2, openCount.get());
+    }
+
+    /**
+     * Tests the backoff delays grow by the multiplier up to the max backoff.
+     */
+    @Test
+    public void testBackoffMillis() {
+        assertEquals(10, websocketReconnector.getBackoffMillis(1));
+        assertEquals(20, websocketReconnector.getBackoffMillis(2));
+        assertEquals(40, websocketReconnector.getBackoffMillis(3));
+        assertEquals(40, websocketReconnector.getBackoffMillis(10));
+    }
+
+    /**
+     * Tests that shutting down reports the pending disconnect, drops the scheduled attempt and stops the reconnect
+     * thread.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testShutdown() throws InterruptedException {
+        websocketReconnectConfig.setInitialBackoffMillis(60_000);
+        websocketReconnectConfig.setMaxBackoffMillis(60_000);
+
+        connectAndAuthenticate();
+
+        websocketReconnector.onConnectionLost("Going away");
+        assertNextState(WebsocketConnectionState.CONNECTION_LOST);
+        assertNextState(WebsocketConnectionState.RECONNECTING);
+
+        websocketReconnector.onDisconnected();
+        websocketReconnector.shutdown();
+        assertNextState(WebsocketConnectionState.DISCONNECTED);
+
+        long deadlineMillis = System.currentTimeMillis() + 5_000;
+        while (isReconnectThreadAlive() && System.currentTimeMillis() < deadlineMillis) {
+            Thread.sleep(10);
+        }
+        assertFalse(isReconnectThreadAlive());
+
+        // State changes after the shutdown are ignored
+        websocketReconnector.onConnected();
+        assertNull(connectionEvents.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, openCount.get());
+    }
+
+    /**
+     * Connects and authenticates, consuming the state changes.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private void connectAndAuthenticate() throws InterruptedException {
+        websocketReconnector.onConnected();
+        websocketReconnector.onAuthenticated();
+        assertNextState(WebsocketConnectionState.AUTHENTICATING);
+        assertNextState(WebsocketConnectionState.CONNECTED);
+    }
+
+    /**
+     * Asserts the state of the next connection event.
+     *
+     * @param expectedState the expected state
+     *
+     * @return the connection event
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private WebsocketConnectionEvent assertNextState(WebsocketConnectionState expectedState)
+            throws InterruptedException {
+        WebsocketConnectionEvent connectionEvent = connectionEvents.poll(5, TimeUnit.SECONDS);
+
+        assertEquals(expectedState, connectionEvent == null ? null : connectionEvent.getState());
+        assertEquals(CONNECTION_NAME, connectionEvent.getConnectionName());
+        return connectionEvent;
+    }
+
+    /**
+     * Checks whether the reconnect thread of the test connection is alive.
+     *
+     * @return true if it is
+     */
+    private static boolean isReconnectThreadAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals(CONNECTION_NAME + "ReconnectThread"));
+    }
+}
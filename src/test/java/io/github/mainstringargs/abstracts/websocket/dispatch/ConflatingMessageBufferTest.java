@@ -0,0 +1,197 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The Class ConflatingMessageBufferTest.
+ */
+public class ConflatingMessageBufferTest {
+
+    /** The conflating message buffer. */
+    private ConflatingMessageBuffer<PolygonStreamMessageType, PolygonStreamMessage> conflatingMessageBuffer;
+
+    /** The drained messages. */
+    private final List<PolygonStreamMessage> drainedMessages = new ArrayList<>();
+
+    /**
+     * Creates the buffer, keyed by the symbol of the messages.
+     */
+    @Before
+    public void setUp() {
+        conflatingMessageBuffer = new ConflatingMessageBuffer<>(PolygonStreamMessageType.class,
+                (polygonStreamMessageType, polygonStreamMessage) -> polygonStreamMessage.getSym());
+    }
+
+    /**
+     * Tests that only the newest message of each key is drained, in the order the keys were first updated.
+     */
+    @Test
+    public void testNewestMessagesDrainedInOrder() {
+        TradeMessage firstAAPLTrade = createTradeMessage("AAPL", 1);
+        TradeMessage msftTrade = createTradeMessage("MSFT", 2);
+        TradeMessage secondAAPLTrade = createTradeMessage("AAPL", 3);
+
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, firstAAPLTrade);
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, msftTrade);
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, secondAAPLTrade);
+
+        assertEquals(2, conflatingMessageBuffer.getPendingCount());
+        assertEquals(3, conflatingMessageBuffer.getOfferedCount());
+        assertEquals(1, conflatingMessageBuffer.getConflatedCount());
+        assertSame(secondAAPLTrade, conflatingMessageBuffer.peek("AAPL", PolygonStreamMessageType.TRADE));
+        assertNull(conflatingMessageBuffer.peek("AAPL", PolygonStreamMessageType.QUOTE));
+
+        assertEquals(2, conflatingMessageBuffer.drainTo(this::onDrained));
+        assertEquals(2, drainedMessages.size());
+        assertSame(secondAAPLTrade, drainedMessages.get(0));
+        assertSame(msftTrade, drainedMessages.get(1));
+        assertEquals(0, conflatingMessageBuffer.getPendingCount());
+        assertNull(conflatingMessageBuffer.peek("AAPL", PolygonStreamMessageType.TRADE));
+
+        // The drained slots become pending again
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, firstAAPLTrade);
+        drainedMessages.clear();
+        assertEquals(1, conflatingMessageBuffer.drainTo(this::onDrained));
+        assertSame(firstAAPLTrade, drainedMessages.get(0));
+        assertEquals(0, conflatingMessageBuffer.drainTo(this::onDrained));
+    }
+
+    /**
+     * Tests that the messages without a symbol are never conflated and are drained first, in order.
+     */
+    @Test
+    public void testMessagesWithoutSymbolNotConflated() {
+        TradeMessage trade = createTradeMessage("AAPL", 1);
+        StatusMessage firstStatus = new StatusMessage("connected", "first");
+        StatusMessage secondStatus = new StatusMessage("connected", "second");
+
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, trade);
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.STATUS, firstStatus);
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.STATUS, secondStatus);
+        assertEquals(3, conflatingMessageBuffer.getPendingCount());
+        assertEquals(0, conflatingMessageBuffer.getConflatedCount());
+
+        assertEquals(3, conflatingMessageBuffer.drainTo(this::onDrained));
+        assertSame(firstStatus, drainedMessages.get(0));
+        assertSame(secondStatus, drainedMessages.get(1));
+        assertSame(trade, drainedMessages.get(2));
+    }
+
+    /**
+     * Tests that a drain only drains the slots that were pending when it started.
+     */
+    @Test
+    public void testDrainBoundedToPendingSlots() {
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, createTradeMessage("AAPL", 1));
+        conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE, createTradeMessage("MSFT", 1));
+
+        // Each drained message makes another symbol pending
+        int[] nextSymbolIndex = {0};
+        assertEquals(2, conflatingMessageBuffer.drainTo((streamMessageType, streamMessage) ->
+                conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE,
+                        createTradeMessage("SYM" + nextSymbolIndex[0]++, 1))));
+
+        assertEquals(2, conflatingMessageBuffer.getPendingCount());
+        assertEquals(2, conflatingMessageBuffer.drainTo(this::onDrained));
+        assertEquals("SYM0", drainedMessages.get(0).getSym());
+        assertEquals("SYM1", drainedMessages.get(1).getSym());
+    }
+
+    /**
+     * Tests that the newest message of each key is drained while several threads offer concurrently.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testConcurrentProducers() throws InterruptedException {
+        int producerCount = 4;
+        int symbolCount = 50;
+        int messageCount = 100_000;
+
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> producerThreads = new ArrayList<>();
+        for (int producerIndex = 0; producerIndex < producerCount; producerIndex++) {
+            String symbolPrefix = "P" + producerIndex + "-";
+            Thread producerThread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+
+                for (int index = 0; index < messageCount; index++) {
+                    conflatingMessageBuffer.offer(PolygonStreamMessageType.TRADE,
+                            createTradeMessage(symbolPrefix + (index % symbolCount), index));
+                }
+            });
+            producerThreads.add(producerThread);
+            producerThread.start();
+        }
+
+        // Prices only increase per symbol, as each symbol has a single producer
+        Map<String, Double> latestPriceBySymbol = new HashMap<>();
+        startLatch.countDown();
+        boolean producing = true;
+        while (producing) {
+            producing = producerThreads.stream().anyMatch(Thread::isAlive);
+            conflatingMessageBuffer.drainTo((streamMessageType, streamMessage) -> {
+                TradeMessage trade = (TradeMessage) streamMessage;
+                Double previousPrice = latestPriceBySymbol.put(trade.getSym(), trade.getP());
+                if (previousPrice != null && previousPrice >= trade.getP()) {
+                    throw new AssertionError(trade.getSym() + " went from " + previousPrice + " to " + trade.getP());
+                }
+            });
+        }
+        conflatingMessageBuffer.drainTo((streamMessageType, streamMessage) ->
+                latestPriceBySymbol.put(streamMessage.getSym(), ((TradeMessage) streamMessage).getP()));
+
+        assertEquals(0, conflatingMessageBuffer.getPendingCount());
+        assertEquals(producerCount * symbolCount, latestPriceBySymbol.size());
+        for (int symbolIndex = 0; symbolIndex < symbolCount; symbolIndex++) {
+            double lastPrice = messageCount - symbolCount + symbolIndex;
+            for (int producerIndex = 0; producerIndex < producerCount; producerIndex++) {
+                assertEquals(lastPrice, latestPriceBySymbol.get("P" + producerIndex + "-" + symbolIndex), 0);
+            }
+        }
+    }
+
+    /**
+     * Records a drained message.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    private void onDrained(PolygonStreamMessageType streamMessageType, PolygonStreamMessage streamMessage) {
+        drainedMessages.add(streamMessage);
+    }
+
+    /**
+     * Creates a trade message.
+     *
+     * @param symbol the symbol
+     * @param price  the price
+     *
+     * @return the trade message
+     */
+    private static TradeMessage createTradeMessage(String symbol, double price) {
+        TradeMessage tradeMessage = new TradeMessage();
+        tradeMessage.setSym(symbol);
+        tradeMessage.setP(price);
+        return tradeMessage;
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class ListenerDispatchQueueTest.
+ */
+public class ListenerDispatchQueueTest {
+
+    /** The messages delivered to the listener. */
+    private final List<TradeMessage> deliveredMessages = new CopyOnWriteArrayList<>();
+
+    /** The number of trade messages offered (only accessed by one thread at a time). */
+    private volatile int offeredCount;
+
+    /** The listener dispatch queue. */
+    private ListenerDispatchQueue<PolygonStreamMessageType, PolygonStreamMessage> listenerDispatchQueue;
+
+    /**
+     * Shuts down the queue.
+     */
+    @After
+    public void tearDown() {
+        if (listenerDispatchQueue != null) {
+            listenerDispatchQueue.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a demand-driven queue only delivers the requested messages.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testDeliversRequestedMessages() throws InterruptedException {
+        createDemandDrivenQueue(10, ListenerOverflowPolicy.BLOCK);
+        offerTrades("AAPL", "MSFT", "AAPL");
+
+        listenerDispatchQueue.request(2);
+        waitForDeliveredCount(2);
+        Thread.sleep(100);
+
+        assertEquals(2, deliveredMessages.size());
+        assertEquals(0, listenerDispatchQueue.getDemand());
+        assertEquals(1, listenerDispatchQueue.getQueueDepth());
+        assertEquals(3, listenerDispatchQueue.getMaxQueueDepth());
+
+        listenerDispatchQueue.request(Long.MAX_VALUE);
+        waitForDeliveredCount(3);
+        assertEquals(Long.MAX_VALUE, listenerDispatchQueue.getDemand());
+        assertEquals(Arrays.asList(0.0, 1.0, 2.0), getDeliveredPrices());
+    }
+
+    /**
+     * Tests that the {@link ListenerOverflowPolicy#DROP_NEWEST} policy drops the messages offered to a full queue.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testDropNewest() throws InterruptedException {
+        createDemandDrivenQueue(2, ListenerOverflowPolicy.DROP_NEWEST);
+        offerTrades("AAPL", "MSFT", "IBM");
+
+        assertEquals(1, listenerDispatchQueue.getDroppedCount());
+
+        listenerDispatchQueue.request(10);
+        waitForDeliveredCount(2);
+        assertEquals(Arrays.asList(0.0, 1.0), getDeliveredPrices());
+    }
+
+    /**
+     * Tests that the {@link ListenerOverflowPolicy#DROP_OLDEST} policy drops the oldest queued message to make room.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testDropOldest() throws InterruptedException {
+        createDemandDrivenQueue(2, ListenerOverflowPolicy.DROP_OLDEST);
+        offerTrades("AAPL", "MSFT", "IBM");
+
+        assertEquals(1, listenerDispatchQueue.getDroppedCount());
+
+        listenerDispatchQueue.request(10);
+        waitForDeliveredCount(2);
+        assertEquals(Arrays.asList(1.0, 2.0), getDeliveredPrices());
+    }
+
+    /**
+     * Tests that the {@link ListenerOverflowPolicy#CONFLATE} policy replaces the queued message of the same symbol in
+     * place, and drops the oldest message when the queue is full of other symbols.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testConflate() throws InterruptedException {
+        createDemandDrivenQueue(2, ListenerOverflowPolicy.CONFLATE);
+        offerTrades("AAPL", "MSFT", "AAPL");
+
+        assertEquals(1, listenerDispatchQueue.getConflatedCount());
+        assertEquals(2, listenerDispatchQueue.getQueueDepth());
+
+        // The queue is full of other symbols, so AAPL is dropped
+        offerTrades("IBM");
+        assertEquals(1, listenerDispatchQueue.getDroppedCount());
+
+        listenerDispatchQueue.request(10);
+        waitForDeliveredCount(2);
+        assertEquals(Arrays.asList("MSFT", "IBM"), deliveredMessages.stream()
+                .map(TradeMessage::getSym)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests that the {@link ListenerOverflowPolicy#BLOCK} policy blocks the offering thread until the listener takes
+     * a message.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testBlock() throws InterruptedException {
+        createDemandDrivenQueue(1, ListenerOverflowPolicy.BLOCK);
+        offerTrades("AAPL");
+
+        Thread offeringThread = new Thread(() -> offerTrades("MSFT"));
+        offeringThread.start();
+        offeringThread.join(200);
+        assertTrue(offeringThread.isAlive());
+
+        listenerDispatchQueue.request(10);
+        offeringThread.join(5_000);
+        waitForDeliveredCount(2);
+        assertEquals(0, listenerDispatchQueue.getDroppedCount());
+    }
+
+    /**
+     * Tests that a shutdown discards the queued messages and ignores the messages offered after it.
+     */
+    @Test
+    public void testShutdownDiscardsMessages() {
+        createDemandDrivenQueue(10, ListenerOverflowPolicy.BLOCK);
+        offerTrades("AAPL", "MSFT");
+
+        listenerDispatchQueue.shutdown();
+        offerTrades("IBM");
+
+        assertEquals(0, listenerDispatchQueue.getQueueDepth());
+        assertEquals(0, listenerDispatchQueue.getDeliveredCount());
+    }
+
+    /**
+     * Creates a demand-driven queue, which holds the messages until they are requested.
+     *
+     * @param capacity       the capacity
+     * @param overflowPolicy the overflow policy
+     */
+    private void createDemandDrivenQueue(int capacity, ListenerOverflowPolicy overflowPolicy) {
+        listenerDispatchQueue = new ListenerDispatchQueue<>("Test",
+                (streamMessageType, streamMessage) -> deliveredMessages.add((TradeMessage) streamMessage), capacity,
+                overflowPolicy, (streamMessageType, streamMessage) -> streamMessage.getSym(), true);
+    }
+
+    /**
+     * Offers a trade message of each symbol, priced by the number of trade messages offered before it.
+     *
+     * @param symbols the symbols
+     */
+    private void offerTrades(String... symbols) {
+        for (String symbol : symbols) {
+            TradeMessage tradeMessage = new TradeMessage();
+            tradeMessage.setSym(symbol);
+            tradeMessage.setP((double) offeredCount++);
+            listenerDispatchQueue.offer(PolygonStreamMessageType.TRADE, tradeMessage);
+        }
+    }
+
+    /**
+     * Gets the prices of the delivered messages.
+     *
+     * @return the delivered prices
+     */
+    private List<Double> getDeliveredPrices() {
+        return deliveredMessages.stream().map(TradeMessage::getP).collect(Collectors.toList());
+    }
+
+    /**
+     * Waits until the listener was delivered the given number of messages.
+     *
+     * @param deliveredCount the delivered count
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private void waitForDeliveredCount(int deliveredCount) throws InterruptedException {
+        long deadlineMillis = System.currentTimeMillis() + 5_000;
+        while (deliveredMessages.size() < deliveredCount && System.currentTimeMillis() < deadlineMillis) {
+            Thread.sleep(10);
+        }
+        assertEquals(deliveredCount, deliveredMessages.size());
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class RecentFingerprintWindowTest.
+ */
+public class RecentFingerprintWindowTest {
+
+    /**
+     * Tests that a fingerprint is only added once while it is in the window, including a fingerprint of 0.
+     */
+    @Test
+    public void testAddIfAbsent() {
+        RecentFingerprintWindow window = new RecentFingerprintWindow(4);
+
+        assertTrue(window.addIfAbsent(42));
+        assertFalse(window.addIfAbsent(42));
+        assertTrue(window.addIfAbsent(0));
+        assertFalse(window.addIfAbsent(0));
+        assertTrue(window.contains(0));
+        assertFalse(window.contains(7));
+        assertEquals(2, window.size());
+
+        window.clear();
+        assertEquals(0, window.size());
+        assertTrue(window.addIfAbsent(42));
+    }
+
+    /**
+     * Tests that adding a fingerprint to a full window forgets the oldest one.
+     */
+    @Test
+    public void testOldestFingerprintForgotten() {
+        RecentFingerprintWindow window = new RecentFingerprintWindow(3);
+
+        window.addIfAbsent(1);
+        window.addIfAbsent(2);
+        window.addIfAbsent(3);
+        window.addIfAbsent(4);
+
+        assertEquals(3, window.size());
+        assertFalse(window.contains(1));
+        assertTrue(window.contains(2));
+        assertTrue(window.contains(4));
+        assertTrue(window.addIfAbsent(1));
+        assertFalse(window.contains(2));
+    }
+
+    /**
+     * Tests that the window stays equivalent to a simple reference window over many random fingerprints, so that the
+     * removals never make a fingerprint unreachable in the hash table.
+     */
+    @Test
+    public void testMatchesReferenceWindow() {
+        int capacity = 100;
+        RecentFingerprintWindow window = new RecentFingerprintWindow(capacity);
+        ArrayDeque<Long> referenceRing = new ArrayDeque<>();
+        HashSet<Long> referenceSet = new HashSet<>();
+
+        // Few distinct fingerprints, so that there are repeats and long probe sequences
+        Random random = new Random(1);
+        for (int index = 0; index < 100_000; index++) {
+            long fingerprint = random.nextInt(300);
+
+            boolean referenceAdded = referenceSet.add(fingerprint);
+            if (referenceAdded) {
+                referenceRing.add(fingerprint);
+                if (referenceRing.size() > capacity) {
+                    referenceSet.remove(referenceRing.poll());
+                }
+            }
+
+            assertEquals(referenceAdded, window.addIfAbsent(fingerprint));
+            assertEquals(referenceSet.size(), window.size());
+        }
+
+        for (long fingerprint = 0; fingerprint < 300; fingerprint++) {
+            assertEquals(referenceSet.contains(fingerprint), window.contains(fingerprint));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.mainstringargs.abstracts.websocket.dispatch;
+
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class ShardedStreamMessageDispatcherTest.
+ */
+public class ShardedStreamMessageDispatcherTest {
+
+    /** The number of symbols. */
+    private static final int SYMBOL_COUNT = 20;
+
+    /** The number of messages of each symbol. */
+    private static final int MESSAGE_COUNT = 1000;
+
+    /** The handled trade prices by symbol, in handling order. */
+    private final Map<String, List<Double>> handledPricesBySymbol = new ConcurrentHashMap<>();
+
+    /** The names of the threads that handled the messages, by symbol (or by status message for control messages). */
+    private final Map<String, List<String>> threadNamesBySymbol = new ConcurrentHashMap<>();
+
+    /** The latch counted down by every handled message. */
+    private CountDownLatch handledLatch;
+
+    /** The sharded stream message dispatcher. */
+    private ShardedStreamMessageDispatcher<PolygonStreamMessageType, PolygonStreamMessage> dispatcher;
+
+    /**
+     * Creates a dispatcher with 4 shards keyed by the symbol of the trade messages.
+     */
+    @Before
+    public void setUp() {
+        handledLatch = new CountDownLatch(SYMBOL_COUNT * MESSAGE_COUNT + 1);
+
+        dispatcher = new ShardedStreamMessageDispatcher<>("Test", 4, 64, this::onStreamMessage,
+                (streamMessageType, streamMessage) ->
+                        streamMessageType == PolygonStreamMessageType.STATUS ? null : streamMessage.getSym());
+    }
+
+    /**
+     * Shuts down the dispatcher.
+     */
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Tests that the messages of each symbol are handled in order on a single shard thread, and that the control
+     * messages are handled on the control thread.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testMessagesOfSymbolHandledInOrder() throws InterruptedException {
+        dispatcher.dispatch(PolygonStreamMessageType.STATUS, new StatusMessage("connected", "control"));
+        for (int index = 0; index < MESSAGE_COUNT; index++) {
+            for (int symbolIndex = 0; symbolIndex < SYMBOL_COUNT; symbolIndex++) {
+                TradeMessage tradeMessage = new TradeMessage();
+                tradeMessage.setSym("SYM" + symbolIndex);
+                tradeMessage.setP((double) index);
+                dispatcher.dispatch(PolygonStreamMessageType.TRADE, tradeMessage);
+            }
+        }
+
+        assertTrue(handledLatch.await(20, TimeUnit.SECONDS));
+
+        assertEquals(SYMBOL_COUNT, handledPricesBySymbol.size());
+        for (int symbolIndex = 0; symbolIndex < SYMBOL_COUNT; symbolIndex++) {
+            String symbol = "SYM" + symbolIndex;
+
+            List<Double> handledPrices = handledPricesBySymbol.get(symbol);
+            assertEquals(MESSAGE_COUNT, handledPrices.size());
+            for (int index = 0; index < MESSAGE_COUNT; index++) {
+                assertEquals(index, handledPrices.get(index), 0);
+            }
+
+            int shardIndex = ShardedStreamMessageDispatcher.getShardIndex(symbol, 4);
+            assertTrue(threadNamesBySymbol.get(symbol).stream().allMatch(("TestShard-" + shardIndex)::equals));
+        }
+
+        assertEquals("TestControl", threadNamesBySymbol.get("control").get(0));
+    }
+
+    /**
+     * Tests that the shard indices are within the shard count.
+     */
+    @Test
+    public void testShardIndexInRange() {
+        for (int symbolIndex = 0; symbolIndex < 1000; symbolIndex++) {
+            int shardIndex = ShardedStreamMessageDispatcher.getShardIndex("SYM" + symbolIndex, 7);
+            assertTrue(shardIndex >= 0 && shardIndex < 7);
+        }
+        assertEquals(0, ShardedStreamMessageDispatcher.getShardIndex("AAPL", 1));
+    }
+
+    /**
+     * Records a handled message.
+     *
+     * @param streamMessageType the stream message type
+     * @param streamMessage     the stream message
+     */
+    private void onStreamMessage(PolygonStreamMessageType streamMessageType, PolygonStreamMessage streamMessage) {
+        String key = streamMessageType == PolygonStreamMessageType.STATUS ?
+                ((StatusMessage) streamMessage).getMessage() : streamMessage.getSym();
+
+        // Each key is handled by a single thread, so its lists aren't shared
+        threadNamesBySymbol.computeIfAbsent(key, symbol -> new ArrayList<>()).add(Thread.currentThread().getName());
+        if (streamMessage instanceof TradeMessage) {
+            handledPricesBySymbol.computeIfAbsent(key, symbol -> new ArrayList<>())
+                    .add(((TradeMessage) streamMessage).getP());
+        }
+
+        handledLatch.countDown();
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.mainstringargs.abstracts.websocket.journal;
+
+import io.github.mainstringargs.abstracts.websocket.client.WebsocketClient;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The Class WebsocketFrameJournalTest.
+ */
+public class WebsocketFrameJournalTest {
+
+    /** The journal prefix. */
+    private static final String PREFIX = "test";
+
+    /** The temporary folder of the journals. */
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that the appended frames are read back in order with their source ID and receive timestamp.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testAppendAndRead() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        List<String> frames = Arrays.asList("[{\"ev\":\"status\"}]", "[{\"ev\":\"T\",\"sym\":\"AAPL\"}]",
+                "caf\u00e9 \u20ac \uD83D\uDE00");
+
+        long beforeEpochNanos = System.currentTimeMillis() * 1_000_000 - 1_000_000_000;
+        try (WebsocketFrameJournal websocketFrameJournal = new WebsocketFrameJournal(directory, PREFIX, 4096)) {
+            for (int index = 0; index < frames.size(); index++) {
+                websocketFrameJournal.append(index, frames.get(index));
+            }
+            assertEquals(3, websocketFrameJournal.getAppendedFrameCount());
+        }
+
+        try (WebsocketFrameJournalReader websocketFrameJournalReader = new WebsocketFrameJournalReader(directory,
+                PREFIX)) {
+            long previousReceiveEpochNanos = beforeEpochNanos;
+            for (int index = 0; index < frames.size(); index++) {
+                assertTrue(websocketFrameJournalReader.next());
+                assertEquals(frames.get(index), websocketFrameJournalReader.getFrame());
+                assertEquals(index, websocketFrameJournalReader.getSourceId());
+                assertTrue(websocketFrameJournalReader.getReceiveEpochNanos() >= previousReceiveEpochNanos);
+                previousReceiveEpochNanos = websocketFrameJournalReader.getReceiveEpochNanos();
+            }
+            assertFalse(websocketFrameJournalReader.next());
+        }
+    }
+
+    /**
+     * Tests that the frames that don't fit in the current segment roll over to the next segments, that a frame larger
+     * than a segment is dropped, and that a reopened journal continues after the last segment.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testSegmentsRolled() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        List<String> frames = new ArrayList<>();
+
+        try (WebsocketFrameJournal websocketFrameJournal = new WebsocketFrameJournal(directory, PREFIX, 256)) {
+            for (int index = 0; index < 50; index++) {
+                frames.add("frame " + index);
+                websocketFrameJournal.append(0, frames.get(index));
+            }
+
+            char[] largeFrame = new char[256];
+            Arrays.fill(largeFrame, 'x');
+            websocketFrameJournal.append(0, new String(largeFrame));
+
+            assertTrue(websocketFrameJournal.getSegmentIndex() > 0);
+            assertEquals(1, websocketFrameJournal.getDroppedFrameCount());
+        }
+
+        try (WebsocketFrameJournal websocketFrameJournal = new WebsocketFrameJournal(directory, PREFIX, 256)) {
+            frames.add("after reopening");
+            websocketFrameJournal.append(0, "after reopening");
+        }
+
+        assertEquals(frames, readFrames(directory));
+    }
+
+    /**
+     * Tests that a second journal can't write to the segments of a prefix that another journal has open.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testPrefixLocked() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+
+        try (WebsocketFrameJournal websocketFrameJournal = new WebsocketFrameJournal(directory, PREFIX, 4096)) {
+            try {
+                new WebsocketFrameJournal(directory, PREFIX, 4096).close();
+                fail("A second journal opened a locked prefix");
+            } catch (IOException exception) {
+                // Expected
+            }
+
+            new WebsocketFrameJournal(directory, "other", 4096).close();
+        }
+    }
+
+    /**
+     * Tests that the replayer feeds the frames of a source back to a client.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testReplay() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+
+        try (WebsocketFrameJournal websocketFrameJournal = new WebsocketFrameJournal(directory, PREFIX, 4096)) {
+            websocketFrameJournal.append(0, "first");
+            websocketFrameJournal.append(1, "other source");
+            websocketFrameJournal.append(0, "second");
+        }
+
+        List<String> replayedFrames = new ArrayList<>();
+        WebsocketClient websocketClient = (WebsocketClient) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebsocketClient.class}, (proxy, method, arguments) -> {
+                    if (method.getName().equals("handleWebsocketMessage")) {
+                        replayedFrames.add((String) arguments[0]);
+                    }
+                    return null;
+                });
+
+        WebsocketFrameReplayer websocketFrameReplayer = new WebsocketFrameReplayer(websocketClient,
+                WebsocketFrameReplayer.AS_FAST_AS_POSSIBLE, 0);
+        try (WebsocketFrameJournalReader websocketFrameJournalReader = new WebsocketFrameJournalReader(directory,
+                PREFIX)) {
+            assertEquals(2, websocketFrameReplayer.replay(websocketFrameJournalReader));
+        }
+
+        assertEquals(Arrays.asList("first", "second"), replayedFrames);
+    }
+
+    /**
+     * Reads all of the frames of the journal of {@link #PREFIX}.
+     *
+     * @param directory the directory
+     *
+     * @return the frames
+     *
+     * @throws IOException the IO exception
+     */
+    private static List<String> readFrames(Path directory) throws IOException {
+        List<String> frames = new ArrayList<>();
+
+        try (WebsocketFrameJournalReader websocketFrameJournalReader = new WebsocketFrameJournalReader(directory,
+                PREFIX)) {
+            while (websocketFrameJournalReader.next()) {
+                frames.add(websocketFrameJournalReader.getFrame());
+            }
+        }
+
+        return frames;
+    }
+}
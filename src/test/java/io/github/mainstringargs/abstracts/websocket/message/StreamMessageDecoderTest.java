@@ -0,0 +1,101 @@
+package io.github.mainstringargs.abstracts.websocket.message;
+
+import com.google.gson.stream.JsonReader;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.quote.QuoteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class StreamMessageDecoderTest.
+ */
+public class StreamMessageDecoderTest {
+
+    /** The decoder of the Polygon trade and quote messages. */
+    private final StreamMessageDecoder<PolygonStreamMessageType, PolygonStreamMessage> streamMessageDecoder =
+            new StreamMessageDecoder<PolygonStreamMessageType, PolygonStreamMessage>("ev",
+                    PolygonStreamMessageType.class, PolygonStreamMessage::setEv)
+                    .registerMessageClass(PolygonStreamMessageType.TRADE, TradeMessage.class)
+                    .registerMessageClass(PolygonStreamMessageType.QUOTE, QuoteMessage.class);
+
+    /**
+     * Tests that the messages of a frame are decoded into the message class of their type, whether the message type
+     * field comes first or after other fields.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testDecodeFrame() throws IOException {
+        List<PolygonStreamMessage> messages = decodeFrame("[" +
+                "{\"ev\":\"T\",\"sym\":\"AAPL\",\"x\":\"4\",\"p\":175.5}," +
+                "{\"sym\":\"MSFT\",\"bp\":130.25,\"ev\":\"Q\",\"unknown\":[1]}]");
+
+        assertEquals(2, messages.size());
+
+        TradeMessage tradeMessage = (TradeMessage) messages.get(0);
+        assertEquals(PolygonStreamMessageType.TRADE, tradeMessage.getEv());
+        assertEquals("AAPL", tradeMessage.getSym());
+        assertEquals("4", tradeMessage.getX());
+        assertEquals(Double.valueOf(175.5), tradeMessage.getP());
+
+        // The fields before the message type are buffered
+        QuoteMessage quoteMessage = (QuoteMessage) messages.get(1);
+        assertEquals(PolygonStreamMessageType.QUOTE, quoteMessage.getEv());
+        assertEquals("MSFT", quoteMessage.getSym());
+        assertEquals(Double.valueOf(130.25), quoteMessage.getBp());
+    }
+
+    /**
+     * Tests that the messages without a message type or with a type that has no registered message class are
+     * consumed without being decoded, so that the rest of the frame is still decoded.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    public void testSkipUndecodedMessages() throws IOException {
+        List<PolygonStreamMessage> messages = decodeFrame("[" +
+                "{\"ev\":\"AM\",\"sym\":\"AAPL\",\"v\":100}," +
+                "{\"ev\":\"unknown\",\"sym\":\"AAPL\"}," +
+                "{\"sym\":\"AAPL\",\"nested\":{\"ev\":\"T\"}}," +
+                "{\"ev\":\"T\",\"sym\":\"AAPL\"}]");
+
+        assertEquals(4, messages.size());
+        assertNull(messages.get(0));
+        assertNull(messages.get(1));
+        assertNull(messages.get(2));
+        assertTrue(messages.get(3) instanceof TradeMessage);
+    }
+
+    /**
+     * Decodes the messages of a frame.
+     *
+     * @param frame the frame (a JSON array of messages)
+     *
+     * @return the decoded messages (null for the messages that weren't decoded)
+     *
+     * @throws IOException the IO exception
+     */
+    private List<PolygonStreamMessage> decodeFrame(String frame) throws IOException {
+        List<PolygonStreamMessage> messages = new ArrayList<>();
+
+        try (JsonReader jsonReader = new JsonReader(new StringReader(frame))) {
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                messages.add(streamMessageDecoder.decode(jsonReader));
+            }
+            jsonReader.endArray();
+        }
+
+        return messages;
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.mainstringargs.abstracts.websocket.publisher;
+
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerOverflowPolicy;
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class StreamPublisherTest.
+ */
+public class StreamPublisherTest {
+
+    /** The listeners added to the stand-in websocket client. */
+    private final List<StreamListener<PolygonStreamMessageType, PolygonStreamMessage>> listeners =
+            new CopyOnWriteArrayList<>();
+
+    /** The stream publisher, whose listeners are the dispatch queues of the subscribers themselves. */
+    private final StreamPublisher<PolygonStreamMessageType, PolygonStreamMessage,
+            StreamListener<PolygonStreamMessageType, PolygonStreamMessage>> streamPublisher =
+            new StreamPublisher<>("Test", listener -> listener, listeners::add, listeners::remove,
+                    ListenerOverflowPolicy.DROP_OLDEST, 16, (streamMessageType, streamMessage) -> null);
+
+    /**
+     * Tests that a subscriber is only sent the messages it requested, and that cancelling removes its listener.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testMessagesSentOnDemand() throws InterruptedException {
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+        streamPublisher.subscribe(subscriber);
+        assertEquals(1, listeners.size());
+
+        for (int index = 0; index < 5; index++) {
+            TradeMessage tradeMessage = new TradeMessage();
+            tradeMessage.setP((double) index);
+            listeners.get(0).onStreamUpdate(PolygonStreamMessageType.TRADE, tradeMessage);
+        }
+
+        subscriber.subscription.request(2);
+        waitForMessageCount(subscriber, 2);
+        Thread.sleep(100);
+        assertEquals(2, subscriber.messages.size());
+
+        subscriber.subscription.request(3);
+        waitForMessageCount(subscriber, 5);
+        for (int index = 0; index < 5; index++) {
+            assertEquals(index, ((TradeMessage) subscriber.messages.get(index)).getP(), 0);
+        }
+
+        subscriber.subscription.cancel();
+        assertTrue(listeners.isEmpty());
+        assertNull(subscriber.error);
+    }
+
+    /**
+     * Tests that a request of a count that isn't positive fails the subscription.
+     */
+    @Test
+    public void testNonPositiveRequestFails() {
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+        streamPublisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(listeners.isEmpty());
+    }
+
+    /**
+     * Tests that a subscriber that cancels in its {@link Subscriber#onSubscribe(Subscription)} never gets a listener.
+     */
+    @Test
+    public void testCancelledOnSubscribe() {
+        streamPublisher.subscribe(new RecordingSubscriber(true));
+
+        assertTrue(listeners.isEmpty());
+    }
+
+    /**
+     * Waits until a subscriber was sent the given number of messages.
+     *
+     * @param subscriber   the subscriber
+     * @param messageCount the message count
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private static void waitForMessageCount(RecordingSubscriber subscriber, int messageCount)
+            throws InterruptedException {
+        long deadlineMillis = System.currentTimeMillis() + 5_000;
+        while (subscriber.messages.size() < messageCount && System.currentTimeMillis() < deadlineMillis) {
+            Thread.sleep(10);
+        }
+        assertEquals(messageCount, subscriber.messages.size());
+    }
+
+    /**
+     * A subscriber that records its signals.
+     */
+    private static class RecordingSubscriber implements Subscriber<PolygonStreamMessage> {
+
+        /** Whether to cancel the subscription in {@link #onSubscribe(Subscription)}. */
+        private final boolean cancelOnSubscribe;
+
+        /** The messages. */
+        private final List<PolygonStreamMessage> messages = new CopyOnWriteArrayList<>();
+
+        /** The subscription. */
+        private volatile Subscription subscription;
+
+        /** The error. */
+        private volatile Throwable error;
+
+        /**
+         * Instantiates a new recording subscriber.
+         *
+         * @param cancelOnSubscribe whether to cancel the subscription in {@link #onSubscribe(Subscription)}
+         */
+        private RecordingSubscriber(boolean cancelOnSubscribe) {
+            this.cancelOnSubscribe = cancelOnSubscribe;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+
+            if (cancelOnSubscribe) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(PolygonStreamMessage message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            throw new AssertionError("The stream completed");
+        }
+    }
+}
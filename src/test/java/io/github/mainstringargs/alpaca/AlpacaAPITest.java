@@ -0,0 +1,152 @@
+package io.github.mainstringargs.alpaca;
+
+import io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ListenerOverflowPolicy;
+import io.github.mainstringargs.abstracts.websocket.publisher.StreamPublisher;
+import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.account.Account;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The Class AlpacaAPITest.
+ */
+public class AlpacaAPITest {
+
+    /** The account path. */
+    private static final String ACCOUNT_PATH = "/v2/account";
+
+    /** The http transport. */
+    private InMemoryHttpTransport httpTransport;
+
+    /** The alpaca API. */
+    private AlpacaAPI alpacaAPI;
+
+    /**
+     * Sets up an API whose requests are answered in memory.
+     */
+    @Before
+    public void setUp() {
+        httpTransport = new InMemoryHttpTransport();
+        alpacaAPI = new AlpacaAPI("v2", "keyId", "secret", "https://paper-api.alpaca.markets",
+                "https://data.alpaca.markets", httpTransport);
+    }
+
+    /**
+     * Closes the API.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        alpacaAPI.close();
+    }
+
+    /**
+     * Tests that a request goes through the given transport and its response is parsed.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    @Test
+    public void testGetAccount() throws AlpacaAPIRequestException {
+        httpTransport.setResponse("GET", ACCOUNT_PATH, 200, "{\"id\":\"account-id\",\"cash\":\"1000.5\"}");
+
+        Account account = alpacaAPI.getAccount();
+
+        assertEquals("account-id", account.getId());
+        assertEquals("1000.5", account.getCash());
+        assertEquals(1, httpTransport.getExecutedRequests().size());
+        assertEquals("https://paper-api.alpaca.markets/v2/account",
+                httpTransport.getExecutedRequests().get(0).getURL());
+    }
+
+    /**
+     * Tests that the non-blocking variant completes its future with the parsed response.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testGetAccountAsync() throws Exception {
+        httpTransport.setResponse("GET", ACCOUNT_PATH, 200, "{\"id\":\"account-id\"}");
+
+        assertEquals("account-id", alpacaAPI.getAccountAsync().get(5, TimeUnit.SECONDS).getId());
+    }
+
+    /**
+     * Tests that the non-blocking variant fails its future with the request exception of an error response.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testGetAccountAsyncError() throws Exception {
+        httpTransport.setResponse("GET", ACCOUNT_PATH, 500, "{\"message\":\"internal error\"}");
+
+        try {
+            alpacaAPI.getAccountAsync().get(5, TimeUnit.SECONDS);
+            fail("The error response wasn't thrown");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof AlpacaAPIRequestException);
+        }
+    }
+
+    /**
+     * Tests that an error response is thrown as a request exception.
+     */
+    @Test
+    public void testGetAccountError() {
+        httpTransport.setResponse("GET", ACCOUNT_PATH, 403, "{\"code\":40310000,\"message\":\"forbidden\"}");
+
+        try {
+            alpacaAPI.getAccount();
+            fail("The error response wasn't thrown");
+        } catch (AlpacaAPIRequestException exception) {
+            assertEquals(403, exception.getRequestStatusCode());
+            assertEquals("forbidden", exception.getAPIResponseMessage());
+        }
+    }
+
+    /**
+     * Tests that closing the API leaves the given transport open and no websocket thread behind.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testCloseLeavesGivenTransportOpen() throws Exception {
+        httpTransport.setResponse("GET", ACCOUNT_PATH, 200, "{\"id\":\"account-id\"}");
+
+        alpacaAPI.close();
+
+        // Closing the transport would have removed its responders
+        AlpacaAPI otherAlpacaAPI = new AlpacaAPI("v2", "keyId", "secret", "https://paper-api.alpaca.markets",
+                "https://data.alpaca.markets", httpTransport);
+        assertEquals("account-id", otherAlpacaAPI.getAccount().getId());
+        otherAlpacaAPI.close();
+
+        assertFalse(Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().startsWith("AlpacaWebsocket")));
+    }
+
+    /**
+     * Tests that the default publisher of the stream blocks rather than dropping the trade updates of a slow
+     * subscriber.
+     */
+    @Test
+    public void testDefaultStreamPublisherBlocks() {
+        StreamPublisher<?, ?, ?> streamPublisher = (StreamPublisher<?, ?, ?>) alpacaAPI.getAlpacaStreamPublisher(
+                AlpacaStreamMessageType.TRADE_UPDATES);
+
+        assertEquals(ListenerOverflowPolicy.BLOCK, streamPublisher.getOverflowPolicy());
+        assertEquals(StreamPublisher.DEFAULT_QUEUE_CAPACITY, streamPublisher.getQueueCapacity());
+    }
+}
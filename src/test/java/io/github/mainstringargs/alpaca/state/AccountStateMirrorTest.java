@@ -0,0 +1,168 @@
+package io.github.mainstringargs.alpaca.state;
+
+import io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport;
+import io.github.mainstringargs.alpaca.AlpacaAPI;
+import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
+import io.github.mainstringargs.domain.alpaca.position.Position;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+import io.github.mainstringargs.util.gson.GsonUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class AccountStateMirrorTest.
+ */
+public class AccountStateMirrorTest {
+
+    /** The http transport. */
+    private InMemoryHttpTransport httpTransport;
+
+    /** The alpaca API. */
+    private AlpacaAPI alpacaAPI;
+
+    /** The account state mirror. */
+    private AccountStateMirror accountStateMirror;
+
+    /** The drifts found by the reconciliations. */
+    private final List<String> drifts = new ArrayList<>();
+
+    /**
+     * Seeds a mirror with a long position of 10 AAPL at 100 and a cash of 10000, from responses answered in memory.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    @Before
+    public void setUp() throws AlpacaAPIRequestException {
+        httpTransport = new InMemoryHttpTransport();
+        alpacaAPI = new AlpacaAPI("v2", "keyId", "secret", "https://paper-api.alpaca.markets",
+                "https://data.alpaca.markets", httpTransport);
+        setServerState("10", "10000");
+
+        accountStateMirror = new AccountStateMirror(alpacaAPI);
+        accountStateMirror.addDriftListener((symbol, field, mirroredValue, serverValue) ->
+                drifts.add(symbol + " " + field + " " + mirroredValue + " " + serverValue));
+        assertTrue(accountStateMirror.reconcile());
+    }
+
+    /**
+     * Closes the API.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        alpacaAPI.close();
+    }
+
+    /**
+     * Tests that a fill updates the position and the cash, and that a repeated trade update isn't applied twice.
+     */
+    @Test
+    public void testFillApplied() {
+        TradeUpdateMessage fill = createFill("buy", "5", "15", "110", "2019-06-03T14:00:00Z");
+
+        accountStateMirror.onTradeUpdate(fill);
+        accountStateMirror.onTradeUpdate(fill);
+
+        Position position = accountStateMirror.getPosition("AAPL");
+        assertEquals("15", position.getQty());
+        assertEquals("long", position.getSide());
+        assertEquals(0, new BigDecimal("1550").divide(new BigDecimal("15"), MathContext.DECIMAL64)
+                .compareTo(new BigDecimal(position.getAvgEntryPrice())));
+        assertEquals(0, new BigDecimal("9450").compareTo(new BigDecimal(accountStateMirror.getAccount().getCash())));
+        assertEquals(1, accountStateMirror.getFillCount());
+    }
+
+    /**
+     * Tests that a trade update older than the last fill applied to its symbol (e.g. replayed after a reconnect)
+     * doesn't roll the position back.
+     */
+    @Test
+    public void testStaleFillIgnored() {
+        TradeUpdateMessage firstFill = createFill("buy", "2", "12", "110", "2019-06-03T14:00:01Z");
+
+        accountStateMirror.onTradeUpdate(firstFill);
+        accountStateMirror.onTradeUpdate(createFill("buy", "3", "15", "110", "2019-06-03T14:00:02Z"));
+        accountStateMirror.onTradeUpdate(firstFill);
+
+        assertEquals("15", accountStateMirror.getPosition("AAPL").getQty());
+        assertEquals(2, accountStateMirror.getFillCount());
+        assertEquals(1, accountStateMirror.getStaleFillCount());
+    }
+
+    /**
+     * Tests that a fill whose change of the position isn't its quantity isn't applied, so that the reconciliation
+     * finds the drift rather than a guessed cash.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    @Test
+    public void testMismatchedFillNotApplied() throws AlpacaAPIRequestException {
+        // A fill of 5 was missed before this fill of 5
+        accountStateMirror.onTradeUpdate(createFill("buy", "5", "20", "110", "2019-06-03T14:00:00Z"));
+        // A sell fill can't increase the position
+        accountStateMirror.onTradeUpdate(createFill("sell", "10", "20", "110", "2019-06-03T14:00:00Z"));
+
+        assertEquals("10", accountStateMirror.getPosition("AAPL").getQty());
+        assertEquals(0, new BigDecimal("10000").compareTo(new BigDecimal(accountStateMirror.getAccount().getCash())));
+        assertEquals(0, accountStateMirror.getFillCount());
+
+        setServerState("20", "8900");
+        assertTrue(accountStateMirror.reconcile());
+        assertEquals(2, drifts.size());
+        assertEquals("AAPL qty 10 20", drifts.get(0));
+        assertEquals("20", accountStateMirror.getPosition("AAPL").getQty());
+    }
+
+    /**
+     * Tests that a fill that closes the position removes it.
+     */
+    @Test
+    public void testClosingFillRemovesPosition() {
+        accountStateMirror.onTradeUpdate(createFill("sell", "10", "0", "120", "2019-06-03T14:00:00Z"));
+
+        assertNull(accountStateMirror.getPosition("AAPL"));
+        assertEquals(0, new BigDecimal("11200").compareTo(new BigDecimal(accountStateMirror.getAccount().getCash())));
+    }
+
+    /**
+     * Sets the AAPL position and the cash that the server responds with.
+     *
+     * @param qty  the qty of the long AAPL position
+     * @param cash the cash
+     */
+    private void setServerState(String qty, String cash) {
+        httpTransport.setResponse("GET", "/v2/positions", 200,
+                "[{\"symbol\":\"AAPL\",\"qty\":\"" + qty + "\",\"side\":\"long\",\"avg_entry_price\":\"100\"}]");
+        httpTransport.setResponse("GET", "/v2/account", 200, "{\"id\":\"account-id\",\"cash\":\"" + cash + "\"}");
+    }
+
+    /**
+     * Creates the trade update message of an AAPL fill.
+     *
+     * @param side        the side of the order
+     * @param qty         the quantity of the fill
+     * @param positionQty the position quantity after the fill
+     * @param price       the price of the fill
+     * @param timestamp   the timestamp of the fill
+     *
+     * @return the trade update message
+     */
+    private static TradeUpdateMessage createFill(String side, String qty, String positionQty, String price,
+            String timestamp) {
+        return GsonUtil.GSON.fromJson("{\"data\":{\"event\":\"fill\",\"price\":\"" + price + "\",\"timestamp\":\"" +
+                timestamp + "\",\"position_qty\":\"" + positionQty + "\",\"qty\":\"" + qty + "\",\"order\":" +
+                "{\"id\":\"order-id\",\"symbol\":\"AAPL\",\"side\":\"" + side + "\"}}}", TradeUpdateMessage.class);
+    }
+}
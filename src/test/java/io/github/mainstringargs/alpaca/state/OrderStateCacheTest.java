@@ -0,0 +1,155 @@
+package io.github.mainstringargs.alpaca.state;
+
+import io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport;
+import io.github.mainstringargs.alpaca.AlpacaAPI;
+import io.github.mainstringargs.alpaca.rest.exception.AlpacaAPIRequestException;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+import io.github.mainstringargs.util.gson.GsonUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class OrderStateCacheTest.
+ */
+public class OrderStateCacheTest {
+
+    /** The http transport. */
+    private InMemoryHttpTransport httpTransport;
+
+    /** The alpaca API. */
+    private AlpacaAPI alpacaAPI;
+
+    /** The order state cache. */
+    private OrderStateCache orderStateCache;
+
+    /** The transitions notified to the listener. */
+    private final List<String> transitions = new ArrayList<>();
+
+    /**
+     * Seeds a cache with an open order from responses answered in memory.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    @Before
+    public void setUp() throws AlpacaAPIRequestException {
+        httpTransport = new InMemoryHttpTransport();
+        alpacaAPI = new AlpacaAPI("v2", "keyId", "secret", "https://paper-api.alpaca.markets",
+                "https://data.alpaca.markets", httpTransport);
+        httpTransport.setResponse("GET", "/v2/orders", 200,
+                "[" + createOrder("new", "0", "2019-06-03T14:00:00Z") + "]");
+
+        orderStateCache = new OrderStateCache(alpacaAPI, OrderStateCache.DEFAULT_RECONCILE_INTERVAL_MILLIS, 0);
+        orderStateCache.addOrderStateListener((event, previousOrder, order) -> transitions.add(event + " " +
+                (previousOrder == null ? null : previousOrder.getStatus()) + " " + order.getStatus()));
+        orderStateCache.reconcile();
+    }
+
+    /**
+     * Closes the API.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        alpacaAPI.close();
+    }
+
+    /**
+     * Tests that the seed caches the open orders by ID and client order ID.
+     */
+    @Test
+    public void testSeeded() {
+        assertEquals("new", orderStateCache.getOrder("order-id").getStatus());
+        assertEquals("order-id", orderStateCache.getOrderByClientOrderId("client-order-id").getId());
+        assertEquals(1, orderStateCache.getOpenOrders().size());
+        assertEquals(Arrays.asList("reconciled null new"), transitions);
+        assertEquals(0, orderStateCache.getCorrectionCount());
+    }
+
+    /**
+     * Tests that the trade updates are applied, that an older state doesn't roll the order back and that a state
+     * without a change isn't notified.
+     */
+    @Test
+    public void testTradeUpdatesApplied() {
+        orderStateCache.onTradeUpdate(createTradeUpdate("partial_fill", "partially_filled", "2",
+                "2019-06-03T14:00:02Z"));
+        orderStateCache.onTradeUpdate(createTradeUpdate("partial_fill", "partially_filled", "2",
+                "2019-06-03T14:00:02Z"));
+        orderStateCache.onTradeUpdate(createTradeUpdate("fill", "filled", "5", "2019-06-03T14:00:03Z"));
+        // Delivered late
+        orderStateCache.onTradeUpdate(createTradeUpdate("partial_fill", "partially_filled", "1",
+                "2019-06-03T14:00:01Z"));
+
+        assertEquals("filled", orderStateCache.getOrder("order-id").getStatus());
+        assertEquals("5", orderStateCache.getOrder("order-id").getFilledQty());
+        assertTrue(orderStateCache.getOpenOrders().isEmpty());
+        assertEquals(Arrays.asList("reconciled null new", "partial_fill new partially_filled",
+                "fill partially_filled filled"), transitions);
+        assertEquals(4, orderStateCache.getTradeUpdateCount());
+    }
+
+    /**
+     * Tests that a reconciliation fetches a cached open order that isn't open anymore, counts the missed transition
+     * and evicts the terminal orders past their retention.
+     *
+     * @throws AlpacaAPIRequestException the alpaca API request exception
+     */
+    @Test
+    public void testReconcileFindsMissedTransition() throws AlpacaAPIRequestException {
+        httpTransport.setResponse("GET", "/v2/orders", 200, "[]");
+        httpTransport.setResponse("GET", "/v2/orders/order-id", 200,
+                createOrder("canceled", "0", "2019-06-03T14:00:05Z"));
+
+        orderStateCache.reconcile();
+
+        assertEquals(Arrays.asList("reconciled null new", "reconciled new canceled"), transitions);
+        assertEquals(1, orderStateCache.getCorrectionCount());
+        assertEquals(2, orderStateCache.getReconciliationCount());
+
+        // The canceled order was updated before the retention of 0
+        assertEquals(0, orderStateCache.size());
+        assertNull(orderStateCache.getOrderByClientOrderId("client-order-id"));
+    }
+
+    /**
+     * Creates the JSON of the order.
+     *
+     * @param status    the status
+     * @param filledQty the filled qty
+     * @param updatedAt the updated at
+     *
+     * @return the order JSON
+     */
+    private static String createOrder(String status, String filledQty, String updatedAt) {
+        return "{\"id\":\"order-id\",\"client_order_id\":\"client-order-id\",\"symbol\":\"AAPL\",\"qty\":\"5\"," +
+                "\"submitted_at\":\"2019-06-03T14:00:00Z\",\"updated_at\":\"" + updatedAt + "\",\"status\":\"" +
+                status + "\",\"filled_qty\":\"" + filledQty + "\"}";
+    }
+
+    /**
+     * Creates a trade update message of the order.
+     *
+     * @param event     the event
+     * @param status    the status of the order
+     * @param filledQty the filled qty of the order
+     * @param updatedAt the updated at of the order
+     *
+     * @return the trade update message
+     */
+    private static TradeUpdateMessage createTradeUpdate(String event, String status, String filledQty,
+            String updatedAt) {
+        return GsonUtil.GSON.fromJson("{\"data\":{\"event\":\"" + event + "\",\"order\":" +
+                createOrder(status, filledQty, updatedAt) + "}}", TradeUpdateMessage.class);
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.mainstringargs.alpaca.websocket.listener;
+
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.alpaca.websocket.message.AlpacaStreamMessageType;
+import io.github.mainstringargs.domain.alpaca.websocket.AlpacaStreamMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.account.AccountUpdateMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.authorization.AuthorizationMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.listening.ListeningMessage;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdateMessage;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The Class AlpacaTypedStreamListenerTest.
+ */
+public class AlpacaTypedStreamListenerTest {
+
+    /** The messages received by the callbacks, in order. */
+    private final List<AlpacaStreamMessage> receivedMessages = new ArrayList<>();
+
+    /** The names of the called callbacks, in order. */
+    private final List<String> receivedCallbacks = new ArrayList<>();
+
+    /** The listener that records its callbacks. */
+    private final AlpacaTypedStreamListener listener = new AlpacaTypedStreamListenerAdapter(
+            AlpacaStreamMessageType.values()) {
+
+        @Override
+        public void onTradeUpdate(TradeUpdateMessage tradeUpdateMessage) {
+            record("onTradeUpdate", tradeUpdateMessage);
+        }
+
+        @Override
+        public void onAccountUpdate(AccountUpdateMessage accountUpdateMessage) {
+            record("onAccountUpdate", accountUpdateMessage);
+        }
+
+        @Override
+        public void onAuthorization(AuthorizationMessage authorizationMessage) {
+            record("onAuthorization", authorizationMessage);
+        }
+
+        @Override
+        public void onListening(ListeningMessage listeningMessage) {
+            record("onListening", listeningMessage);
+        }
+    };
+
+    /**
+     * Tests that the bound callback of each message type calls the typed callback of that type.
+     */
+    @Test
+    public void testBoundCallbacks() {
+        StreamListener<AlpacaStreamMessageType, AlpacaStreamMessage>[] callbacks =
+                AlpacaTypedStreamListener.bindCallbacks(listener);
+
+        assertEquals(AlpacaStreamMessageType.values().length, callbacks.length);
+        for (AlpacaStreamMessageType messageType : AlpacaStreamMessageType.values()) {
+            AlpacaStreamMessage message = createMessage(messageType);
+            callbacks[messageType.ordinal()].onStreamUpdate(messageType, message);
+            assertSame(message, receivedMessages.get(receivedMessages.size() - 1));
+        }
+
+        assertEquals(getExpectedCallbacks(), receivedCallbacks);
+    }
+
+    /**
+     * Tests that {@link AlpacaTypedStreamListener#onStreamUpdate(AlpacaStreamMessageType, AlpacaStreamMessage)} calls
+     * the same typed callbacks.
+     */
+    @Test
+    public void testOnStreamUpdate() {
+        for (AlpacaStreamMessageType messageType : AlpacaStreamMessageType.values()) {
+            listener.onStreamUpdate(messageType, createMessage(messageType));
+        }
+
+        assertEquals(getExpectedCallbacks(), receivedCallbacks);
+    }
+
+    /**
+     * Records a callback.
+     *
+     * @param callback the callback name
+     * @param message  the message
+     */
+    private void record(String callback, AlpacaStreamMessage message) {
+        receivedCallbacks.add(callback);
+        receivedMessages.add(message);
+    }
+
+    /**
+     * Gets the callbacks expected for a message of each type, in message type order.
+     *
+     * @return the expected callbacks
+     */
+    private static List<String> getExpectedCallbacks() {
+        List<String> expectedCallbacks = new ArrayList<>();
+        for (AlpacaStreamMessageType messageType : AlpacaStreamMessageType.values()) {
+            switch (messageType) {
+                case TRADE_UPDATES:
+                    expectedCallbacks.add("onTradeUpdate");
+                    break;
+                case ACCOUNT_UPDATES:
+                    expectedCallbacks.add("onAccountUpdate");
+                    break;
+                case AUTHORIZATION:
+                    expectedCallbacks.add("onAuthorization");
+                    break;
+                case LISTENING:
+                    expectedCallbacks.add("onListening");
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown message type: " + messageType);
+            }
+        }
+        return expectedCallbacks;
+    }
+
+    /**
+     * Creates an empty message of a message type.
+     *
+     * @param messageType the message type
+     *
+     * @return the message
+     */
+    private static AlpacaStreamMessage createMessage(AlpacaStreamMessageType messageType) {
+        switch (messageType) {
+            case TRADE_UPDATES:
+                return new TradeUpdateMessage();
+            case ACCOUNT_UPDATES:
+                return new AccountUpdateMessage();
+            case AUTHORIZATION:
+                return new AuthorizationMessage();
+            case LISTENING:
+                return new ListeningMessage();
+            default:
+                throw new IllegalArgumentException("Unknown message type: " + messageType);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.mainstringargs.polygon;
+
+import io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport;
+import io.github.mainstringargs.domain.polygon.aggregates.Aggregate;
+import io.github.mainstringargs.domain.polygon.aggregates.AggregatesResponse;
+import io.github.mainstringargs.polygon.enums.Timespan;
+import io.github.mainstringargs.polygon.rest.exception.PolygonAPIRequestException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The Class PolygonAPITest.
+ */
+public class PolygonAPITest {
+
+    /** The path of the minute aggregates of AAPL, without the dates. */
+    private static final String MINUTE_AGGREGATES_PATH = "/v2/aggs/ticker/AAPL/range/1/minute/";
+
+    /** The http transport. */
+    private InMemoryHttpTransport httpTransport;
+
+    /** The polygon API. */
+    private PolygonAPI polygonAPI;
+
+    /**
+     * Sets up an API whose requests are answered in memory.
+     */
+    @Before
+    public void setUp() {
+        httpTransport = new InMemoryHttpTransport();
+        polygonAPI = new PolygonAPI("https://api.polygon.io", "wss://socket.polygon.io/stocks", "keyId",
+                httpTransport);
+    }
+
+    /**
+     * Closes the API.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        polygonAPI.close();
+    }
+
+    /**
+     * Tests that a range longer than a window is requested as consecutive windows whose results are merged in
+     * timestamp order without the aggregates repeated across windows.
+     *
+     * @throws PolygonAPIRequestException the polygon API request exception
+     */
+    @Test
+    public void testGetAllAggregatesSplitsRange() throws PolygonAPIRequestException {
+        // 5000 minutes make windows of 3 days
+        httpTransport.setResponse("GET", MINUTE_AGGREGATES_PATH + "2019-01-01/2019-01-03", 200,
+                "{\"ticker\":\"AAPL\",\"queryCount\":2,\"results\":[{\"t\":2,\"c\":1.5},{\"t\":1,\"c\":1.0}]}");
+        httpTransport.setResponse("GET", MINUTE_AGGREGATES_PATH + "2019-01-04/2019-01-06", 200,
+                "{\"ticker\":\"AAPL\",\"queryCount\":2,\"results\":[{\"t\":2,\"c\":9.9},{\"t\":3,\"c\":2.0}]}");
+        httpTransport.setResponse("GET", MINUTE_AGGREGATES_PATH + "2019-01-07/2019-01-07", 200,
+                "{\"ticker\":\"AAPL\",\"queryCount\":1,\"results\":[{\"t\":4,\"c\":2.5}]}");
+
+        AggregatesResponse aggregatesResponse = polygonAPI.getAllAggregates("AAPL", 1, Timespan.MINUTE,
+                LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 7), null);
+
+        List<String> requestedURLs = httpTransport.getExecutedRequests().stream()
+                .map(request -> request.getURL().replaceAll("\\?.*", ""))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+                "https://api.polygon.io" + MINUTE_AGGREGATES_PATH + "2019-01-01/2019-01-03",
+                "https://api.polygon.io" + MINUTE_AGGREGATES_PATH + "2019-01-04/2019-01-06",
+                "https://api.polygon.io" + MINUTE_AGGREGATES_PATH + "2019-01-07/2019-01-07"), requestedURLs);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L), aggregatesResponse.getResults().stream()
+                .map(Aggregate::getT)
+                .collect(Collectors.toList()));
+        // The aggregate of the earliest window is kept
+        assertEquals(Double.valueOf(1.5), aggregatesResponse.getResults().get(1).getC());
+        assertEquals(Double.valueOf(5), aggregatesResponse.getQueryCount());
+        assertEquals(Double.valueOf(4), aggregatesResponse.getResultsCount());
+    }
+
+    /**
+     * Tests that a range shorter than a window is requested as one window.
+     *
+     * @throws PolygonAPIRequestException the polygon API request exception
+     */
+    @Test
+    public void testGetAllAggregatesShortRange() throws PolygonAPIRequestException {
+        httpTransport.setResponse("GET", "/v2/aggs/ticker/AAPL/range/1/day/2019-01-01/2019-01-31", 200,
+                "{\"ticker\":\"AAPL\",\"results\":[{\"t\":1,\"c\":1.0}]}");
+
+        AggregatesResponse aggregatesResponse = polygonAPI.getAllAggregates("AAPL", 1, Timespan.DAY,
+                LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 31), null);
+
+        assertEquals(1, httpTransport.getExecutedRequests().size());
+        assertEquals(1, aggregatesResponse.getResults().size());
+    }
+}
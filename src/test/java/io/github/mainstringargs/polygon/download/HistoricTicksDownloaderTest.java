@@ -0,0 +1,183 @@
+package io.github.mainstringargs.polygon.download;
+
+import io.github.mainstringargs.abstracts.rest.transport.InMemoryHttpTransport;
+import io.github.mainstringargs.domain.polygon.historictrades.HistoricTrade;
+import io.github.mainstringargs.polygon.PolygonAPI;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The Class HistoricTicksDownloaderTest.
+ */
+public class HistoricTicksDownloaderTest {
+
+    /** The first date of the downloads, a Monday. */
+    private static final LocalDate FROM = LocalDate.of(2019, 1, 7);
+
+    /** The last date of the downloads, the Friday after. */
+    private static final LocalDate TO = LocalDate.of(2019, 1, 11);
+
+    /** The http transport. */
+    private InMemoryHttpTransport httpTransport;
+
+    /** The polygon API. */
+    private PolygonAPI polygonAPI;
+
+    /** The historic ticks downloader. */
+    private HistoricTicksDownloader historicTicksDownloader;
+
+    /** The events received by the listener, in order. */
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    /** The listener that records the events. */
+    private final HistoricTicksListener<HistoricTrade> listener = new HistoricTicksListener<HistoricTrade>() {
+
+        @Override
+        public void onTicks(String symbol, LocalDate date, List<HistoricTrade> ticks) {
+            events.add("ticks " + date + " " + ticks.size());
+        }
+
+        @Override
+        public void onDayDownloaded(String symbol, LocalDate date) {
+            events.add("downloaded " + date);
+        }
+
+        @Override
+        public void onDayFailed(String symbol, LocalDate date, Throwable cause) {
+            events.add("failed " + date);
+        }
+    };
+
+    /**
+     * Sets up an API whose requests are answered in memory, with one trade on each day.
+     */
+    @Before
+    public void setUp() {
+        httpTransport = new InMemoryHttpTransport();
+        polygonAPI = new PolygonAPI("https://api.polygon.io", "wss://socket.polygon.io/stocks", "keyId",
+                httpTransport);
+
+        for (LocalDate date = FROM; !date.isAfter(TO); date = date.plusDays(1)) {
+            httpTransport.setResponse("GET", getTradesPath(date), 200, "{\"results\":[{\"t\":1,\"q\":1,\"p\":1.5}]}");
+        }
+    }
+
+    /**
+     * Closes the downloader and the API.
+     *
+     * @throws IOException the IO exception
+     */
+    @After
+    public void tearDown() throws IOException {
+        if (historicTicksDownloader != null) {
+            historicTicksDownloader.close();
+        }
+        polygonAPI.close();
+    }
+
+    /**
+     * Tests that the days of a symbol are delivered in order, and that the days after the earliest day that is not
+     * complete are only downloaded up to the max days ahead.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testDaysScheduledUpToMaxDaysAhead() throws Exception {
+        CountDownLatch firstDayLatch = new CountDownLatch(1);
+        httpTransport.setResponder("GET", getTradesPath(FROM), request -> {
+            try {
+                firstDayLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return InMemoryHttpTransport.createResponse(200, Collections.emptyMap(),
+                    "{\"results\":[{\"t\":1,\"q\":1,\"p\":1.5},{\"t\":2,\"q\":2,\"p\":1.5}]}");
+        });
+
+        historicTicksDownloader = new HistoricTicksDownloader(polygonAPI, 8, 0, 0, 1);
+        CompletableFuture<Void> download = historicTicksDownloader.downloadTrades(
+                Collections.singletonList("AAPL"), FROM, TO, listener);
+
+        // The second day completes while the first one is blocked, and is held back
+        long deadlineMillis = System.currentTimeMillis() + 5_000;
+        while (getRequestedDateCount() < 2 && System.currentTimeMillis() < deadlineMillis) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(2, getRequestedDateCount());
+        assertTrue(events.isEmpty());
+
+        firstDayLatch.countDown();
+        download.get(5, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(
+                "ticks 2019-01-07 2", "downloaded 2019-01-07",
+                "ticks 2019-01-08 1", "downloaded 2019-01-08",
+                "ticks 2019-01-09 1", "downloaded 2019-01-09",
+                "ticks 2019-01-10 1", "downloaded 2019-01-10",
+                "ticks 2019-01-11 1", "downloaded 2019-01-11"), events);
+    }
+
+    /**
+     * Tests that a failed day doesn't hold back the days after it and fails the download.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testFailedDayDoesNotHoldBackLaterDays() throws Exception {
+        httpTransport.setResponse("GET", getTradesPath(FROM.plusDays(1)), 500, "{\"message\":\"internal error\"}");
+
+        historicTicksDownloader = new HistoricTicksDownloader(polygonAPI, 2, 0, 0, 0);
+        CompletableFuture<Void> download = historicTicksDownloader.downloadTrades(Collections.singletonList("AAPL"),
+                FROM, FROM.plusDays(2), listener);
+
+        try {
+            download.get(5, TimeUnit.SECONDS);
+            fail("The failed day didn't fail the download");
+        } catch (ExecutionException exception) {
+            assertEquals(Arrays.asList(
+                    "ticks 2019-01-07 1", "downloaded 2019-01-07",
+                    "failed 2019-01-08",
+                    "ticks 2019-01-09 1", "downloaded 2019-01-09"), events);
+        }
+    }
+
+    /**
+     * Gets the number of dates whose trades were requested.
+     *
+     * @return the requested date count
+     */
+    private long getRequestedDateCount() {
+        return httpTransport.getExecutedRequests().stream()
+                .map(request -> request.getURL().replaceAll("\\?.*", ""))
+                .distinct()
+                .count();
+    }
+
+    /**
+     * Gets the path of the trades of AAPL on a date.
+     *
+     * @param date the date
+     *
+     * @return the trades path
+     */
+    private static String getTradesPath(LocalDate date) {
+        return "/v2/ticks/stocks/trades/AAPL/" + date;
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import io.github.mainstringargs.domain.polygon.websocket.quote.QuoteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class PolygonFeedArbitratorTest.
+ */
+public class PolygonFeedArbitratorTest {
+
+    /**
+     * Tests that only the first copy of a stream message is delivered, whichever connection it arrives on.
+     */
+    @Test
+    public void testFirstArrivalDelivered() {
+        PolygonFeedArbitrator polygonFeedArbitrator = new PolygonFeedArbitrator(2, 1024);
+
+        assertTrue(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 1, 175.5), 1));
+        assertFalse(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 1, 175.5), 0));
+        assertTrue(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 2, 175.5), 0));
+        assertFalse(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 2, 175.5), 1));
+
+        assertEquals(1, polygonFeedArbitrator.getFirstArrivalCount(0));
+        assertEquals(1, polygonFeedArbitrator.getFirstArrivalCount(1));
+        assertEquals(2, polygonFeedArbitrator.getDuplicateCount());
+
+        // Once cleared, a copy is delivered again (e.g. a replayed stream)
+        polygonFeedArbitrator.clear();
+        assertTrue(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 1, 175.5), -1));
+    }
+
+    /**
+     * Tests that the status messages are never arbitrated.
+     */
+    @Test
+    public void testStatusMessagesNotArbitrated() {
+        PolygonFeedArbitrator polygonFeedArbitrator = new PolygonFeedArbitrator(2, 1024);
+
+        StatusMessage statusMessage = new StatusMessage("connected", "Connected Successfully");
+        assertTrue(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.STATUS, statusMessage, 0));
+        assertTrue(polygonFeedArbitrator.isFirstArrival(PolygonStreamMessageType.STATUS, statusMessage, 1));
+
+        assertEquals(2, polygonFeedArbitrator.getUnarbitratedCount());
+        assertEquals(0, polygonFeedArbitrator.getDuplicateCount());
+    }
+
+    /**
+     * Tests that the fingerprint tells apart the messages of a symbol with the same timestamp.
+     */
+    @Test
+    public void testFingerprintFields() {
+        long tradeFingerprint = PolygonFeedArbitrator.getFingerprint(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 1, 175.5));
+
+        assertEquals(tradeFingerprint, PolygonFeedArbitrator.getFingerprint(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 1, 175.5)));
+        assertNotEquals(tradeFingerprint, PolygonFeedArbitrator.getFingerprint(PolygonStreamMessageType.TRADE,
+                createTradeMessage("MSFT", 1, 175.5)));
+        assertNotEquals(tradeFingerprint, PolygonFeedArbitrator.getFingerprint(PolygonStreamMessageType.TRADE,
+                createTradeMessage("AAPL", 1, 175.6)));
+
+        QuoteMessage firstQuote = new QuoteMessage();
+        firstQuote.setSym("AAPL");
+        firstQuote.setT(1L);
+        firstQuote.setBp(175.5);
+        QuoteMessage secondQuote = new QuoteMessage();
+        secondQuote.setSym("AAPL");
+        secondQuote.setT(1L);
+        secondQuote.setBp(175.4);
+        assertNotEquals(PolygonFeedArbitrator.getFingerprint(PolygonStreamMessageType.QUOTE, firstQuote),
+                PolygonFeedArbitrator.getFingerprint(PolygonStreamMessageType.QUOTE, secondQuote));
+    }
+
+    /**
+     * Creates a trade message at timestamp 1000.
+     *
+     * @param symbol  the symbol
+     * @param tradeID the trade ID
+     * @param price   the price
+     *
+     * @return the trade message
+     */
+    private static TradeMessage createTradeMessage(String symbol, int tradeID, double price) {
+        TradeMessage tradeMessage = new TradeMessage();
+        tradeMessage.setSym(symbol);
+        tradeMessage.setT(1000L);
+        tradeMessage.setI(tradeID);
+        tradeMessage.setP(price);
+        return tradeMessage;
+    }
+}
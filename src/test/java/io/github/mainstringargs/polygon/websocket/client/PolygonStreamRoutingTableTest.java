@@ -0,0 +1,213 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListener;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListenerAdapter;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class PolygonStreamRoutingTableTest.
+ */
+public class PolygonStreamRoutingTableTest {
+
+    /** The routing table. */
+    private PolygonStreamRoutingTable routingTable;
+
+    /**
+     * Sets up a routing table that delivers to the listeners themselves.
+     */
+    @Before
+    public void setUp() {
+        routingTable = new PolygonStreamRoutingTable((listener, messageType) -> listener);
+    }
+
+    /**
+     * Tests that a symbol gets its own listeners and the all tickers listeners, and other symbols only the latter.
+     */
+    @Test
+    public void testSymbolAndAllTickersListeners() {
+        PolygonStreamListener aapl = new PolygonStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE);
+        PolygonStreamListener all = new PolygonStreamListenerAdapter(PolygonStreamRoutingTable.ALL_TICKERS,
+                PolygonStreamMessageType.TRADE, PolygonStreamMessageType.QUOTE);
+
+        routingTable.addListener(aapl);
+        routingTable.addListener(all);
+
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, aapl, all);
+        assertTargets("AAPL", PolygonStreamMessageType.QUOTE, all);
+        assertTargets("MSFT", PolygonStreamMessageType.TRADE, all);
+        assertTargets(null, PolygonStreamMessageType.QUOTE, all);
+        assertTargets("AAPL", PolygonStreamMessageType.AGGREGATE_PER_MINUTE);
+        assertEquals(1, routingTable.getSymbolCount());
+    }
+
+    /**
+     * Tests that the channels of a symbol take precedence over the all tickers channels of the same listener.
+     */
+    @Test
+    public void testSymbolChannelsTakePrecedence() {
+        Map<String, Set<PolygonStreamMessageType>> stockChannels = new HashMap<>();
+        stockChannels.put(PolygonStreamRoutingTable.ALL_TICKERS, EnumSet.of(PolygonStreamMessageType.TRADE));
+        stockChannels.put("AAPL", EnumSet.of(PolygonStreamMessageType.QUOTE));
+        PolygonStreamListener listener = new PolygonStreamListenerAdapter(stockChannels);
+
+        PolygonStreamListener other = new PolygonStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE);
+
+        routingTable.addListener(other);
+        routingTable.addListener(listener);
+
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, other);
+        assertTargets("AAPL", PolygonStreamMessageType.QUOTE, listener);
+        assertTargets("MSFT", PolygonStreamMessageType.TRADE, listener);
+        assertTargets("MSFT", PolygonStreamMessageType.QUOTE);
+    }
+
+    /**
+     * Tests that the targets are in the order the listeners were added, whichever symbols they have.
+     */
+    @Test
+    public void testTargetsInAddOrder() {
+        PolygonStreamListener first = new PolygonStreamListenerAdapter(PolygonStreamRoutingTable.ALL_TICKERS);
+        PolygonStreamListener second = new PolygonStreamListenerAdapter("AAPL");
+        PolygonStreamListener third = new PolygonStreamListenerAdapter(PolygonStreamRoutingTable.ALL_TICKERS);
+        PolygonStreamListener fourth = new PolygonStreamListenerAdapter("AAPL");
+
+        routingTable.addListener(first);
+        routingTable.addListener(second);
+        routingTable.addListener(third);
+        routingTable.addListener(fourth);
+
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, first, second, third, fourth);
+        assertTargets("MSFT", PolygonStreamMessageType.TRADE, first, third);
+    }
+
+    /**
+     * Tests that a removed listener gets no more messages and a symbol without listeners falls back to all tickers.
+     */
+    @Test
+    public void testRemoveListener() {
+        PolygonStreamListener all = new PolygonStreamListenerAdapter(PolygonStreamRoutingTable.ALL_TICKERS);
+        PolygonStreamListener aapl = new PolygonStreamListenerAdapter("AAPL");
+        PolygonStreamListener aaplAndMsft = new PolygonStreamListenerAdapter(
+                new HashSet<>(Arrays.asList("AAPL", "MSFT")));
+
+        routingTable.addListener(all);
+        routingTable.addListener(aapl);
+        routingTable.addListener(aaplAndMsft);
+
+        routingTable.removeListener(aapl);
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, all, aaplAndMsft);
+
+        routingTable.removeListener(aaplAndMsft);
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, all);
+        assertEquals(0, routingTable.getSymbolCount());
+
+        routingTable.addListener(aapl);
+        routingTable.removeListener(all);
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, aapl);
+        assertTargets("MSFT", PolygonStreamMessageType.TRADE);
+
+        // Removing an unknown listener does nothing
+        routingTable.removeListener(all);
+        assertEquals(1, routingTable.getListenerCount());
+
+        routingTable.clear();
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE);
+        assertEquals(0, routingTable.getListenerCount());
+    }
+
+    /**
+     * Tests that the targets are got from the target function per message type.
+     */
+    @Test
+    public void testTargetFunction() {
+        List<StreamListener<PolygonStreamMessageType, PolygonStreamMessage>> quoteTargets = new ArrayList<>();
+        routingTable = new PolygonStreamRoutingTable((listener, messageType) -> {
+            if (messageType != PolygonStreamMessageType.QUOTE) {
+                return listener;
+            }
+
+            StreamListener<PolygonStreamMessageType, PolygonStreamMessage> quoteTarget = (type, message) -> {};
+            quoteTargets.add(quoteTarget);
+            return quoteTarget;
+        });
+
+        PolygonStreamListener listener = new PolygonStreamListenerAdapter("AAPL");
+        routingTable.addListener(listener);
+
+        assertTargets("AAPL", PolygonStreamMessageType.TRADE, listener);
+        assertEquals(1, quoteTargets.size());
+        assertSame(quoteTargets.get(0), routingTable.getTargets("AAPL", PolygonStreamMessageType.QUOTE)[0]);
+    }
+
+    /**
+     * Tests that adding and removing thousands of listeners of their own symbols, next to some all tickers listeners,
+     * doesn't take time quadratic in the number of listeners.
+     */
+    @Test(timeout = 10_000)
+    public void testThousandsOfListeners() {
+        int listenerCount = 20_000;
+
+        List<PolygonStreamListener> allTickersListeners = new ArrayList<>();
+        for (int index = 0; index < 10; index++) {
+            PolygonStreamListener listener = new PolygonStreamListenerAdapter(PolygonStreamRoutingTable.ALL_TICKERS,
+                    PolygonStreamMessageType.TRADE);
+            allTickersListeners.add(listener);
+            routingTable.addListener(listener);
+        }
+
+        List<PolygonStreamListener> symbolListeners = new ArrayList<>();
+        for (int index = 0; index < listenerCount; index++) {
+            PolygonStreamListener listener = new PolygonStreamListenerAdapter("SYM" + index);
+            symbolListeners.add(listener);
+            routingTable.addListener(listener);
+        }
+
+        assertEquals(listenerCount, routingTable.getSymbolCount());
+        assertEquals(listenerCount + allTickersListeners.size(), routingTable.getListenerCount());
+
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] targets =
+                routingTable.getTargets("SYM123", PolygonStreamMessageType.TRADE);
+        assertEquals(allTickersListeners.size() + 1, targets.length);
+        assertSame(symbolListeners.get(123), targets[targets.length - 1]);
+
+        Collections.shuffle(symbolListeners);
+        for (PolygonStreamListener listener : symbolListeners) {
+            routingTable.removeListener(listener);
+        }
+
+        assertEquals(0, routingTable.getSymbolCount());
+        assertTrue(Arrays.asList(routingTable.getTargets("SYM123", PolygonStreamMessageType.TRADE))
+                .containsAll(allTickersListeners));
+    }
+
+    /**
+     * Asserts the targets of a message.
+     *
+     * @param symbol      the symbol
+     * @param messageType the message type
+     * @param expected    the expected targets, in order
+     */
+    private void assertTargets(String symbol, PolygonStreamMessageType messageType,
+            PolygonStreamListener... expected) {
+        assertArrayEquals(expected, routingTable.getTargets(symbol, messageType));
+    }
+}
@@ -0,0 +1,337 @@
+package io.github.mainstringargs.polygon.websocket.client;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.github.mainstringargs.abstracts.websocket.dispatch.ConnectionPartitioning;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListener;
+import io.github.mainstringargs.polygon.websocket.listener.PolygonStreamListenerAdapter;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class PolygonSubscriptionManagerTest.
+ */
+public class PolygonSubscriptionManagerTest {
+
+    /** The sent frames. */
+    private final List<SentFrame> sentFrames = new ArrayList<>();
+
+    /** The subscription manager. */
+    private PolygonSubscriptionManager subscriptionManager;
+
+    /**
+     * Shuts down the subscription manager.
+     */
+    @After
+    public void tearDown() {
+        if (subscriptionManager != null) {
+            subscriptionManager.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a channel wanted by several listeners is subscribed once and unsubscribed with its last listener.
+     */
+    @Test
+    public void testChannelsAreReferenceCounted() {
+        createSubscriptionManager(1, ConnectionPartitioning.BY_SYMBOL, 0);
+
+        PolygonStreamListener first = new PolygonStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE);
+        PolygonStreamListener second = new PolygonStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE,
+                PolygonStreamMessageType.QUOTE);
+
+        subscriptionManager.addListenerChannels(first);
+        assertFrames(new SentFrame(0, "subscribe", "T.AAPL"));
+
+        subscriptionManager.addListenerChannels(second);
+        assertFrames(new SentFrame(0, "subscribe", "Q.AAPL"));
+
+        subscriptionManager.removeListenerChannels(first);
+        assertFrames();
+
+        subscriptionManager.removeListenerChannels(second);
+        assertEquals(1, sentFrames.size());
+        assertEquals("unsubscribe", sentFrames.get(0).action);
+        assertEquals(new HashSet<>(Arrays.asList("T.AAPL", "Q.AAPL")), sentFrames.get(0).channels);
+        assertEquals(0, subscriptionManager.getDesiredChannelCount());
+        assertEquals(0, subscriptionManager.getActiveChannelCount());
+    }
+
+    /**
+     * Tests that the changes within the coalescing window are diffed into one frame per action.
+     */
+    @Test
+    public void testChangesAreCoalesced() {
+        createSubscriptionManager(1, ConnectionPartitioning.BY_SYMBOL, 60_000);
+
+        PolygonStreamListener aapl = new PolygonStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE);
+        PolygonStreamListener msft = new PolygonStreamListenerAdapter("MSFT", PolygonStreamMessageType.TRADE);
+        PolygonStreamListener tsla = new PolygonStreamListenerAdapter("TSLA", PolygonStreamMessageType.TRADE);
+
+        subscriptionManager.addListenerChannels(aapl);
+        subscriptionManager.addListenerChannels(msft);
+        subscriptionManager.addListenerChannels(tsla);
+        // Added and removed within the window, so never requested
+        subscriptionManager.removeListenerChannels(msft);
+        assertFrames();
+
+        subscriptionManager.flush();
+        assertEquals(1, sentFrames.size());
+        assertEquals(new HashSet<>(Arrays.asList("T.AAPL", "T.TSLA")), sentFrames.get(0).channels);
+        sentFrames.clear();
+
+        subscriptionManager.removeListenerChannels(aapl);
+        subscriptionManager.addListenerChannels(msft);
+        subscriptionManager.flush();
+        assertFrames(new SentFrame(0, "unsubscribe", "T.AAPL"), new SentFrame(0, "subscribe", "T.MSFT"));
+
+        // Nothing changed since
+        subscriptionManager.flush();
+        assertFrames();
+    }
+
+    /**
+     * Tests that the channels are split into frames of at most the max frame size.
+     */
+    @Test
+    public void testFramesAreSplit() {
+        createSubscriptionManager(1, ConnectionPartitioning.BY_SYMBOL, 60_000);
+        subscriptionManager.setMaxFrameSize(100);
+
+        Set<String> expectedChannels = new HashSet<>();
+        for (int index = 0; index < 100; index++) {
+            subscriptionManager.addListenerChannels(new PolygonStreamListenerAdapter("SYM" + index,
+                    PolygonStreamMessageType.TRADE));
+            expectedChannels.add("T.SYM" + index);
+        }
+        subscriptionManager.flush();
+
+        Set<String> sentChannels = new HashSet<>();
+        for (SentFrame sentFrame : sentFrames) {
+            assertTrue(sentFrame.frame, sentFrame.frame.length() <= 100);
+            assertEquals("subscribe", sentFrame.action);
+            sentChannels.addAll(sentFrame.channels);
+        }
+        assertTrue(sentFrames.size() > 1);
+        assertEquals(sentFrames.size(), subscriptionManager.getSentFrameCount());
+        assertEquals(expectedChannels, sentChannels);
+    }
+
+    /**
+     * Tests that the acknowledgements of the server are tracked.
+     */
+    @Test
+    public void testAcknowledgements() {
+        createSubscriptionManager(1, ConnectionPartitioning.BY_SYMBOL, 0);
+
+        PolygonStreamListener listener = new PolygonStreamListenerAdapter("AAPL", PolygonStreamMessageType.TRADE,
+                PolygonStreamMessageType.QUOTE);
+        subscriptionManager.addListenerChannels(listener);
+        assertEquals(2, subscriptionManager.getAwaitingAcknowledgementCount());
+        assertFalse(subscriptionManager.isAcknowledged("T.AAPL"));
+
+        subscriptionManager.handleStatusMessage(new StatusMessage("success", "subscribed to: T.AAPL"));
+        subscriptionManager.handleStatusMessage(new StatusMessage("error", "subscribed to: Q.AAPL"));
+        assertTrue(subscriptionManager.isAcknowledged("T.AAPL"));
+        assertFalse(subscriptionManager.isAcknowledged("Q.AAPL"));
+        assertEquals(1, subscriptionManager.getAcknowledgedChannelCount());
+        assertEquals(1, subscriptionManager.getAwaitingAcknowledgementCount());
+
+        subscriptionManager.removeListenerChannels(listener);
+        assertEquals(2, subscriptionManager.getAwaitingAcknowledgementCount());
+        subscriptionManager.handleStatusMessage(new StatusMessage("success", "unsubscribed to: T.AAPL"));
+        assertEquals(0, subscriptionManager.getAcknowledgedChannelCount());
+        assertEquals(1, subscriptionManager.getAwaitingAcknowledgementCount());
+    }
+
+    /**
+     * Tests that the channels of a lost connection move to a live one and back once it is restored.
+     */
+    @Test
+    public void testChannelsMoveWithLostConnections() {
+        createSubscriptionManager(2, ConnectionPartitioning.BY_MESSAGE_TYPE, 0);
+
+        subscriptionManager.addListenerChannels(new PolygonStreamListenerAdapter("AAPL",
+                PolygonStreamMessageType.TRADE, PolygonStreamMessageType.QUOTE));
+        assertEquals(0, subscriptionManager.getActiveConnectionIndex("T.AAPL"));
+        assertEquals(1, subscriptionManager.getActiveConnectionIndex("Q.AAPL"));
+        sentFrames.clear();
+
+        subscriptionManager.onConnectionLost(1);
+        assertFrames(new SentFrame(0, "subscribe", "Q.AAPL"));
+        assertEquals(2, subscriptionManager.getActiveChannelCount(0));
+
+        subscriptionManager.onConnectionRestored(1);
+        assertFrames(new SentFrame(0, "unsubscribe", "Q.AAPL"), new SentFrame(1, "subscribe", "Q.AAPL"));
+        assertEquals(1, subscriptionManager.getActiveChannelCount(1));
+
+        // New connections have none of the subscriptions
+        subscriptionManager.resetActiveChannels();
+        assertEquals(2, sentFrames.size());
+        sentFrames.clear();
+    }
+
+    /**
+     * Tests that the symbols are spread across the connections, with all of the channels of a symbol on the same
+     * connection.
+     */
+    @Test
+    public void testSymbolsSpreadAcrossConnections() {
+        createSubscriptionManager(4, ConnectionPartitioning.BY_SYMBOL, 0);
+
+        Set<String> symbols = new HashSet<>();
+        for (int symbolIndex = 0; symbolIndex < 200; symbolIndex++) {
+            symbols.add("SYM" + symbolIndex);
+        }
+        subscriptionManager.addListenerChannels(new PolygonStreamListenerAdapter(symbols,
+                PolygonStreamMessageType.TRADE, PolygonStreamMessageType.QUOTE));
+
+        int channelCount = 0;
+        for (int connectionIndex = 0; connectionIndex < 4; connectionIndex++) {
+            int connectionChannelCount = subscriptionManager.getActiveChannelCount(connectionIndex);
+            assertTrue(connectionChannelCount > 0);
+            channelCount += connectionChannelCount;
+        }
+        assertEquals(400, channelCount);
+
+        for (String symbol : symbols) {
+            int connectionIndex = subscriptionManager.getActiveConnectionIndex("T." + symbol);
+            assertEquals(subscriptionManager.getHomeConnectionIndex("T." + symbol), connectionIndex);
+            assertEquals(connectionIndex, subscriptionManager.getActiveConnectionIndex("Q." + symbol));
+        }
+
+        synchronized (sentFrames) {
+            assertEquals(4, sentFrames.size());
+            sentFrames.clear();
+        }
+    }
+
+    /**
+     * Tests that a shut down subscription manager only sends the changes on an explicit flush.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    public void testShutdown() throws InterruptedException {
+        createSubscriptionManager(1, ConnectionPartitioning.BY_SYMBOL, 1);
+        subscriptionManager.shutdown();
+
+        subscriptionManager.addListenerChannels(new PolygonStreamListenerAdapter("AAPL",
+                PolygonStreamMessageType.TRADE));
+        Thread.sleep(50);
+        assertFrames();
+
+        subscriptionManager.flush();
+        assertFrames(new SentFrame(0, "subscribe", "T.AAPL"));
+    }
+
+    /**
+     * Creates the subscription manager, recording the frames it sends.
+     *
+     * @param connectionCount        the connection count
+     * @param connectionPartitioning the connection partitioning
+     * @param coalescingWindowMillis the coalescing window millis
+     */
+    private void createSubscriptionManager(int connectionCount, ConnectionPartitioning connectionPartitioning,
+            long coalescingWindowMillis) {
+        subscriptionManager = new PolygonSubscriptionManager("TestSubscriptionThread", connectionCount,
+                connectionPartitioning, (connectionIndex, frame) -> {
+            synchronized (sentFrames) {
+                sentFrames.add(new SentFrame(connectionIndex, frame));
+            }
+        });
+        subscriptionManager.setCoalescingWindowMillis(coalescingWindowMillis);
+    }
+
+    /**
+     * Asserts the frames sent since the last assertion, in order, and forgets them.
+     *
+     * @param expectedFrames the expected frames
+     */
+    private void assertFrames(SentFrame... expectedFrames) {
+        synchronized (sentFrames) {
+            assertEquals(Arrays.asList(expectedFrames), sentFrames);
+            sentFrames.clear();
+        }
+    }
+
+    /**
+     * A sent frame.
+     */
+    private static final class SentFrame {
+
+        /** The connection index. */
+        private final int connectionIndex;
+
+        /** The frame. */
+        private final String frame;
+
+        /** The action of the frame. */
+        private final String action;
+
+        /** The channels of the frame. */
+        private final Set<String> channels;
+
+        /**
+         * Instantiates a new sent frame.
+         *
+         * @param connectionIndex the connection index
+         * @param frame           the frame
+         */
+        private SentFrame(int connectionIndex, String frame) {
+            this.connectionIndex = connectionIndex;
+            this.frame = frame;
+
+            JsonObject frameJsonObject = new JsonParser().parse(frame).getAsJsonObject();
+            this.action = frameJsonObject.get("action").getAsString();
+            this.channels = new HashSet<>(Arrays.asList(frameJsonObject.get("params").getAsString().split(",")));
+        }
+
+        /**
+         * Instantiates a new expected sent frame.
+         *
+         * @param connectionIndex the connection index
+         * @param action          the action
+         * @param channels        the channels
+         */
+        private SentFrame(int connectionIndex, String action, String... channels) {
+            this.connectionIndex = connectionIndex;
+            this.frame = null;
+            this.action = action;
+            this.channels = new HashSet<>(Arrays.asList(channels));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof SentFrame)) {
+                return false;
+            }
+
+            SentFrame otherSentFrame = (SentFrame) other;
+            return connectionIndex == otherSentFrame.connectionIndex && action.equals(otherSentFrame.action) &&
+                    channels.equals(otherSentFrame.channels);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * action.hashCode() + channels.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return connectionIndex + ":" + action + channels;
+        }
+    }
+}
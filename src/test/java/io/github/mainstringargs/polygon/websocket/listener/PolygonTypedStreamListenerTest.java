@@ -0,0 +1,152 @@
+package io.github.mainstringargs.polygon.websocket.listener;
+
+import io.github.mainstringargs.abstracts.websocket.listener.StreamListener;
+import io.github.mainstringargs.domain.polygon.websocket.PolygonStreamMessage;
+import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerMinuteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerSecondMessage;
+import io.github.mainstringargs.domain.polygon.websocket.quote.QuoteMessage;
+import io.github.mainstringargs.domain.polygon.websocket.status.StatusMessage;
+import io.github.mainstringargs.domain.polygon.websocket.trade.TradeMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The Class PolygonTypedStreamListenerTest.
+ */
+public class PolygonTypedStreamListenerTest {
+
+    /** The messages received by the callbacks, in order. */
+    private final List<PolygonStreamMessage> receivedMessages = new ArrayList<>();
+
+    /** The names of the called callbacks, in order. */
+    private final List<String> receivedCallbacks = new ArrayList<>();
+
+    /** The listener that records its callbacks. */
+    private final PolygonTypedStreamListener listener = new PolygonTypedStreamListenerAdapter("AAPL",
+            PolygonStreamMessageType.values()) {
+
+        @Override
+        public void onTrade(TradeMessage tradeMessage) {
+            record("onTrade", tradeMessage);
+        }
+
+        @Override
+        public void onQuote(QuoteMessage quoteMessage) {
+            record("onQuote", quoteMessage);
+        }
+
+        @Override
+        public void onSecondAgg(AggregatePerSecondMessage aggregatePerSecondMessage) {
+            record("onSecondAgg", aggregatePerSecondMessage);
+        }
+
+        @Override
+        public void onMinuteAgg(AggregatePerMinuteMessage aggregatePerMinuteMessage) {
+            record("onMinuteAgg", aggregatePerMinuteMessage);
+        }
+
+        @Override
+        public void onStatus(StatusMessage statusMessage) {
+            record("onStatus", statusMessage);
+        }
+    };
+
+    /**
+     * Tests that the bound callback of each message type calls the typed callback of that type.
+     */
+    @Test
+    public void testBoundCallbacks() {
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] callbacks =
+                PolygonTypedStreamListener.bindCallbacks(listener);
+
+        assertEquals(PolygonStreamMessageType.values().length, callbacks.length);
+        for (PolygonStreamMessageType messageType : PolygonStreamMessageType.values()) {
+            PolygonStreamMessage message = createMessage(messageType);
+            callbacks[messageType.ordinal()].onStreamUpdate(messageType, message);
+            assertSame(message, receivedMessages.get(receivedMessages.size() - 1));
+        }
+
+        assertEquals(Arrays.asList("onStatus", "onTrade", "onQuote", "onSecondAgg", "onMinuteAgg"),
+                receivedCallbacks);
+    }
+
+    /**
+     * Tests that {@link PolygonTypedStreamListener#onStreamUpdate(PolygonStreamMessageType, PolygonStreamMessage)}
+     * (used when the listener is delivered to through a dispatch queue) calls the same typed callbacks.
+     */
+    @Test
+    public void testOnStreamUpdate() {
+        for (PolygonStreamMessageType messageType : PolygonStreamMessageType.values()) {
+            listener.onStreamUpdate(messageType, createMessage(messageType));
+        }
+
+        assertEquals(Arrays.asList("onStatus", "onTrade", "onQuote", "onSecondAgg", "onMinuteAgg"),
+                receivedCallbacks);
+    }
+
+    /**
+     * Tests that the callbacks that aren't implemented do nothing.
+     */
+    @Test
+    public void testDefaultCallbacksDoNothing() {
+        PolygonTypedStreamListener tradeListener = new PolygonTypedStreamListenerAdapter("AAPL",
+                PolygonStreamMessageType.TRADE) {
+
+            @Override
+            public void onTrade(TradeMessage tradeMessage) {
+                record("onTrade", tradeMessage);
+            }
+        };
+
+        StreamListener<PolygonStreamMessageType, PolygonStreamMessage>[] callbacks =
+                PolygonTypedStreamListener.bindCallbacks(tradeListener);
+        callbacks[PolygonStreamMessageType.QUOTE.ordinal()].onStreamUpdate(PolygonStreamMessageType.QUOTE,
+                new QuoteMessage());
+        callbacks[PolygonStreamMessageType.TRADE.ordinal()].onStreamUpdate(PolygonStreamMessageType.TRADE,
+                new TradeMessage());
+
+        assertEquals(Arrays.asList("onTrade"), receivedCallbacks);
+    }
+
+    /**
+     * Records a callback.
+     *
+     * @param callback the callback name
+     * @param message  the message
+     */
+    private void record(String callback, PolygonStreamMessage message) {
+        receivedCallbacks.add(callback);
+        receivedMessages.add(message);
+    }
+
+    /**
+     * Creates an empty message of a message type.
+     *
+     * @param messageType the message type
+     *
+     * @return the message
+     */
+    private static PolygonStreamMessage createMessage(PolygonStreamMessageType messageType) {
+        switch (messageType) {
+            case TRADE:
+                return new TradeMessage();
+            case QUOTE:
+                return new QuoteMessage();
+            case AGGREGATE_PER_SECOND:
+                return new AggregatePerSecondMessage();
+            case AGGREGATE_PER_MINUTE:
+                return new AggregatePerMinuteMessage();
+            case STATUS:
+                return new StatusMessage();
+            default:
+                throw new IllegalArgumentException("Unknown message type: " + messageType);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.mainstringargs.util.concurrency;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class SingleProducerRingBufferTest.
+ */
+public class SingleProducerRingBufferTest {
+
+    /** The number of elements published by the ordering tests. */
+    private static final int ELEMENT_COUNT = 100_000;
+
+    /** The ring buffer. */
+    private SingleProducerRingBuffer<Integer> ringBuffer;
+
+    /**
+     * Shuts down the ring buffer.
+     */
+    @After
+    public void tearDown() {
+        if (ringBuffer != null) {
+            ringBuffer.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the capacity is rounded up to a power of 2.
+     */
+    @Test
+    public void testCapacityRoundedUp() {
+        ringBuffer = new SingleProducerRingBuffer<>(100, RingBufferWaitStrategy.BLOCKING, "Test", element -> {});
+
+        assertEquals(128, ringBuffer.getCapacity());
+    }
+
+    /**
+     * Tests that the elements are handled in order with the blocking wait strategy, through a ring small enough to
+     * stall the producer.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testElementsHandledInOrderBlocking() throws InterruptedException {
+        assertElementsHandledInOrder(RingBufferWaitStrategy.BLOCKING);
+    }
+
+    /**
+     * Tests that the elements are handled in order with the yielding wait strategy, through a ring small enough to
+     * stall the producer.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testElementsHandledInOrderYielding() throws InterruptedException {
+        assertElementsHandledInOrder(RingBufferWaitStrategy.YIELDING);
+    }
+
+    /**
+     * Tests that an exception thrown by the handler doesn't stop the consumer.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000)
+    public void testHandlerExceptionDoesNotStopConsumer() throws InterruptedException {
+        CountDownLatch handledLatch = new CountDownLatch(2);
+        ringBuffer = new SingleProducerRingBuffer<>(4, RingBufferWaitStrategy.BLOCKING, "Test", element -> {
+            handledLatch.countDown();
+            if (element == 1) {
+                throw new IllegalStateException("handler failed");
+            }
+        });
+
+        ringBuffer.publish(1);
+        ringBuffer.publish(2);
+
+        assertTrue(handledLatch.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a shutdown lets the consumer handle the elements that were already published, and that nothing can
+     * be published after it.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test(timeout = 30_000, expected = IllegalStateException.class)
+    public void testShutdownHandlesPublishedElements() throws InterruptedException {
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        List<Integer> handledElements = new ArrayList<>();
+        ringBuffer = new SingleProducerRingBuffer<>(8, RingBufferWaitStrategy.BLOCKING, "Test", element -> {
+            try {
+                releaseLatch.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            handledElements.add(element);
+        });
+
+        for (int element = 0; element < 5; element++) {
+            ringBuffer.publish(element);
+        }
+        ringBuffer.shutdown();
+        releaseLatch.countDown();
+
+        waitForQueueDepth(0);
+        assertEquals(5, ringBuffer.getPublishedCount());
+        assertEquals(5, handledElements.size());
+
+        ringBuffer.publish(5);
+    }
+
+    /**
+     * Publishes {@link #ELEMENT_COUNT} elements through a ring of 16 and asserts that they're handled in order.
+     *
+     * @param waitStrategy the wait strategy
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private void assertElementsHandledInOrder(RingBufferWaitStrategy waitStrategy) throws InterruptedException {
+        // Only accessed by the consumer thread until the latch is counted down
+        int[] nextExpectedElement = {0};
+        int[] outOfOrderCount = {0};
+        CountDownLatch handledLatch = new CountDownLatch(1);
+        // Holds the consumer on the first element so that the producer fills the ring
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        Consumer<Integer> elementHandler = element -> {
+            if (element == 0) {
+                try {
+                    releaseLatch.await();
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (element != nextExpectedElement[0]) {
+                outOfOrderCount[0]++;
+            }
+            nextExpectedElement[0] = element + 1;
+
+            if (element == ELEMENT_COUNT - 1) {
+                handledLatch.countDown();
+            }
+        };
+        ringBuffer = new SingleProducerRingBuffer<>(16, waitStrategy, "Test", elementHandler);
+
+        Thread releaseThread = new Thread(() -> {
+            while (ringBuffer.getProducerStallCount() == 0) {
+                Thread.yield();
+            }
+            releaseLatch.countDown();
+        });
+        releaseThread.setDaemon(true);
+        releaseThread.start();
+
+        for (int element = 0; element < ELEMENT_COUNT; element++) {
+            ringBuffer.publish(element);
+        }
+
+        assertTrue(handledLatch.await(20, TimeUnit.SECONDS));
+        assertEquals(0, outOfOrderCount[0]);
+        assertEquals(ELEMENT_COUNT, ringBuffer.getPublishedCount());
+        assertTrue(ringBuffer.getProducerStallCount() > 0);
+    }
+
+    /**
+     * Waits until the queue depth of the ring buffer is the given depth.
+     *
+     * @param queueDepth the queue depth
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    private void waitForQueueDepth(long queueDepth) throws InterruptedException {
+        long deadlineMillis = System.currentTimeMillis() + 5_000;
+        while (ringBuffer.getQueueDepth() != queueDepth && System.currentTimeMillis() < deadlineMillis) {
+            Thread.sleep(10);
+        }
+        assertEquals(queueDepth, ringBuffer.getQueueDepth());
+    }
+}
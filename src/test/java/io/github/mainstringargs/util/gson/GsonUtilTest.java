@@ -0,0 +1,88 @@
+package io.github.mainstringargs.util.gson;
+
+import io.github.mainstringargs.domain.alpaca.order.Order;
+import io.github.mainstringargs.domain.alpaca.websocket.trade.TradeUpdate;
+import io.github.mainstringargs.domain.polygon.aggregates.Aggregate;
+import io.github.mainstringargs.domain.polygon.websocket.aggregate.AggregatePerMinuteMessage;
+import io.github.mainstringargs.polygon.websocket.message.PolygonStreamMessageType;
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Class GsonUtilTest.
+ */
+public class GsonUtilTest {
+
+    /**
+     * Tests that the domain POJOs are read and written by their generated type adapters rather than by reflection.
+     */
+    @Test
+    public void testGeneratedTypeAdaptersUsed() {
+        assertTrue(GsonUtil.GSON.getAdapter(Order.class) instanceof PojoTypeAdapter);
+        assertTrue(GsonUtil.GSON.getAdapter(TradeUpdate.class) instanceof PojoTypeAdapter);
+        assertTrue(GsonUtil.GSON.getAdapter(AggregatePerMinuteMessage.class) instanceof PojoTypeAdapter);
+    }
+
+    /**
+     * Tests that nested POJOs, lists, dates and enums are read, that unknown fields are skipped and that quoted
+     * numbers are read like Gson's built-in type adapters read them.
+     */
+    @Test
+    public void testRead() {
+        TradeUpdate tradeUpdate = GsonUtil.GSON.fromJson("{\"event\":\"fill\",\"unknown\":{\"a\":[1,2]}," +
+                "\"timestamp\":\"2019-06-03T14:00:00Z\",\"qty\":\"5\",\"order\":{\"id\":\"order-id\"," +
+                "\"extended_hours\":true,\"legs\":[{\"id\":\"leg-id\"}]}}", TradeUpdate.class);
+
+        assertEquals("fill", tradeUpdate.getEvent());
+        assertEquals(ZonedDateTime.parse("2019-06-03T14:00:00Z").toInstant(), tradeUpdate.getTimestamp().toInstant());
+        assertEquals("5", tradeUpdate.getQty());
+        assertNull(tradeUpdate.getPrice());
+        assertEquals("order-id", tradeUpdate.getOrder().getId());
+        assertEquals(Boolean.TRUE, tradeUpdate.getOrder().getExtendedHours());
+        assertEquals("leg-id", tradeUpdate.getOrder().getLegs().get(0).getId());
+
+        AggregatePerMinuteMessage aggregateMessage = GsonUtil.GSON.fromJson("{\"ev\":\"AM\",\"sym\":\"AAPL\"," +
+                "\"v\":\"100\",\"o\":1.5,\"s\":1559570400000}", AggregatePerMinuteMessage.class);
+
+        assertEquals(PolygonStreamMessageType.AGGREGATE_PER_MINUTE, aggregateMessage.getEv());
+        assertEquals("AAPL", aggregateMessage.getSym());
+        assertEquals(Long.valueOf(100), aggregateMessage.getV());
+        assertEquals(Double.valueOf(1.5), aggregateMessage.getO());
+        assertEquals(Long.valueOf(1559570400000L), aggregateMessage.getS());
+    }
+
+    /**
+     * Tests that a POJO written by its generated type adapter reads back to the same values.
+     */
+    @Test
+    public void testRoundTrip() {
+        Aggregate aggregate = new Aggregate();
+        aggregate.setTicker("AAPL");
+        aggregate.setV(100L);
+        aggregate.setC(1.25);
+        aggregate.setT(1559570400000L);
+        aggregate.setN(7);
+
+        Aggregate readAggregate = GsonUtil.GSON.fromJson(GsonUtil.GSON.toJson(aggregate), Aggregate.class);
+
+        assertEquals("AAPL", readAggregate.getTicker());
+        assertEquals(Long.valueOf(100), readAggregate.getV());
+        assertEquals(Double.valueOf(1.25), readAggregate.getC());
+        assertEquals(Long.valueOf(1559570400000L), readAggregate.getT());
+        assertEquals(Integer.valueOf(7), readAggregate.getN());
+        assertNull(readAggregate.getO());
+    }
+
+    /**
+     * Tests that a JSON null reads as a null POJO.
+     */
+    @Test
+    public void testReadNull() {
+        assertNull(GsonUtil.GSON.fromJson("null", Order.class));
+    }
+}
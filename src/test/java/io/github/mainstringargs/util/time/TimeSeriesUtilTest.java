@@ -0,0 +1,35 @@
+package io.github.mainstringargs.util.time;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The Class TimeSeriesUtilTest.
+ */
+public class TimeSeriesUtilTest {
+
+    /**
+     * Tests that the parts are merged in timestamp order, keeping the item of the earliest part for a repeated
+     * timestamp and skipping the null parts.
+     */
+    @Test
+    public void testMergeDistinct() {
+        List<List<long[]>> parts = Arrays.asList(
+                Arrays.asList(new long[]{3, 0}, new long[]{1, 0}),
+                null,
+                Arrays.asList(new long[]{3, 2}, new long[]{2, 2}));
+
+        List<long[]> merged = TimeSeriesUtil.mergeDistinct(parts, item -> item[0]);
+
+        assertEquals(3, merged.size());
+        assertEquals(1, merged.get(0)[0]);
+        assertEquals(2, merged.get(1)[0]);
+        assertEquals(3, merged.get(2)[0]);
+        // The item of the first part is kept for timestamp 3
+        assertEquals(0, merged.get(2)[1]);
+    }
+}